@@ -0,0 +1,58 @@
+package com.njunior.minhasfinancas.api.acesso;
+
+import java.util.Map;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import com.njunior.minhasfinancas.api.token.TokenAutenticacaoFilter;
+import com.njunior.minhasfinancas.service.UsuarioFrequenteService;
+
+/**
+ * Conta as requisições por usuário, identificado pelo token, pelo parâmetro {@code usuario}
+ * ou pelo id no caminho de {@code /api/usuarios/{id}}, para manter a lista de usuários mais
+ * ativos usada no aquecimento da inicialização.
+ */
+public class RegistroAcessosInterceptor implements AsyncHandlerInterceptor {
+
+	private final UsuarioFrequenteService service;
+
+	public RegistroAcessosInterceptor(UsuarioFrequenteService service) {
+		this.service = service;
+	}
+
+	@Override
+	public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+		if (request.getDispatcherType() != DispatcherType.ASYNC) {
+			Long idUsuario = idDoUsuario(request);
+			if (idUsuario != null) {
+				service.registrarAcesso(idUsuario);
+			}
+		}
+		return true;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Long idDoUsuario(HttpServletRequest request) {
+		Object autenticado = request.getAttribute(TokenAutenticacaoFilter.ATRIBUTO_USUARIO);
+		if (autenticado instanceof Long) {
+			return (Long) autenticado;
+		}
+		String usuario = request.getParameter("usuario");
+		if (usuario == null) {
+			Map<String, String> variaveis = (Map<String, String>) request
+					.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+			usuario = variaveis != null && request.getRequestURI().contains("/api/usuarios/") ? variaveis.get("id") : null;
+		}
+		try {
+			return usuario != null ? Long.valueOf(usuario) : null;
+		} catch (NumberFormatException e) {
+			return null;
+		}
+	}
+
+}
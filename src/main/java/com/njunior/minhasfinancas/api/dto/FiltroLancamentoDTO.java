@@ -0,0 +1,51 @@
+package com.njunior.minhasfinancas.api.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.DateTimeFormat.ISO;
+
+import com.njunior.minhasfinancas.model.enums.StatusLancamento;
+import com.njunior.minhasfinancas.model.enums.TipoLacamento;
+import com.njunior.minhasfinancas.model.repository.FiltroLancamento.CampoOrdenacao;
+import com.njunior.minhasfinancas.model.repository.FiltroLancamento.ModoDescricao;
+
+import lombok.Data;
+
+/**
+ * Parâmetros de consulta de {@code GET /api/lancamentos}; {@code tipo} e {@code status}
+ * podem ser repetidos.
+ */
+@Data
+public class FiltroLancamentoDTO {
+
+	private Long usuario;
+	private String descricao;
+	private ModoDescricao modoDescricao;
+	private Integer mes;
+	private Integer ano;
+	
+	@DateTimeFormat(pattern = "yyyy-MM")
+	private YearMonth de;
+	
+	@DateTimeFormat(pattern = "yyyy-MM")
+	private YearMonth ate;
+	
+	@DateTimeFormat(iso = ISO.DATE)
+	private LocalDate dataCadastroDe;
+	
+	@DateTimeFormat(iso = ISO.DATE)
+	private LocalDate dataCadastroAte;
+	
+	private List<TipoLacamento> tipo;
+	private List<StatusLancamento> status;
+	private BigDecimal valorMinimo;
+	private BigDecimal valorMaximo;
+	private CampoOrdenacao ordenarPor;
+	private Sort.Direction direcao;
+
+}
@@ -2,11 +2,15 @@ package com.njunior.minhasfinancas.api.dto;
 
 import java.math.BigDecimal;
 
-import lombok.Builder;
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.SuperBuilder;
 
 @Data
-@Builder
+@SuperBuilder
+@NoArgsConstructor
+@AllArgsConstructor
 public class LancamentoDTO {
 	
 	private Long id;
@@ -0,0 +1,40 @@
+package com.njunior.minhasfinancas.api.dto;
+
+import java.time.LocalDate;
+
+import com.njunior.minhasfinancas.model.entity.Lancamento;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import lombok.experimental.SuperBuilder;
+
+/**
+ * Representação de saída de um {@link Lancamento}. O usuário é exposto apenas pelo id,
+ * lido do proxy sem inicializá-lo.
+ */
+@Data
+@SuperBuilder
+@NoArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+@ToString(callSuper = true)
+public class LancamentoRespostaDTO extends LancamentoDTO {
+
+	private LocalDate dataCadastro;
+	
+	public static LancamentoRespostaDTO de(Lancamento lancamento) {
+		return LancamentoRespostaDTO.builder()
+				.id(lancamento.getId())
+				.descricao(lancamento.getDescricao())
+				.mes(lancamento.getMes())
+				.ano(lancamento.getAno())
+				.valor(lancamento.getValor())
+				.usuario(lancamento.getUsuario() != null ? lancamento.getUsuario().getId() : null)
+				.tipo(lancamento.getTipo() != null ? lancamento.getTipo().name() : null)
+				.status(lancamento.getStatus() != null ? lancamento.getStatus().name() : null)
+				.dataCadastro(lancamento.getDataCadastro())
+				.build();
+	}
+	
+}
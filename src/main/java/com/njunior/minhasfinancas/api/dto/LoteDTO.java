@@ -0,0 +1,20 @@
+package com.njunior.minhasfinancas.api.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoteDTO {
+
+	/** {@code TUDO_OU_NADA} ou {@code POR_OPERACAO}; vazio usa o configurado. */
+	private String modo;
+	private List<OperacaoLoteDTO> operacoes;
+
+}
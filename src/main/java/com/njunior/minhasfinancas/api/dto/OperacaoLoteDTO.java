@@ -0,0 +1,22 @@
+package com.njunior.minhasfinancas.api.dto;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import lombok.experimental.SuperBuilder;
+
+/**
+ * Uma operação de {@code POST /api/lote}: os campos do lançamento mais a operação, que pode
+ * ser {@code CRIAR}, {@code ATUALIZAR}, {@code ATUALIZAR_STATUS} ou {@code EXCLUIR}.
+ */
+@Data
+@SuperBuilder
+@NoArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+@ToString(callSuper = true)
+public class OperacaoLoteDTO extends LancamentoDTO {
+
+	private String operacao;
+
+}
@@ -0,0 +1,39 @@
+package com.njunior.minhasfinancas.api.dto;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecorrenciaDTO {
+	
+	private Long id;
+	private String descricao;
+	private BigDecimal valor;
+	private Long usuario;
+	private String tipo;
+	
+	@JsonFormat(pattern = "yyyy-MM")
+	private YearMonth inicio;
+	
+	@JsonFormat(pattern = "yyyy-MM")
+	private YearMonth fim;
+	
+	private Integer parcelas;
+	
+	@JsonFormat(pattern = "yyyy-MM")
+	private YearMonth proximoMes;
+	
+	private Integer proximaParcela;
+	private Boolean ativa;
+
+}
@@ -0,0 +1,25 @@
+package com.njunior.minhasfinancas.api.dto;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import com.njunior.minhasfinancas.service.lote.ResultadoLote;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultadoLoteDTO {
+
+	private boolean confirmado;
+	private List<ResultadoOperacaoDTO> resultados;
+
+	public static ResultadoLoteDTO de(ResultadoLote lote) {
+		return new ResultadoLoteDTO(lote.isConfirmado(),
+				lote.getResultados().stream().map(ResultadoOperacaoDTO::de).collect(Collectors.toList()));
+	}
+
+}
@@ -0,0 +1,25 @@
+package com.njunior.minhasfinancas.api.dto;
+
+import com.njunior.minhasfinancas.service.lote.ResultadoOperacao;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultadoOperacaoDTO {
+
+	private int indice;
+	private String situacao;
+	private LancamentoRespostaDTO lancamento;
+	private String erro;
+
+	public static ResultadoOperacaoDTO de(ResultadoOperacao resultado) {
+		return new ResultadoOperacaoDTO(resultado.getIndice(), resultado.getSituacao().name(),
+				resultado.getLancamento() != null ? LancamentoRespostaDTO.de(resultado.getLancamento()) : null,
+				resultado.getErro());
+	}
+
+}
@@ -0,0 +1,23 @@
+package com.njunior.minhasfinancas.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import com.njunior.minhasfinancas.model.entity.Usuario;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Resposta da autenticação: os campos do usuário, como antes, mais o token a ser enviado em
+ * {@code Authorization: Bearer} nas requisições seguintes.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UsuarioAutenticadoDTO {
+
+	@JsonUnwrapped
+	private Usuario usuario;
+	private String token;
+
+}
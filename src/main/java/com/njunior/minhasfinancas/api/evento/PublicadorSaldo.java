@@ -0,0 +1,202 @@
+package com.njunior.minhasfinancas.api.evento;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter.SseEventBuilder;
+
+import com.njunior.minhasfinancas.service.LancamentoService;
+import com.njunior.minhasfinancas.service.event.LancamentoAlteradoEvent;
+import com.njunior.minhasfinancas.service.event.LancamentosGeradosEvent;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Mantém as conexões SSE de saldo abertas por usuário. Cada commit que altera
+ * lançamentos marca o usuário como pendente; alterações em sequência são
+ * agrupadas e o saldo é calculado uma única vez e enviado a todas as conexões
+ * daquele usuário, usando um pool pequeno de threads.
+ *
+ * <p>A escrita em cada conexão roda em outro executor, em fila por conexão, para que um
+ * cliente que não lê não segure as threads de cálculo e heartbeat. Uma conexão com envio
+ * pendente e sem progresso por {@code tempoMaximoEnvio} é considerada travada e é encerrada.
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(SseProperties.class)
+public class PublicadorSaldo implements DisposableBean {
+
+	static final String EVENTO_SALDO = "saldo";
+
+	private final LancamentoService lancamentoService;
+	private final SseProperties properties;
+	private final ScheduledExecutorService executor;
+	private final ExecutorService envios;
+	private final Map<Long, Set<SseEmitter>> conexoes = new ConcurrentHashMap<>();
+	private final Set<Long> pendentes = ConcurrentHashMap.newKeySet();
+	private final Map<SseEmitter, FilaEnvio> filas = new ConcurrentHashMap<>();
+
+	public PublicadorSaldo(LancamentoService lancamentoService, SseProperties properties) {
+		this.lancamentoService = lancamentoService;
+		this.properties = properties;
+		AtomicInteger contador = new AtomicInteger();
+		this.executor = Executors.newScheduledThreadPool(properties.getThreads(), r -> {
+			Thread thread = new Thread(r, "saldo-sse-" + contador.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+		AtomicInteger contadorEnvios = new AtomicInteger();
+		this.envios = Executors.newCachedThreadPool(r -> {
+			Thread thread = new Thread(r, "saldo-sse-envio-" + contadorEnvios.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+		long heartbeat = properties.getIntervaloHeartbeat().toMillis();
+		executor.scheduleWithFixedDelay(this::enviarHeartbeat, heartbeat, heartbeat, TimeUnit.MILLISECONDS);
+	}
+
+	public SseEmitter inscrever(Long idUsuario) {
+		return inscrever(idUsuario, new SseEmitter(properties.getTimeoutConexao().toMillis()));
+	}
+
+	SseEmitter inscrever(Long idUsuario, SseEmitter emitter) {
+		filas.put(emitter, new FilaEnvio());
+		conexoes.compute(idUsuario, (id, doUsuario) -> {
+			Set<SseEmitter> conjunto = doUsuario != null ? doUsuario : new CopyOnWriteArraySet<>();
+			conjunto.add(emitter);
+			return conjunto;
+		});
+
+		Runnable remover = () -> remover(idUsuario, emitter);
+		emitter.onCompletion(remover);
+		emitter.onTimeout(remover);
+		emitter.onError(erro -> remover.run());
+
+		agendarEnvio(idUsuario);
+		return emitter;
+	}
+
+	@TransactionalEventListener
+	public void aoAlterarLancamento(LancamentoAlteradoEvent evento) {
+		if (conexoes.containsKey(evento.getIdUsuario())) {
+			agendarEnvio(evento.getIdUsuario());
+		}
+	}
+
+	@TransactionalEventListener
+	public void aoGerarLancamentos(LancamentosGeradosEvent evento) {
+		evento.getLancamentos().stream()
+				.map(lancamento -> lancamento.getUsuario().getId())
+				.filter(conexoes::containsKey)
+				.distinct()
+				.forEach(this::agendarEnvio);
+	}
+
+	private void agendarEnvio(Long idUsuario) {
+		if (pendentes.add(idUsuario)) {
+			executor.execute(() -> enviarSaldo(idUsuario));
+		}
+	}
+
+	private void enviarSaldo(Long idUsuario) {
+		pendentes.remove(idUsuario);
+		Set<SseEmitter> doUsuario = conexoes.get(idUsuario);
+		if (doUsuario == null || doUsuario.isEmpty()) {
+			return;
+		}
+
+		BigDecimal saldo;
+		try {
+			saldo = lancamentoService.obterSaldoPorUsuario(idUsuario);
+		} catch (RuntimeException e) {
+			log.warn("Falha ao calcular saldo do usuário {} para SSE", idUsuario, e);
+			return;
+		}
+
+		String dado = saldo.toPlainString();
+		for (SseEmitter emitter : doUsuario) {
+			enviar(idUsuario, emitter, SseEmitter.event().name(EVENTO_SALDO).data(dado));
+		}
+	}
+
+	private void enviarHeartbeat() {
+		conexoes.forEach((idUsuario, doUsuario) -> {
+			for (SseEmitter emitter : doUsuario) {
+				enviar(idUsuario, emitter, SseEmitter.event().comment("heartbeat"));
+			}
+		});
+	}
+
+	private void enviar(Long idUsuario, SseEmitter emitter, SseEventBuilder evento) {
+		FilaEnvio fila = filas.get(emitter);
+		if (fila == null) {
+			return;
+		}
+		synchronized (fila) {
+			long agora = System.nanoTime();
+			if (fila.pendentes > 0 && agora - fila.ultimoProgresso > properties.getTempoMaximoEnvio().toNanos()) {
+				log.debug("Conexão SSE do usuário {} sem progresso no envio; encerrando.", idUsuario);
+				remover(idUsuario, emitter);
+				// send e complete sincronizam no emitter: encerrar aqui esperaria o envio travado
+				envios.execute(emitter::complete);
+				return;
+			}
+			if (fila.pendentes++ == 0) {
+				fila.ultimoProgresso = agora;
+			}
+			fila.ultimo = fila.ultimo.thenRunAsync(() -> {
+				try {
+					emitter.send(evento);
+				} catch (IOException | RuntimeException e) {
+					remover(idUsuario, emitter);
+				} finally {
+					synchronized (fila) {
+						fila.pendentes--;
+						fila.ultimoProgresso = System.nanoTime();
+					}
+				}
+			}, envios);
+		}
+	}
+
+	private void remover(Long idUsuario, SseEmitter emitter) {
+		filas.remove(emitter);
+		conexoes.computeIfPresent(idUsuario, (id, doUsuario) -> {
+			doUsuario.remove(emitter);
+			return doUsuario.isEmpty() ? null : doUsuario;
+		});
+	}
+
+	/** Envios de uma conexão, encadeados para sair em ordem e um por vez. */
+	private static class FilaEnvio {
+
+		private CompletableFuture<Void> ultimo = CompletableFuture.completedFuture(null);
+		private int pendentes;
+		private long ultimoProgresso;
+
+	}
+
+	@Override
+	public void destroy() {
+		executor.shutdownNow();
+		envios.shutdownNow();
+		conexoes.values().forEach(doUsuario -> doUsuario.forEach(SseEmitter::complete));
+		conexoes.clear();
+	}
+
+}
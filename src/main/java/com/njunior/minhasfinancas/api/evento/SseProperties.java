@@ -0,0 +1,23 @@
+package com.njunior.minhasfinancas.api.evento;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "minhasfinancas.sse")
+public class SseProperties {
+
+	/** Threads que calculam os saldos e agendam os envios; a escrita nas conexões roda à parte. */
+	private int threads = 2;
+
+	private Duration timeoutConexao = Duration.ofMinutes(30);
+
+	private Duration intervaloHeartbeat = Duration.ofSeconds(20);
+
+	/** Tempo sem concluir nenhum envio pendente a partir do qual a conexão é encerrada. */
+	private Duration tempoMaximoEnvio = Duration.ofSeconds(10);
+
+}
@@ -0,0 +1,123 @@
+package com.njunior.minhasfinancas.api.limite;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import com.njunior.minhasfinancas.api.limite.LimitesProperties.Limite;
+import com.njunior.minhasfinancas.api.token.TokenAutenticacaoFilter;
+
+/**
+ * Aplica, por usuário e por classe de endpoint, um token bucket (vazão) e um
+ * bulkhead (requisições simultâneas). Quando algum dos dois recusa, responde 429
+ * com Retry-After sem chegar ao resource. Em requisições assíncronas a permissão
+ * do bulkhead só é devolvida ao fim do dispatch assíncrono.
+ *
+ * <p>A chave é o usuário do token ou, sem token, o endereço do cliente com o limite
+ * {@link LimitesProperties#getSemUsuario() semUsuario}. Nada que o cliente escolhe livremente
+ * (parâmetros, ids na rota) entra na chave, e nenhuma consulta ao banco é feita antes de
+ * o limite valer.
+ */
+public class LimitadorRequisicoesInterceptor implements AsyncHandlerInterceptor {
+
+	private static final String ATRIBUTO_PERMISSAO = LimitadorRequisicoesInterceptor.class.getName() + ".permissao";
+
+	private final LimitesProperties properties;
+	private final Map<String, Estado> estados = new ConcurrentHashMap<>();
+
+	public LimitadorRequisicoesInterceptor(LimitesProperties properties) {
+		this.properties = properties;
+	}
+
+	@Override
+	public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+		if (!properties.isHabilitado() || request.getDispatcherType() == DispatcherType.ASYNC) {
+			return true;
+		}
+
+		String classe = classeDoEndpoint(request);
+		Object autenticado = request.getAttribute(TokenAutenticacaoFilter.ATRIBUTO_USUARIO);
+		Estado estado = autenticado != null
+				? obterEstado(classe + ":" + autenticado, properties.limiteDe(classe))
+				: obterEstado(classe + ":ip:" + request.getRemoteAddr(), properties.getSemUsuario());
+
+		long espera = estado.bucket.consumir(System.nanoTime());
+		if (espera > 0) {
+			recusar(response, espera);
+			return false;
+		}
+
+		if (!estado.emAndamento.tryAcquire()) {
+			recusar(response, TimeUnit.SECONDS.toNanos(1));
+			return false;
+		}
+		request.setAttribute(ATRIBUTO_PERMISSAO, estado.emAndamento);
+		return true;
+	}
+
+	@Override
+	public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+		Semaphore permissao = (Semaphore) request.getAttribute(ATRIBUTO_PERMISSAO);
+		if (permissao != null) {
+			request.removeAttribute(ATRIBUTO_PERMISSAO);
+			permissao.release();
+		}
+	}
+
+	private Estado obterEstado(String chave, Limite limite) {
+		Estado estado = estados.get(chave);
+		if (estado != null) {
+			return estado;
+		}
+		if (estados.size() >= properties.getMaximoChaves()) {
+			descartarOciosos();
+		}
+		return estados.computeIfAbsent(chave, c -> new Estado(limite));
+	}
+
+	private void descartarOciosos() {
+		long agora = System.nanoTime();
+		estados.entrySet().removeIf(e -> e.getValue().estaOcioso(agora));
+	}
+
+	private void recusar(HttpServletResponse response, long esperaNanos) throws Exception {
+		long segundos = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(esperaNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+		response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+		response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(segundos));
+		response.setCharacterEncoding("UTF-8");
+		response.getWriter().write("Limite de requisições excedido. Tente novamente em instantes.");
+	}
+
+	static String classeDoEndpoint(HttpServletRequest request) {
+		String caminho = request.getRequestURI().substring(request.getContextPath().length());
+		String[] partes = caminho.split("/");
+		return partes.length > 2 ? partes[2] : "";
+	}
+
+	private static class Estado {
+
+		private final TokenBucket bucket;
+		private final Semaphore emAndamento;
+		private final int concorrenciaMaxima;
+
+		Estado(Limite limite) {
+			this.bucket = new TokenBucket(limite.getCapacidade(), limite.getReposicaoPorSegundo(), System.nanoTime());
+			this.concorrenciaMaxima = limite.getConcorrenciaMaxima();
+			this.emAndamento = new Semaphore(concorrenciaMaxima);
+		}
+
+		boolean estaOcioso(long agora) {
+			return bucket.estaCheio(agora) && emAndamento.availablePermits() == concorrenciaMaxima;
+		}
+	}
+
+}
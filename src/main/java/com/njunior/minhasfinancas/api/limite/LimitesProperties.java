@@ -0,0 +1,48 @@
+package com.njunior.minhasfinancas.api.limite;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@ConfigurationProperties(prefix = "minhasfinancas.limites")
+public class LimitesProperties {
+
+	private boolean habilitado = true;
+
+	private int maximoChaves = 100_000;
+
+	private Limite padrao = new Limite();
+
+	/**
+	 * Limite por endereço do cliente, por classe de endpoint, das requisições sem token
+	 * (autenticação, cadastro, acessos sem token). Atrás do balanceador o endereço vem do
+	 * X-Forwarded-For, aceito só de proxies internos ({@code server.forward-headers-strategy}).
+	 */
+	private Limite semUsuario = new Limite(20, 10, 4);
+
+	/** Limites por classe de endpoint, indexados pelo segmento após /api (ex.: lancamentos, usuarios). */
+	private Map<String, Limite> endpoints = new HashMap<>();
+
+	public Limite limiteDe(String classe) {
+		return endpoints.getOrDefault(classe, padrao);
+	}
+
+	@Data
+	@NoArgsConstructor
+	@AllArgsConstructor
+	public static class Limite {
+
+		private int capacidade = 20;
+
+		private double reposicaoPorSegundo = 10;
+
+		private int concorrenciaMaxima = 4;
+	}
+
+}
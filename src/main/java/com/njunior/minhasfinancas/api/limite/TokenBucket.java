@@ -0,0 +1,48 @@
+package com.njunior.minhasfinancas.api.limite;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket sem locks, implementado como GCRA: o estado inteiro é o
+ * "instante teórico de chegada" da próxima requisição, atualizado por CAS.
+ */
+public class TokenBucket {
+
+	private final long intervaloNanos;
+	private final long toleranciaNanos;
+	private final AtomicLong proximaChegada;
+
+	public TokenBucket(int capacidade, double reposicaoPorSegundo, long agoraNanos) {
+		if (capacidade < 1 || reposicaoPorSegundo <= 0) {
+			throw new IllegalArgumentException("Capacidade e reposição devem ser positivas.");
+		}
+		this.intervaloNanos = (long) (TimeUnit.SECONDS.toNanos(1) / reposicaoPorSegundo);
+		this.toleranciaNanos = intervaloNanos * (capacidade - 1);
+		this.proximaChegada = new AtomicLong(agoraNanos);
+	}
+
+	/**
+	 * Tenta consumir um token.
+	 *
+	 * @return 0 se o token foi consumido, ou quantos nanos faltam para o próximo token.
+	 */
+	public long consumir(long agoraNanos) {
+		while (true) {
+			long atual = proximaChegada.get();
+			long base = Math.max(atual, agoraNanos);
+			long espera = base - agoraNanos - toleranciaNanos;
+			if (espera > 0) {
+				return espera;
+			}
+			if (proximaChegada.compareAndSet(atual, base + intervaloNanos)) {
+				return 0;
+			}
+		}
+	}
+
+	public boolean estaCheio(long agoraNanos) {
+		return proximaChegada.get() <= agoraNanos;
+	}
+
+}
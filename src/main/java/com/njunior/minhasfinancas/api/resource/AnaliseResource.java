@@ -0,0 +1,75 @@
+package com.njunior.minhasfinancas.api.resource;
+
+import java.time.YearMonth;
+import java.util.concurrent.Callable;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestAttribute;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.njunior.minhasfinancas.api.token.TokenAutenticacaoFilter;
+import com.njunior.minhasfinancas.exception.RegraNegocioExcepction;
+import com.njunior.minhasfinancas.service.AnaliseService;
+import com.njunior.minhasfinancas.service.UsuarioService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/usuarios/{id}/analise")
+@RequiredArgsConstructor
+public class AnaliseResource {
+	
+	static final String ACESSO_NEGADO = "Acesso negado aos dados de outro usuário.";
+	
+	private final AnaliseService service;
+	private final UsuarioService usuarioService;
+	
+	@GetMapping("/mensal")
+	public Callable<ResponseEntity> obterResumoMensal(@PathVariable("id") Long id,
+			@RequestParam("de") @DateTimeFormat(pattern = "yyyy-MM") YearMonth de,
+			@RequestParam("ate") @DateTimeFormat(pattern = "yyyy-MM") YearMonth ate,
+			@RequestAttribute(value = TokenAutenticacaoFilter.ATRIBUTO_USUARIO, required = false) Long idAutenticado) {
+		return () -> {
+			if(deOutroUsuario(idAutenticado, id)) {
+				return new ResponseEntity<>(ACESSO_NEGADO, HttpStatus.FORBIDDEN);
+			}
+			if(!existe(id, idAutenticado)) {
+				return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+			}
+			
+			try {
+				return ResponseEntity.ok(service.obterResumoMensal(id, de, ate));
+			} catch (RegraNegocioExcepction e) {
+				return ResponseEntity.badRequest().body(e.getMessage());
+			}
+		};
+	}
+	
+	@GetMapping("/totais")
+	public Callable<ResponseEntity> obterTotais(@PathVariable("id") Long id, @RequestAttribute(value = TokenAutenticacaoFilter.ATRIBUTO_USUARIO, required = false) Long idAutenticado) {
+		return () -> {
+			if(deOutroUsuario(idAutenticado, id)) {
+				return new ResponseEntity<>(ACESSO_NEGADO, HttpStatus.FORBIDDEN);
+			}
+			if(!existe(id, idAutenticado)) {
+				return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+			}
+			return ResponseEntity.ok(service.obterTotaisPorTipoEStatus(id));
+		};
+	}
+	
+	private static boolean deOutroUsuario(Long idAutenticado, Long idUsuario) {
+		return idAutenticado != null && idUsuario != null && !idAutenticado.equals(idUsuario);
+	}
+	
+	private boolean existe(Long id, Long idAutenticado) {
+		return idAutenticado != null || usuarioService.obterPorId(id).isPresent();
+	}
+
+}
@@ -0,0 +1,37 @@
+package com.njunior.minhasfinancas.api.resource;
+
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.context.request.async.AsyncRequestTimeoutException;
+
+import com.njunior.minhasfinancas.exception.ErroSobrecarga;
+
+@RestControllerAdvice
+public class ExecucaoAssincronaHandler {
+
+	@ExceptionHandler(TaskRejectedException.class)
+	public ResponseEntity recusada(TaskRejectedException e) {
+		return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+				.header(HttpHeaders.RETRY_AFTER, "1")
+				.body("Servidor sobrecarregado. Tente novamente em instantes.");
+	}
+
+	@ExceptionHandler(ErroSobrecarga.class)
+	public ResponseEntity sobrecarga(ErroSobrecarga e) {
+		return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+				.header(HttpHeaders.RETRY_AFTER, "1")
+				.body(e.getMessage());
+	}
+
+	@ExceptionHandler(AsyncRequestTimeoutException.class)
+	public ResponseEntity tempoEsgotado(AsyncRequestTimeoutException e) {
+		return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+				.header(HttpHeaders.RETRY_AFTER, "1")
+				.body("Tempo limite da requisição esgotado.");
+	}
+
+}
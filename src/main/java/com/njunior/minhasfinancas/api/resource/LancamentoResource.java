@@ -1,31 +1,52 @@
 package com.njunior.minhasfinancas.api.resource;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
-
-import javax.persistence.Entity;
+import java.util.concurrent.Callable;
+import java.util.stream.Collectors;
 
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestAttribute;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 
+import com.njunior.minhasfinancas.api.dto.FiltroLancamentoDTO;
 import com.njunior.minhasfinancas.api.dto.LancamentoDTO;
+import com.njunior.minhasfinancas.api.dto.LancamentoRespostaDTO;
 import com.njunior.minhasfinancas.api.dto.atualizaStatusDTO;
+import com.njunior.minhasfinancas.api.token.TokenAutenticacaoFilter;
 import com.njunior.minhasfinancas.exception.RegraNegocioExcepction;
 import com.njunior.minhasfinancas.model.entity.Lancamento;
+import com.njunior.minhasfinancas.model.entity.MovimentoExtrato;
 import com.njunior.minhasfinancas.model.entity.Usuario;
 import com.njunior.minhasfinancas.model.enums.StatusLancamento;
 import com.njunior.minhasfinancas.model.enums.TipoLacamento;
+import com.njunior.minhasfinancas.model.repository.FiltroLancamento;
+import com.njunior.minhasfinancas.service.ExtratoService;
 import com.njunior.minhasfinancas.service.LancamentoService;
 import com.njunior.minhasfinancas.service.UsuarioService;
+import com.njunior.minhasfinancas.service.impl.GrupoCommitLancamentos;
 
 import lombok.RequiredArgsConstructor;
 
@@ -34,96 +55,242 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class LancamentoResource {
 	
+	static final String MEDIA_TYPE_NDJSON = "application/x-ndjson";
+	static final String USUARIO_NAO_ENCONTRADO = "Não foi possível realizar a consulta. Usuário não encontardo para o Id informado.";
+	static final String ACESSO_NEGADO = "Acesso negado aos lançamentos de outro usuário.";
+	
 	private final LancamentoService service;
 	private final UsuarioService usuarioService;
+	private final ExtratoService extratoService;
+	private final GrupoCommitLancamentos grupoCommit;
+	private final ObjectMapper objectMapper;
 	
 		
+	/**
+	 * Com token, o usuário vem dele e a existência não precisa ser conferida no banco; um
+	 * parâmetro {@code usuario} diferente é recusado.
+	 */
 	@GetMapping
-	public ResponseEntity buscar(
+	public Callable<ResponseEntity> buscar(FiltroLancamentoDTO dto, @RequestAttribute(value = TokenAutenticacaoFilter.ATRIBUTO_USUARIO, required = false) Long idAutenticado) {
+		return () -> {
+			if(deOutroUsuario(idAutenticado, dto.getUsuario())) {
+				return new ResponseEntity<>(ACESSO_NEGADO, HttpStatus.FORBIDDEN);
+			}
+			if(idAutenticado != null) {
+				dto.setUsuario(idAutenticado);
+			}
+			if(dto.getUsuario() == null) {
+				return ResponseEntity.badRequest().body(USUARIO_NAO_ENCONTRADO);
+			}
+			
+			List<Lancamento> lancamentos;
+			try {
+				lancamentos = service.buscar(converter(dto));
+			} catch (RegraNegocioExcepction e) {
+				return ResponseEntity.badRequest().body(e.getMessage());
+			}
+			
+			if(lancamentos.isEmpty() && idAutenticado == null && !usuarioService.obterPorId(dto.getUsuario()).isPresent()) {
+				return ResponseEntity.badRequest().body(USUARIO_NAO_ENCONTRADO);
+			}
+			
+			return ResponseEntity.ok(lancamentos.stream().map(LancamentoRespostaDTO::de).collect(Collectors.toList()));
+		};
+	}
+	
+	@GetMapping(value = "/stream", produces = MEDIA_TYPE_NDJSON)
+	public Callable<ResponseEntity<StreamingResponseBody>> buscarEmFluxo(
 			@RequestParam(value = "descricao", required = false) String descricao,
 			@RequestParam(value = "mes", required = false) Integer mes,
 			@RequestParam(value = "ano", required = false) Integer ano,
-			@RequestParam(value = "usuario", required = false) Long idUsuario
+			@RequestParam(value = "usuario", required = false) Long idUsuario,
+			@RequestAttribute(value = TokenAutenticacaoFilter.ATRIBUTO_USUARIO, required = false) Long idAutenticado
 			) {
-		
-		Lancamento lancamentoFiltro = new Lancamento();
-		lancamentoFiltro.setDescricao(descricao);
-		lancamentoFiltro.setMes(mes);
-		lancamentoFiltro.setAno(ano);
-		
-		Optional<Usuario> usuario = usuarioService.obterPorId(idUsuario);
-		
-		if(!usuario.isPresent()) {
-			return ResponseEntity.badRequest().body("Não foi possível realizar a consulta. Usuário não encontardo para o Id informado.");
-		}else {
+		return () -> {
+			if(deOutroUsuario(idAutenticado, idUsuario)) {
+				byte[] mensagem = ACESSO_NEGADO.getBytes(StandardCharsets.UTF_8);
+				return ResponseEntity.status(HttpStatus.FORBIDDEN).contentType(MediaType.TEXT_PLAIN).body(saida -> saida.write(mensagem));
+			}
+			Optional<Usuario> usuario = idAutenticado != null
+					? Optional.of(referencia(idAutenticado))
+					: usuarioService.obterPorId(idUsuario);
+			if(!usuario.isPresent()) {
+				byte[] mensagem = USUARIO_NAO_ENCONTRADO.getBytes(StandardCharsets.UTF_8);
+				return ResponseEntity.badRequest().contentType(MediaType.TEXT_PLAIN).body(saida -> saida.write(mensagem));
+			}
+			
+			Lancamento lancamentoFiltro = new Lancamento();
+			lancamentoFiltro.setDescricao(descricao);
+			lancamentoFiltro.setMes(mes);
+			lancamentoFiltro.setAno(ano);
 			lancamentoFiltro.setUsuario(usuario.get());
-		}
-		
-		List<Lancamento> lancamentos = service.buscar(lancamentoFiltro);
-		
-		return ResponseEntity.ok(lancamentos);
+			
+			StreamingResponseBody corpo = saida -> {
+				ObjectWriter escritor = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+				JsonGenerator gerador = objectMapper.getFactory().createGenerator(saida);
+				gerador.setPrettyPrinter(new MinimalPrettyPrinter("\n"));
+				service.percorrer(lancamentoFiltro, lancamento -> {
+					try {
+						escritor.writeValue(gerador, LancamentoRespostaDTO.de(lancamento));
+					} catch (IOException e) {
+						throw new UncheckedIOException(e);
+					}
+				});
+				gerador.writeRaw('\n');
+				gerador.flush();
+			};
+			return ResponseEntity.ok().contentType(MediaType.valueOf(MEDIA_TYPE_NDJSON)).body(corpo);
+		};
 	}
 	
 	@PostMapping
-	public ResponseEntity salvar(@RequestBody LancamentoDTO dto) {
-		
-		try {
-			Lancamento entidade = converter(dto);
-			entidade = service.salvar(entidade);
-			return new ResponseEntity(entidade, HttpStatus.CREATED);
-		}
-		 catch (RegraNegocioExcepction e) {
-			 return ResponseEntity.badRequest().body(e.getMessage());
-		}
+	public Callable<ResponseEntity> salvar(@RequestBody LancamentoDTO dto, @RequestAttribute(value = TokenAutenticacaoFilter.ATRIBUTO_USUARIO, required = false) Long idAutenticado) {
+		return () -> {
+			if(deOutroUsuario(idAutenticado, dto.getUsuario())) {
+				return new ResponseEntity<>(ACESSO_NEGADO, HttpStatus.FORBIDDEN);
+			}
+			try {
+				if(idAutenticado != null) {
+					dto.setUsuario(idAutenticado);
+				}
+				// o grupo-commit confere o usuário na própria transação, sem consulta aqui
+				Lancamento entidade = converter(dto, referencia(dto.getUsuario()));
+				entidade = grupoCommit.salvar(entidade, idAutenticado != null);
+				return new ResponseEntity<>(LancamentoRespostaDTO.de(entidade), HttpStatus.CREATED);
+			}
+			 catch (RegraNegocioExcepction e) {
+				 return ResponseEntity.badRequest().body(e.getMessage());
+			}
+		};
 	}
 	
 	@PutMapping("{id}")
-	public ResponseEntity atualizar(@PathVariable("id") Long id, @RequestBody LancamentoDTO dto ) {
-		return service.obterPorId(id).map( entity -> {
-		try {
-			Lancamento lancamento = converter(dto);
-			lancamento.setId(entity.getId());
-			service.atualizar(lancamento);
-			
-			return ResponseEntity.ok(lancamento);
-		} catch (RegraNegocioExcepction e) {
-			return ResponseEntity.badRequest().body(e.getMessage());
-		}
+	public Callable<ResponseEntity> atualizar(@PathVariable("id") Long id, @RequestBody LancamentoDTO dto, @RequestAttribute(value = TokenAutenticacaoFilter.ATRIBUTO_USUARIO, required = false) Long idAutenticado) {
+		return () -> service.obterPorId(id).map( entity -> {
+			if(deOutroUsuario(idAutenticado, entity.getUsuario().getId()) || deOutroUsuario(idAutenticado, dto.getUsuario())) {
+				return new ResponseEntity<>(ACESSO_NEGADO, HttpStatus.FORBIDDEN);
+			}
+			try {
+				if(idAutenticado != null) {
+					dto.setUsuario(idAutenticado);
+				}
+				Lancamento lancamento = converter(dto, entity.getUsuario());
+				lancamento.setId(entity.getId());
+				lancamento.setDataCadastro(entity.getDataCadastro());
+				lancamento.setIdRecorrencia(entity.getIdRecorrencia());
+				lancamento.setParcela(entity.getParcela());
+				if(lancamento.getStatus() == null) {
+					lancamento.setStatus(entity.getStatus());
+				}
+				service.atualizar(lancamento);
+				
+				return ResponseEntity.ok(LancamentoRespostaDTO.de(lancamento));
+			} catch (RegraNegocioExcepction e) {
+				return ResponseEntity.badRequest().body(e.getMessage());
+			}
 			
 		}).orElseGet( () -> 
-		new ResponseEntity("Lançamento não encontado na base de dados." , HttpStatus.BAD_REQUEST));
+		new ResponseEntity<>("Lançamento não encontado na base de dados." , HttpStatus.BAD_REQUEST));
 	}
 	
 	@PutMapping("{id}/atualiza-status")
-	public ResponseEntity atualizarStatus(@PathVariable("id") Long id,  @RequestBody atualizaStatusDTO dto) {
-		return service.obterPorId(id).map( entity -> {
+	public Callable<ResponseEntity> atualizarStatus(@PathVariable("id") Long id,  @RequestBody atualizaStatusDTO dto, @RequestAttribute(value = TokenAutenticacaoFilter.ATRIBUTO_USUARIO, required = false) Long idAutenticado) {
+		return () -> service.obterPorId(id).map( entity -> {
+			if(deOutroUsuario(idAutenticado, entity.getUsuario().getId())) {
+				return new ResponseEntity<>(ACESSO_NEGADO, HttpStatus.FORBIDDEN);
+			}
 			StatusLancamento statusSelecionado = StatusLancamento.valueOf(dto.getStatus());
 			if(statusSelecionado == null) {
 				return ResponseEntity.badRequest().body("Não foi possível atualizar o status do lancamento, envie um status válido. ");
 			}
 			
 			try {
-				entity.setStatus(statusSelecionado);
-				service.atualizar(entity);
-				return ResponseEntity.ok(entity);
+				// a instância carregada continua no contexto da requisição e serve de estado anterior
+				Lancamento lancamento = entity.copiar();
+				lancamento.setStatus(statusSelecionado);
+				service.atualizar(lancamento);
+				return ResponseEntity.ok(LancamentoRespostaDTO.de(lancamento));
 			}catch (RegraNegocioExcepction e) {
 				return ResponseEntity.badRequest().body(e.getMessage());
 			}
 			
 		}).orElseGet( () -> 
-		new ResponseEntity("Lançamento não encontado na base de dados." , HttpStatus.BAD_REQUEST));
+		new ResponseEntity<>("Lançamento não encontado na base de dados." , HttpStatus.BAD_REQUEST));
+	}
+	
+	@GetMapping("{id}/historico")
+	public Callable<ResponseEntity> obterHistorico(@PathVariable("id") Long id, @RequestAttribute(value = TokenAutenticacaoFilter.ATRIBUTO_USUARIO, required = false) Long idAutenticado) {
+		return () -> {
+			List<MovimentoExtrato> historico = extratoService.obterHistorico(id);
+			if(historico.stream().anyMatch(movimento -> deOutroUsuario(idAutenticado, movimento.getIdUsuario()))) {
+				return new ResponseEntity<>(ACESSO_NEGADO, HttpStatus.FORBIDDEN);
+			}
+			return ResponseEntity.ok(historico);
+		};
 	}
 	
 	@DeleteMapping("{id}")
-	public ResponseEntity deletar(@PathVariable("id") Long id) {
-		return service.obterPorId(id).map( entidade -> {
+	public Callable<ResponseEntity> deletar(@PathVariable("id") Long id, @RequestAttribute(value = TokenAutenticacaoFilter.ATRIBUTO_USUARIO, required = false) Long idAutenticado) {
+		return () -> service.obterPorId(id).map( entidade -> {
+			if(deOutroUsuario(idAutenticado, entidade.getUsuario().getId())) {
+				return new ResponseEntity<>(ACESSO_NEGADO, HttpStatus.FORBIDDEN);
+			}
 			service.deletar(entidade);
-			return new ResponseEntity(HttpStatus.NO_CONTENT);
+			return new ResponseEntity<>(HttpStatus.NO_CONTENT);
 		}).orElseGet(() -> 
-		new ResponseEntity("Lançamento não encontado na base de dados." , HttpStatus.BAD_REQUEST));
+		new ResponseEntity<>("Lançamento não encontado na base de dados." , HttpStatus.BAD_REQUEST));
+	}
+	
+	private static boolean deOutroUsuario(Long idAutenticado, Long idUsuario) {
+		return idAutenticado != null && idUsuario != null && !idAutenticado.equals(idUsuario);
+	}
+	
+	/** Usuário do token, identificado só pelo id, para não buscá-lo no banco. */
+	private static Usuario referencia(Long idUsuario) {
+		return Usuario.builder().id(idUsuario).build();
+	}
+	
+	private FiltroLancamento converter(FiltroLancamentoDTO dto) {
+		FiltroLancamento filtro = FiltroLancamento.builder()
+				.idUsuario(dto.getUsuario())
+				.descricao(dto.getDescricao())
+				.mes(dto.getMes())
+				.ano(dto.getAno())
+				.de(dto.getDe())
+				.ate(dto.getAte())
+				.dataCadastroDe(dto.getDataCadastroDe())
+				.dataCadastroAte(dto.getDataCadastroAte())
+				.valorMinimo(dto.getValorMinimo())
+				.valorMaximo(dto.getValorMaximo())
+				.build();
+		
+		if(dto.getModoDescricao() != null) {
+			filtro.setModoDescricao(dto.getModoDescricao());
+		}
+		if(dto.getTipo() != null && !dto.getTipo().isEmpty()) {
+			filtro.setTipos(EnumSet.copyOf(dto.getTipo()));
+		}
+		if(dto.getStatus() != null && !dto.getStatus().isEmpty()) {
+			filtro.setStatus(EnumSet.copyOf(dto.getStatus()));
+		}
+		if(dto.getOrdenarPor() != null) {
+			filtro.setOrdenarPor(dto.getOrdenarPor());
+		}
+		if(dto.getDirecao() != null) {
+			filtro.setDirecao(dto.getDirecao());
+		}
+		return filtro;
 	}
 	
 	private Lancamento converter(LancamentoDTO dto) {
+		return converter(dto, null);
+	}
+	
+	/**
+	 * Quando o usuário do DTO é o mesmo já associado ao lançamento, reaproveita a
+	 * referência existente em vez de buscá-lo novamente.
+	 */
+	private Lancamento converter(LancamentoDTO dto, Usuario usuarioAtual) {
 		Lancamento lancamento = new Lancamento();
 		lancamento.setId(dto.getId());
 		lancamento.setDescricao(dto.getDescricao());
@@ -131,16 +298,18 @@ public class LancamentoResource {
 		lancamento.setMes(dto.getMes());
 		lancamento.setValor(dto.getValor());
 		
-		Usuario usuario = usuarioService
+		Usuario usuario = usuarioAtual != null && Objects.equals(usuarioAtual.getId(), dto.getUsuario())
+		? usuarioAtual
+		: usuarioService
 		.obterPorId(dto.getUsuario())
 		.orElseThrow( () -> new RegraNegocioExcepction("Usuário não encontardo para o Id informado.") );
 		
 		lancamento.setUsuario(usuario);
-		if(dto.getTipo() != null) {
+		if(dto.getTipo() != null && !dto.getTipo().isEmpty()) {
 			lancamento.setTipo(TipoLacamento.valueOf(dto.getTipo()));
 		}
 		
-		if(dto.getStatus() != null) {
+		if(dto.getStatus() != null && !dto.getStatus().isEmpty()) {
 			lancamento.setStatus(StatusLancamento.valueOf(dto.getStatus()));
 		}
 		
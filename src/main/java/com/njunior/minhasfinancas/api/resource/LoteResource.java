@@ -0,0 +1,96 @@
+package com.njunior.minhasfinancas.api.resource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestAttribute;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.njunior.minhasfinancas.api.dto.LoteDTO;
+import com.njunior.minhasfinancas.api.dto.OperacaoLoteDTO;
+import com.njunior.minhasfinancas.api.dto.ResultadoLoteDTO;
+import com.njunior.minhasfinancas.api.token.TokenAutenticacaoFilter;
+import com.njunior.minhasfinancas.exception.RegraNegocioExcepction;
+import com.njunior.minhasfinancas.model.enums.StatusLancamento;
+import com.njunior.minhasfinancas.model.enums.TipoLacamento;
+import com.njunior.minhasfinancas.service.LoteService;
+import com.njunior.minhasfinancas.service.lote.ModoLote;
+import com.njunior.minhasfinancas.service.lote.OperacaoLote;
+import com.njunior.minhasfinancas.service.lote.ResultadoLote;
+import com.njunior.minhasfinancas.service.lote.TipoOperacaoLote;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Recebe uma sequência ordenada de operações sobre lançamentos e as executa numa única
+ * transação, devolvendo o resultado de cada uma. Um lote desfeito responde 400 com os
+ * mesmos resultados. Com token, as operações valem só para o usuário dele.
+ */
+@RestController
+@RequestMapping("/api/lote")
+@RequiredArgsConstructor
+public class LoteResource {
+
+	static final String ACESSO_NEGADO = "Acesso negado aos lançamentos de outro usuário.";
+
+	private final LoteService service;
+
+	@PostMapping
+	public Callable<ResponseEntity> executar(@RequestBody LoteDTO dto,
+			@RequestAttribute(value = TokenAutenticacaoFilter.ATRIBUTO_USUARIO, required = false) Long idAutenticado) {
+		return () -> {
+			if(idAutenticado != null && dto.getOperacoes() != null && dto.getOperacoes().stream()
+					.anyMatch(operacao -> operacao.getUsuario() != null && !idAutenticado.equals(operacao.getUsuario()))) {
+				return new ResponseEntity<>(ACESSO_NEGADO, HttpStatus.FORBIDDEN);
+			}
+			try {
+				ModoLote modo = dto.getModo() == null || dto.getModo().isEmpty() ? null : ModoLote.valueOf(dto.getModo());
+				ResultadoLote resultado = service.executar(converter(dto.getOperacoes()), modo, idAutenticado);
+				ResultadoLoteDTO corpo = ResultadoLoteDTO.de(resultado);
+				return resultado.isConfirmado() ? ResponseEntity.ok(corpo) : ResponseEntity.badRequest().body(corpo);
+			} catch (RegraNegocioExcepction | IllegalArgumentException e) {
+				return ResponseEntity.badRequest().body(e.getMessage());
+			}
+		};
+	}
+
+	private static List<OperacaoLote> converter(List<OperacaoLoteDTO> dtos) {
+		if(dtos == null) {
+			return null;
+		}
+		List<OperacaoLote> operacoes = new ArrayList<>(dtos.size());
+		for (int i = 0; i < dtos.size(); i++) {
+			try {
+				operacoes.add(converter(dtos.get(i)));
+			} catch (IllegalArgumentException e) {
+				throw new RegraNegocioExcepction("Operação " + i + " inválida: " + e.getMessage());
+			}
+		}
+		return operacoes;
+	}
+
+	private static OperacaoLote converter(OperacaoLoteDTO dto) {
+		return OperacaoLote.builder()
+				.operacao(vazio(dto.getOperacao()) ? null : TipoOperacaoLote.valueOf(dto.getOperacao()))
+				.id(dto.getId())
+				.idUsuario(dto.getUsuario())
+				.descricao(dto.getDescricao())
+				.mes(dto.getMes())
+				.ano(dto.getAno())
+				.valor(dto.getValor())
+				.tipo(vazio(dto.getTipo()) ? null : TipoLacamento.valueOf(dto.getTipo()))
+				.status(vazio(dto.getStatus()) ? null : StatusLancamento.valueOf(dto.getStatus()))
+				.build();
+	}
+
+	private static boolean vazio(String valor) {
+		return valor == null || valor.isEmpty();
+	}
+
+}
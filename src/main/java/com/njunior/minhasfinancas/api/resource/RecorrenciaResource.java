@@ -0,0 +1,131 @@
+package com.njunior.minhasfinancas.api.resource;
+
+import java.time.YearMonth;
+import java.util.concurrent.Callable;
+import java.util.stream.Collectors;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.njunior.minhasfinancas.api.dto.RecorrenciaDTO;
+import com.njunior.minhasfinancas.exception.RegraNegocioExcepction;
+import com.njunior.minhasfinancas.model.entity.Lancamento;
+import com.njunior.minhasfinancas.model.entity.Recorrencia;
+import com.njunior.minhasfinancas.model.enums.TipoLacamento;
+import com.njunior.minhasfinancas.service.RecorrenciaService;
+import com.njunior.minhasfinancas.service.UsuarioService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/recorrencias")
+@RequiredArgsConstructor
+public class RecorrenciaResource {
+	
+	private final RecorrenciaService service;
+	private final UsuarioService usuarioService;
+	
+	@GetMapping
+	public Callable<ResponseEntity> buscar(@RequestParam("usuario") Long idUsuario) {
+		return () -> {
+			if(!usuarioService.obterPorId(idUsuario).isPresent()) {
+				return ResponseEntity.badRequest().body(LancamentoResource.USUARIO_NAO_ENCONTRADO);
+			}
+			return ResponseEntity.ok(service.buscarPorUsuario(idUsuario).stream()
+					.map(RecorrenciaResource::converter).collect(Collectors.toList()));
+		};
+	}
+	
+	@PostMapping
+	public Callable<ResponseEntity> salvar(@RequestBody RecorrenciaDTO dto) {
+		return () -> {
+			try {
+				if(dto.getUsuario() == null || !usuarioService.obterPorId(dto.getUsuario()).isPresent()) {
+					throw new RegraNegocioExcepction("Usuário não encontrado para o Id informado.");
+				}
+				Recorrencia recorrencia = service.salvar(converter(dto));
+				return new ResponseEntity<>(converter(recorrencia), HttpStatus.CREATED);
+			} catch (RegraNegocioExcepction e) {
+				return ResponseEntity.badRequest().body(e.getMessage());
+			}
+		};
+	}
+	
+	/** Encerra a recorrência; os lançamentos já gerados são mantidos. */
+	@DeleteMapping("{id}")
+	public Callable<ResponseEntity> encerrar(@PathVariable("id") Long id) {
+		return () -> service.obterPorId(id).map( recorrencia -> {
+			service.encerrar(recorrencia);
+			return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+		}).orElseGet(() -> 
+		new ResponseEntity<>("Recorrência não encontrada na base de dados.", HttpStatus.BAD_REQUEST));
+	}
+	
+	@GetMapping("/projecao")
+	public Callable<ResponseEntity> projetarSaldo(@RequestParam("usuario") Long idUsuario,
+			@RequestParam("ate") @DateTimeFormat(pattern = "yyyy-MM") YearMonth ate) {
+		return () -> {
+			if(!usuarioService.obterPorId(idUsuario).isPresent()) {
+				return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+			}
+			
+			try {
+				return ResponseEntity.ok(service.projetarSaldo(idUsuario, ate));
+			} catch (RegraNegocioExcepction e) {
+				return ResponseEntity.badRequest().body(e.getMessage());
+			}
+		};
+	}
+	
+	private static Recorrencia converter(RecorrenciaDTO dto) {
+		Recorrencia recorrencia = new Recorrencia();
+		recorrencia.setDescricao(dto.getDescricao());
+		recorrencia.setValor(dto.getValor());
+		recorrencia.setIdUsuario(dto.getUsuario());
+		recorrencia.setParcelas(dto.getParcelas());
+		if(dto.getTipo() != null) {
+			try {
+				recorrencia.setTipo(TipoLacamento.valueOf(dto.getTipo()));
+			} catch (IllegalArgumentException e) {
+				throw new RegraNegocioExcepction("Informe um Tipo de Lançamento.");
+			}
+		}
+		if(dto.getInicio() != null) {
+			recorrencia.setPeriodoInicial(Lancamento.periodo(dto.getInicio().getYear(), dto.getInicio().getMonthValue()));
+		}
+		if(dto.getFim() != null) {
+			recorrencia.setPeriodoFinal(Lancamento.periodo(dto.getFim().getYear(), dto.getFim().getMonthValue()));
+		}
+		return recorrencia;
+	}
+	
+	private static RecorrenciaDTO converter(Recorrencia recorrencia) {
+		return RecorrenciaDTO.builder()
+				.id(recorrencia.getId())
+				.descricao(recorrencia.getDescricao())
+				.valor(recorrencia.getValor())
+				.usuario(recorrencia.getIdUsuario())
+				.tipo(recorrencia.getTipo().name())
+				.inicio(mes(recorrencia.getPeriodoInicial()))
+				.fim(mes(recorrencia.getPeriodoFinal()))
+				.parcelas(recorrencia.getParcelas())
+				.proximoMes(mes(recorrencia.getProximoPeriodo()))
+				.proximaParcela(recorrencia.getProximaParcela())
+				.ativa(recorrencia.isAtiva())
+				.build();
+	}
+	
+	private static YearMonth mes(Integer periodo) {
+		return periodo == null ? null : YearMonth.of(periodo / 100, periodo % 100);
+	}
+
+}
@@ -1,23 +1,43 @@
 package com.njunior.minhasfinancas.api.resource;
 
 import java.math.BigDecimal;
-import java.util.Optional;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
 
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestAttribute;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import com.njunior.minhasfinancas.api.dto.UsuarioAutenticadoDTO;
 import com.njunior.minhasfinancas.api.dto.UsuarioDTO;
+import com.njunior.minhasfinancas.api.evento.PublicadorSaldo;
+import com.njunior.minhasfinancas.api.token.AssinadorTokens;
+import com.njunior.minhasfinancas.api.token.TokenAutenticacaoFilter;
+import com.njunior.minhasfinancas.config.ExecutorBanco;
 import com.njunior.minhasfinancas.exception.ErroAutenticacao;
 import com.njunior.minhasfinancas.exception.RegraNegocioExcepction;
 import com.njunior.minhasfinancas.model.entity.Usuario;
+import com.njunior.minhasfinancas.service.AnaliseService;
+import com.njunior.minhasfinancas.service.ExtratoService;
 import com.njunior.minhasfinancas.service.LancamentoService;
 import com.njunior.minhasfinancas.service.UsuarioService;
+import com.njunior.minhasfinancas.service.analise.Granularidade;
 
 import lombok.RequiredArgsConstructor;
 
@@ -26,48 +46,161 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class UsuarioResource {
 	
+	static final String ACESSO_NEGADO = "Acesso negado aos dados de outro usuário.";
+	
 	private final UsuarioService service;
 	private final LancamentoService lancamentoService;
+	private final ExtratoService extratoService;
+	private final AnaliseService analiseService;
+	private final PublicadorSaldo publicadorSaldo;
+	private final AssinadorTokens assinadorTokens;
+	private final ExecutorBanco executorBanco;
 	
 	
+	/**
+	 * A busca do usuário roda no executor de banco e a conferência da senha no pool de
+	 * hashes; nenhuma thread fica parada esperando o BCrypt.
+	 */
 	@PostMapping("/autenticar")
-	public ResponseEntity autenticar(@RequestBody UsuarioDTO dto) {
-		
-		try {
-			Usuario usuarioAutenticado = service.autenticar(dto.getEmail(), dto.getSenha());
-			return ResponseEntity.ok(usuarioAutenticado);
-		} catch (ErroAutenticacao e) {
-			return ResponseEntity.badRequest().body(e.getMessage());
-		}
+	public CompletableFuture<ResponseEntity<?>> autenticar(@RequestBody UsuarioDTO dto) {
+		return CompletableFuture.supplyAsync(() -> service.autenticar(dto.getEmail(), dto.getSenha()), executorBanco)
+				.thenCompose(Function.identity())
+				.<ResponseEntity<?>>thenApply(usuarioAutenticado -> {
+					String token = usuarioAutenticado.getId() != null ? assinadorTokens.emitir(usuarioAutenticado.getId()) : null;
+					return ResponseEntity.ok(new UsuarioAutenticadoDTO(usuarioAutenticado, token));
+				})
+				.exceptionally(erro -> {
+					Throwable causa = erro instanceof CompletionException && erro.getCause() != null ? erro.getCause() : erro;
+					if(causa instanceof ErroAutenticacao) {
+						return ResponseEntity.badRequest().body(causa.getMessage());
+					}
+					throw erro instanceof CompletionException ? (CompletionException) erro : new CompletionException(erro);
+				});
 	}
 
 	@PostMapping
-	public ResponseEntity salvar(@RequestBody UsuarioDTO dto) {
+	public Callable<ResponseEntity> salvar(@RequestBody UsuarioDTO dto) {
 		
 		Usuario usuario = Usuario.builder()
 				.nome(dto.getNome())
 				.email(dto.getEmail())
 				.senha(dto.getSenha()).build();
 		
-		try {
-			Usuario ususarioSalvo = service.salvarUsuario(usuario);
-			return new ResponseEntity(ususarioSalvo, HttpStatus.CREATED);
-			} catch (RegraNegocioExcepction e) {
-				return ResponseEntity.badRequest().body(e);
-		}
-		
+		return () -> {
+			try {
+				service.validar(usuario);
+				Usuario ususarioSalvo = service.salvarUsuario(usuario);
+				return new ResponseEntity<>(ususarioSalvo, HttpStatus.CREATED);
+				} catch (RegraNegocioExcepction e) {
+					return ResponseEntity.badRequest().body(e);
+			}
+		};
 	}
 	
 	@GetMapping("{id}/saldo")
-	public ResponseEntity obterSaldo(@PathVariable("id") Long id) {
-		Optional<Usuario> usuario = service.obterPorId(id);
-		
-		if(!usuario.isPresent()) {
-			return new ResponseEntity(HttpStatus.NOT_FOUND);
-		}
-		
-		BigDecimal saldo = lancamentoService.obterSaldoPorUsuario(id);
-		return ResponseEntity.ok(saldo);
+	public Callable<ResponseEntity> obterSaldo(@PathVariable("id") Long id, @RequestAttribute(value = TokenAutenticacaoFilter.ATRIBUTO_USUARIO, required = false) Long idAutenticado) {
+		return () -> {
+			if(deOutroUsuario(idAutenticado, id)) {
+				return new ResponseEntity<>(ACESSO_NEGADO, HttpStatus.FORBIDDEN);
+			}
+			if(!existe(id, idAutenticado)) {
+				return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+			}
+			
+			BigDecimal saldo = lancamentoService.obterSaldoPorUsuario(id);
+			return ResponseEntity.ok(saldo);
+		};
+	}
+	
+	/**
+	 * Saldos de vários usuários calculados em uma única consulta agrupada (em lotes para
+	 * listas muito grandes). Usuários sem lançamentos aparecem com saldo zero. Com token, só
+	 * o próprio usuário pode constar da lista.
+	 */
+	@PostMapping("/saldos")
+	public Callable<ResponseEntity> obterSaldos(@RequestBody List<Long> ids, @RequestAttribute(value = TokenAutenticacaoFilter.ATRIBUTO_USUARIO, required = false) Long idAutenticado) {
+		return () -> {
+			if(ids == null || ids.isEmpty()) {
+				return ResponseEntity.badRequest().body("Informe ao menos um usuário.");
+			}
+			if(ids.stream().anyMatch(id -> deOutroUsuario(idAutenticado, id))) {
+				return new ResponseEntity<>(ACESSO_NEGADO, HttpStatus.FORBIDDEN);
+			}
+			
+			Map<Long, BigDecimal> saldos = lancamentoService.obterSaldosPorUsuarios(ids);
+			return ResponseEntity.ok(saldos);
+		};
+	}
+	
+	@GetMapping("{id}/saldo/historico")
+	public Callable<ResponseEntity> obterSaldoEm(@PathVariable("id") Long id,
+			@RequestParam("em") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime instante,
+			@RequestAttribute(value = TokenAutenticacaoFilter.ATRIBUTO_USUARIO, required = false) Long idAutenticado) {
+		return () -> {
+			if(deOutroUsuario(idAutenticado, id)) {
+				return new ResponseEntity<>(ACESSO_NEGADO, HttpStatus.FORBIDDEN);
+			}
+			if(!existe(id, idAutenticado)) {
+				return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+			}
+			
+			BigDecimal saldo = extratoService.obterSaldoEm(id, instante);
+			return ResponseEntity.ok(saldo);
+		};
+	}
+	
+	/**
+	 * Saldo acumulado ao fim de cada mês ou dia do intervalo, calculado em uma passada sobre
+	 * o snapshot de análise do usuário.
+	 */
+	@GetMapping("{id}/saldo/serie")
+	public Callable<ResponseEntity> obterSerieSaldo(@PathVariable("id") Long id,
+			@RequestParam("de") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate de,
+			@RequestParam("ate") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate ate,
+			@RequestParam(value = "granularidade", defaultValue = "mes") String granularidade,
+			@RequestAttribute(value = TokenAutenticacaoFilter.ATRIBUTO_USUARIO, required = false) Long idAutenticado) {
+		return () -> {
+			if(deOutroUsuario(idAutenticado, id)) {
+				return new ResponseEntity<>(ACESSO_NEGADO, HttpStatus.FORBIDDEN);
+			}
+			Granularidade escolhida;
+			try {
+				escolhida = Granularidade.valueOf(granularidade.toUpperCase());
+			} catch (IllegalArgumentException e) {
+				return ResponseEntity.badRequest().body("Informe a granularidade mes ou dia.");
+			}
+			if(!existe(id, idAutenticado)) {
+				return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+			}
+			
+			try {
+				return ResponseEntity.ok(analiseService.obterSerieSaldo(id, de, ate, escolhida));
+			} catch (RegraNegocioExcepction e) {
+				return ResponseEntity.badRequest().body(e.getMessage());
+			}
+		};
+	}
+	
+	@GetMapping(value = "{id}/saldo/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+	public Callable<ResponseEntity<SseEmitter>> acompanharSaldo(@PathVariable("id") Long id, @RequestAttribute(value = TokenAutenticacaoFilter.ATRIBUTO_USUARIO, required = false) Long idAutenticado) {
+		return () -> {
+			if(deOutroUsuario(idAutenticado, id)) {
+				return new ResponseEntity<>(HttpStatus.FORBIDDEN);
+			}
+			if(!existe(id, idAutenticado)) {
+				return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+			}
+			return ResponseEntity.ok(publicadorSaldo.inscrever(id));
+		};
+	}
+	
+	private static boolean deOutroUsuario(Long idAutenticado, Long idUsuario) {
+		return idAutenticado != null && idUsuario != null && !idAutenticado.equals(idUsuario);
+	}
+	
+	/** O usuário do token existe; sem token, a existência é conferida no banco. */
+	private boolean existe(Long id, Long idAutenticado) {
+		return idAutenticado != null || service.obterPorId(id).isPresent();
 	}
 	
 }
@@ -0,0 +1,247 @@
+package com.njunior.minhasfinancas.api.token;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.UUID;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.scheduling.annotation.Scheduled;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Emite e confere tokens de sessão no formato {@code chave.dados.assinatura}, em Base64 URL:
+ * os dados são o id do usuário e o instante de expiração, e a assinatura é um HMAC-SHA256
+ * feito com a chave identificada no próprio token. A conferência é feita só em memória.
+ *
+ * <p>As chaves vêm da configuração compartilhada por todas as instâncias: das propriedades
+ * {@code minhasfinancas.token.chaves} ou, para rotacionar sem reiniciar, de um arquivo
+ * {@code minhasfinancas.token.arquivo} relido a cada {@code intervalo-recarga}. A rotação é
+ * feita em três passos, cada um esperando o intervalo para chegar a todas as instâncias:
+ * acrescentar a nova chave, torná-la a {@code chave-atual} e retirar a antiga, o que
+ * invalida os tokens assinados com ela.
+ */
+@Slf4j
+public class AssinadorTokens {
+
+	static final String ALGORITMO = "HmacSHA256";
+	static final int TAMANHO_MINIMO_CHAVE = 32;
+
+	private static final Base64.Encoder CODIFICADOR = Base64.getUrlEncoder().withoutPadding();
+	private static final Base64.Decoder DECODIFICADOR = Base64.getUrlDecoder();
+
+	static final String PREFIXO_CHAVE = "chaves.";
+	static final String CHAVE_ATUAL = "chave-atual";
+
+	private final Clock relogio;
+	private final long validade;
+	private final Path arquivo;
+	private byte[] conteudoArquivo;
+	private volatile Chaves chaves;
+
+	public AssinadorTokens(TokenProperties properties) {
+		this(properties, Clock.systemUTC());
+	}
+
+	AssinadorTokens(TokenProperties properties, Clock relogio) {
+		this.relogio = relogio;
+		this.validade = properties.getValidade().getSeconds();
+		this.arquivo = properties.getArquivo() != null ? Paths.get(properties.getArquivo()) : null;
+
+		if (arquivo != null) {
+			conteudoArquivo = ler(arquivo);
+			chaves = Chaves.de(arquivo.toString(), conteudoArquivo);
+		} else if (!properties.getChaves().isEmpty()) {
+			chaves = Chaves.de(properties.getChaves(), properties.getChaveAtual());
+		} else if (properties.isExigirChave()) {
+			throw new IllegalStateException("Nenhuma chave de token configurada; informe minhasfinancas.token.chaves "
+					+ "ou minhasfinancas.token.arquivo.");
+		} else {
+			log.warn("Nenhuma chave de token configurada; usando uma chave aleatória, válida só nesta instância.");
+			byte[] segredo = new byte[TAMANHO_MINIMO_CHAVE];
+			new SecureRandom().nextBytes(segredo);
+			String id = UUID.randomUUID().toString().substring(0, 8);
+			chaves = new Chaves(Collections.singletonMap(id, new Chave(id, segredo)), id);
+		}
+	}
+
+	public String emitir(Long idUsuario) {
+		return emitir(idUsuario, relogio.instant().plusSeconds(validade));
+	}
+
+	String emitir(Long idUsuario, Instant expiracao) {
+		Chave chave = chaves.atual();
+		byte[] dados = ByteBuffer.allocate(Long.BYTES * 2).putLong(idUsuario).putLong(expiracao.getEpochSecond()).array();
+		String cabecalho = chave.id + "." + CODIFICADOR.encodeToString(dados);
+		return cabecalho + "." + CODIFICADOR.encodeToString(chave.assinar(cabecalho));
+	}
+
+	/** Id do usuário de um token íntegro, assinado por uma chave vigente e ainda não expirado. */
+	public Optional<Long> verificar(String token) {
+		int primeiroPonto = token.indexOf('.');
+		int ultimoPonto = token.lastIndexOf('.');
+		if (primeiroPonto <= 0 || ultimoPonto <= primeiroPonto) {
+			return Optional.empty();
+		}
+		Chave chave = chaves.porId.get(token.substring(0, primeiroPonto));
+		if (chave == null) {
+			return Optional.empty();
+		}
+
+		try {
+			String cabecalho = token.substring(0, ultimoPonto);
+			byte[] assinatura = DECODIFICADOR.decode(token.substring(ultimoPonto + 1));
+			if (!MessageDigest.isEqual(chave.assinar(cabecalho), assinatura)) {
+				return Optional.empty();
+			}
+			ByteBuffer dados = ByteBuffer.wrap(DECODIFICADOR.decode(token.substring(primeiroPonto + 1, ultimoPonto)));
+			if (dados.remaining() != Long.BYTES * 2) {
+				return Optional.empty();
+			}
+			long idUsuario = dados.getLong();
+			long expiracao = dados.getLong();
+			return relogio.instant().getEpochSecond() < expiracao ? Optional.of(idUsuario) : Optional.empty();
+		} catch (IllegalArgumentException e) {
+			return Optional.empty();
+		}
+	}
+
+	/**
+	 * Relê o arquivo de chaves e troca o conjunto se o conteúdo mudou. Um arquivo ilegível ou
+	 * inválido é ignorado, mantendo as chaves atuais.
+	 */
+	@Scheduled(initialDelayString = "${minhasfinancas.token.intervalo-recarga:PT30S}",
+			fixedDelayString = "${minhasfinancas.token.intervalo-recarga:PT30S}")
+	public synchronized boolean recarregar() {
+		if (arquivo == null) {
+			return false;
+		}
+		try {
+			byte[] conteudo = ler(arquivo);
+			if (Arrays.equals(conteudo, conteudoArquivo)) {
+				return false;
+			}
+			chaves = Chaves.de(arquivo.toString(), conteudo);
+			conteudoArquivo = conteudo;
+		} catch (RuntimeException e) {
+			log.warn("Falha ao recarregar as chaves de token de {}; mantendo as atuais.", arquivo, e);
+			return false;
+		}
+		log.info("Chaves de token recarregadas; tokens passam a ser assinados com a chave {}.", chaves.idAtual);
+		return true;
+	}
+
+	public String getChaveAtual() {
+		return chaves.idAtual;
+	}
+
+	public List<String> getChaves() {
+		return new ArrayList<>(chaves.porId.keySet());
+	}
+
+	private static byte[] ler(Path arquivo) {
+		try {
+			return Files.readAllBytes(arquivo);
+		} catch (IOException e) {
+			throw new UncheckedIOException("Não foi possível ler o arquivo de chaves de token " + arquivo, e);
+		}
+	}
+
+	private static final class Chaves {
+
+		final Map<String, Chave> porId;
+		final String idAtual;
+
+		Chaves(Map<String, Chave> porId, String idAtual) {
+			this.porId = Collections.unmodifiableMap(porId);
+			this.idAtual = idAtual;
+		}
+
+		/** Segredos em Base64 por id; sem chave atual informada, assina com a primeira. */
+		static Chaves de(Map<String, String> segredos, String atual) {
+			if (segredos.isEmpty()) {
+				throw new IllegalStateException("Nenhuma chave de token configurada.");
+			}
+			Map<String, Chave> porId = new LinkedHashMap<>();
+			segredos.forEach((id, segredo) -> porId.put(id, new Chave(id, Base64.getDecoder().decode(segredo))));
+			String idAtual = atual != null ? atual : porId.keySet().iterator().next();
+			if (!porId.containsKey(idAtual)) {
+				throw new IllegalStateException("Chave de token atual não configurada: " + idAtual);
+			}
+			return new Chaves(porId, idAtual);
+		}
+
+		/** Arquivo no formato de propriedades, com {@code chaves.<id>} e {@code chave-atual}. */
+		static Chaves de(String origem, byte[] conteudo) {
+			Properties propriedades = new Properties();
+			try {
+				propriedades.load(new ByteArrayInputStream(conteudo));
+			} catch (IOException | IllegalArgumentException e) {
+				throw new IllegalStateException("Arquivo de chaves de token inválido: " + origem, e);
+			}
+			Map<String, String> segredos = new LinkedHashMap<>();
+			propriedades.stringPropertyNames().stream()
+					.filter(nome -> nome.startsWith(PREFIXO_CHAVE))
+					.sorted()
+					.forEach(nome -> segredos.put(nome.substring(PREFIXO_CHAVE.length()), propriedades.getProperty(nome).trim()));
+			return de(segredos, propriedades.getProperty(CHAVE_ATUAL));
+		}
+
+		Chave atual() {
+			return porId.get(idAtual);
+		}
+	}
+
+	private static final class Chave {
+
+		final String id;
+		final ThreadLocal<Mac> macs;
+
+		Chave(String id, byte[] segredo) {
+			if (id.isEmpty() || id.indexOf('.') >= 0) {
+				throw new IllegalArgumentException("Id de chave de token inválido: " + id);
+			}
+			if (segredo.length < TAMANHO_MINIMO_CHAVE) {
+				throw new IllegalArgumentException("A chave de token " + id + " deve ter ao menos " + TAMANHO_MINIMO_CHAVE + " bytes.");
+			}
+			SecretKeySpec especificacao = new SecretKeySpec(segredo.clone(), ALGORITMO);
+			this.id = id;
+			this.macs = ThreadLocal.withInitial(() -> {
+				try {
+					Mac mac = Mac.getInstance(ALGORITMO);
+					mac.init(especificacao);
+					return mac;
+				} catch (GeneralSecurityException e) {
+					throw new IllegalStateException(e);
+				}
+			});
+		}
+
+		byte[] assinar(String conteudo) {
+			return macs.get().doFinal(conteudo.getBytes(StandardCharsets.US_ASCII));
+		}
+	}
+
+}
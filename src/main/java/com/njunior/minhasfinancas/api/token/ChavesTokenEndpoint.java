@@ -0,0 +1,37 @@
+package com.njunior.minhasfinancas.api.token;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+
+/**
+ * Consulta as chaves de token carregadas pela instância (só os ids, nunca os segredos) e,
+ * com {@code POST}, relê na hora o arquivo compartilhado de chaves, sem esperar o intervalo
+ * de recarga. Só fica disponível se incluído em {@code management.endpoints.web.exposure.include}.
+ */
+@Endpoint(id = "chavestoken")
+public class ChavesTokenEndpoint {
+
+	private final AssinadorTokens assinador;
+
+	public ChavesTokenEndpoint(AssinadorTokens assinador) {
+		this.assinador = assinador;
+	}
+
+	@ReadOperation
+	public Map<String, Object> chaves() {
+		Map<String, Object> chaves = new LinkedHashMap<>();
+		chaves.put("atual", assinador.getChaveAtual());
+		chaves.put("chaves", assinador.getChaves());
+		return chaves;
+	}
+
+	@WriteOperation
+	public boolean recarregar() {
+		return assinador.recarregar();
+	}
+
+}
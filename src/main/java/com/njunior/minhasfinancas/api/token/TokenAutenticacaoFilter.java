@@ -0,0 +1,79 @@
+package com.njunior.minhasfinancas.api.token;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Confere o token {@code Authorization: Bearer} e guarda o id do usuário no atributo
+ * {@link #ATRIBUTO_USUARIO} da requisição, sem consultar o banco. Token inválido ou expirado
+ * responde 401; sem token a requisição segue, a menos que o token seja obrigatório.
+ *
+ * <p>As rotas públicas (autenticação e cadastro) não passam pelo filtro.
+ */
+public class TokenAutenticacaoFilter extends OncePerRequestFilter {
+
+	public static final String ATRIBUTO_USUARIO = "minhasfinancas.usuarioAutenticado";
+
+	static final String PREFIXO = "Bearer ";
+	static final String TOKEN_INVALIDO = "Token inválido ou expirado.";
+	static final String TOKEN_AUSENTE = "Informe o token de autenticação.";
+
+	private final AssinadorTokens assinador;
+	private final TokenProperties properties;
+	private final Set<String> rotasPublicas;
+
+	public TokenAutenticacaoFilter(AssinadorTokens assinador, TokenProperties properties, String... rotasPublicas) {
+		this.assinador = assinador;
+		this.properties = properties;
+		this.rotasPublicas = new HashSet<>(Arrays.asList(rotasPublicas));
+	}
+
+	@Override
+	protected boolean shouldNotFilter(HttpServletRequest request) {
+		return rotasPublicas.contains(request.getRequestURI().substring(request.getContextPath().length()));
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		String cabecalho = request.getHeader(HttpHeaders.AUTHORIZATION);
+		if (cabecalho == null || !cabecalho.startsWith(PREFIXO)) {
+			if (properties.isObrigatorio()) {
+				recusar(response, TOKEN_AUSENTE);
+				return;
+			}
+			filterChain.doFilter(request, response);
+			return;
+		}
+
+		Optional<Long> idUsuario = assinador.verificar(cabecalho.substring(PREFIXO.length()).trim());
+		if (!idUsuario.isPresent()) {
+			recusar(response, TOKEN_INVALIDO);
+			return;
+		}
+		request.setAttribute(ATRIBUTO_USUARIO, idUsuario.get());
+		filterChain.doFilter(request, response);
+	}
+
+	private static void recusar(HttpServletResponse response, String mensagem) throws IOException {
+		response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+		response.setHeader(HttpHeaders.WWW_AUTHENTICATE, "Bearer");
+		response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+		response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+		response.getWriter().write(mensagem);
+	}
+
+}
@@ -0,0 +1,39 @@
+package com.njunior.minhasfinancas.api.token;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "minhasfinancas.token")
+public class TokenProperties {
+
+	/** Tempo de vida dos tokens emitidos na autenticação. */
+	private Duration validade = Duration.ofHours(12);
+
+	/** Recusa requisições sem token fora da autenticação e do cadastro; desligado, o usuário informado ainda é aceito. */
+	private boolean obrigatorio = false;
+
+	/** Chaves HMAC em Base64 (mínimo de 32 bytes), indexadas por um id curto gravado no token. */
+	private Map<String, String> chaves = new LinkedHashMap<>();
+
+	/** Id da chave que assina os novos tokens; as demais só verificam. */
+	private String chaveAtual;
+
+	/**
+	 * Arquivo de propriedades compartilhado pelas instâncias, com {@code chaves.<id>} e
+	 * {@code chave-atual}; quando informado, substitui as chaves acima e é relido a cada
+	 * {@link #intervaloRecarga}, o que permite rotacionar sem reiniciar.
+	 */
+	private String arquivo;
+
+	private Duration intervaloRecarga = Duration.ofSeconds(30);
+
+	/** Impede a subida sem chave configurada, em vez de sortear uma chave válida só na instância. */
+	private boolean exigirChave = false;
+
+}
@@ -0,0 +1,10 @@
+package com.njunior.minhasfinancas.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling
+public class AgendamentoConfig {
+
+}
@@ -0,0 +1,150 @@
+package com.njunior.minhasfinancas.config;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.njunior.minhasfinancas.api.dto.FiltroLancamentoDTO;
+import com.njunior.minhasfinancas.api.dto.LancamentoDTO;
+import com.njunior.minhasfinancas.api.dto.UsuarioDTO;
+import com.njunior.minhasfinancas.api.resource.LancamentoResource;
+import com.njunior.minhasfinancas.api.resource.UsuarioResource;
+import com.njunior.minhasfinancas.service.AnaliseService;
+import com.njunior.minhasfinancas.service.ExtratoService;
+import com.njunior.minhasfinancas.service.UsuarioFrequenteService;
+import com.njunior.minhasfinancas.service.UsuarioService;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Antes de a aplicação aceitar tráfego, carrega nos caches os dados dos usuários mais ativos
+ * e repete algumas chamadas sintéticas aos endpoints principais para que o JIT compile os
+ * caminhos quentes. Roda no {@link ApplicationReadyEvent}, cujo término o Spring Boot espera
+ * antes de marcar a prontidão como {@code ACCEPTING_TRAFFIC}.
+ *
+ * <p>As chamadas vão direto aos controllers, sem passar pelo limitador de requisições, e
+ * nenhuma delas grava dados: o lançamento enviado é inválido e a autenticação usa um e-mail
+ * inexistente. Falhas são registradas e nunca impedem a inicialização.
+ */
+@Slf4j
+@Component
+@Lazy(false)
+@EnableConfigurationProperties(AquecimentoProperties.class)
+public class AquecimentoInicializacao {
+
+	static final String EMAIL_INEXISTENTE = "aquecimento@minhasfinancas.invalid";
+
+	private final AquecimentoProperties properties;
+	private final UsuarioFrequenteService usuarioFrequenteService;
+	private final UsuarioService usuarioService;
+	private final AnaliseService analiseService;
+	private final ExtratoService extratoService;
+	private final LancamentoResource lancamentoResource;
+	private final UsuarioResource usuarioResource;
+	private final ObjectMapper objectMapper;
+
+	public AquecimentoInicializacao(AquecimentoProperties properties, UsuarioFrequenteService usuarioFrequenteService,
+			UsuarioService usuarioService, AnaliseService analiseService, ExtratoService extratoService,
+			LancamentoResource lancamentoResource, UsuarioResource usuarioResource, ObjectMapper objectMapper) {
+		this.properties = properties;
+		this.usuarioFrequenteService = usuarioFrequenteService;
+		this.usuarioService = usuarioService;
+		this.analiseService = analiseService;
+		this.extratoService = extratoService;
+		this.lancamentoResource = lancamentoResource;
+		this.usuarioResource = usuarioResource;
+		this.objectMapper = objectMapper;
+	}
+
+	@Order(Ordered.HIGHEST_PRECEDENCE)
+	@EventListener(ApplicationReadyEvent.class)
+	public void aoFicarPronta() {
+		if (properties.isHabilitado()) {
+			aquecer();
+		}
+	}
+
+	public void aquecer() {
+		long inicio = System.nanoTime();
+		long limite = inicio + properties.getOrcamento().toNanos();
+
+		List<Long> usuarios = obterUsuariosMaisAtivos();
+		int carregados = 0;
+		for (Long idUsuario : usuarios) {
+			if (System.nanoTime() - limite >= 0) {
+				break;
+			}
+			if (carregarCaches(idUsuario)) {
+				carregados++;
+			}
+		}
+
+		Long idSintetico = usuarios.isEmpty() ? 0L : usuarios.get(0);
+		int rodadas = 0;
+		while (rodadas < properties.getRodadas() && System.nanoTime() - limite < 0) {
+			chamarEndpoints(idSintetico);
+			rodadas++;
+		}
+
+		log.info("Aquecimento concluído em {} ms: {} de {} usuários carregados, {} rodadas sintéticas.",
+				(System.nanoTime() - inicio) / 1_000_000, carregados, usuarios.size(), rodadas);
+	}
+
+	private List<Long> obterUsuariosMaisAtivos() {
+		try {
+			return usuarioFrequenteService.obterMaisAtivos(properties.getMaximoUsuarios());
+		} catch (RuntimeException e) {
+			log.warn("Não foi possível obter os usuários mais ativos para o aquecimento", e);
+			return Collections.emptyList();
+		}
+	}
+
+	private boolean carregarCaches(Long idUsuario) {
+		try {
+			if (!usuarioService.obterPorId(idUsuario).isPresent()) {
+				return false;
+			}
+			YearMonth mesAtual = YearMonth.now();
+			analiseService.obterResumoMensal(idUsuario, mesAtual.minusMonths(11), mesAtual);
+			extratoService.obterSaldoEm(idUsuario, LocalDateTime.now());
+			return true;
+		} catch (RuntimeException e) {
+			log.warn("Falha ao aquecer os caches do usuário {}", idUsuario, e);
+			return false;
+		}
+	}
+
+	private void chamarEndpoints(Long idUsuario) {
+		YearMonth mesAtual = YearMonth.now();
+		FiltroLancamentoDTO filtro = new FiltroLancamentoDTO();
+		filtro.setUsuario(idUsuario);
+		filtro.setMes(mesAtual.getMonthValue());
+		filtro.setAno(mesAtual.getYear());
+		chamar(lancamentoResource.buscar(filtro, null));
+		chamar(usuarioResource.obterSaldo(idUsuario, null));
+		chamar(lancamentoResource.salvar(LancamentoDTO.builder().usuario(idUsuario).build(), null));
+		chamar(() -> usuarioResource.autenticar(UsuarioDTO.builder().email(EMAIL_INEXISTENTE).senha("").build()).join());
+	}
+
+	private void chamar(Callable<?> chamada) {
+		try {
+			Object resposta = chamada.call();
+			objectMapper.writeValueAsBytes(resposta instanceof ResponseEntity ? ((ResponseEntity<?>) resposta).getBody() : resposta);
+		} catch (Exception e) {
+			log.debug("Chamada sintética do aquecimento falhou", e);
+		}
+	}
+
+}
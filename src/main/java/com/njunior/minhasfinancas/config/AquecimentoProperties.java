@@ -0,0 +1,28 @@
+package com.njunior.minhasfinancas.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "minhasfinancas.aquecimento")
+public class AquecimentoProperties {
+
+	/** Aquece caches e caminhos quentes antes de a aplicação aceitar tráfego. */
+	private boolean habilitado = true;
+
+	/** Tempo máximo gasto no aquecimento; o que não couber fica para as primeiras requisições. */
+	private Duration orcamento = Duration.ofSeconds(30);
+
+	/** Usuários mais ativos cujos dados são carregados nos caches. */
+	private int maximoUsuarios = 50;
+
+	/** Repetições das chamadas sintéticas aos endpoints principais, para o JIT compilá-los. */
+	private int rodadas = 20;
+
+	/** Intervalo entre gravações da contagem de acessos por usuário. */
+	private Duration intervaloRegistro = Duration.ofMinutes(5);
+
+}
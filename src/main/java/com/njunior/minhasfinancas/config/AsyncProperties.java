@@ -0,0 +1,24 @@
+package com.njunior.minhasfinancas.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "minhasfinancas.async")
+public class AsyncProperties {
+
+	/** Threads que executam trabalho de banco; deve acompanhar o tamanho do pool de conexões. */
+	private int threads = 10;
+
+	/** Tarefas aguardando thread livre antes de recusar com 503. */
+	private int fila = 50;
+
+	private Duration timeout = Duration.ofSeconds(10);
+
+	/** Usa virtual threads quando a JVM oferecer suporte (Java 21+). */
+	private boolean threadsVirtuais = false;
+
+}
@@ -0,0 +1,100 @@
+package com.njunior.minhasfinancas.config;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.Semaphore;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Executor limitado para o trabalho bloqueante de banco das requisições assíncronas.
+ * Usa virtual threads quando disponíveis (e configurado) ou um pool fixo de threads
+ * de plataforma; nos dois casos aceita no máximo {@code threads + fila} tarefas e
+ * recusa o excedente com {@link TaskRejectedException}. Com virtual threads cada tarefa
+ * tem a própria thread, então só {@code threads} delas rodam ao mesmo tempo e as demais
+ * esperam a vez, como na fila do pool fixo.
+ */
+@Slf4j
+public class ExecutorBanco implements AsyncTaskExecutor, DisposableBean {
+
+	private final ExecutorService delegate;
+	private final Semaphore vagas;
+	private final Semaphore emExecucao;
+
+	public ExecutorBanco(AsyncProperties properties) {
+		this(properties, properties.isThreadsVirtuais() ? criarExecutorVirtual() : null);
+	}
+
+	ExecutorBanco(AsyncProperties properties, ExecutorService virtual) {
+		this.vagas = new Semaphore(properties.getThreads() + properties.getFila());
+		this.emExecucao = new Semaphore(properties.getThreads());
+		this.delegate = virtual != null ? virtual : Executors.newFixedThreadPool(properties.getThreads(), r -> {
+			Thread thread = new Thread(r);
+			thread.setName("banco-" + thread.getId());
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	private static ExecutorService criarExecutorVirtual() {
+		try {
+			return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+		} catch (ReflectiveOperationException e) {
+			log.warn("Virtual threads não suportadas nesta JVM, usando threads de plataforma.");
+			return null;
+		}
+	}
+
+	@Override
+	public void execute(Runnable task) {
+		if (!vagas.tryAcquire()) {
+			throw new TaskRejectedException("Fila do executor de banco cheia.");
+		}
+		try {
+			delegate.execute(() -> {
+				emExecucao.acquireUninterruptibly();
+				try {
+					task.run();
+				} finally {
+					emExecucao.release();
+					vagas.release();
+				}
+			});
+		} catch (RuntimeException e) {
+			vagas.release();
+			throw new TaskRejectedException("Executor de banco indisponível.", e);
+		}
+	}
+
+	@Override
+	public void execute(Runnable task, long startTimeout) {
+		execute(task);
+	}
+
+	@Override
+	public Future<?> submit(Runnable task) {
+		FutureTask<Object> future = new FutureTask<>(task, null);
+		execute(future);
+		return future;
+	}
+
+	@Override
+	public <T> Future<T> submit(Callable<T> task) {
+		FutureTask<T> future = new FutureTask<>(task);
+		execute(future);
+		return future;
+	}
+
+	@Override
+	public void destroy() {
+		delegate.shutdown();
+	}
+
+}
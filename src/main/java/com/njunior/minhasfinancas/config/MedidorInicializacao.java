@@ -0,0 +1,72 @@
+package com.njunior.minhasfinancas.config;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Registra quanto tempo a aplicação leva, a partir do início da JVM, para ficar pronta
+ * e para concluir a primeira requisição HTTP.
+ */
+@Slf4j
+@Component
+public class MedidorInicializacao extends OncePerRequestFilter {
+
+	private final AtomicBoolean primeiraRequisicao = new AtomicBoolean(true);
+	private final boolean encerrarAposIniciar;
+	private volatile long tempoAtePronta = -1;
+	private volatile long tempoAtePrimeiraRequisicao = -1;
+
+	public MedidorInicializacao(@Value("${minhasfinancas.inicializacao.encerrar-apos-iniciar:false}") boolean encerrarAposIniciar) {
+		this.encerrarAposIniciar = encerrarAposIniciar;
+	}
+
+	@EventListener
+	public void aoFicarPronta(ApplicationReadyEvent evento) {
+		tempoAtePronta = desdeInicioDaJvm();
+		log.info("Aplicação pronta em {} ms após o início da JVM.", tempoAtePronta);
+		if (encerrarAposIniciar) {
+			System.exit(SpringApplication.exit(evento.getApplicationContext()));
+		}
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		try {
+			filterChain.doFilter(request, response);
+		} finally {
+			if (tempoAtePrimeiraRequisicao < 0 && primeiraRequisicao.compareAndSet(true, false)) {
+				tempoAtePrimeiraRequisicao = desdeInicioDaJvm();
+				log.info("Primeira requisição concluída em {} ms após o início da JVM.", tempoAtePrimeiraRequisicao);
+			}
+		}
+	}
+
+	public long getTempoAtePronta() {
+		return tempoAtePronta;
+	}
+
+	public long getTempoAtePrimeiraRequisicao() {
+		return tempoAtePrimeiraRequisicao;
+	}
+
+	private static long desdeInicioDaJvm() {
+		return System.currentTimeMillis() - ManagementFactory.getRuntimeMXBean().getStartTime();
+	}
+
+}
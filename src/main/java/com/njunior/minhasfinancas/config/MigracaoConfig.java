@@ -0,0 +1,28 @@
+package com.njunior.minhasfinancas.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.data.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@Configuration
+@ConditionalOnProperty(prefix = "minhasfinancas.migracao", name = "layout-lancamento", havingValue = "true")
+@EnableConfigurationProperties(MigracaoProperties.class)
+public class MigracaoConfig {
+
+	@Bean(initMethod = "executar")
+	public MigracaoLayoutLancamento migracaoLayoutLancamento(DataSource dataSource, MigracaoProperties properties) {
+		return new MigracaoLayoutLancamento(new JdbcTemplate(dataSource), properties);
+	}
+
+	/** Garante que o EntityManagerFactory só seja criado depois da migração. */
+	@Bean
+	public static EntityManagerFactoryDependsOnPostProcessor jpaAposMigracao() {
+		return new EntityManagerFactoryDependsOnPostProcessor("migracaoLayoutLancamento");
+	}
+
+}
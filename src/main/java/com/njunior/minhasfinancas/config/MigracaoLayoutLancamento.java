@@ -0,0 +1,183 @@
+package com.njunior.minhasfinancas.config;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.njunior.minhasfinancas.model.enums.StatusLancamento;
+import com.njunior.minhasfinancas.model.enums.TipoLacamento;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Migra a tabela lancamento do layout antigo (mes e ano separados, tipo e status como
+ * texto) para o compacto (periodo = ano * 100 + mes, tipo e status como códigos tinyint).
+ *
+ * Segue expandir/preencher/contrair: as colunas novas entram anuláveis, são preenchidas
+ * em lotes curtos por faixa de id, cada um em sua própria transação, e só então as
+ * antigas são removidas. Cada passo verifica o estado do esquema antes de agir, então
+ * uma execução interrompida pode ser repetida. Instâncias ainda no layout antigo podem
+ * continuar inserindo durante o preenchimento, pois o último id é relido até não haver
+ * linhas novas, mas não devem alterar lançamentos existentes nem seguir ativas na contração.
+ * Por fim, cria os índices de consulta por período, data de cadastro e descrição, se faltarem.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class MigracaoLayoutLancamento {
+
+	static final String TABELA = "financas.lancamento";
+
+	private final JdbcTemplate jdbcTemplate;
+	private final MigracaoProperties properties;
+
+	public void executar() {
+		if (existeColuna("mes") || existeColuna("tipo_codigo") || existeColuna("status_codigo")) {
+			if (!existeColuna("periodo") || aceitaNulo("periodo")) {
+				expandir();
+				preencher();
+				verificar();
+				jdbcTemplate.execute("alter table " + TABELA + " modify column periodo int not null");
+			}
+			contrair();
+			log.info("Migração de {} para o layout compacto concluída.", TABELA);
+		}
+		
+		if (existeColuna("periodo")) {
+			criarIndice("idx_lancamento_usuario_periodo", "id_usuario, periodo");
+			criarIndice("idx_lancamento_usuario_cadastro", "id_usuario, data_cadastro");
+			criarIndice("idx_lancamento_usuario_descricao", "id_usuario, descricao");
+		}
+	}
+
+	private void expandir() {
+		adicionarColuna("periodo", "int");
+		adicionarColuna("tipo_codigo", "tinyint");
+		adicionarColuna("status_codigo", "tinyint");
+	}
+
+	private void preencher() {
+		String atualizacao = "update " + TABELA + " set "
+				+ " periodo = ano * 100 + mes, "
+				+ " tipo_codigo = " + casoTipo() + ", "
+				+ " status_codigo = " + casoStatus()
+				+ " where id between ? and ? ";
+		
+		long inicio = 1;
+		long reescritas = 0;
+		Long ultimoId;
+		while ((ultimoId = jdbcTemplate.queryForObject("select max(id) from " + TABELA, Long.class)) != null
+				&& inicio <= ultimoId) {
+			for (; inicio <= ultimoId; inicio += properties.getTamanhoLote()) {
+				reescritas += jdbcTemplate.update(atualizacao, inicio, inicio + properties.getTamanhoLote() - 1);
+				pausar();
+			}
+		}
+		log.info("{} linhas de {} reescritas no layout compacto.", reescritas, TABELA);
+	}
+
+	private void verificar() {
+		Long invalidas = jdbcTemplate.queryForObject("select count(*) from " + TABELA 
+				+ " where periodo is null or tipo_codigo is null or status_codigo is null", Long.class);
+		if (invalidas > 0) {
+			throw new IllegalStateException(invalidas + " lançamentos de " + TABELA 
+					+ " sem mês, ano, tipo ou status válidos; corrija-os antes de concluir a migração.");
+		}
+	}
+
+	private void contrair() {
+		substituirColuna("tipo", "tipo_codigo");
+		substituirColuna("status", "status_codigo");
+		removerColuna("mes");
+		removerColuna("ano");
+	}
+
+	private void substituirColuna(String antiga, String nova) {
+		if (!existeColuna(nova)) {
+			return;
+		}
+		removerColuna(antiga);
+		jdbcTemplate.execute("alter table " + TABELA + " change column " + nova + " " + antiga + " tinyint not null");
+	}
+
+	private void adicionarColuna(String coluna, String tipo) {
+		if (!existeColuna(coluna)) {
+			jdbcTemplate.execute("alter table " + TABELA + " add column " + coluna + " " + tipo + " null");
+		}
+	}
+
+	private void removerColuna(String coluna) {
+		if (existeColuna(coluna)) {
+			jdbcTemplate.execute("alter table " + TABELA + " drop column " + coluna);
+		}
+	}
+
+	private void criarIndice(String nome, String colunas) {
+		if (!existeIndice(nome)) {
+			jdbcTemplate.execute("create index " + nome + " on " + TABELA + " (" + colunas + ")");
+			log.info("Índice {} criado em {}.", nome, TABELA);
+		}
+	}
+
+	private boolean existeIndice(String nome) {
+		return jdbcTemplate.execute((ConnectionCallback<Boolean>) conexao -> {
+			DatabaseMetaData metadados = conexao.getMetaData();
+			for (String tabela : new String[] { "lancamento", "LANCAMENTO" }) {
+				try (ResultSet indices = metadados.getIndexInfo(null, null, tabela, false, true)) {
+					while (indices.next()) {
+						if (nome.equalsIgnoreCase(indices.getString("INDEX_NAME"))) {
+							return true;
+						}
+					}
+				}
+			}
+			return false;
+		});
+	}
+
+	private boolean existeColuna(String coluna) {
+		return jdbcTemplate.queryForObject(
+				"select count(*) from information_schema.columns "
+			  + " where lower(table_schema) = 'financas' and lower(table_name) = 'lancamento' "
+			  + " and lower(column_name) = ?", Long.class, coluna) > 0;
+	}
+
+	private boolean aceitaNulo(String coluna) {
+		return "YES".equalsIgnoreCase(jdbcTemplate.queryForObject(
+				"select is_nullable from information_schema.columns "
+			  + " where lower(table_schema) = 'financas' and lower(table_name) = 'lancamento' "
+			  + " and lower(column_name) = ?", String.class, coluna));
+	}
+
+	private void pausar() {
+		if (properties.getPausaEntreLotes().isZero()) {
+			return;
+		}
+		try {
+			Thread.sleep(properties.getPausaEntreLotes().toMillis());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Migração de " + TABELA + " interrompida.", e);
+		}
+	}
+
+	private static String casoTipo() {
+		StringBuilder caso = new StringBuilder("case tipo");
+		for (TipoLacamento tipo : TipoLacamento.values()) {
+			caso.append(" when '").append(tipo.name()).append("' then ").append(tipo.getCodigo());
+		}
+		return caso.append(" end").toString();
+	}
+
+	/** Status ausente no layout antigo equivale a pendente, como em {@code LancamentoService.salvar}. */
+	private static String casoStatus() {
+		StringBuilder caso = new StringBuilder("case coalesce(status, '" + StatusLancamento.PENDENTE.name() + "')");
+		for (StatusLancamento status : StatusLancamento.values()) {
+			caso.append(" when '").append(status.name()).append("' then ").append(status.getCodigo());
+		}
+		return caso.append(" end").toString();
+	}
+
+}
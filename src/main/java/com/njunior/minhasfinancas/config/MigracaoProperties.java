@@ -0,0 +1,22 @@
+package com.njunior.minhasfinancas.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "minhasfinancas.migracao")
+public class MigracaoProperties {
+
+	/** Converte a tabela lancamento para o layout compacto antes de o JPA subir. */
+	private boolean layoutLancamento = false;
+
+	/** Linhas reescritas por transação durante o preenchimento das novas colunas. */
+	private int tamanhoLote = 5000;
+
+	/** Pausa entre lotes, para não competir com o tráfego normal nem atrasar réplicas. */
+	private Duration pausaEntreLotes = Duration.ofMillis(20);
+
+}
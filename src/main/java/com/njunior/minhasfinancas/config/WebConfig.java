@@ -0,0 +1,72 @@
+package com.njunior.minhasfinancas.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.njunior.minhasfinancas.api.acesso.RegistroAcessosInterceptor;
+import com.njunior.minhasfinancas.api.limite.LimitadorRequisicoesInterceptor;
+import com.njunior.minhasfinancas.api.limite.LimitesProperties;
+import com.njunior.minhasfinancas.api.token.AssinadorTokens;
+import com.njunior.minhasfinancas.api.token.ChavesTokenEndpoint;
+import com.njunior.minhasfinancas.api.token.TokenAutenticacaoFilter;
+import com.njunior.minhasfinancas.api.token.TokenProperties;
+import com.njunior.minhasfinancas.service.UsuarioFrequenteService;
+
+import lombok.RequiredArgsConstructor;
+
+@Configuration
+@EnableConfigurationProperties({ LimitesProperties.class, AsyncProperties.class, TokenProperties.class })
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+
+	private final LimitesProperties limitesProperties;
+	private final AsyncProperties asyncProperties;
+	private final TokenProperties tokenProperties;
+	private final ObjectProvider<UsuarioFrequenteService> usuarioFrequenteService;
+
+	@Bean
+	public ExecutorBanco executorBanco() {
+		return new ExecutorBanco(asyncProperties);
+	}
+
+	@Bean
+	public AssinadorTokens assinadorTokens() {
+		return new AssinadorTokens(tokenProperties);
+	}
+
+	@Bean
+	public ChavesTokenEndpoint chavesTokenEndpoint(AssinadorTokens assinadorTokens) {
+		return new ChavesTokenEndpoint(assinadorTokens);
+	}
+
+	@Bean
+	public FilterRegistrationBean<TokenAutenticacaoFilter> tokenAutenticacaoFilter(AssinadorTokens assinadorTokens) {
+		FilterRegistrationBean<TokenAutenticacaoFilter> registro =
+				new FilterRegistrationBean<>(new TokenAutenticacaoFilter(assinadorTokens, tokenProperties,
+						"/api/usuarios", "/api/usuarios/autenticar"));
+		registro.addUrlPatterns("/api/lancamentos/*", "/api/usuarios/*", "/api/lote");
+		return registro;
+	}
+
+	@Override
+	public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+		configurer.setTaskExecutor(executorBanco());
+		configurer.setDefaultTimeout(asyncProperties.getTimeout().toMillis());
+	}
+
+	@Override
+	public void addInterceptors(InterceptorRegistry registry) {
+		registry.addInterceptor(new LimitadorRequisicoesInterceptor(limitesProperties))
+			.addPathPatterns("/api/lancamentos/**", "/api/usuarios/**", "/api/lote/**", "/api/recorrencias/**")
+			.excludePathPatterns("/api/usuarios/*/saldo/stream");
+		usuarioFrequenteService.ifAvailable(service -> registry.addInterceptor(new RegistroAcessosInterceptor(service))
+			.addPathPatterns("/api/lancamentos/**", "/api/usuarios/**"));
+	}
+
+}
@@ -0,0 +1,9 @@
+package com.njunior.minhasfinancas.exception;
+
+public class ErroSobrecarga extends RuntimeException {
+
+	public ErroSobrecarga(String mensagem) {
+		super(mensagem);
+	}
+
+}
@@ -0,0 +1,94 @@
+package com.njunior.minhasfinancas.model.entity;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
+
+import org.hibernate.annotations.Immutable;
+
+import com.njunior.minhasfinancas.model.enums.StatusLancamento;
+import com.njunior.minhasfinancas.model.enums.TipoAlteracaoLancamento;
+import com.njunior.minhasfinancas.model.enums.TipoLacamento;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Quem alterou ou excluiu um lançamento, com os valores anteriores e os novos. Gravado fora
+ * da requisição, em lotes; os campos novos ficam nulos na exclusão.
+ */
+@Entity
+@Immutable
+@Table(name = "auditoria_lancamento", schema = "financas", indexes = {
+		@Index(name = "idx_auditoria_lancamento", columnList = "id_lancamento, id"),
+		@Index(name = "idx_auditoria_usuario", columnList = "id_usuario, data_hora") })
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuditoriaLancamento {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@Column(name = "id")
+	private Long id;
+	
+	@Column(name = "id_lancamento", nullable = false)
+	private Long idLancamento;
+	
+	@Column(name = "id_usuario", nullable = false)
+	private Long idUsuario;
+	
+	@Column(name = "acao", nullable = false)
+	@Enumerated(value = EnumType.STRING)
+	private TipoAlteracaoLancamento acao;
+	
+	@Column(name = "data_hora", nullable = false)
+	private LocalDateTime dataHora;
+	
+	@Column(name = "descricao_anterior")
+	private String descricaoAnterior;
+	
+	@Column(name = "periodo_anterior")
+	private Integer periodoAnterior;
+	
+	@Column(name = "valor_anterior")
+	private BigDecimal valorAnterior;
+	
+	@Column(name = "tipo_anterior")
+	@Enumerated(value = EnumType.STRING)
+	private TipoLacamento tipoAnterior;
+	
+	@Column(name = "status_anterior")
+	@Enumerated(value = EnumType.STRING)
+	private StatusLancamento statusAnterior;
+	
+	@Column(name = "descricao")
+	private String descricao;
+	
+	@Column(name = "periodo")
+	private Integer periodo;
+	
+	@Column(name = "valor")
+	private BigDecimal valor;
+	
+	@Column(name = "tipo")
+	@Enumerated(value = EnumType.STRING)
+	private TipoLacamento tipo;
+	
+	@Column(name = "status")
+	@Enumerated(value = EnumType.STRING)
+	private StatusLancamento status;
+	
+}
@@ -0,0 +1,87 @@
+package com.njunior.minhasfinancas.model.entity;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
+
+import com.njunior.minhasfinancas.model.enums.StatusLancamento;
+import com.njunior.minhasfinancas.model.enums.TipoAlteracaoLancamento;
+import com.njunior.minhasfinancas.model.enums.TipoLacamento;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Alteração de lançamento gravada na mesma transação da escrita e ainda não entregue aos
+ * consumidores assíncronos. A linha é apagada depois que todos os consumidores a processam.
+ */
+@Entity
+@Table(name = "evento_outbox", schema = "financas", indexes = {
+		@Index(name = "idx_evento_outbox_tentativa", columnList = "proxima_tentativa, id_usuario") })
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventoOutbox {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@Column(name = "id")
+	private Long id;
+	
+	@Column(name = "id_usuario", nullable = false)
+	private Long idUsuario;
+	
+	@Column(name = "id_lancamento", nullable = false)
+	private Long idLancamento;
+	
+	@Column(name = "tipo_alteracao", nullable = false)
+	@Enumerated(value = EnumType.STRING)
+	private TipoAlteracaoLancamento tipoAlteracao;
+	
+	@Column(name = "descricao")
+	private String descricao;
+	
+	@Column(name = "periodo")
+	private Integer periodo;
+	
+	@Column(name = "valor")
+	private BigDecimal valor;
+	
+	@Column(name = "tipo")
+	@Enumerated(value = EnumType.STRING)
+	private TipoLacamento tipo;
+	
+	@Column(name = "status")
+	@Enumerated(value = EnumType.STRING)
+	private StatusLancamento status;
+	
+	@Column(name = "data_cadastro")
+	private LocalDate dataCadastro;
+	
+	@Column(name = "data_hora", nullable = false)
+	private LocalDateTime dataHora;
+	
+	@Column(name = "tentativas", nullable = false)
+	private int tentativas;
+	
+	/**
+	 * Fim da reserva de um despacho em andamento ou, após uma falha, da espera até a nova
+	 * tentativa; os eventos do usuário ficam retidos até esse instante.
+	 */
+	@Column(name = "proxima_tentativa")
+	private LocalDateTime proximaTentativa;
+	
+}
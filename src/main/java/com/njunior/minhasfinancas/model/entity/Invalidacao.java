@@ -0,0 +1,51 @@
+package com.njunior.minhasfinancas.model.entity;
+
+import java.time.LocalDateTime;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
+
+import org.hibernate.annotations.Immutable;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Mensagem do barramento de invalidação: o usuário {@code idUsuario} foi alterado pela
+ * instância {@code origem}, que numera as próprias mensagens em {@code sequencia}.
+ */
+@Entity
+@Immutable
+@Table(name = "invalidacao", schema = "financas", indexes = {
+		@Index(name = "idx_invalidacao_data_hora", columnList = "data_hora") })
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Invalidacao {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@Column(name = "id")
+	private Long id;
+
+	@Column(name = "origem", nullable = false, length = 36)
+	private String origem;
+
+	@Column(name = "sequencia", nullable = false)
+	private Long sequencia;
+
+	@Column(name = "id_usuario", nullable = false)
+	private Long idUsuario;
+
+	@Column(name = "data_hora", nullable = false)
+	private LocalDateTime dataHora;
+
+}
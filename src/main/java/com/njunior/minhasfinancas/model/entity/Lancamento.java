@@ -6,31 +6,40 @@ import java.time.LocalDate;
 import javax.persistence.Column;
 import javax.persistence.Convert;
 import javax.persistence.Entity;
-import javax.persistence.EnumType;
-import javax.persistence.Enumerated;
+import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
+import javax.persistence.PostLoad;
 import javax.persistence.Table;
+import javax.persistence.Transient;
+import javax.persistence.UniqueConstraint;
 
-import org.springframework.data.convert.Jsr310Converters;
-
+import com.njunior.minhasfinancas.model.entity.converter.StatusLancamentoConverter;
+import com.njunior.minhasfinancas.model.entity.converter.TipoLancamentoConverter;
 import com.njunior.minhasfinancas.model.enums.StatusLancamento;
 import com.njunior.minhasfinancas.model.enums.TipoLacamento;
 
-import lombok.AllArgsConstructor;
+import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
 
 @Entity
-@Table(name = "lancamento", schema = "financas" )
+@Table(name = "lancamento", schema = "financas", indexes = {
+		@Index(name = "idx_lancamento_usuario_periodo", columnList = "id_usuario, periodo"),
+		@Index(name = "idx_lancamento_usuario_cadastro", columnList = "id_usuario, data_cadastro"),
+		@Index(name = "idx_lancamento_usuario_descricao", columnList = "id_usuario, descricao") }, 
+		uniqueConstraints = @UniqueConstraint(name = "uk_lancamento_recorrencia_parcela", 
+				columnNames = { "id_recorrencia", "parcela" }))
 @Data
-@Builder
 @NoArgsConstructor
-@AllArgsConstructor
 public class Lancamento {
 
 	@Id
@@ -41,14 +50,21 @@ public class Lancamento {
 	@Column(name = "descricao")
 	private String descricao;
 	
-	@Column(name = "mes")
+	@Transient
 	private Integer mes;
 	
-	@Column(name = "ano")
+	@Transient
 	private Integer ano;
 	
-	@ManyToOne
+	/** Mês e ano compactados em uma única coluna: ano * 100 + mes. */
+	@Column(name = "periodo", nullable = false)
+	@Setter(AccessLevel.NONE)
+	private Integer periodo;
+	
+	@ManyToOne(fetch = FetchType.LAZY)
 	@JoinColumn(name = "id_usuario")
+	@ToString.Exclude
+	@EqualsAndHashCode.Exclude
 	private Usuario usuario;
 	
 	@Column(name = "valor")
@@ -57,12 +73,73 @@ public class Lancamento {
 	@Column(name = "data_cadastro")
 	private LocalDate dataCadastro;
 	
-	@Column(name = "tipo")
-	@Enumerated(value = EnumType.STRING)
+	@Column(name = "tipo", nullable = false)
+	@Convert(converter = TipoLancamentoConverter.class)
 	private TipoLacamento tipo;
 	
-	@Column(name = "status")
-	@Enumerated(value = EnumType.STRING)
+	@Column(name = "status", nullable = false)
+	@Convert(converter = StatusLancamentoConverter.class)
 	private StatusLancamento status;
 	
+	/** Recorrência que gerou o lançamento e o número da ocorrência; nulos em lançamentos avulsos. */
+	@Column(name = "id_recorrencia")
+	private Long idRecorrencia;
+	
+	@Column(name = "parcela")
+	private Integer parcela;
+	
+	@Builder
+	public Lancamento(Long id, String descricao, Integer mes, Integer ano, Usuario usuario, BigDecimal valor,
+			LocalDate dataCadastro, TipoLacamento tipo, StatusLancamento status) {
+		this.id = id;
+		this.descricao = descricao;
+		this.usuario = usuario;
+		this.valor = valor;
+		this.dataCadastro = dataCadastro;
+		this.tipo = tipo;
+		this.status = status;
+		setMes(mes);
+		setAno(ano);
+	}
+	
+	public void setMes(Integer mes) {
+		this.mes = mes;
+		this.periodo = periodo(ano, mes);
+	}
+	
+	public void setAno(Integer ano) {
+		this.ano = ano;
+		this.periodo = periodo(ano, mes);
+	}
+	
+	/** Cópia destacada, para alterar sem mexer na instância gerenciada pelo contexto de persistência. */
+	public Lancamento copiar() {
+		Lancamento copia = Lancamento.builder()
+				.id(id)
+				.descricao(descricao)
+				.mes(mes)
+				.ano(ano)
+				.valor(valor)
+				.usuario(usuario)
+				.dataCadastro(dataCadastro)
+				.tipo(tipo)
+				.status(status)
+				.build();
+		copia.setIdRecorrencia(idRecorrencia);
+		copia.setParcela(parcela);
+		return copia;
+	}
+	
+	public static Integer periodo(Integer ano, Integer mes) {
+		return ano == null || mes == null ? null : ano * 100 + mes;
+	}
+	
+	@PostLoad
+	void separarPeriodo() {
+		if (periodo != null) {
+			this.ano = periodo / 100;
+			this.mes = periodo % 100;
+		}
+	}
+	
 }
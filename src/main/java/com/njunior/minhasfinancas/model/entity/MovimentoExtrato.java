@@ -0,0 +1,90 @@
+package com.njunior.minhasfinancas.model.entity;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
+
+import org.hibernate.annotations.Immutable;
+
+import com.njunior.minhasfinancas.model.enums.StatusLancamento;
+import com.njunior.minhasfinancas.model.enums.TipoAlteracaoLancamento;
+import com.njunior.minhasfinancas.model.enums.TipoLacamento;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Registro imutável de cada alteração de um lançamento, com o estado resultante e o
+ * efeito (positivo ou negativo) que a alteração teve sobre o saldo do usuário. Só
+ * {@code idConsolidacao} muda depois da gravação, quando o movimento entra num
+ * {@link SaldoConsolidado}.
+ */
+@Entity
+@Immutable
+@Table(name = "movimento_extrato", schema = "financas", indexes = {
+		@Index(name = "idx_movimento_usuario", columnList = "id_usuario, id"),
+		@Index(name = "idx_movimento_lancamento", columnList = "id_lancamento, id"),
+		@Index(name = "idx_movimento_consolidacao", columnList = "id_usuario, id_consolidacao") })
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MovimentoExtrato {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@Column(name = "id")
+	private Long id;
+	
+	@Column(name = "id_lancamento", nullable = false)
+	private Long idLancamento;
+	
+	@Column(name = "id_usuario", nullable = false)
+	private Long idUsuario;
+	
+	@Column(name = "tipo_alteracao", nullable = false)
+	@Enumerated(value = EnumType.STRING)
+	private TipoAlteracaoLancamento tipoAlteracao;
+	
+	@Column(name = "descricao")
+	private String descricao;
+	
+	@Column(name = "mes")
+	private Integer mes;
+	
+	@Column(name = "ano")
+	private Integer ano;
+	
+	@Column(name = "valor")
+	private BigDecimal valor;
+	
+	@Column(name = "tipo")
+	@Enumerated(value = EnumType.STRING)
+	private TipoLacamento tipo;
+	
+	@Column(name = "status")
+	@Enumerated(value = EnumType.STRING)
+	private StatusLancamento status;
+	
+	@Column(name = "efeito_saldo", nullable = false)
+	private BigDecimal efeitoSaldo;
+	
+	@Column(name = "data_hora", nullable = false)
+	private LocalDateTime dataHora;
+	
+	/** Saldo consolidado que já inclui este movimento; nulo enquanto pendente. */
+	@Column(name = "id_consolidacao")
+	private Long idConsolidacao;
+	
+}
@@ -0,0 +1,97 @@
+package com.njunior.minhasfinancas.model.entity;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import javax.persistence.Column;
+import javax.persistence.Convert;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
+
+import com.njunior.minhasfinancas.model.entity.converter.TipoLancamentoConverter;
+import com.njunior.minhasfinancas.model.enums.TipoLacamento;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Modelo de um lançamento que se repete todo mês a partir de {@code periodoInicial}, até
+ * completar {@code parcelas} ocorrências ou passar de {@code periodoFinal} (os dois são
+ * opcionais). {@code proximaParcela} e {@code proximoPeriodo} indicam a primeira ocorrência
+ * ainda não gerada.
+ */
+@Entity
+@Table(name = "recorrencia", schema = "financas", indexes = {
+		@Index(name = "idx_recorrencia_pendente", columnList = "ativa, proximo_periodo, id"),
+		@Index(name = "idx_recorrencia_usuario", columnList = "id_usuario, id") })
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Recorrencia {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@Column(name = "id")
+	private Long id;
+	
+	@Column(name = "id_usuario", nullable = false)
+	private Long idUsuario;
+	
+	@Column(name = "descricao")
+	private String descricao;
+	
+	@Column(name = "valor")
+	private BigDecimal valor;
+	
+	@Column(name = "tipo", nullable = false)
+	@Convert(converter = TipoLancamentoConverter.class)
+	private TipoLacamento tipo;
+	
+	@Column(name = "periodo_inicial", nullable = false)
+	private Integer periodoInicial;
+	
+	@Column(name = "parcelas")
+	private Integer parcelas;
+	
+	@Column(name = "periodo_final")
+	private Integer periodoFinal;
+	
+	@Column(name = "proxima_parcela", nullable = false)
+	private Integer proximaParcela;
+	
+	@Column(name = "proximo_periodo", nullable = false)
+	private Integer proximoPeriodo;
+	
+	@Column(name = "ativa", nullable = false)
+	private boolean ativa;
+	
+	@Column(name = "data_cadastro")
+	private LocalDate dataCadastro;
+	
+	/** Período da ocorrência de número {@code parcela}, contando a partir de 1. */
+	public int periodoDaParcela(int parcela) {
+		int mes = (periodoInicial / 100) * 12 + periodoInicial % 100 - 1 + parcela - 1;
+		return (mes / 12) * 100 + mes % 12 + 1;
+	}
+	
+	/** Se a ocorrência {@code parcela} ainda faz parte da recorrência. */
+	public boolean incluiParcela(int parcela) {
+		return (parcelas == null || parcela <= parcelas)
+				&& (periodoFinal == null || periodoDaParcela(parcela) <= periodoFinal);
+	}
+	
+	/** Avança para a próxima ocorrência, desativando a recorrência quando ela termina. */
+	public void avancar() {
+		proximaParcela++;
+		proximoPeriodo = periodoDaParcela(proximaParcela);
+		ativa = incluiParcela(proximaParcela);
+	}
+	
+}
@@ -0,0 +1,54 @@
+package com.njunior.minhasfinancas.model.entity;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
+
+import org.hibernate.annotations.Immutable;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Saldo do usuário somando os movimentos marcados com o id desta consolidação ou de uma
+ * anterior. O saldo em qualquer instante é o último consolidado anterior a ele somado aos
+ * movimentos até o instante que ainda não entraram nele. {@code idUltimoMovimento} e
+ * {@code dataHora} são os do movimento mais recente incluído.
+ */
+@Entity
+@Immutable
+@Table(name = "saldo_consolidado", schema = "financas", indexes = {
+		@Index(name = "idx_saldo_consolidado_usuario", columnList = "id_usuario, data_hora") })
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SaldoConsolidado {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@Column(name = "id")
+	private Long id;
+	
+	@Column(name = "id_usuario", nullable = false)
+	private Long idUsuario;
+	
+	@Column(name = "id_ultimo_movimento", nullable = false)
+	private Long idUltimoMovimento;
+	
+	@Column(name = "saldo", nullable = false)
+	private BigDecimal saldo;
+	
+	@Column(name = "data_hora", nullable = false)
+	private LocalDateTime dataHora;
+	
+}
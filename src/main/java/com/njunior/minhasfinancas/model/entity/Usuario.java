@@ -9,6 +9,7 @@ import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.Table;
 
 import org.springframework.data.convert.Jsr310Converters;
@@ -22,7 +23,8 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Entity
-@Table(name = "usuario", schema="financas")
+@Table(name = "usuario", schema="financas", indexes = {
+		@Index(name = "idx_usuario_email", columnList = "email") })
 @Builder
 @Data
 @NoArgsConstructor
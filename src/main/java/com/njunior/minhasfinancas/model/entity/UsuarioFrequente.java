@@ -0,0 +1,40 @@
+package com.njunior.minhasfinancas.model.entity;
+
+import java.time.LocalDateTime;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Usuários mais acessados, usados para aquecer os caches na inicialização. Os acessos de
+ * cada período são somados à metade do valor anterior, para que a lista acompanhe a
+ * atividade recente.
+ */
+@Entity
+@Table(name = "usuario_frequente", schema = "financas", indexes = {
+		@Index(name = "idx_usuario_frequente_acessos", columnList = "acessos") })
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UsuarioFrequente {
+
+	@Id
+	@Column(name = "id_usuario")
+	private Long idUsuario;
+
+	@Column(name = "acessos", nullable = false)
+	private long acessos;
+
+	@Column(name = "data_atualizacao", nullable = false)
+	private LocalDateTime dataAtualizacao;
+
+}
@@ -0,0 +1,21 @@
+package com.njunior.minhasfinancas.model.entity.converter;
+
+import javax.persistence.AttributeConverter;
+import javax.persistence.Converter;
+
+import com.njunior.minhasfinancas.model.enums.StatusLancamento;
+
+@Converter
+public class StatusLancamentoConverter implements AttributeConverter<StatusLancamento, Byte> {
+
+	@Override
+	public Byte convertToDatabaseColumn(StatusLancamento status) {
+		return status == null ? null : status.getCodigo();
+	}
+
+	@Override
+	public StatusLancamento convertToEntityAttribute(Byte codigo) {
+		return codigo == null ? null : StatusLancamento.porCodigo(codigo);
+	}
+
+}
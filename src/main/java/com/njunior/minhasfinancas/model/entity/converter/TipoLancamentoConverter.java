@@ -0,0 +1,21 @@
+package com.njunior.minhasfinancas.model.entity.converter;
+
+import javax.persistence.AttributeConverter;
+import javax.persistence.Converter;
+
+import com.njunior.minhasfinancas.model.enums.TipoLacamento;
+
+@Converter
+public class TipoLancamentoConverter implements AttributeConverter<TipoLacamento, Byte> {
+
+	@Override
+	public Byte convertToDatabaseColumn(TipoLacamento tipo) {
+		return tipo == null ? null : tipo.getCodigo();
+	}
+
+	@Override
+	public TipoLacamento convertToEntityAttribute(Byte codigo) {
+		return codigo == null ? null : TipoLacamento.porCodigo(codigo);
+	}
+
+}
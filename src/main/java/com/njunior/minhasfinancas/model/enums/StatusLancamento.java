@@ -1,8 +1,25 @@
 package com.njunior.minhasfinancas.model.enums;
 
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
 public enum StatusLancamento {
 
-	PENDENTE,
-	CANCELADO,
-	EFETIVADO
+	PENDENTE((byte) 1),
+	CANCELADO((byte) 2),
+	EFETIVADO((byte) 3);
+	
+	/** Código gravado no banco; nunca reaproveitar nem renumerar. */
+	private final byte codigo;
+	
+	public static StatusLancamento porCodigo(byte codigo) {
+		for (StatusLancamento status : values()) {
+			if (status.codigo == codigo) {
+				return status;
+			}
+		}
+		throw new IllegalArgumentException("Código de status de lançamento desconhecido: " + codigo);
+	}
 }
@@ -0,0 +1,9 @@
+package com.njunior.minhasfinancas.model.enums;
+
+public enum TipoAlteracaoLancamento {
+
+	CRIADO,
+	ATUALIZADO,
+	STATUS_ALTERADO,
+	EXCLUIDO
+}
@@ -1,10 +1,25 @@
 package com.njunior.minhasfinancas.model.enums;
 
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
 public enum TipoLacamento {
 	
-	RECEITA,
-	DESPESA
+	RECEITA((byte) 1),
+	DESPESA((byte) 2);
 	
+	/** Código gravado no banco; nunca reaproveitar nem renumerar. */
+	private final byte codigo;
 	
+	public static TipoLacamento porCodigo(byte codigo) {
+		for (TipoLacamento tipo : values()) {
+			if (tipo.codigo == codigo) {
+				return tipo;
+			}
+		}
+		throw new IllegalArgumentException("Código de tipo de lançamento desconhecido: " + codigo);
+	}
 
 }
@@ -0,0 +1,12 @@
+package com.njunior.minhasfinancas.model.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.njunior.minhasfinancas.model.entity.AuditoriaLancamento;
+
+public interface AuditoriaLancamentoRepository extends JpaRepository<AuditoriaLancamento, Long> {
+
+	List<AuditoriaLancamento> findByIdLancamentoOrderById(Long idLancamento);
+}
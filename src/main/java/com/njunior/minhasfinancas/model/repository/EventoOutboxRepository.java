@@ -0,0 +1,50 @@
+package com.njunior.minhasfinancas.model.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import javax.persistence.LockModeType;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.njunior.minhasfinancas.model.entity.EventoOutbox;
+
+public interface EventoOutboxRepository extends JpaRepository<EventoOutbox, Long> {
+
+	/**
+	 * Próximos eventos de uma partição de usuários, em ordem de id, bloqueados até o fim da
+	 * transação. Usuários com algum evento reservado ou aguardando nova tentativa ficam de fora
+	 * por inteiro, para que seus eventos posteriores não sejam entregues antes dos anteriores.
+	 */
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query( value = 
+			" select e from EventoOutbox e "
+		  + " where mod(e.idUsuario, :particoes) = :particao "
+		  + " and e.idUsuario not in (select r.idUsuario from EventoOutbox r where r.proximaTentativa > :agora) "
+		  + " order by e.id ")
+	List<EventoOutbox> bloquearPendentes( @Param("particoes") Integer particoes, @Param("particao") Integer particao, 
+			@Param("agora") LocalDateTime agora, Pageable pagina);
+	
+	@Modifying
+	@Query( value = " delete from EventoOutbox e where e.id in :ids ")
+	int excluir( @Param("ids") Collection<Long> ids);
+	
+	/** Desfaz a reserva dos eventos, que voltam a ser lidos na próxima vez. */
+	@Modifying
+	@Query( value = " update EventoOutbox e set e.proximaTentativa = null where e.id in :ids ")
+	int liberar( @Param("ids") Collection<Long> ids);
+	
+	@Modifying
+	@Query( value = " update EventoOutbox e set e.tentativas = :tentativas, e.proximaTentativa = :proximaTentativa where e.id = :id ")
+	int reter( @Param("id") Long id, @Param("tentativas") int tentativas, 
+			@Param("proximaTentativa") LocalDateTime proximaTentativa);
+	
+	@Query( value = " select count(e) as pendentes, min(e.dataHora) as maisAntigo from EventoOutbox e ")
+	ResumoOutbox resumir();
+}
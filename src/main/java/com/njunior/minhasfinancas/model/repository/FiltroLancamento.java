@@ -0,0 +1,88 @@
+package com.njunior.minhasfinancas.model.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Set;
+
+import org.springframework.data.domain.Sort;
+
+import com.njunior.minhasfinancas.model.enums.StatusLancamento;
+import com.njunior.minhasfinancas.model.enums.TipoLacamento;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Critérios de busca de lançamentos de um usuário. Campos nulos ou vazios não filtram.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FiltroLancamento {
+
+	public enum ModoDescricao {
+		/** Igualdade; usa o índice de descrição. */
+		EXATA,
+		/** Começa com o texto informado; usa o índice de descrição. */
+		PREFIXO,
+		/** Contém o texto, ignorando maiúsculas; exige varrer os lançamentos do usuário. */
+		CONTEM
+	}
+
+	@Getter
+	@RequiredArgsConstructor
+	public enum CampoOrdenacao {
+		ID("id"),
+		PERIODO("periodo"),
+		VALOR("valor"),
+		DATA_CADASTRO("dataCadastro"),
+		DESCRICAO("descricao");
+
+		private final String propriedade;
+	}
+
+	private Long idUsuario;
+
+	private String descricao;
+
+	@Builder.Default
+	private ModoDescricao modoDescricao = ModoDescricao.CONTEM;
+
+	private Integer mes;
+
+	private Integer ano;
+
+	private YearMonth de;
+
+	private YearMonth ate;
+
+	private LocalDate dataCadastroDe;
+
+	private LocalDate dataCadastroAte;
+
+	private Set<TipoLacamento> tipos;
+
+	private Set<StatusLancamento> status;
+
+	private BigDecimal valorMinimo;
+
+	private BigDecimal valorMaximo;
+
+	@Builder.Default
+	private CampoOrdenacao ordenarPor = CampoOrdenacao.ID;
+
+	@Builder.Default
+	private Sort.Direction direcao = Sort.Direction.ASC;
+
+	public Sort getOrdenacao() {
+		Sort ordenacao = Sort.by(direcao, ordenarPor.getPropriedade());
+		return ordenarPor == CampoOrdenacao.ID ? ordenacao : ordenacao.and(Sort.by(direcao, CampoOrdenacao.ID.getPropriedade()));
+	}
+
+}
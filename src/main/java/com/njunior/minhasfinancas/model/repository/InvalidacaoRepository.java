@@ -0,0 +1,24 @@
+package com.njunior.minhasfinancas.model.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.njunior.minhasfinancas.model.entity.Invalidacao;
+
+public interface InvalidacaoRepository extends JpaRepository<Invalidacao, Long> {
+
+	List<Invalidacao> findByIdGreaterThanOrderById(Long id, Pageable pageable);
+
+	@Query("select coalesce(max(i.id), 0) from Invalidacao i")
+	Long obterUltimoId();
+
+	@Modifying
+	@Query("delete from Invalidacao i where i.dataHora < :limite")
+	int excluirAnteriores(@Param("limite") LocalDateTime limite);
+}
@@ -1,18 +1,25 @@
 package com.njunior.minhasfinancas.model.repository;
 
-import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import com.njunior.minhasfinancas.model.entity.Lancamento;
-import com.njunior.minhasfinancas.model.enums.TipoLacamento;
 
-public interface LancamentoRepository extends JpaRepository<Lancamento, Long>{
+public interface LancamentoRepository extends JpaRepository<Lancamento, Long>, JpaSpecificationExecutor<Lancamento>, LancamentoRepositoryCustom {
 
 	@Query( value = 
-			" select sum(l.valor) from Lancamento l join l.usuario u "
-		  + " where u.id = :idUsuario and l.tipo = :tipo group by u ")
-	BigDecimal obterSaldoPorTipoLancamentoEUsuario( @Param("idUsuario") Long idUsuario, @Param("tipo") TipoLacamento tipo);
+			" select l.usuario.id as idUsuario, l.tipo as tipo, sum(l.valor) as total from Lancamento l "
+		  + " where l.usuario.id in :idsUsuarios group by l.usuario.id, l.tipo ")
+	List<TotalPorUsuarioETipo> obterTotaisPorUsuarioETipo( @Param("idsUsuarios") Collection<Long> idsUsuarios);
+	
+	@Query( value = 
+			" select l from Lancamento l "
+		  + " where l.idRecorrencia in :idsRecorrencias and l.parcela >= :aPartirDaParcela ")
+	List<Lancamento> buscarGerados( @Param("idsRecorrencias") Collection<Long> idsRecorrencias, 
+			@Param("aPartirDaParcela") Integer aPartirDaParcela);
 }
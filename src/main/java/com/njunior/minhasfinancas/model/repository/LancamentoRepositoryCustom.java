@@ -0,0 +1,30 @@
+package com.njunior.minhasfinancas.model.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.function.Consumer;
+
+import com.njunior.minhasfinancas.model.entity.Lancamento;
+import com.njunior.minhasfinancas.model.enums.StatusLancamento;
+import com.njunior.minhasfinancas.model.enums.TipoLacamento;
+
+public interface LancamentoRepositoryCustom {
+
+	/**
+	 * Percorre os lançamentos do usuário com um cursor no banco, entregando um por vez
+	 * ao consumidor e desanexando-o em seguida, para que a memória não cresça com o
+	 * tamanho do resultado.
+	 */
+	void percorrer(Lancamento filtro, Consumer<Lancamento> consumidor);
+	
+	/**
+	 * Percorre com cursor apenas as colunas usadas em análises, sem instanciar entidades
+	 * nem ocupar o contexto de persistência.
+	 */
+	void percorrerColunas(Long idUsuario, ConsumidorColunas consumidor);
+	
+	interface ConsumidorColunas {
+		void aceitar(long id, int periodo, LocalDate dataCadastro, TipoLacamento tipo, StatusLancamento status, 
+				BigDecimal valor);
+	}
+}
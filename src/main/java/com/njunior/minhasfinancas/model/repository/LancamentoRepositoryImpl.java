@@ -0,0 +1,66 @@
+package com.njunior.minhasfinancas.model.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.TypedQuery;
+
+import org.hibernate.jpa.QueryHints;
+
+import com.njunior.minhasfinancas.model.entity.Lancamento;
+import com.njunior.minhasfinancas.model.enums.StatusLancamento;
+import com.njunior.minhasfinancas.model.enums.TipoLacamento;
+
+public class LancamentoRepositoryImpl implements LancamentoRepositoryCustom {
+
+	static final int TAMANHO_LOTE_LEITURA = 500;
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Override
+	public void percorrer(Lancamento filtro, Consumer<Lancamento> consumidor) {
+		TypedQuery<Lancamento> query = entityManager.createQuery(
+				" select l from Lancamento l "
+			  + " where l.usuario.id = :idUsuario "
+			  + " and (:periodo is null or l.periodo = :periodo) "
+			  + " and (:ano is null or l.periodo between :ano * 100 + 1 and :ano * 100 + 12) "
+			  + " and (:mes is null or mod(l.periodo, 100) = :mes) "
+			  + " and (:descricao is null or lower(l.descricao) like lower(concat('%', :descricao, '%'))) "
+			  + " order by l.id ", Lancamento.class)
+				.setParameter("idUsuario", filtro.getUsuario().getId())
+				.setParameter("periodo", filtro.getPeriodo())
+				.setParameter("ano", filtro.getPeriodo() == null ? filtro.getAno() : null)
+				.setParameter("mes", filtro.getPeriodo() == null ? filtro.getMes() : null)
+				.setParameter("descricao", filtro.getDescricao())
+				.setHint(QueryHints.HINT_FETCH_SIZE, TAMANHO_LOTE_LEITURA)
+				.setHint(QueryHints.HINT_READONLY, true);
+		
+		try (Stream<Lancamento> lancamentos = query.getResultStream()) {
+			lancamentos.forEach(lancamento -> {
+				consumidor.accept(lancamento);
+				entityManager.detach(lancamento);
+			});
+		}
+	}
+
+	@Override
+	public void percorrerColunas(Long idUsuario, ConsumidorColunas consumidor) {
+		TypedQuery<Object[]> query = entityManager.createQuery(
+				" select l.id, l.periodo, l.dataCadastro, l.tipo, l.status, l.valor from Lancamento l "
+			  + " where l.usuario.id = :idUsuario ", Object[].class)
+				.setParameter("idUsuario", idUsuario)
+				.setHint(QueryHints.HINT_FETCH_SIZE, TAMANHO_LOTE_LEITURA)
+				.setHint(QueryHints.HINT_READONLY, true);
+		
+		try (Stream<Object[]> linhas = query.getResultStream()) {
+			linhas.forEach(linha -> consumidor.aceitar((Long) linha[0], (Integer) linha[1], 
+					(LocalDate) linha[2], (TipoLacamento) linha[3], (StatusLancamento) linha[4], (BigDecimal) linha[5]));
+		}
+	}
+
+}
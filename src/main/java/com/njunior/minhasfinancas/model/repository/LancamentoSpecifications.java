@@ -0,0 +1,125 @@
+package com.njunior.minhasfinancas.model.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Collection;
+
+import javax.persistence.criteria.Expression;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.njunior.minhasfinancas.model.entity.Lancamento;
+import com.njunior.minhasfinancas.model.repository.FiltroLancamento.ModoDescricao;
+
+/**
+ * Monta a consulta de {@link FiltroLancamento} só com os predicados informados, sempre
+ * com valores como parâmetros, para que filtros de mesmo formato gerem o mesmo SQL e
+ * reaproveitem o plano em cache do Hibernate e do banco.
+ */
+public final class LancamentoSpecifications {
+
+	static final char ESCAPE = '\\';
+	static final int PERIODO_MINIMO = Lancamento.periodo(1000, 1);
+	static final int PERIODO_MAXIMO = Lancamento.periodo(9999, 12);
+
+	private LancamentoSpecifications() {
+	}
+
+	public static Specification<Lancamento> de(FiltroLancamento filtro) {
+		return Specification.where(doUsuario(filtro.getIdUsuario()))
+				.and(descricao(filtro.getDescricao(), filtro.getModoDescricao()))
+				.and(mesEAno(filtro.getMes(), filtro.getAno()))
+				.and(entrePeriodos(filtro.getDe(), filtro.getAte()))
+				.and(cadastradoEntre(filtro.getDataCadastroDe(), filtro.getDataCadastroAte()))
+				.and(valorEntre(filtro.getValorMinimo(), filtro.getValorMaximo()))
+				.and(em("tipo", filtro.getTipos()))
+				.and(em("status", filtro.getStatus()));
+	}
+
+	public static Specification<Lancamento> doUsuario(Long idUsuario) {
+		if (idUsuario == null) {
+			return null;
+		}
+		return (root, query, cb) -> cb.equal(root.get("usuario").get("id"), idUsuario);
+	}
+
+	public static Specification<Lancamento> descricao(String descricao, ModoDescricao modo) {
+		if (descricao == null || descricao.trim().isEmpty()) {
+			return null;
+		}
+		switch (modo != null ? modo : ModoDescricao.CONTEM) {
+		case EXATA:
+			return (root, query, cb) -> cb.equal(root.get("descricao"), descricao);
+		case PREFIXO:
+			return (root, query, cb) -> cb.like(root.get("descricao"), escapar(descricao) + "%", ESCAPE);
+		default:
+			return (root, query, cb) -> cb.like(cb.lower(root.get("descricao")), 
+					"%" + escapar(descricao.toLowerCase()) + "%", ESCAPE);
+		}
+	}
+
+	/** Mês e ano ficam compactados em periodo; informado só um deles, vira faixa ou resto da divisão. */
+	public static Specification<Lancamento> mesEAno(Integer mes, Integer ano) {
+		if (mes != null && ano != null) {
+			return (root, query, cb) -> cb.equal(root.get("periodo"), Lancamento.periodo(ano, mes));
+		}
+		if (ano != null) {
+			return (root, query, cb) -> cb.between(root.get("periodo"), Lancamento.periodo(ano, 1), Lancamento.periodo(ano, 12));
+		}
+		if (mes != null) {
+			return (root, query, cb) -> {
+				Expression<Integer> periodo = root.get("periodo");
+				return cb.equal(cb.mod(periodo, 100), mes);
+			};
+		}
+		return null;
+	}
+
+	public static Specification<Lancamento> entrePeriodos(YearMonth de, YearMonth ate) {
+		if (de == null && ate == null) {
+			return null;
+		}
+		int inicio = de != null ? Lancamento.periodo(de.getYear(), de.getMonthValue()) : PERIODO_MINIMO;
+		int fim = ate != null ? Lancamento.periodo(ate.getYear(), ate.getMonthValue()) : PERIODO_MAXIMO;
+		return (root, query, cb) -> cb.between(root.get("periodo"), inicio, fim);
+	}
+
+	public static Specification<Lancamento> cadastradoEntre(LocalDate inicio, LocalDate fim) {
+		if (inicio != null && fim != null) {
+			return (root, query, cb) -> cb.between(root.get("dataCadastro"), inicio, fim);
+		}
+		if (inicio != null) {
+			return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("dataCadastro"), inicio);
+		}
+		if (fim != null) {
+			return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("dataCadastro"), fim);
+		}
+		return null;
+	}
+
+	public static Specification<Lancamento> valorEntre(BigDecimal minimo, BigDecimal maximo) {
+		if (minimo != null && maximo != null) {
+			return (root, query, cb) -> cb.between(root.get("valor"), minimo, maximo);
+		}
+		if (minimo != null) {
+			return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("valor"), minimo);
+		}
+		if (maximo != null) {
+			return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("valor"), maximo);
+		}
+		return null;
+	}
+
+	private static Specification<Lancamento> em(String atributo, Collection<?> valores) {
+		if (valores == null || valores.isEmpty()) {
+			return null;
+		}
+		return (root, query, cb) -> root.get(atributo).in(valores);
+	}
+
+	private static String escapar(String texto) {
+		return texto.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+	}
+
+}
@@ -0,0 +1,39 @@
+package com.njunior.minhasfinancas.model.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.njunior.minhasfinancas.model.entity.MovimentoExtrato;
+
+public interface MovimentoExtratoRepository extends JpaRepository<MovimentoExtrato, Long>{
+
+	Optional<MovimentoExtrato> findFirstByIdLancamentoOrderByIdDesc(Long idLancamento);
+	
+	Optional<MovimentoExtrato> findFirstByIdUsuarioOrderByIdDesc(Long idUsuario);
+	
+	List<MovimentoExtrato> findByIdLancamentoOrderById(Long idLancamento);
+	
+	boolean existsByIdUsuario(Long idUsuario);
+	
+	/**
+	 * Efeitos até {@code ate} que não entraram na consolidação informada nem nas anteriores,
+	 * inclusive os pendentes.
+	 */
+	@Query( value = 
+			" select coalesce(sum(m.efeitoSaldo), 0) from MovimentoExtrato m "
+		  + " where m.idUsuario = :idUsuario and m.dataHora <= :ate "
+		  + " and (m.idConsolidacao is null or m.idConsolidacao > :aposConsolidacao) ")
+	BigDecimal somarEfeitos( @Param("idUsuario") Long idUsuario, @Param("aposConsolidacao") Long aposConsolidacao, 
+			@Param("ate") LocalDateTime ate);
+	
+	@Query( value = 
+			" select m.idUsuario from MovimentoExtrato m where m.idConsolidacao is null "
+		  + " group by m.idUsuario having count(m) >= :minimo ")
+	List<Long> buscarUsuariosParaConsolidar(@Param("minimo") long minimo);
+}
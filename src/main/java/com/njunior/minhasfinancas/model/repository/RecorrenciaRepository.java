@@ -0,0 +1,38 @@
+package com.njunior.minhasfinancas.model.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import javax.persistence.LockModeType;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.njunior.minhasfinancas.model.entity.Recorrencia;
+
+public interface RecorrenciaRepository extends JpaRepository<Recorrencia, Long> {
+
+	List<Recorrencia> findByIdUsuarioOrderById(Long idUsuario);
+	
+	List<Recorrencia> findByIdUsuarioAndAtivaTrueOrderById(Long idUsuario);
+	
+	/** Ids com ocorrências vencidas até {@code periodo} em uma partição, paginados por id. */
+	@Query( value = 
+			" select r.id from Recorrencia r "
+		  + " where r.ativa = true and r.proximoPeriodo <= :periodo "
+		  + " and mod(r.id, :particoes) = :particao and r.id > :aposId "
+		  + " order by r.id ")
+	List<Long> buscarPendentes( @Param("periodo") Integer periodo, @Param("particoes") Integer particoes, 
+			@Param("particao") Integer particao, @Param("aposId") Long aposId, Pageable pagina);
+	
+	/** Relê as recorrências ainda pendentes, bloqueando-as até o fim da transação. */
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query( value = 
+			" select r from Recorrencia r "
+		  + " where r.id in :ids and r.ativa = true and r.proximoPeriodo <= :periodo "
+		  + " order by r.id ")
+	List<Recorrencia> bloquearPendentes( @Param("ids") Collection<Long> ids, @Param("periodo") Integer periodo);
+}
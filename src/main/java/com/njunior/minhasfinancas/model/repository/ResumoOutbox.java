@@ -0,0 +1,10 @@
+package com.njunior.minhasfinancas.model.repository;
+
+import java.time.LocalDateTime;
+
+public interface ResumoOutbox {
+
+	Long getPendentes();
+	
+	LocalDateTime getMaisAntigo();
+}
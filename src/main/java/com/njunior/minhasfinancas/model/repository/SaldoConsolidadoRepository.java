@@ -0,0 +1,15 @@
+package com.njunior.minhasfinancas.model.repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.njunior.minhasfinancas.model.entity.SaldoConsolidado;
+
+public interface SaldoConsolidadoRepository extends JpaRepository<SaldoConsolidado, Long>{
+
+	Optional<SaldoConsolidado> findFirstByIdUsuarioOrderByIdDesc(Long idUsuario);
+	
+	Optional<SaldoConsolidado> findFirstByIdUsuarioAndDataHoraLessThanEqualOrderByIdDesc(Long idUsuario, LocalDateTime dataHora);
+}
@@ -0,0 +1,14 @@
+package com.njunior.minhasfinancas.model.repository;
+
+import java.math.BigDecimal;
+
+import com.njunior.minhasfinancas.model.enums.TipoLacamento;
+
+public interface TotalPorUsuarioETipo {
+
+	Long getIdUsuario();
+	
+	TipoLacamento getTipo();
+	
+	BigDecimal getTotal();
+}
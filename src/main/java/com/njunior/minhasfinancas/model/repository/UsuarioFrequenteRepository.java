@@ -0,0 +1,24 @@
+package com.njunior.minhasfinancas.model.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import com.njunior.minhasfinancas.model.entity.UsuarioFrequente;
+
+public interface UsuarioFrequenteRepository extends JpaRepository<UsuarioFrequente, Long> {
+
+	@Query( value = " select u.idUsuario from UsuarioFrequente u order by u.acessos desc, u.idUsuario ")
+	List<Long> buscarMaisAtivos(Pageable pageable);
+
+	@Modifying
+	@Query( value = " update UsuarioFrequente u set u.acessos = u.acessos / 2 ")
+	int reduzirAcessos();
+
+	@Modifying
+	@Query( value = " delete from UsuarioFrequente u where u.acessos = 0 ")
+	int excluirInativos();
+}
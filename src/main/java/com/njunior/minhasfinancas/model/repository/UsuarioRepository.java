@@ -3,6 +3,10 @@ package com.njunior.minhasfinancas.model.repository;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.njunior.minhasfinancas.model.entity.Usuario;
 
@@ -11,5 +15,10 @@ public interface UsuarioRepository extends JpaRepository<Usuario, Long>{
 	boolean existsByEmail(String email);
 	
 	Optional<Usuario> findByEmail(String email);
+	
+	@Transactional
+	@Modifying
+	@Query( value = " update Usuario u set u.senha = :senha where u.id = :id ")
+	int atualizarSenha( @Param("id") Long id, @Param("senha") String senha);
 
 }
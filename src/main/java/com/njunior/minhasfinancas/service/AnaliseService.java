@@ -0,0 +1,24 @@
+package com.njunior.minhasfinancas.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+
+import com.njunior.minhasfinancas.model.enums.StatusLancamento;
+import com.njunior.minhasfinancas.model.enums.TipoLacamento;
+import com.njunior.minhasfinancas.service.analise.Granularidade;
+import com.njunior.minhasfinancas.service.analise.PontoSaldo;
+import com.njunior.minhasfinancas.service.analise.ResumoMensal;
+
+public interface AnaliseService {
+
+	List<ResumoMensal> obterResumoMensal(Long idUsuario, YearMonth de, YearMonth ate);
+	
+	List<PontoSaldo> obterSerieSaldo(Long idUsuario, LocalDate de, LocalDate ate, Granularidade granularidade);
+	
+	Map<TipoLacamento, Map<StatusLancamento, BigDecimal>> obterTotaisPorTipoEStatus(Long idUsuario);
+	
+	void descartar(Long idUsuario);
+}
@@ -0,0 +1,17 @@
+package com.njunior.minhasfinancas.service;
+
+import java.util.List;
+
+import com.njunior.minhasfinancas.model.entity.AuditoriaLancamento;
+import com.njunior.minhasfinancas.service.event.LancamentoAlteradoEvent;
+
+public interface AuditoriaService {
+
+	/** Enfileira o registro sem acessar o banco; devolve falso se ele foi descartado. */
+	boolean registrar(LancamentoAlteradoEvent evento);
+	
+	/** Grava imediatamente o que estiver no buffer e devolve quantos registros foram gravados. */
+	int descarregar();
+	
+	List<AuditoriaLancamento> obterHistorico(Long idLancamento);
+}
@@ -0,0 +1,26 @@
+package com.njunior.minhasfinancas.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.njunior.minhasfinancas.model.entity.MovimentoExtrato;
+import com.njunior.minhasfinancas.service.event.LancamentoAlteradoEvent;
+import com.njunior.minhasfinancas.service.event.LancamentosGeradosEvent;
+
+public interface ExtratoService {
+
+	MovimentoExtrato registrar(LancamentoAlteradoEvent evento);
+	
+	void registrarGerados(LancamentosGeradosEvent evento);
+	
+	BigDecimal obterSaldoEm(Long idUsuario, LocalDateTime instante);
+	
+	List<MovimentoExtrato> obterHistorico(Long idLancamento);
+	
+	void consolidar(Long idUsuario);
+	
+	void consolidarPendentes();
+	
+	void inicializar(Long idUsuario);
+}
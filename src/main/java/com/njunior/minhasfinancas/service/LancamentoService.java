@@ -1,11 +1,16 @@
 package com.njunior.minhasfinancas.service;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import com.njunior.minhasfinancas.model.entity.Lancamento;
 import com.njunior.minhasfinancas.model.enums.StatusLancamento;
+import com.njunior.minhasfinancas.model.repository.FiltroLancamento;
+import com.njunior.minhasfinancas.service.validacao.ResultadoValidacao;
 
 public interface LancamentoService {
 
@@ -17,11 +22,19 @@ public interface LancamentoService {
 	
 	List<Lancamento> buscar (Lancamento lancamentoFiltro);
 	
+	List<Lancamento> buscar(FiltroLancamento filtro);
+	
+	void percorrer(Lancamento lancamentoFiltro, Consumer<Lancamento> consumidor);
+	
 	void atualizarStatus(Lancamento lancamento, StatusLancamento status);
 	
 	void validar(Lancamento lancamento);
 	
+	Map<Integer, ResultadoValidacao> validarLote(List<Lancamento> lancamentos);
+	
 	Optional<Lancamento> obterPorId(Long id);
 	
 	BigDecimal obterSaldoPorUsuario(Long id);
+	
+	Map<Long, BigDecimal> obterSaldosPorUsuarios(Collection<Long> ids);
 }
@@ -0,0 +1,19 @@
+package com.njunior.minhasfinancas.service;
+
+import java.util.List;
+
+import com.njunior.minhasfinancas.service.lote.ModoLote;
+import com.njunior.minhasfinancas.service.lote.OperacaoLote;
+import com.njunior.minhasfinancas.service.lote.ResultadoLote;
+
+public interface LoteService {
+
+	/** Executa as operações em ordem; sem modo, usa o configurado. */
+	ResultadoLote executar(List<OperacaoLote> operacoes, ModoLote modo);
+
+	/**
+	 * Executa as operações em nome do usuário autenticado: quem não informa o usuário usa o
+	 * dele, e lançamentos de outros usuários não são alterados.
+	 */
+	ResultadoLote executar(List<OperacaoLote> operacoes, ModoLote modo, Long idAutenticado);
+}
@@ -0,0 +1,14 @@
+package com.njunior.minhasfinancas.service;
+
+import com.njunior.minhasfinancas.service.event.LancamentoAlteradoEvent;
+import com.njunior.minhasfinancas.service.event.LancamentosGeradosEvent;
+
+public interface OutboxService {
+
+	void registrar(LancamentoAlteradoEvent evento);
+	
+	void registrarGerados(LancamentosGeradosEvent evento);
+	
+	/** Entrega os eventos pendentes aos consumidores e devolve quantos foram concluídos. */
+	long despachar();
+}
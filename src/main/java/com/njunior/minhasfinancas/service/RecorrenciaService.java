@@ -0,0 +1,28 @@
+package com.njunior.minhasfinancas.service;
+
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Optional;
+
+import com.njunior.minhasfinancas.model.entity.Recorrencia;
+import com.njunior.minhasfinancas.service.analise.ResumoMensal;
+
+public interface RecorrenciaService {
+
+	Recorrencia salvar(Recorrencia recorrencia);
+	
+	void encerrar(Recorrencia recorrencia);
+	
+	Optional<Recorrencia> obterPorId(Long id);
+	
+	List<Recorrencia> buscarPorUsuario(Long idUsuario);
+	
+	void validar(Recorrencia recorrencia);
+	
+	/** Gera todas as ocorrências vencidas até o mês atual e devolve quantos lançamentos foram criados. */
+	long gerarPendentes();
+	
+	long gerarPendentes(YearMonth ate);
+	
+	List<ResumoMensal> projetarSaldo(Long idUsuario, YearMonth ate);
+}
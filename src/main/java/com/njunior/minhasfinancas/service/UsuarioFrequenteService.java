@@ -0,0 +1,13 @@
+package com.njunior.minhasfinancas.service;
+
+import java.util.List;
+
+public interface UsuarioFrequenteService {
+
+	/** Só conta em memória; {@link #persistirAcessos()} grava os totais periodicamente. */
+	void registrarAcesso(Long idUsuario);
+
+	void persistirAcessos();
+
+	List<Long> obterMaisAtivos(int quantidade);
+}
@@ -1,15 +1,27 @@
 package com.njunior.minhasfinancas.service;
 
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import com.njunior.minhasfinancas.model.entity.Usuario;
+import com.njunior.minhasfinancas.service.validacao.ResultadoValidacao;
 
 public interface UsuarioService {
 
-	Usuario autenticar(String email, String senha);
+	/**
+	 * Busca o usuário em quem chama e confere a senha no pool de hashes, sem bloquear. O
+	 * futuro falha com {@code ErroAutenticacao} ou, sob sobrecarga, {@code ErroSobrecarga}.
+	 */
+	CompletableFuture<Usuario> autenticar(String email, String senha);
 	
 	Usuario salvarUsuario(Usuario usuario);
 	
+	void validar(Usuario usuario);
+	
+	Map<Integer, ResultadoValidacao> validarLote(List<Usuario> usuarios);
+	
 	void validarEmail(String email);
 	
 	Optional<Usuario> obterPorId(Long id);
@@ -0,0 +1,6 @@
+package com.njunior.minhasfinancas.service.analise;
+
+public enum Granularidade {
+	MES,
+	DIA
+}
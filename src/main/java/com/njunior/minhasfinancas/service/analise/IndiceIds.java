@@ -0,0 +1,90 @@
+package com.njunior.minhasfinancas.service.analise;
+
+/**
+ * Mapa de id para linha em arrays de tipos primitivos, com endereçamento aberto e sondagem
+ * linear. Uma posição com linha zero está livre; as linhas são guardadas somadas de um.
+ * Não é thread-safe: quem usa é {@link SnapshotLancamentos}, sob a sua trava.
+ */
+final class IndiceIds {
+
+	private long[] chaves;
+	private int[] linhas;
+	private int mascara;
+	private int tamanho;
+
+	IndiceIds(int capacidadeInicial) {
+		alocar(Integer.highestOneBit(Math.max(capacidadeInicial, 8) * 2 - 1) * 2);
+	}
+
+	/** @return a linha do id, ou -1 se ele não estiver no índice */
+	int obter(long id) {
+		for (int i = posicao(id); linhas[i] != 0; i = (i + 1) & mascara) {
+			if (chaves[i] == id) {
+				return linhas[i] - 1;
+			}
+		}
+		return -1;
+	}
+
+	void colocar(long id, int linha) {
+		int i = posicao(id);
+		while (linhas[i] != 0) {
+			if (chaves[i] == id) {
+				linhas[i] = linha + 1;
+				return;
+			}
+			i = (i + 1) & mascara;
+		}
+		chaves[i] = id;
+		linhas[i] = linha + 1;
+		if (++tamanho * 2 > linhas.length) {
+			realocar(linhas.length * 2);
+		}
+	}
+
+	/** Remove o id deslocando para trás as chaves seguintes do mesmo agrupamento. */
+	void remover(long id) {
+		int i = posicao(id);
+		while (linhas[i] != 0 && chaves[i] != id) {
+			i = (i + 1) & mascara;
+		}
+		if (linhas[i] == 0) {
+			return;
+		}
+		tamanho--;
+		int livre = i;
+		for (int j = (i + 1) & mascara; linhas[j] != 0; j = (j + 1) & mascara) {
+			int ideal = posicao(chaves[j]);
+			if (((j - ideal) & mascara) >= ((j - livre) & mascara)) {
+				chaves[livre] = chaves[j];
+				linhas[livre] = linhas[j];
+				livre = j;
+			}
+		}
+		linhas[livre] = 0;
+	}
+
+	private int posicao(long id) {
+		long h = id * 0x9E3779B97F4A7C15L;
+		return (int) (h ^ (h >>> 32)) & mascara;
+	}
+
+	private void realocar(int capacidade) {
+		long[] antigasChaves = chaves;
+		int[] antigasLinhas = linhas;
+		alocar(capacidade);
+		for (int i = 0; i < antigasLinhas.length; i++) {
+			if (antigasLinhas[i] != 0) {
+				colocar(antigasChaves[i], antigasLinhas[i] - 1);
+			}
+		}
+	}
+
+	private void alocar(int capacidade) {
+		chaves = new long[capacidade];
+		linhas = new int[capacidade];
+		mascara = capacidade - 1;
+		tamanho = 0;
+	}
+
+}
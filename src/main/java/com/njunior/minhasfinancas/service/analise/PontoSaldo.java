@@ -0,0 +1,15 @@
+package com.njunior.minhasfinancas.service.analise;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import lombok.Value;
+
+/** Saldo acumulado ao fim do dia ou do mês que começa em {@code data}. */
+@Value
+public class PontoSaldo {
+
+	private LocalDate data;
+	private BigDecimal saldo;
+
+}
@@ -0,0 +1,23 @@
+package com.njunior.minhasfinancas.service.analise;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+public class ResumoMensal {
+
+	private YearMonth periodo;
+	private BigDecimal receitas;
+	private BigDecimal despesas;
+	
+	/** Receitas menos despesas do mês. */
+	private BigDecimal saldo;
+	
+	/** Saldo de todo o histórico até o fim do mês. */
+	private BigDecimal saldoAcumulado;
+
+}
@@ -0,0 +1,236 @@
+package com.njunior.minhasfinancas.service.analise;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.util.function.LongConsumer;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import com.njunior.minhasfinancas.model.enums.TipoLacamento;
+
+/**
+ * Lançamentos de um usuário em colunas de tipos primitivos alocadas fora do heap: id,
+ * período, dia (em dias desde a época), códigos de tipo e status e valor em centavos. As agregações percorrem as
+ * colunas em laços simples, sem criar objetos por linha. Um {@link IndiceIds} mantido junto
+ * com as colunas localiza a linha de um id sem percorrê-las. Leituras concorrentes são
+ * permitidas; escritas são exclusivas.
+ */
+public final class SnapshotLancamentos {
+
+	/** Os códigos de tipo e status cabem em um byte e são usados diretamente como índice. */
+	public static final int CODIGOS = 4;
+
+	private static final byte RECEITA = TipoLacamento.RECEITA.getCodigo();
+
+	private final ReentrantReadWriteLock trava = new ReentrantReadWriteLock();
+	private final Lock leitura = trava.readLock();
+	private final Lock escrita = trava.writeLock();
+
+	private LongBuffer ids;
+	private IntBuffer periodos;
+	private IntBuffer dias;
+	private ByteBuffer tipos;
+	private ByteBuffer status;
+	private LongBuffer centavos;
+	private final IndiceIds indice;
+	private int capacidade;
+	private int tamanho;
+
+	public SnapshotLancamentos(int capacidadeInicial) {
+		redimensionar(Math.max(capacidadeInicial, 16));
+		indice = new IndiceIds(capacidade);
+	}
+
+	public int getTamanho() {
+		leitura.lock();
+		try {
+			return tamanho;
+		} finally {
+			leitura.unlock();
+		}
+	}
+
+	/** Acrescenta sem procurar o id; usado na carga, em que os ids já são únicos. */
+	public void adicionar(long id, int periodo, int dia, byte tipo, byte codigoStatus, long valorCentavos) {
+		escrita.lock();
+		try {
+			gravar(tamanho, id, periodo, dia, tipo, codigoStatus, valorCentavos);
+		} finally {
+			escrita.unlock();
+		}
+	}
+
+	/**
+	 * Insere o lançamento ou substitui a linha de mesmo id.
+	 * 
+	 * @return {@code true} se o id ainda não existia
+	 */
+	public boolean registrar(long id, int periodo, int dia, byte tipo, byte codigoStatus, long valorCentavos) {
+		escrita.lock();
+		try {
+			int linha = indice.obter(id);
+			gravar(linha < 0 ? tamanho : linha, id, periodo, dia, tipo, codigoStatus, valorCentavos);
+			return linha < 0;
+		} finally {
+			escrita.unlock();
+		}
+	}
+
+	/** Remove a linha do id, movendo a última para o seu lugar. */
+	public boolean remover(long id) {
+		escrita.lock();
+		try {
+			int linha = indice.obter(id);
+			if (linha < 0) {
+				return false;
+			}
+			indice.remover(id);
+			int ultima = --tamanho;
+			if (linha == ultima) {
+				return true;
+			}
+			indice.colocar(ids.get(ultima), linha);
+			ids.put(linha, ids.get(ultima));
+			periodos.put(linha, periodos.get(ultima));
+			dias.put(linha, dias.get(ultima));
+			tipos.put(linha, tipos.get(ultima));
+			status.put(linha, status.get(ultima));
+			centavos.put(linha, centavos.get(ultima));
+			return true;
+		} finally {
+			escrita.unlock();
+		}
+	}
+
+	/** Passa cada id do snapshot para {@code acao}, sob a trava de leitura. */
+	public void paraCadaId(LongConsumer acao) {
+		leitura.lock();
+		try {
+			for (int i = 0; i < tamanho; i++) {
+				acao.accept(ids.get(i));
+			}
+		} finally {
+			leitura.unlock();
+		}
+	}
+
+	/**
+	 * Soma receitas e despesas por mês a partir de {@code periodoInicial}, um mês por posição
+	 * dos arrays, e devolve o saldo acumulado de todos os meses anteriores a ele.
+	 */
+	public long somarPorMes(int periodoInicial, long[] receitas, long[] despesas) {
+		int inicio = mesAbsoluto(periodoInicial);
+		int meses = receitas.length;
+		long saldoAnterior = 0;
+		
+		leitura.lock();
+		try {
+			for (int i = 0; i < tamanho; i++) {
+				long valor = centavos.get(i);
+				boolean receita = tipos.get(i) == RECEITA;
+				int mes = mesAbsoluto(periodos.get(i)) - inicio;
+				if (mes < 0) {
+					saldoAnterior += receita ? valor : -valor;
+				} else if (mes < meses) {
+					if (receita) {
+						receitas[mes] += valor;
+					} else {
+						despesas[mes] += valor;
+					}
+				}
+			}
+		} finally {
+			leitura.unlock();
+		}
+		return saldoAnterior;
+	}
+
+	/**
+	 * Soma o efeito no saldo (receitas menos despesas) por dia a partir de {@code diaInicial},
+	 * um dia por posição do array, e devolve o saldo acumulado dos dias anteriores a ele.
+	 */
+	public long somarPorDia(int diaInicial, long[] efeitos) {
+		int quantidade = efeitos.length;
+		long saldoAnterior = 0;
+		
+		leitura.lock();
+		try {
+			for (int i = 0; i < tamanho; i++) {
+				long valor = tipos.get(i) == RECEITA ? centavos.get(i) : -centavos.get(i);
+				int dia = dias.get(i) - diaInicial;
+				if (dia < 0) {
+					saldoAnterior += valor;
+				} else if (dia < quantidade) {
+					efeitos[dia] += valor;
+				}
+			}
+		} finally {
+			leitura.unlock();
+		}
+		return saldoAnterior;
+	}
+
+	/** Acumula em {@code totais[codigoTipo][codigoStatus]} o valor em centavos. */
+	public void somarPorTipoEStatus(long[][] totais) {
+		leitura.lock();
+		try {
+			for (int i = 0; i < tamanho; i++) {
+				totais[tipos.get(i)][status.get(i)] += centavos.get(i);
+			}
+		} finally {
+			leitura.unlock();
+		}
+	}
+
+	private void gravar(int linha, long id, int periodo, int dia, byte tipo, byte codigoStatus, long valorCentavos) {
+		if (linha == tamanho) {
+			if (tamanho == capacidade) {
+				redimensionar(capacidade * 2);
+			}
+			tamanho++;
+		}
+		ids.put(linha, id);
+		indice.colocar(id, linha);
+		periodos.put(linha, periodo);
+		dias.put(linha, dia);
+		tipos.put(linha, tipo);
+		status.put(linha, codigoStatus);
+		centavos.put(linha, valorCentavos);
+	}
+
+	private void redimensionar(int novaCapacidade) {
+		LongBuffer novosIds = direto(novaCapacidade * Long.BYTES).asLongBuffer();
+		IntBuffer novosPeriodos = direto(novaCapacidade * Integer.BYTES).asIntBuffer();
+		IntBuffer novosDias = direto(novaCapacidade * Integer.BYTES).asIntBuffer();
+		ByteBuffer novosTipos = direto(novaCapacidade);
+		ByteBuffer novosStatus = direto(novaCapacidade);
+		LongBuffer novosCentavos = direto(novaCapacidade * Long.BYTES).asLongBuffer();
+		
+		for (int i = 0; i < tamanho; i++) {
+			novosIds.put(i, ids.get(i));
+			novosPeriodos.put(i, periodos.get(i));
+			novosDias.put(i, dias.get(i));
+			novosTipos.put(i, tipos.get(i));
+			novosStatus.put(i, status.get(i));
+			novosCentavos.put(i, centavos.get(i));
+		}
+		ids = novosIds;
+		periodos = novosPeriodos;
+		dias = novosDias;
+		tipos = novosTipos;
+		status = novosStatus;
+		centavos = novosCentavos;
+		capacidade = novaCapacidade;
+	}
+
+	private static ByteBuffer direto(int bytes) {
+		return ByteBuffer.allocateDirect(bytes).order(ByteOrder.nativeOrder());
+	}
+
+	static int mesAbsoluto(int periodo) {
+		return (periodo / 100) * 12 + periodo % 100 - 1;
+	}
+
+}
@@ -0,0 +1,124 @@
+package com.njunior.minhasfinancas.service.auditoria;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Fila circular sem travas entre vários produtores e um único consumidor, com todas as
+ * posições alocadas na criação.
+ * 
+ * <p>O produtor reserva uma sequência com {@link #reservar()}, preenche o
+ * {@link RegistroAuditoria} de {@link #obter(long)} e o libera ao consumidor com
+ * {@link #publicar(long)}. O consumidor lê com {@link #disponiveis(int)} e
+ * {@link #obter(long)} a partir de {@link #getConsumidos()} e devolve as posições com
+ * {@link #liberar(int)}. Com o buffer cheio, a {@link Politica} decide entre descartar o
+ * registro na hora ou aguardar espaço por um tempo limitado.
+ */
+public final class BufferAuditoria {
+
+	public enum Politica {
+		/** Descarta o registro novo imediatamente. */
+		DESCARTAR,
+		/** Aguarda espaço até a espera máxima e então descarta. */
+		AGUARDAR
+	}
+	
+	private static final long SEM_SEQUENCIA = -1;
+	
+	private final RegistroAuditoria[] registros;
+	private final AtomicLongArray publicados;
+	private final int mascara;
+	private final Politica politica;
+	private final long esperaMaximaNanos;
+	
+	private final AtomicLong proxima = new AtomicLong();
+	private final AtomicLong descartados = new AtomicLong();
+	private volatile long consumidos;
+	
+	public BufferAuditoria(int capacidade, Politica politica, long esperaMaxima, TimeUnit unidade) {
+		if (capacidade < 2 || Integer.bitCount(capacidade) != 1) {
+			throw new IllegalArgumentException("A capacidade deve ser uma potência de 2: " + capacidade);
+		}
+		this.registros = new RegistroAuditoria[capacidade];
+		this.publicados = new AtomicLongArray(capacidade);
+		for (int i = 0; i < capacidade; i++) {
+			registros[i] = new RegistroAuditoria();
+			publicados.set(i, SEM_SEQUENCIA);
+		}
+		this.mascara = capacidade - 1;
+		this.politica = politica;
+		this.esperaMaximaNanos = unidade.toNanos(esperaMaxima);
+	}
+	
+	/** Reserva a próxima posição ou devolve -1 se o registro foi descartado por falta de espaço. */
+	public long reservar() {
+		long limite = 0;
+		while (true) {
+			long sequencia = proxima.get();
+			if (sequencia - consumidos >= registros.length) {
+				if (politica == Politica.DESCARTAR) {
+					descartados.incrementAndGet();
+					return SEM_SEQUENCIA;
+				}
+				long agora = System.nanoTime();
+				if (limite == 0) {
+					limite = agora + esperaMaximaNanos;
+				} else if (agora - limite >= 0) {
+					descartados.incrementAndGet();
+					return SEM_SEQUENCIA;
+				}
+				LockSupport.parkNanos(1000);
+				continue;
+			}
+			if (proxima.compareAndSet(sequencia, sequencia + 1)) {
+				return sequencia;
+			}
+		}
+	}
+	
+	public RegistroAuditoria obter(long sequencia) {
+		return registros[(int) sequencia & mascara];
+	}
+	
+	public void publicar(long sequencia) {
+		publicados.lazySet((int) sequencia & mascara, sequencia);
+	}
+	
+	/** Quantos registros a partir de {@link #getConsumidos()} já foram publicados, até {@code maximo}. */
+	public int disponiveis(int maximo) {
+		long inicio = consumidos;
+		int quantidade = 0;
+		while (quantidade < maximo && publicados.get((int) (inicio + quantidade) & mascara) == inicio + quantidade) {
+			quantidade++;
+		}
+		return quantidade;
+	}
+	
+	/** Devolve aos produtores as {@code quantidade} posições seguintes a {@link #getConsumidos()}. */
+	public void liberar(int quantidade) {
+		long inicio = consumidos;
+		for (long sequencia = inicio; sequencia < inicio + quantidade; sequencia++) {
+			obter(sequencia).limpar();
+		}
+		consumidos = inicio + quantidade;
+	}
+	
+	public long getConsumidos() {
+		return consumidos;
+	}
+	
+	public int getOcupacao() {
+		return (int) Math.max(0, proxima.get() - consumidos);
+	}
+	
+	public int getCapacidade() {
+		return registros.length;
+	}
+	
+	public long getDescartados() {
+		return descartados.get();
+	}
+
+}
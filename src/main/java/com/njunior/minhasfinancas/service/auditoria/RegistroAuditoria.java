@@ -0,0 +1,65 @@
+package com.njunior.minhasfinancas.service.auditoria;
+
+import java.math.BigDecimal;
+
+import com.njunior.minhasfinancas.model.entity.Lancamento;
+import com.njunior.minhasfinancas.model.enums.StatusLancamento;
+import com.njunior.minhasfinancas.model.enums.TipoAlteracaoLancamento;
+import com.njunior.minhasfinancas.model.enums.TipoLacamento;
+
+import lombok.Getter;
+
+/**
+ * Posição reutilizável do {@link BufferAuditoria}. Guarda apenas referências aos valores dos
+ * lançamentos, para que publicar um registro não crie objetos.
+ */
+@Getter
+public final class RegistroAuditoria {
+
+	private long idLancamento;
+	private long idUsuario;
+	private TipoAlteracaoLancamento acao;
+	private long instante;
+	
+	private String descricaoAnterior;
+	private Integer periodoAnterior;
+	private BigDecimal valorAnterior;
+	private TipoLacamento tipoAnterior;
+	private StatusLancamento statusAnterior;
+	
+	private String descricao;
+	private Integer periodo;
+	private BigDecimal valor;
+	private TipoLacamento tipo;
+	private StatusLancamento status;
+	
+	/** {@code anterior} e {@code atual} podem ser nulos (estado desconhecido ou exclusão). */
+	public void preencher(long idUsuario, TipoAlteracaoLancamento acao, long instante, Lancamento anterior, Lancamento atual) {
+		Lancamento qualquer = atual != null ? atual : anterior;
+		this.idLancamento = qualquer.getId();
+		this.idUsuario = idUsuario;
+		this.acao = acao;
+		this.instante = instante;
+		
+		this.descricaoAnterior = anterior == null ? null : anterior.getDescricao();
+		this.periodoAnterior = anterior == null ? null : anterior.getPeriodo();
+		this.valorAnterior = anterior == null ? null : anterior.getValor();
+		this.tipoAnterior = anterior == null ? null : anterior.getTipo();
+		this.statusAnterior = anterior == null ? null : anterior.getStatus();
+		
+		this.descricao = atual == null ? null : atual.getDescricao();
+		this.periodo = atual == null ? null : atual.getPeriodo();
+		this.valor = atual == null ? null : atual.getValor();
+		this.tipo = atual == null ? null : atual.getTipo();
+		this.status = atual == null ? null : atual.getStatus();
+	}
+	
+	/** Solta as referências depois da gravação, para não reter lançamentos antigos. */
+	void limpar() {
+		descricaoAnterior = null;
+		valorAnterior = null;
+		descricao = null;
+		valor = null;
+	}
+
+}
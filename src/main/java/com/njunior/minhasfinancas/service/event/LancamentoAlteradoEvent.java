@@ -0,0 +1,49 @@
+package com.njunior.minhasfinancas.service.event;
+
+import java.util.Objects;
+
+import com.njunior.minhasfinancas.model.entity.Lancamento;
+import com.njunior.minhasfinancas.model.enums.TipoAlteracaoLancamento;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Publicado pelo {@code LancamentoService} dentro da transação de escrita. Ouvintes
+ * que derivam dados do lançamento devem usar {@code @TransactionalEventListener}
+ * para reagir somente após o commit.
+ */
+@Getter
+@AllArgsConstructor
+public class LancamentoAlteradoEvent {
+
+	private final TipoAlteracaoLancamento tipo;
+	private final Long idUsuario;
+	private final Lancamento lancamento;
+	
+	/** Cópia do estado gravado antes de uma atualização ou exclusão; nulo na criação. */
+	private final Lancamento anterior;
+	
+	public LancamentoAlteradoEvent(TipoAlteracaoLancamento tipo, Long idUsuario, Lancamento lancamento) {
+		this(tipo, idUsuario, lancamento, null);
+	}
+	
+	/** Atualização em que só o status mudou em relação a {@link #getAnterior() anterior}. */
+	public boolean apenasStatusMudou() {
+		return tipo == TipoAlteracaoLancamento.ATUALIZADO && anterior != null && apenasStatusMudou(anterior, lancamento);
+	}
+	
+	/**
+	 * Critério único de {@code STATUS_ALTERADO} no extrato e na auditoria: mesmo tipo, descrição,
+	 * período e valor, com status diferente.
+	 */
+	public static boolean apenasStatusMudou(Lancamento anterior, Lancamento atual) {
+		return anterior.getStatus() != atual.getStatus()
+				&& anterior.getTipo() == atual.getTipo()
+				&& Objects.equals(anterior.getDescricao(), atual.getDescricao())
+				&& Objects.equals(anterior.getPeriodo(), atual.getPeriodo())
+				&& anterior.getValor() != null && atual.getValor() != null
+				&& anterior.getValor().compareTo(atual.getValor()) == 0;
+	}
+
+}
@@ -0,0 +1,21 @@
+package com.njunior.minhasfinancas.service.event;
+
+import java.util.List;
+
+import com.njunior.minhasfinancas.model.entity.Lancamento;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Publicado dentro da transação que inseriu em lote lançamentos novos (por exemplo, as
+ * ocorrências de recorrências). Equivale a um {@link LancamentoAlteradoEvent} de criação
+ * para cada lançamento, mas permite aos ouvintes também trabalhar em lote.
+ */
+@Getter
+@AllArgsConstructor
+public class LancamentosGeradosEvent {
+
+	private final List<Lancamento> lancamentos;
+
+}
@@ -0,0 +1,23 @@
+package com.njunior.minhasfinancas.service.impl;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "minhasfinancas.analise")
+public class AnaliseProperties {
+
+	/** Usuários com snapshot em memória; o menos usado recentemente é descartado primeiro. */
+	private int maximoUsuarios = 1000;
+
+	/** Linhas reservadas ao criar um snapshot; a capacidade dobra quando necessário. */
+	private int capacidadeInicial = 256;
+
+	/** Maior intervalo, em meses, aceito no resumo mensal. */
+	private int maximoMeses = 240;
+
+	/** Maior intervalo, em dias, aceito na série diária de saldo. */
+	private int maximoDias = 3660;
+
+}
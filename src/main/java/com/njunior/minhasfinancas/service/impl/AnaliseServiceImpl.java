@@ -0,0 +1,279 @@
+package com.njunior.minhasfinancas.service.impl;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.njunior.minhasfinancas.exception.RegraNegocioExcepction;
+import com.njunior.minhasfinancas.model.entity.Lancamento;
+import com.njunior.minhasfinancas.model.enums.StatusLancamento;
+import com.njunior.minhasfinancas.model.enums.TipoAlteracaoLancamento;
+import com.njunior.minhasfinancas.model.enums.TipoLacamento;
+import com.njunior.minhasfinancas.model.repository.LancamentoRepository;
+import com.njunior.minhasfinancas.service.AnaliseService;
+import com.njunior.minhasfinancas.service.analise.Granularidade;
+import com.njunior.minhasfinancas.service.analise.PontoSaldo;
+import com.njunior.minhasfinancas.service.analise.ResumoMensal;
+import com.njunior.minhasfinancas.service.analise.SnapshotLancamentos;
+import com.njunior.minhasfinancas.service.event.LancamentoAlteradoEvent;
+import com.njunior.minhasfinancas.service.event.LancamentosGeradosEvent;
+import com.njunior.minhasfinancas.service.invalidacao.OuvinteInvalidacao;
+
+/**
+ * Responde às análises a partir de um {@link SnapshotLancamentos} por usuário, carregado do
+ * banco na primeira consulta e mantido em dia pelos commits de lançamentos. Se um commit
+ * chega enquanto o snapshot do usuário está sendo carregado, a carga é refeita. Um índice
+ * do id do lançamento para o snapshot em que ele está permite tirá-lo do usuário anterior
+ * quando ele muda de dono, sem percorrer os snapshots.
+ * 
+ * <p>O dia de um lançamento é a data de cadastro quando ela cai no mês de competência e o
+ * primeiro dia desse mês caso contrário, para que as séries diária e mensal coincidam no
+ * fim de cada mês.
+ */
+@Service
+@EnableConfigurationProperties(AnaliseProperties.class)
+public class AnaliseServiceImpl implements AnaliseService, OuvinteInvalidacao {
+	
+	private static final int TRAVAS = 64;
+	
+	private final LancamentoRepository repository;
+	private final AnaliseProperties properties;
+	private final TransactionTemplate transacaoLeitura;
+	private final Map<Long, SnapshotLancamentos> snapshots;
+	private final Map<Long, Boolean> carregando = new ConcurrentHashMap<>();
+	private final Map<Long, SnapshotLancamentos> porLancamento = new ConcurrentHashMap<>();
+	private final Object[] travas = new Object[TRAVAS];
+	
+	public AnaliseServiceImpl(LancamentoRepository repository, AnaliseProperties properties, 
+			PlatformTransactionManager transactionManager) {
+		this.repository = repository;
+		this.properties = properties;
+		this.transacaoLeitura = new TransactionTemplate(transactionManager);
+		this.transacaoLeitura.setReadOnly(true);
+		this.snapshots = Collections.synchronizedMap(new LinkedHashMap<Long, SnapshotLancamentos>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Long, SnapshotLancamentos> maisAntigo) {
+				if (size() > properties.getMaximoUsuarios()) {
+					esquecer(maisAntigo.getValue());
+					return true;
+				}
+				return false;
+			}
+		});
+		for (int i = 0; i < TRAVAS; i++) {
+			travas[i] = new Object();
+		}
+	}
+
+	@Override
+	public List<ResumoMensal> obterResumoMensal(Long idUsuario, YearMonth de, YearMonth ate) {
+		if (de.isAfter(ate)) {
+			throw new RegraNegocioExcepction("O mês inicial deve ser anterior ou igual ao mês final.");
+		}
+		int meses = (int) de.until(ate, ChronoUnit.MONTHS) + 1;
+		if (meses > properties.getMaximoMeses()) {
+			throw new RegraNegocioExcepction("Informe um intervalo de até " + properties.getMaximoMeses() + " meses.");
+		}
+		
+		long[] receitas = new long[meses];
+		long[] despesas = new long[meses];
+		long acumulado = obterSnapshot(idUsuario)
+				.somarPorMes(Lancamento.periodo(de.getYear(), de.getMonthValue()), receitas, despesas);
+		
+		List<ResumoMensal> resumos = new ArrayList<>(meses);
+		for (int i = 0; i < meses; i++) {
+			long saldo = receitas[i] - despesas[i];
+			acumulado += saldo;
+			resumos.add(ResumoMensal.builder()
+					.periodo(de.plusMonths(i))
+					.receitas(reais(receitas[i]))
+					.despesas(reais(despesas[i]))
+					.saldo(reais(saldo))
+					.saldoAcumulado(reais(acumulado))
+					.build());
+		}
+		return resumos;
+	}
+
+	@Override
+	public List<PontoSaldo> obterSerieSaldo(Long idUsuario, LocalDate de, LocalDate ate, Granularidade granularidade) {
+		if (de.isAfter(ate)) {
+			throw new RegraNegocioExcepction("A data inicial deve ser anterior ou igual à final.");
+		}
+		
+		if (granularidade == Granularidade.MES) {
+			List<ResumoMensal> resumos = obterResumoMensal(idUsuario, YearMonth.from(de), YearMonth.from(ate));
+			List<PontoSaldo> pontos = new ArrayList<>(resumos.size());
+			for (ResumoMensal resumo : resumos) {
+				pontos.add(new PontoSaldo(resumo.getPeriodo().atDay(1), resumo.getSaldoAcumulado()));
+			}
+			return pontos;
+		}
+		
+		int dias = (int) de.until(ate, ChronoUnit.DAYS) + 1;
+		if (dias > properties.getMaximoDias()) {
+			throw new RegraNegocioExcepction("Informe um intervalo de até " + properties.getMaximoDias() + " dias.");
+		}
+		
+		long[] efeitos = new long[dias];
+		long acumulado = obterSnapshot(idUsuario).somarPorDia((int) de.toEpochDay(), efeitos);
+		
+		List<PontoSaldo> pontos = new ArrayList<>(dias);
+		for (int i = 0; i < dias; i++) {
+			acumulado += efeitos[i];
+			pontos.add(new PontoSaldo(de.plusDays(i), reais(acumulado)));
+		}
+		return pontos;
+	}
+
+	@Override
+	public Map<TipoLacamento, Map<StatusLancamento, BigDecimal>> obterTotaisPorTipoEStatus(Long idUsuario) {
+		long[][] totais = new long[SnapshotLancamentos.CODIGOS][SnapshotLancamentos.CODIGOS];
+		obterSnapshot(idUsuario).somarPorTipoEStatus(totais);
+		
+		Map<TipoLacamento, Map<StatusLancamento, BigDecimal>> porTipo = new EnumMap<>(TipoLacamento.class);
+		for (TipoLacamento tipo : TipoLacamento.values()) {
+			Map<StatusLancamento, BigDecimal> porStatus = new EnumMap<>(StatusLancamento.class);
+			for (StatusLancamento status : StatusLancamento.values()) {
+				porStatus.put(status, reais(totais[tipo.getCodigo()][status.getCodigo()]));
+			}
+			porTipo.put(tipo, porStatus);
+		}
+		return porTipo;
+	}
+
+	@Override
+	public void descartar(Long idUsuario) {
+		carregando.computeIfPresent(idUsuario, (id, alterado) -> Boolean.TRUE);
+		esquecer(snapshots.remove(idUsuario));
+	}
+	
+	@Override
+	public void invalidar(Long idUsuario) {
+		descartar(idUsuario);
+	}
+	
+	@Override
+	public void invalidarTodos() {
+		carregando.replaceAll((id, alterado) -> Boolean.TRUE);
+		List<SnapshotLancamentos> descartados;
+		synchronized (snapshots) {
+			descartados = new ArrayList<>(snapshots.values());
+			snapshots.clear();
+		}
+		descartados.forEach(this::esquecer);
+	}
+	
+	@TransactionalEventListener
+	public void aoAlterarLancamento(LancamentoAlteradoEvent evento) {
+		Long idUsuario = evento.getIdUsuario();
+		carregando.computeIfPresent(idUsuario, (id, alterado) -> Boolean.TRUE);
+		SnapshotLancamentos snapshot = snapshots.get(idUsuario);
+		if (snapshot == null) {
+			return;
+		}
+		
+		Lancamento lancamento = evento.getLancamento();
+		if (evento.getTipo() == TipoAlteracaoLancamento.EXCLUIDO) {
+			snapshot.remover(lancamento.getId());
+			porLancamento.remove(lancamento.getId(), snapshot);
+			return;
+		}
+		
+		registrar(snapshot, lancamento);
+	}
+	
+	@TransactionalEventListener
+	public void aoGerarLancamentos(LancamentosGeradosEvent evento) {
+		for (Lancamento lancamento : evento.getLancamentos()) {
+			Long idUsuario = lancamento.getUsuario().getId();
+			carregando.computeIfPresent(idUsuario, (id, alterado) -> Boolean.TRUE);
+			SnapshotLancamentos snapshot = snapshots.get(idUsuario);
+			if (snapshot != null) {
+				registrar(snapshot, lancamento);
+			}
+		}
+	}
+	
+	/** Um lançamento que estava no snapshot de outro usuário mudou de dono e sai de lá. */
+	private void registrar(SnapshotLancamentos snapshot, Lancamento lancamento) {
+		snapshot.registrar(lancamento.getId(), lancamento.getPeriodo(), 
+				dia(lancamento.getPeriodo(), lancamento.getDataCadastro()), lancamento.getTipo().getCodigo(), 
+				lancamento.getStatus().getCodigo(), centavos(lancamento.getValor()));
+		SnapshotLancamentos anterior = porLancamento.put(lancamento.getId(), snapshot);
+		if (anterior != null && anterior != snapshot) {
+			anterior.remover(lancamento.getId());
+		}
+	}
+	
+	/** Tira do índice as entradas de um snapshot que saiu do cache, sem tocar nas de uma carga mais nova. */
+	private void esquecer(SnapshotLancamentos snapshot) {
+		if (snapshot != null) {
+			snapshot.paraCadaId(id -> porLancamento.remove(id, snapshot));
+		}
+	}
+	
+	private SnapshotLancamentos obterSnapshot(Long idUsuario) {
+		SnapshotLancamentos snapshot = snapshots.get(idUsuario);
+		if (snapshot != null) {
+			return snapshot;
+		}
+		
+		synchronized (travas[(int) (idUsuario & (TRAVAS - 1))]) {
+			snapshot = snapshots.get(idUsuario);
+			while (snapshot == null) {
+				carregando.put(idUsuario, Boolean.FALSE);
+				SnapshotLancamentos carregado = carregar(idUsuario);
+				snapshots.put(idUsuario, carregado);
+				if (carregando.remove(idUsuario)) {
+					snapshots.remove(idUsuario, carregado);
+					esquecer(carregado);
+				} else {
+					snapshot = carregado;
+				}
+			}
+			return snapshot;
+		}
+	}
+	
+	private SnapshotLancamentos carregar(Long idUsuario) {
+		SnapshotLancamentos snapshot = new SnapshotLancamentos(properties.getCapacidadeInicial());
+		transacaoLeitura.executeWithoutResult(status -> repository.percorrerColunas(idUsuario, 
+				(id, periodo, dataCadastro, tipo, statusLancamento, valor) -> 
+				snapshot.adicionar(id, periodo, dia(periodo, dataCadastro), tipo.getCodigo(), 
+						statusLancamento.getCodigo(), centavos(valor))));
+		snapshot.paraCadaId(id -> porLancamento.put(id, snapshot));
+		return snapshot;
+	}
+	
+	private static int dia(int periodo, LocalDate dataCadastro) {
+		if (dataCadastro != null && dataCadastro.getYear() * 100 + dataCadastro.getMonthValue() == periodo) {
+			return (int) dataCadastro.toEpochDay();
+		}
+		return (int) LocalDate.of(periodo / 100, periodo % 100, 1).toEpochDay();
+	}
+	
+	private static long centavos(BigDecimal valor) {
+		return valor == null ? 0 : valor.setScale(2, RoundingMode.HALF_EVEN).unscaledValue().longValueExact();
+	}
+	
+	private static BigDecimal reais(long centavos) {
+		return BigDecimal.valueOf(centavos, 2);
+	}
+
+}
@@ -0,0 +1,30 @@
+package com.njunior.minhasfinancas.service.impl;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import com.njunior.minhasfinancas.service.auditoria.BufferAuditoria;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "minhasfinancas.auditoria")
+public class AuditoriaProperties {
+
+	/** Registros em memória aguardando gravação; deve ser potência de 2. */
+	private int capacidade = 8192;
+
+	/** O que fazer quando o buffer está cheio. */
+	private BufferAuditoria.Politica politica = BufferAuditoria.Politica.DESCARTAR;
+
+	/** Com a política {@code AGUARDAR}, quanto a requisição espera por espaço antes de descartar. */
+	private Duration esperaMaxima = Duration.ofMillis(5);
+
+	/** Registros gravados por batch. */
+	private int tamanhoLote = 500;
+
+	/** Pausa do gravador quando não há registros, e antes de tentar de novo após uma falha. */
+	private Duration intervalo = Duration.ofMillis(100);
+
+}
@@ -0,0 +1,206 @@
+package com.njunior.minhasfinancas.service.impl;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.njunior.minhasfinancas.model.entity.AuditoriaLancamento;
+import com.njunior.minhasfinancas.model.entity.Lancamento;
+import com.njunior.minhasfinancas.model.enums.TipoAlteracaoLancamento;
+import com.njunior.minhasfinancas.model.repository.AuditoriaLancamentoRepository;
+import com.njunior.minhasfinancas.service.AuditoriaService;
+import com.njunior.minhasfinancas.service.auditoria.BufferAuditoria;
+import com.njunior.minhasfinancas.service.auditoria.RegistroAuditoria;
+import com.njunior.minhasfinancas.service.event.LancamentoAlteradoEvent;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Audita atualizações e exclusões de lançamentos confirmadas. Após o commit, a thread da
+ * requisição só copia referências para uma posição do {@link BufferAuditoria}; uma thread
+ * gravadora esvazia o buffer em batches JDBC, um por transação. Se o banco ficar
+ * indisponível os registros se acumulam no buffer e, com ele cheio, a política configurada
+ * decide entre descartar ou segurar a requisição por um tempo limitado.
+ */
+@Slf4j
+@Service
+@EnableConfigurationProperties(AuditoriaProperties.class)
+public class AuditoriaServiceImpl implements AuditoriaService, DisposableBean {
+
+	static final String INSERT_AUDITORIA =
+			"insert into financas.auditoria_lancamento (id_lancamento, id_usuario, acao, data_hora, "
+		  + "descricao_anterior, periodo_anterior, valor_anterior, tipo_anterior, status_anterior, "
+		  + "descricao, periodo, valor, tipo, status) values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+	private final AuditoriaLancamentoRepository repository;
+	private final JdbcTemplate jdbcTemplate;
+	private final AuditoriaProperties properties;
+	private final TransactionTemplate transacao;
+	private final BufferAuditoria buffer;
+	private final ExecutorService gravador;
+	private volatile boolean ativo = true;
+
+	private final Counter publicados;
+	private final Counter gravados;
+	private final Counter falhas;
+
+	public AuditoriaServiceImpl(AuditoriaLancamentoRepository repository, JdbcTemplate jdbcTemplate,
+			AuditoriaProperties properties, PlatformTransactionManager transactionManager,
+			ObjectProvider<MeterRegistry> registros) {
+		this.repository = repository;
+		this.jdbcTemplate = jdbcTemplate;
+		this.properties = properties;
+		this.transacao = new TransactionTemplate(transactionManager);
+		this.buffer = new BufferAuditoria(properties.getCapacidade(), properties.getPolitica(),
+				properties.getEsperaMaxima().toNanos(), TimeUnit.NANOSECONDS);
+
+		MeterRegistry registro = registros.getIfAvailable(SimpleMeterRegistry::new);
+		this.publicados = Counter.builder("minhasfinancas.auditoria.publicados").register(registro);
+		this.gravados = Counter.builder("minhasfinancas.auditoria.gravados").register(registro);
+		this.falhas = Counter.builder("minhasfinancas.auditoria.falhas")
+				.description("Batches de auditoria que falharam e serão repetidos")
+				.register(registro);
+		FunctionCounter.builder("minhasfinancas.auditoria.descartados", buffer, BufferAuditoria::getDescartados)
+				.description("Registros descartados com o buffer cheio")
+				.register(registro);
+		Gauge.builder("minhasfinancas.auditoria.ocupacao", buffer, BufferAuditoria::getOcupacao)
+				.description("Registros no buffer aguardando gravação")
+				.register(registro);
+
+		this.gravador = Executors.newSingleThreadExecutor(r -> {
+			Thread thread = new Thread(r);
+			thread.setName("auditoria-gravador");
+			thread.setDaemon(true);
+			return thread;
+		});
+		this.gravador.execute(this::gravarContinuamente);
+	}
+
+	@TransactionalEventListener
+	public void aoAlterarLancamento(LancamentoAlteradoEvent evento) {
+		registrar(evento);
+	}
+
+	@Override
+	public boolean registrar(LancamentoAlteradoEvent evento) {
+		if (evento.getTipo() == TipoAlteracaoLancamento.CRIADO) {
+			return true;
+		}
+
+		boolean excluido = evento.getTipo() == TipoAlteracaoLancamento.EXCLUIDO;
+		Lancamento anterior = evento.getAnterior() == null && excluido ? evento.getLancamento() : evento.getAnterior();
+		long sequencia = buffer.reservar();
+		if (sequencia < 0) {
+			return false;
+		}
+		buffer.obter(sequencia).preencher(evento.getIdUsuario(), acao(evento),
+				System.currentTimeMillis(), anterior, excluido ? null : evento.getLancamento());
+		buffer.publicar(sequencia);
+		publicados.increment();
+		return true;
+	}
+
+	/** Usado pela thread gravadora e por chamadas explícitas; a trava garante um único consumidor. */
+	@Override
+	public synchronized int descarregar() {
+		int total = 0;
+		int quantidade;
+		while ((quantidade = buffer.disponiveis(properties.getTamanhoLote())) > 0) {
+			long inicio = buffer.getConsumidos();
+			int lote = quantidade;
+			transacao.executeWithoutResult(status -> gravar(inicio, lote));
+			buffer.liberar(lote);
+			gravados.increment(lote);
+			total += lote;
+		}
+		return total;
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public List<AuditoriaLancamento> obterHistorico(Long idLancamento) {
+		return repository.findByIdLancamentoOrderById(idLancamento);
+	}
+
+	private void gravar(long inicio, int quantidade) {
+		jdbcTemplate.batchUpdate(INSERT_AUDITORIA, new BatchPreparedStatementSetter() {
+			@Override
+			public void setValues(PreparedStatement ps, int i) throws SQLException {
+				RegistroAuditoria registro = buffer.obter(inicio + i);
+				ps.setLong(1, registro.getIdLancamento());
+				ps.setLong(2, registro.getIdUsuario());
+				ps.setString(3, registro.getAcao().name());
+				ps.setTimestamp(4, new Timestamp(registro.getInstante()));
+				ps.setString(5, registro.getDescricaoAnterior());
+				ps.setObject(6, registro.getPeriodoAnterior(), Types.INTEGER);
+				ps.setBigDecimal(7, registro.getValorAnterior());
+				ps.setString(8, registro.getTipoAnterior() == null ? null : registro.getTipoAnterior().name());
+				ps.setString(9, registro.getStatusAnterior() == null ? null : registro.getStatusAnterior().name());
+				ps.setString(10, registro.getDescricao());
+				ps.setObject(11, registro.getPeriodo(), Types.INTEGER);
+				ps.setBigDecimal(12, registro.getValor());
+				ps.setString(13, registro.getTipo() == null ? null : registro.getTipo().name());
+				ps.setString(14, registro.getStatus() == null ? null : registro.getStatus().name());
+			}
+
+			@Override
+			public int getBatchSize() {
+				return quantidade;
+			}
+		});
+	}
+
+	private void gravarContinuamente() {
+		long pausa = properties.getIntervalo().toNanos();
+		while (ativo) {
+			try {
+				if (descarregar() == 0) {
+					LockSupport.parkNanos(pausa);
+				}
+			} catch (RuntimeException e) {
+				falhas.increment();
+				log.warn("Falha ao gravar auditoria; {} registros aguardam no buffer.", buffer.getOcupacao(), e);
+				LockSupport.parkNanos(pausa);
+			}
+		}
+	}
+
+	private static TipoAlteracaoLancamento acao(LancamentoAlteradoEvent evento) {
+		return evento.apenasStatusMudou() ? TipoAlteracaoLancamento.STATUS_ALTERADO : evento.getTipo();
+	}
+
+	@Override
+	public void destroy() throws InterruptedException {
+		ativo = false;
+		gravador.shutdown();
+		gravador.awaitTermination(5, TimeUnit.SECONDS);
+		try {
+			descarregar();
+		} catch (RuntimeException e) {
+			log.warn("Falha ao gravar auditoria no encerramento; {} registros perdidos.", buffer.getOcupacao(), e);
+		}
+	}
+
+}
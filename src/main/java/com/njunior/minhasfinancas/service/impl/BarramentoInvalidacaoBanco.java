@@ -0,0 +1,235 @@
+package com.njunior.minhasfinancas.service.impl;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.njunior.minhasfinancas.model.entity.Invalidacao;
+import com.njunior.minhasfinancas.model.repository.InvalidacaoRepository;
+import com.njunior.minhasfinancas.service.event.LancamentoAlteradoEvent;
+import com.njunior.minhasfinancas.service.event.LancamentosGeradosEvent;
+import com.njunior.minhasfinancas.service.invalidacao.BarramentoInvalidacao;
+import com.njunior.minhasfinancas.service.invalidacao.ControleSequencias;
+import com.njunior.minhasfinancas.service.invalidacao.OuvinteInvalidacao;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Barramento de invalidação sobre a tabela {@code invalidacao} do banco compartilhado.
+ *
+ * <p>Depois do commit, os usuários alterados entram num conjunto em memória. Uma única thread
+ * por instância grava esse conjunto a cada {@code intervalo}, uma linha por usuário com a
+ * próxima sequência da instância, e lê as linhas novas das demais. Como só essa thread grava,
+ * as sequências de uma origem são confirmadas em ordem; uma sequência faltante indica
+ * mensagem perdida ou ainda não visível. As consultas relêem os últimos {@code sobreposicao}
+ * ids para pegar quem confirmou atrasado, e uma lacuna que passa da tolerância faz todos os
+ * ouvintes descartarem tudo.
+ */
+@Slf4j
+@Service
+@Lazy(false)
+@ConditionalOnProperty(prefix = "minhasfinancas.invalidacao", name = "habilitado", havingValue = "true")
+@EnableConfigurationProperties(InvalidacaoProperties.class)
+public class BarramentoInvalidacaoBanco implements BarramentoInvalidacao, DisposableBean {
+
+	static final String INSERT_INVALIDACAO =
+			"insert into financas.invalidacao (origem, sequencia, id_usuario, data_hora) values (?, ?, ?, ?)";
+
+	private final InvalidacaoRepository repository;
+	private final JdbcTemplate jdbcTemplate;
+	private final InvalidacaoProperties properties;
+	private final TransactionTemplate transacao;
+	private final List<OuvinteInvalidacao> ouvintes;
+	private final ScheduledExecutorService executor;
+
+	private final Set<Long> pendentes = ConcurrentHashMap.newKeySet();
+	private final ControleSequencias controle;
+	private long proximaSequencia = 1;
+	private long ultimoId = -1;
+	private long ultimaLimpeza = System.nanoTime();
+
+	private final Counter publicadas;
+	private final Counter recebidas;
+	private final Counter perdidas;
+
+	public BarramentoInvalidacaoBanco(InvalidacaoRepository repository, JdbcTemplate jdbcTemplate,
+			InvalidacaoProperties properties, PlatformTransactionManager transactionManager,
+			List<OuvinteInvalidacao> ouvintes, ObjectProvider<MeterRegistry> registros) {
+		this.repository = repository;
+		this.jdbcTemplate = jdbcTemplate;
+		this.properties = properties;
+		this.transacao = new TransactionTemplate(transactionManager);
+		this.ouvintes = ouvintes;
+		this.controle = new ControleSequencias(properties.getToleranciaLacuna().toNanos());
+
+		MeterRegistry registro = registros.getIfAvailable(SimpleMeterRegistry::new);
+		this.publicadas = Counter.builder("minhasfinancas.invalidacao.publicadas").register(registro);
+		this.recebidas = Counter.builder("minhasfinancas.invalidacao.recebidas").register(registro);
+		this.perdidas = Counter.builder("minhasfinancas.invalidacao.perdidas")
+				.description("Mensagens de outras instâncias que não chegaram e causaram invalidação total")
+				.register(registro);
+
+		this.executor = Executors.newSingleThreadScheduledExecutor(r -> {
+			Thread thread = new Thread(r);
+			thread.setName("invalidacao");
+			thread.setDaemon(true);
+			return thread;
+		});
+		long intervalo = properties.getIntervalo().toNanos();
+		this.executor.scheduleWithFixedDelay(this::sincronizarComSeguranca, intervalo, intervalo, TimeUnit.NANOSECONDS);
+	}
+
+	@TransactionalEventListener
+	public void aoAlterarLancamento(LancamentoAlteradoEvent evento) {
+		publicar(Collections.singleton(evento.getIdUsuario()));
+	}
+
+	@TransactionalEventListener
+	public void aoGerarLancamentos(LancamentosGeradosEvent evento) {
+		publicar(evento.getLancamentos().stream().map(l -> l.getUsuario().getId()).collect(Collectors.toSet()));
+	}
+
+	@Override
+	public void publicar(Collection<Long> idsUsuarios) {
+		pendentes.addAll(idsUsuarios);
+	}
+
+	/** Grava as invalidações locais e entrega as das outras instâncias; devolve quantas recebeu. */
+	public synchronized int sincronizar() {
+		enviar();
+		int novas = receber();
+		long faltantes = controle.expirarLacunas(System.nanoTime());
+		if (faltantes > 0) {
+			perdidas.increment(faltantes);
+			log.warn("{} mensagens de invalidação não chegaram; descartando todos os caches.", faltantes);
+			ouvintes.forEach(OuvinteInvalidacao::invalidarTodos);
+		}
+		limparAntigas();
+		return novas;
+	}
+
+	private void enviar() {
+		List<Long> usuarios = new ArrayList<>();
+		for (Iterator<Long> it = pendentes.iterator(); it.hasNext();) {
+			usuarios.add(it.next());
+			it.remove();
+		}
+		if (usuarios.isEmpty()) {
+			return;
+		}
+
+		long primeira = proximaSequencia;
+		Timestamp agora = Timestamp.valueOf(LocalDateTime.now());
+		try {
+			transacao.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_INVALIDACAO,
+					new BatchPreparedStatementSetter() {
+						@Override
+						public void setValues(PreparedStatement ps, int i) throws SQLException {
+							ps.setString(1, properties.getOrigem());
+							ps.setLong(2, primeira + i);
+							ps.setLong(3, usuarios.get(i));
+							ps.setTimestamp(4, agora);
+						}
+
+						@Override
+						public int getBatchSize() {
+							return usuarios.size();
+						}
+					}));
+		} catch (RuntimeException e) {
+			pendentes.addAll(usuarios);
+			throw e;
+		}
+		proximaSequencia += usuarios.size();
+		publicadas.increment(usuarios.size());
+	}
+
+	private int receber() {
+		if (ultimoId < 0) {
+			ultimoId = repository.obterUltimoId();
+		}
+
+		long agora = System.nanoTime();
+		Set<Long> usuarios = new HashSet<>();
+		long inicio = Math.max(0, ultimoId - properties.getSobreposicao());
+		List<Invalidacao> lidas;
+		do {
+			lidas = repository.findByIdGreaterThanOrderById(inicio, PageRequest.of(0, properties.getTamanhoLote()));
+			for (Invalidacao invalidacao : lidas) {
+				if (!properties.getOrigem().equals(invalidacao.getOrigem())
+						&& controle.registrar(invalidacao.getOrigem(), invalidacao.getSequencia(), agora)) {
+					usuarios.add(invalidacao.getIdUsuario());
+				}
+				inicio = invalidacao.getId();
+			}
+			ultimoId = Math.max(ultimoId, inicio);
+		} while (lidas.size() == properties.getTamanhoLote());
+
+		for (Long idUsuario : usuarios) {
+			ouvintes.forEach(ouvinte -> ouvinte.invalidar(idUsuario));
+		}
+		recebidas.increment(usuarios.size());
+		return usuarios.size();
+	}
+
+	private void limparAntigas() {
+		long retencao = properties.getRetencao().toNanos();
+		if (System.nanoTime() - ultimaLimpeza < retencao / 2) {
+			return;
+		}
+		ultimaLimpeza = System.nanoTime();
+		transacao.executeWithoutResult(status ->
+				repository.excluirAnteriores(LocalDateTime.now().minus(properties.getRetencao())));
+	}
+
+	private void sincronizarComSeguranca() {
+		try {
+			sincronizar();
+		} catch (RuntimeException e) {
+			log.warn("Falha ao sincronizar invalidações com as outras instâncias", e);
+		}
+	}
+
+	@Override
+	public void destroy() throws InterruptedException {
+		executor.shutdownNow();
+		executor.awaitTermination(5, TimeUnit.SECONDS);
+		try {
+			synchronized (this) {
+				enviar();
+			}
+		} catch (RuntimeException e) {
+			log.warn("Falha ao enviar as últimas invalidações no encerramento", e);
+		}
+	}
+
+}
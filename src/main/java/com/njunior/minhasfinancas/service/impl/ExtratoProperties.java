@@ -0,0 +1,17 @@
+package com.njunior.minhasfinancas.service.impl;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "minhasfinancas.extrato")
+public class ExtratoProperties {
+
+	/** Quantidade de movimentos novos de um usuário que dispara um novo saldo consolidado. */
+	private int movimentosPorConsolidacao = 100;
+
+	/** Gera o extrato inicial dos usuários que já tinham lançamentos antes do extrato existir. */
+	private boolean inicializarExistentes = false;
+
+}
@@ -0,0 +1,270 @@
+package com.njunior.minhasfinancas.service.impl;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.njunior.minhasfinancas.model.entity.Lancamento;
+import com.njunior.minhasfinancas.model.entity.MovimentoExtrato;
+import com.njunior.minhasfinancas.model.entity.SaldoConsolidado;
+import com.njunior.minhasfinancas.model.entity.Usuario;
+import com.njunior.minhasfinancas.model.enums.TipoAlteracaoLancamento;
+import com.njunior.minhasfinancas.model.enums.TipoLacamento;
+import com.njunior.minhasfinancas.model.repository.LancamentoRepository;
+import com.njunior.minhasfinancas.model.repository.MovimentoExtratoRepository;
+import com.njunior.minhasfinancas.model.repository.SaldoConsolidadoRepository;
+import com.njunior.minhasfinancas.model.repository.UsuarioRepository;
+import com.njunior.minhasfinancas.service.ExtratoService;
+import com.njunior.minhasfinancas.service.event.LancamentoAlteradoEvent;
+import com.njunior.minhasfinancas.service.event.LancamentosGeradosEvent;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Service
+@Lazy(false)
+@EnableConfigurationProperties(ExtratoProperties.class)
+public class ExtratoServiceImpl implements ExtratoService {
+	
+	static final String INSERT_MOVIMENTO = 
+			"insert into financas.movimento_extrato (id_lancamento, id_usuario, tipo_alteracao, descricao, mes, ano, "
+		  + "valor, tipo, status, efeito_saldo, data_hora) values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+	
+	// movimento é @Immutable, o Hibernate não o bloqueia nem o altera
+	static final String BLOQUEAR_PENDENTES = 
+			"select id, efeito_saldo, data_hora from financas.movimento_extrato "
+		  + "where id_usuario = ? and id_consolidacao is null order by id for update";
+	
+	static final String MARCAR_CONSOLIDADO = 
+			"update financas.movimento_extrato set id_consolidacao = ? where id = ?";
+	
+	private MovimentoExtratoRepository repository;
+	private SaldoConsolidadoRepository saldoConsolidadoRepository;
+	private LancamentoRepository lancamentoRepository;
+	private UsuarioRepository usuarioRepository;
+	private ExtratoProperties properties;
+	private JdbcTemplate jdbcTemplate;
+	private TransactionTemplate transacao;
+	
+	public ExtratoServiceImpl(MovimentoExtratoRepository repository, SaldoConsolidadoRepository saldoConsolidadoRepository,
+			LancamentoRepository lancamentoRepository, UsuarioRepository usuarioRepository, ExtratoProperties properties,
+			JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+		this.repository = repository;
+		this.saldoConsolidadoRepository = saldoConsolidadoRepository;
+		this.lancamentoRepository = lancamentoRepository;
+		this.usuarioRepository = usuarioRepository;
+		this.properties = properties;
+		this.jdbcTemplate = jdbcTemplate;
+		this.transacao = new TransactionTemplate(transactionManager);
+	}
+
+	/**
+	 * Executado de forma síncrona dentro da transação do {@code LancamentoService}:
+	 * o movimento só existe se a alteração do lançamento for confirmada.
+	 */
+	@Override
+	@EventListener
+	@Transactional
+	public MovimentoExtrato registrar(LancamentoAlteradoEvent evento) {
+		Lancamento lancamento = evento.getLancamento();
+		Optional<MovimentoExtrato> anterior = repository.findFirstByIdLancamentoOrderByIdDesc(lancamento.getId());
+		
+		TipoAlteracaoLancamento tipo = evento.getTipo();
+		if(tipo != TipoAlteracaoLancamento.CRIADO && !anterior.isPresent()) {
+			log.warn("Lançamento {} sem movimento anterior no extrato; execute a inicialização do extrato.", lancamento.getId());
+		}
+		if(tipo == TipoAlteracaoLancamento.ATUALIZADO && anterior.isPresent()
+				&& LancamentoAlteradoEvent.apenasStatusMudou(estadoRegistrado(anterior.get()), lancamento)) {
+			tipo = TipoAlteracaoLancamento.STATUS_ALTERADO;
+		}
+		
+		BigDecimal efeitoAnterior = anterior
+				.filter(m -> m.getTipoAlteracao() != TipoAlteracaoLancamento.EXCLUIDO)
+				.map(m -> efeito(m.getValor(), m.getTipo()))
+				.orElse(BigDecimal.ZERO);
+		BigDecimal efeitoAtual = tipo == TipoAlteracaoLancamento.EXCLUIDO 
+				? BigDecimal.ZERO 
+				: efeito(lancamento.getValor(), lancamento.getTipo());
+		
+		return repository.save(movimento(lancamento, evento.getIdUsuario(), tipo, 
+				efeitoAtual.subtract(efeitoAnterior), LocalDateTime.now()));
+	}
+
+	/**
+	 * Lançamentos gerados em lote são sempre novos: não há movimento anterior a consultar e os
+	 * movimentos de criação vão para o banco em um único batch.
+	 */
+	@Override
+	@EventListener
+	@Transactional
+	public void registrarGerados(LancamentosGeradosEvent evento) {
+		List<Lancamento> lancamentos = evento.getLancamentos();
+		if(lancamentos.isEmpty()) {
+			return;
+		}
+		
+		Timestamp agora = Timestamp.valueOf(LocalDateTime.now());
+		jdbcTemplate.batchUpdate(INSERT_MOVIMENTO, lancamentos, lancamentos.size(), (ps, lancamento) -> {
+			ps.setLong(1, lancamento.getId());
+			ps.setLong(2, lancamento.getUsuario().getId());
+			ps.setString(3, TipoAlteracaoLancamento.CRIADO.name());
+			ps.setString(4, lancamento.getDescricao());
+			ps.setInt(5, lancamento.getMes());
+			ps.setInt(6, lancamento.getAno());
+			ps.setBigDecimal(7, lancamento.getValor());
+			ps.setString(8, lancamento.getTipo().name());
+			ps.setString(9, lancamento.getStatus().name());
+			ps.setBigDecimal(10, efeito(lancamento.getValor(), lancamento.getTipo()));
+			ps.setTimestamp(11, agora);
+		});
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public BigDecimal obterSaldoEm(Long idUsuario, LocalDateTime instante) {
+		Optional<SaldoConsolidado> consolidado = saldoConsolidadoRepository
+				.findFirstByIdUsuarioAndDataHoraLessThanEqualOrderByIdDesc(idUsuario, instante);
+		
+		BigDecimal base = consolidado.map(SaldoConsolidado::getSaldo).orElse(BigDecimal.ZERO);
+		Long aposConsolidacao = consolidado.map(SaldoConsolidado::getId).orElse(0L);
+		
+		return base.add(repository.somarEfeitos(idUsuario, aposConsolidacao, instante));
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public List<MovimentoExtrato> obterHistorico(Long idLancamento) {
+		return repository.findByIdLancamentoOrderById(idLancamento);
+	}
+
+	/**
+	 * Os ids dos movimentos são gerados na inserção, não no commit, então o maior id já
+	 * consolidado não separa o que entrou do que falta. Cada movimento incluído é marcado
+	 * com o id da consolidação; o que confirmar depois, mesmo com id menor, continua pendente.
+	 */
+	@Override
+	@Transactional
+	public void consolidar(Long idUsuario) {
+		List<MovimentoExtrato> pendentes = jdbcTemplate.query(BLOQUEAR_PENDENTES, (rs, linha) -> MovimentoExtrato.builder()
+				.id(rs.getLong("id"))
+				.efeitoSaldo(rs.getBigDecimal("efeito_saldo"))
+				.dataHora(rs.getTimestamp("data_hora").toLocalDateTime())
+				.build(), idUsuario);
+		if(pendentes.isEmpty()) {
+			return;
+		}
+		
+		BigDecimal saldo = saldoConsolidadoRepository.findFirstByIdUsuarioOrderByIdDesc(idUsuario)
+				.map(SaldoConsolidado::getSaldo)
+				.orElse(BigDecimal.ZERO);
+		LocalDateTime dataHora = pendentes.get(0).getDataHora();
+		for(MovimentoExtrato movimento : pendentes) {
+			saldo = saldo.add(movimento.getEfeitoSaldo());
+			if(movimento.getDataHora().isAfter(dataHora)) {
+				dataHora = movimento.getDataHora();
+			}
+		}
+		
+		SaldoConsolidado consolidado = saldoConsolidadoRepository.save(SaldoConsolidado.builder()
+				.idUsuario(idUsuario)
+				.idUltimoMovimento(pendentes.get(pendentes.size() - 1).getId())
+				.saldo(saldo)
+				.dataHora(dataHora)
+				.build());
+		jdbcTemplate.batchUpdate(MARCAR_CONSOLIDADO, pendentes, pendentes.size(), (ps, movimento) -> {
+			ps.setLong(1, consolidado.getId());
+			ps.setLong(2, movimento.getId());
+		});
+	}
+
+	@Override
+	@Scheduled(initialDelayString = "${minhasfinancas.extrato.intervalo-consolidacao:PT5M}", 
+			fixedDelayString = "${minhasfinancas.extrato.intervalo-consolidacao:PT5M}")
+	public void consolidarPendentes() {
+		for(Long idUsuario : repository.buscarUsuariosParaConsolidar(properties.getMovimentosPorConsolidacao())) {
+			try {
+				// chamada interna não passa pelo proxy de @Transactional
+				transacao.executeWithoutResult(status -> consolidar(idUsuario));
+			} catch (RuntimeException e) {
+				log.warn("Falha ao consolidar saldo do usuário {}", idUsuario, e);
+			}
+		}
+	}
+
+	@Override
+	@Transactional
+	public void inicializar(Long idUsuario) {
+		if(repository.existsByIdUsuario(idUsuario)) {
+			return;
+		}
+		
+		Lancamento filtro = new Lancamento();
+		filtro.setUsuario(Usuario.builder().id(idUsuario).build());
+		lancamentoRepository.percorrer(filtro, lancamento -> {
+			LocalDateTime dataHora = lancamento.getDataCadastro() != null 
+					? lancamento.getDataCadastro().atStartOfDay() 
+					: LocalDateTime.now();
+			repository.save(movimento(lancamento, idUsuario, TipoAlteracaoLancamento.CRIADO, 
+					efeito(lancamento.getValor(), lancamento.getTipo()), dataHora));
+		});
+		consolidar(idUsuario);
+	}
+	
+	@EventListener(ApplicationReadyEvent.class)
+	public void inicializarExistentes() {
+		if(!properties.isInicializarExistentes()) {
+			return;
+		}
+		usuarioRepository.findAll().forEach(usuario -> transacao.executeWithoutResult(status -> inicializar(usuario.getId())));
+	}
+	
+	private MovimentoExtrato movimento(Lancamento lancamento, Long idUsuario, TipoAlteracaoLancamento tipo, 
+			BigDecimal efeitoSaldo, LocalDateTime dataHora) {
+		return MovimentoExtrato.builder()
+				.idLancamento(lancamento.getId())
+				.idUsuario(idUsuario)
+				.tipoAlteracao(tipo)
+				.descricao(lancamento.getDescricao())
+				.mes(lancamento.getMes())
+				.ano(lancamento.getAno())
+				.valor(lancamento.getValor())
+				.tipo(lancamento.getTipo())
+				.status(lancamento.getStatus())
+				.efeitoSaldo(efeitoSaldo)
+				.dataHora(dataHora)
+				.build();
+	}
+	
+	/** O último movimento é a base da comparação: dentro da transação ele já reflete as escritas anteriores. */
+	private static Lancamento estadoRegistrado(MovimentoExtrato movimento) {
+		return Lancamento.builder()
+				.descricao(movimento.getDescricao())
+				.mes(movimento.getMes())
+				.ano(movimento.getAno())
+				.valor(movimento.getValor())
+				.tipo(movimento.getTipo())
+				.status(movimento.getStatus())
+				.build();
+	}
+	
+	private static BigDecimal efeito(BigDecimal valor, TipoLacamento tipo) {
+		if(valor == null || tipo == null) {
+			return BigDecimal.ZERO;
+		}
+		return tipo == TipoLacamento.RECEITA ? valor : valor.negate();
+	}
+
+}
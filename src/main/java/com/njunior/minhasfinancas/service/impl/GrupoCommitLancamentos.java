@@ -0,0 +1,301 @@
+package com.njunior.minhasfinancas.service.impl;
+
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.njunior.minhasfinancas.config.AsyncProperties;
+import com.njunior.minhasfinancas.exception.ErroSobrecarga;
+import com.njunior.minhasfinancas.exception.RegraNegocioExcepction;
+import com.njunior.minhasfinancas.model.entity.Lancamento;
+import com.njunior.minhasfinancas.model.entity.Usuario;
+import com.njunior.minhasfinancas.model.repository.UsuarioRepository;
+import com.njunior.minhasfinancas.service.LancamentoService;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Modo de grupo-commit de {@link LancamentoService#salvar(Lancamento)}. A criação é validada
+ * na thread de quem chamou e entra numa fila, sem abrir transação nem pegar conexão; uma
+ * thread gravadora junta o que chegar até {@code espera} depois do primeiro da fila, ou até
+ * {@code tamanhoMaximo}, e chama {@code salvar} para todos dentro de uma única transação,
+ * com um só commit. Cada chamador recebe o próprio lançamento com id.
+ *
+ * <p>O usuário chega só com o id e é conferido na transação da gravadora, uma consulta por
+ * grupo; com {@code usuarioConferido} (vindo do token) a referência só com o id é mantida. Quem chamou não usa o banco antes de entrar na fila, então não segura uma conexão
+ * do pool (ela ficaria presa ao EntityManager da requisição) enquanto espera a gravadora.
+ *
+ * <p>Se a transação do grupo falhar, cada lançamento é gravado de novo na própria transação,
+ * para que o erro chegue só a quem o causou. Desabilitado, dentro de uma transação já aberta
+ * ou com a fila cheia, a criação vai direto para {@code salvar}.
+ *
+ * <p>Quem chamou espera no máximo {@code minhasfinancas.async.timeout}; depois disso o pedido
+ * é cancelado, a gravadora o descarta se ainda não o tiver gravado e a criação falha com
+ * {@link ErroSobrecarga}.
+ */
+@Slf4j
+@Service
+@EnableConfigurationProperties({ GrupoCommitProperties.class, AsyncProperties.class })
+public class GrupoCommitLancamentos implements DisposableBean {
+
+	static final String USUARIO_NAO_ENCONTRADO = "Usuário não encontardo para o Id informado.";
+
+	private final LancamentoService service;
+	private final UsuarioRepository usuarioRepository;
+	private final GrupoCommitProperties properties;
+	private final long esperaMaxima;
+	private final TransactionTemplate transacao;
+	private final BlockingQueue<Pedido> fila;
+	private final ExecutorService gravador;
+	private volatile boolean ativo = true;
+
+	private final DistributionSummary tamanhoGrupo;
+	private final Counter repeticoes;
+
+	public GrupoCommitLancamentos(LancamentoService service, UsuarioRepository usuarioRepository,
+			GrupoCommitProperties properties, AsyncProperties asyncProperties, PlatformTransactionManager transactionManager,
+			ObjectProvider<MeterRegistry> registros) {
+		this.service = service;
+		this.usuarioRepository = usuarioRepository;
+		this.properties = properties;
+		this.esperaMaxima = asyncProperties.getTimeout().toNanos();
+		this.transacao = new TransactionTemplate(transactionManager);
+		this.fila = new ArrayBlockingQueue<>(properties.getCapacidadeFila());
+
+		MeterRegistry registro = registros.getIfAvailable(SimpleMeterRegistry::new);
+		this.tamanhoGrupo = DistributionSummary.builder("minhasfinancas.grupo-commit.tamanho")
+				.description("Lançamentos gravados por transação")
+				.register(registro);
+		this.repeticoes = Counter.builder("minhasfinancas.grupo-commit.repeticoes")
+				.description("Grupos que falharam e foram gravados um a um")
+				.register(registro);
+		Gauge.builder("minhasfinancas.grupo-commit.fila", fila, BlockingQueue::size)
+				.description("Criações aguardando gravação")
+				.register(registro);
+
+		if (properties.isHabilitado()) {
+			this.gravador = Executors.newSingleThreadExecutor(r -> {
+				Thread thread = new Thread(r);
+				thread.setName("grupo-commit");
+				thread.setDaemon(true);
+				return thread;
+			});
+			this.gravador.execute(this::gravarContinuamente);
+		} else {
+			this.gravador = null;
+		}
+	}
+
+	public Lancamento salvar(Lancamento lancamento) {
+		return salvar(lancamento, false);
+	}
+
+	public Lancamento salvar(Lancamento lancamento, boolean usuarioConferido) {
+		service.validar(lancamento);
+		if (gravador == null || !ativo || TransactionSynchronizationManager.isActualTransactionActive()) {
+			return salvarComUsuario(lancamento, usuarioConferido);
+		}
+
+		Pedido pedido = new Pedido(lancamento, usuarioConferido);
+		if (!fila.offer(pedido)) {
+			return salvarComUsuario(lancamento, usuarioConferido);
+		}
+
+		try {
+			return pedido.resultado.get(esperaMaxima, TimeUnit.NANOSECONDS);
+		} catch (TimeoutException e) {
+			if (pedido.resultado.cancel(false)) {
+				throw new ErroSobrecarga("Tempo esgotado aguardando a gravação do lançamento.");
+			}
+			// gravado enquanto o tempo se esgotava
+			try {
+				return pedido.resultado.getNow(null);
+			} catch (CompletionException c) {
+				throw erro(c.getCause());
+			}
+		} catch (InterruptedException e) {
+			pedido.resultado.cancel(false);
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrompido aguardando a gravação do lançamento.", e);
+		} catch (ExecutionException e) {
+			throw erro(e.getCause());
+		}
+	}
+
+	private static RuntimeException erro(Throwable causa) {
+		if (causa instanceof RuntimeException) {
+			return (RuntimeException) causa;
+		}
+		return new IllegalStateException(causa);
+	}
+
+	private void gravarContinuamente() {
+		int maximo = properties.getTamanhoMaximo();
+		long espera = properties.getEspera().toNanos();
+		List<Pedido> grupo = new ArrayList<>(maximo);
+		while (ativo) {
+			try {
+				Pedido primeiro = fila.take();
+				grupo.add(primeiro);
+				long limite = primeiro.chegada + espera;
+				while (grupo.size() < maximo) {
+					fila.drainTo(grupo, maximo - grupo.size());
+					long restante = limite - System.nanoTime();
+					if (grupo.size() >= maximo || restante <= 0) {
+						break;
+					}
+					Pedido proximo = fila.poll(restante, TimeUnit.NANOSECONDS);
+					if (proximo == null) {
+						break;
+					}
+					grupo.add(proximo);
+				}
+				gravar(grupo);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				gravar(grupo);
+				return;
+			} catch (RuntimeException e) {
+				log.warn("Falha inesperada no grupo-commit de lançamentos", e);
+				grupo.forEach(p -> p.resultado.completeExceptionally(e));
+			} finally {
+				grupo.clear();
+			}
+		}
+	}
+
+	private Lancamento salvarComUsuario(Lancamento lancamento, boolean usuarioConferido) {
+		return transacao.execute(status -> {
+			if (!usuarioConferido) {
+				lancamento.setUsuario(usuarioRepository.findById(lancamento.getUsuario().getId())
+						.orElseThrow(() -> new RegraNegocioExcepction(USUARIO_NAO_ENCONTRADO)));
+			}
+			return service.salvar(lancamento);
+		});
+	}
+
+	private void gravar(List<Pedido> grupo) {
+		grupo.removeIf(Pedido::concluido);
+		if (grupo.isEmpty()) {
+			return;
+		}
+		tamanhoGrupo.record(grupo.size());
+		if (grupo.size() == 1) {
+			gravarIndividualmente(grupo.get(0));
+			return;
+		}
+
+		List<Lancamento> salvos;
+		try {
+			salvos = transacao.execute(status -> {
+				Map<Long, Usuario> usuarios = carregarUsuarios(grupo);
+				List<Lancamento> gravados = new ArrayList<>(grupo.size());
+				for (Pedido pedido : grupo) {
+					if (!pedido.usuarioConferido) {
+						Usuario usuario = usuarios.get(pedido.lancamento.getUsuario().getId());
+						if (usuario == null) {
+							gravados.add(null);
+							continue;
+						}
+						pedido.lancamento.setUsuario(usuario);
+					}
+					gravados.add(service.salvar(pedido.lancamento));
+				}
+				return gravados;
+			});
+		} catch (RuntimeException e) {
+			repeticoes.increment();
+			log.debug("Grupo de {} lançamentos desfeito; gravando um a um", grupo.size(), e);
+			grupo.forEach(this::gravarIndividualmente);
+			return;
+		}
+		for (int i = 0; i < grupo.size(); i++) {
+			if (salvos.get(i) == null) {
+				grupo.get(i).resultado.completeExceptionally(new RegraNegocioExcepction(USUARIO_NAO_ENCONTRADO));
+			} else {
+				grupo.get(i).resultado.complete(salvos.get(i));
+			}
+		}
+	}
+
+	private Map<Long, Usuario> carregarUsuarios(List<Pedido> grupo) {
+		Set<Long> ids = grupo.stream()
+				.filter(p -> !p.usuarioConferido)
+				.map(p -> p.lancamento.getUsuario().getId())
+				.collect(Collectors.toSet());
+		return usuarioRepository.findAllById(ids).stream()
+				.collect(Collectors.toMap(Usuario::getId, Function.identity()));
+	}
+
+	private void gravarIndividualmente(Pedido pedido) {
+		if (pedido.concluido()) {
+			return;
+		}
+		// o id gerado na transação desfeita não existe no banco
+		pedido.lancamento.setId(pedido.idOriginal);
+		try {
+			pedido.resultado.complete(salvarComUsuario(pedido.lancamento, pedido.usuarioConferido));
+		} catch (RuntimeException e) {
+			pedido.resultado.completeExceptionally(e);
+		}
+	}
+
+	@Override
+	public void destroy() throws InterruptedException {
+		ativo = false;
+		if (gravador == null) {
+			return;
+		}
+		gravador.shutdownNow();
+		gravador.awaitTermination(5, TimeUnit.SECONDS);
+		List<Pedido> restantes = new ArrayList<>();
+		fila.drainTo(restantes);
+		restantes.forEach(this::gravarIndividualmente);
+	}
+
+	private static class Pedido {
+
+		final Lancamento lancamento;
+		final Long idOriginal;
+		final boolean usuarioConferido;
+		final long chegada = System.nanoTime();
+		final CompletableFuture<Lancamento> resultado = new CompletableFuture<>();
+
+		Pedido(Lancamento lancamento, boolean usuarioConferido) {
+			this.lancamento = lancamento;
+			this.idOriginal = lancamento.getId();
+			this.usuarioConferido = usuarioConferido;
+		}
+
+		// cancelado por quem desistiu de esperar ou já recusado
+		boolean concluido() {
+			return resultado.isDone();
+		}
+	}
+
+}
@@ -0,0 +1,25 @@
+package com.njunior.minhasfinancas.service.impl;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "minhasfinancas.grupo-commit")
+public class GrupoCommitProperties {
+
+	/** Desligado, cada criação faz a própria transação. */
+	private boolean habilitado = false;
+
+	/** Quanto o primeiro lançamento de um grupo espera por outros antes da gravação. */
+	private Duration espera = Duration.ofMillis(2);
+
+	/** Lançamentos gravados por transação; um grupo cheio é gravado sem esperar. */
+	private int tamanhoMaximo = 64;
+
+	/** Criações aguardando gravação; com a fila cheia a criação segue sem agrupar. */
+	private int capacidadeFila = 1024;
+
+}
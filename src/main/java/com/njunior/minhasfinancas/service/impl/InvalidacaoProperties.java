@@ -0,0 +1,38 @@
+package com.njunior.minhasfinancas.service.impl;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "minhasfinancas.invalidacao")
+public class InvalidacaoProperties {
+
+	/** Liga o barramento; só faz sentido com mais de uma instância usando o mesmo banco. */
+	private boolean habilitado = false;
+
+	/** Identifica esta instância nas mensagens; único por processo. */
+	private String origem = UUID.randomUUID().toString();
+
+	/** Intervalo entre gravar as invalidações locais e ler as das outras instâncias. */
+	private Duration intervalo = Duration.ofMillis(200);
+
+	/** Mensagens lidas por consulta. */
+	private int tamanhoLote = 1000;
+
+	/**
+	 * Ids já lidos que são relidos a cada consulta, para pegar mensagens de outras instâncias
+	 * que receberam id menor mas confirmaram depois.
+	 */
+	private int sobreposicao = 256;
+
+	/** Quanto esperar por uma sequência faltante antes de invalidar tudo. */
+	private Duration toleranciaLacuna = Duration.ofSeconds(5);
+
+	/** Mensagens mais antigas que isso são apagadas. */
+	private Duration retencao = Duration.ofMinutes(10);
+
+}
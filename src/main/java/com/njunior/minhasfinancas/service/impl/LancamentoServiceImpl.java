@@ -1,30 +1,55 @@
 package com.njunior.minhasfinancas.service.impl;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Consumer;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Example;
 import org.springframework.data.domain.ExampleMatcher;
 import org.springframework.data.domain.ExampleMatcher.StringMatcher;
+import org.springframework.data.jpa.convert.QueryByExamplePredicateBuilder;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.njunior.minhasfinancas.exception.RegraNegocioExcepction;
 import com.njunior.minhasfinancas.model.entity.Lancamento;
 import com.njunior.minhasfinancas.model.enums.StatusLancamento;
+import com.njunior.minhasfinancas.model.enums.TipoAlteracaoLancamento;
 import com.njunior.minhasfinancas.model.enums.TipoLacamento;
+import com.njunior.minhasfinancas.model.repository.FiltroLancamento;
 import com.njunior.minhasfinancas.model.repository.LancamentoRepository;
+import com.njunior.minhasfinancas.model.repository.LancamentoSpecifications;
+import com.njunior.minhasfinancas.model.repository.TotalPorUsuarioETipo;
 import com.njunior.minhasfinancas.service.LancamentoService;
+import com.njunior.minhasfinancas.service.event.LancamentoAlteradoEvent;
+import com.njunior.minhasfinancas.service.validacao.RegrasLancamento;
+import com.njunior.minhasfinancas.service.validacao.ResultadoValidacao;
 
 @Service
 public class LancamentoServiceImpl implements LancamentoService{
 	
+	/** Ids por consulta de saldo em lote, abaixo dos limites de parâmetros do banco. */
+	static final int TAMANHO_LOTE_SALDOS = 1000;
+	
+	static final ExampleMatcher MATCHER_EXEMPLO = ExampleMatcher.matching()
+			.withIgnoreCase()
+			.withStringMatcher(StringMatcher.CONTAINING);
+	
 	private LancamentoRepository repository;
+	private ApplicationEventPublisher eventPublisher;
 	
-	public LancamentoServiceImpl(LancamentoRepository repository) {
+	public LancamentoServiceImpl(LancamentoRepository repository, ApplicationEventPublisher eventPublisher) {
 		this.repository = repository;
+		this.eventPublisher = eventPublisher;
 	}
 	
 
@@ -33,7 +58,9 @@ public class LancamentoServiceImpl implements LancamentoService{
 	public Lancamento salvar(Lancamento lancamento) {
 		validar(lancamento);
 		lancamento.setStatus(StatusLancamento.PENDENTE);
-		return repository.save(lancamento);
+		Lancamento salvo = repository.save(lancamento);
+		publicar(TipoAlteracaoLancamento.CRIADO, salvo);
+		return salvo;
 	}
 
 	@Override
@@ -41,25 +68,94 @@ public class LancamentoServiceImpl implements LancamentoService{
 	public Lancamento atualizar(Lancamento lancamento) {
 		Objects.requireNonNull(lancamento.getId());
 		validar(lancamento);
-		return repository.save(lancamento);
+		Lancamento anterior = obterEstadoGravado(lancamento.getId());
+		Lancamento atualizado = repository.save(lancamento);
+		publicar(TipoAlteracaoLancamento.ATUALIZADO, atualizado, anterior);
+		return atualizado;
 	}
 
 	@Override
 	@Transactional
 	public void deletar(Lancamento lancamento) {
 		Objects.requireNonNull(lancamento.getId());
+		Lancamento anterior = obterEstadoGravado(lancamento.getId());
 		repository.delete(lancamento);
+		publicar(TipoAlteracaoLancamento.EXCLUIDO, lancamento, anterior);
+	}
+	
+	private void publicar(TipoAlteracaoLancamento tipo, Lancamento lancamento) {
+		publicar(tipo, lancamento, null);
+	}
+	
+	private void publicar(TipoAlteracaoLancamento tipo, Lancamento lancamento, Lancamento anterior) {
+		if(lancamento != null && lancamento.getUsuario() != null) {
+			eventPublisher.publishEvent(new LancamentoAlteradoEvent(tipo, lancamento.getUsuario().getId(), lancamento, anterior));
+		}
+	}
+	
+	/**
+	 * Copia o estado atual do banco antes do merge. Dentro da transação a entidade carregada
+	 * aqui é a mesma que o {@code save}/{@code delete} usaria, então não há consulta a mais.
+	 */
+	private Lancamento obterEstadoGravado(Long id) {
+		return repository.findById(id).map(gravado -> {
+			Lancamento copia = Lancamento.builder()
+					.id(gravado.getId())
+					.descricao(gravado.getDescricao())
+					.mes(gravado.getMes())
+					.ano(gravado.getAno())
+					.valor(gravado.getValor())
+					.dataCadastro(gravado.getDataCadastro())
+					.tipo(gravado.getTipo())
+					.status(gravado.getStatus())
+					.build();
+			copia.setIdRecorrencia(gravado.getIdRecorrencia());
+			copia.setParcela(gravado.getParcela());
+			return copia;
+		}).orElse(null);
 	}
 
 	@Override
 	@Transactional(readOnly = true)
 	public List<Lancamento> buscar(Lancamento lancamentoFiltro) {
-		Example example = Example.of(lancamentoFiltro , 
-				ExampleMatcher.matching()
-				.withIgnoreCase()
-				.withStringMatcher(StringMatcher.CONTAINING));
+		Example<Lancamento> example = Example.of(lancamentoFiltro, MATCHER_EXEMPLO);
 		
-		return repository.findAll(example);
+		if(lancamentoFiltro.getPeriodo() != null 
+				|| (lancamentoFiltro.getMes() == null && lancamentoFiltro.getAno() == null)) {
+			return repository.findAll(example);
+		}
+		
+		Specification<Lancamento> porExemplo = (root, query, cb) -> QueryByExamplePredicateBuilder.getPredicate(root, cb, example);
+		return repository.findAll(porExemplo.and(LancamentoSpecifications.mesEAno(lancamentoFiltro.getMes(), lancamentoFiltro.getAno())));
+	}
+	
+	@Override
+	@Transactional(readOnly = true)
+	public List<Lancamento> buscar(FiltroLancamento filtro) {
+		boolean porMesOuAno = filtro.getMes() != null || filtro.getAno() != null;
+		boolean porIntervalo = filtro.getDe() != null || filtro.getAte() != null;
+		if(porMesOuAno && porIntervalo) {
+			throw new RegraNegocioExcepction("Informe mês e ano ou um intervalo, não ambos.");
+		}
+		if(filtro.getDe() != null && filtro.getAte() != null && filtro.getDe().isAfter(filtro.getAte())) {
+			throw new RegraNegocioExcepction("O mês inicial deve ser anterior ou igual ao mês final.");
+		}
+		if(filtro.getDataCadastroDe() != null && filtro.getDataCadastroAte() != null 
+				&& filtro.getDataCadastroDe().isAfter(filtro.getDataCadastroAte())) {
+			throw new RegraNegocioExcepction("A data de cadastro inicial deve ser anterior ou igual à final.");
+		}
+		if(filtro.getValorMinimo() != null && filtro.getValorMaximo() != null 
+				&& filtro.getValorMinimo().compareTo(filtro.getValorMaximo()) > 0) {
+			throw new RegraNegocioExcepction("O valor mínimo deve ser menor ou igual ao valor máximo.");
+		}
+		
+		return repository.findAll(LancamentoSpecifications.de(filtro), filtro.getOrdenacao());
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public void percorrer(Lancamento lancamentoFiltro, Consumer<Lancamento> consumidor) {
+		repository.percorrer(lancamentoFiltro, consumidor);
 	}
 
 	@Override
@@ -71,30 +167,12 @@ public class LancamentoServiceImpl implements LancamentoService{
 
 	@Override
 	public void validar(Lancamento lancamento) {
-		
-		if(lancamento.getDescricao() == null || lancamento.getDescricao().trim().equals("")) {
-			throw new RegraNegocioExcepction("Informe uma Descrição válida.");
-		}
-		
-		if(lancamento.getMes() == null || lancamento.getMes() < 1 || lancamento.getMes() > 12) {
-			throw new RegraNegocioExcepction("Informe um Mês válido.");
-		}
-		
-		if(lancamento.getAno() == null || lancamento.getAno().toString().length() != 4 ) {
-			throw new RegraNegocioExcepction("Informe um Ano válido.");
-		}
-		
-		if(lancamento.getUsuario() == null || lancamento.getUsuario().getId() == null) {
-			throw new RegraNegocioExcepction("Informe um Usuário.");
-		}
-		
-		if(lancamento.getValor() == null || lancamento.getValor().compareTo(BigDecimal.ZERO) < 1 ) {
-			throw new RegraNegocioExcepction("Informe um Valor válido.");
-		}
-		
-		if(lancamento.getTipo() == null ) {
-			throw new RegraNegocioExcepction("Informe um Tipo de Lançamento.");
-		}
+		RegrasLancamento.VALIDADOR.validarOuFalhar(lancamento);
+	}
+	
+	@Override
+	public Map<Integer, ResultadoValidacao> validarLote(List<Lancamento> lancamentos) {
+		return RegrasLancamento.VALIDADOR.validarLote(lancamentos);
 	}
 
 
@@ -107,17 +185,24 @@ public class LancamentoServiceImpl implements LancamentoService{
 	@Override
 	@Transactional(readOnly = true)
 	public BigDecimal obterSaldoPorUsuario(Long id) {
-		BigDecimal receitas = repository.obterSaldoPorTipoLancamentoEUsuario(id, TipoLacamento.RECEITA);
-		BigDecimal despesas = repository.obterSaldoPorTipoLancamentoEUsuario(id, TipoLacamento.DESPESA);
+		return obterSaldosPorUsuarios(Collections.singleton(id)).getOrDefault(id, BigDecimal.ZERO);
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public Map<Long, BigDecimal> obterSaldosPorUsuarios(Collection<Long> ids) {
+		Map<Long, BigDecimal> saldos = new LinkedHashMap<>();
+		ids.stream().filter(Objects::nonNull).forEach(id -> saldos.put(id, BigDecimal.ZERO));
 		
-		if(receitas == null) {
-			receitas = BigDecimal.ZERO;
+		List<Long> distintos = new ArrayList<>(saldos.keySet());
+		for(int inicio = 0; inicio < distintos.size(); inicio += TAMANHO_LOTE_SALDOS) {
+			List<Long> lote = distintos.subList(inicio, Math.min(inicio + TAMANHO_LOTE_SALDOS, distintos.size()));
+			for(TotalPorUsuarioETipo total : repository.obterTotaisPorUsuarioETipo(lote)) {
+				BigDecimal efeito = total.getTipo() == TipoLacamento.RECEITA ? total.getTotal() : total.getTotal().negate();
+				saldos.merge(total.getIdUsuario(), efeito, BigDecimal::add);
+			}
 		}
-		if(despesas == null) {
-			despesas = BigDecimal.ZERO;
-		}
-		
-		return receitas.subtract(despesas);
+		return saldos;
 	}
 
 }
@@ -0,0 +1,19 @@
+package com.njunior.minhasfinancas.service.impl;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import com.njunior.minhasfinancas.service.lote.ModoLote;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "minhasfinancas.lote")
+public class LoteProperties {
+
+	/** Modo usado quando o lote não informa um. */
+	private ModoLote modo = ModoLote.TUDO_OU_NADA;
+
+	/** Operações aceitas por lote, para limitar a duração da transação. */
+	private int maximoOperacoes = 1000;
+
+}
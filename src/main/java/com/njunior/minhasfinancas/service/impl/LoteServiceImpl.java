@@ -0,0 +1,264 @@
+package com.njunior.minhasfinancas.service.impl;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.sql.DataSource;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.njunior.minhasfinancas.exception.RegraNegocioExcepction;
+import com.njunior.minhasfinancas.model.entity.Lancamento;
+import com.njunior.minhasfinancas.model.entity.Usuario;
+import com.njunior.minhasfinancas.service.LancamentoService;
+import com.njunior.minhasfinancas.service.LoteService;
+import com.njunior.minhasfinancas.service.UsuarioService;
+import com.njunior.minhasfinancas.service.lote.ModoLote;
+import com.njunior.minhasfinancas.service.lote.OperacaoLote;
+import com.njunior.minhasfinancas.service.lote.ResultadoLote;
+import com.njunior.minhasfinancas.service.lote.ResultadoOperacao;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Executa um lote de operações sobre lançamentos numa única transação, com o mesmo contexto
+ * de persistência e um único carregamento de cada usuário. Cada operação é validada antes
+ * de chegar ao {@link LancamentoService}, para que uma falha de regra não marque a transação
+ * inteira para rollback, e termina com um flush, para que erros do banco apareçam na
+ * operação que os causou.
+ *
+ * <p>No modo {@link ModoLote#POR_OPERACAO} cada operação roda sob um savepoint JDBC na
+ * conexão da transação; o dialeto JPA do Hibernate não oferece savepoints ao Spring.
+ */
+@Slf4j
+@Service
+@EnableConfigurationProperties(LoteProperties.class)
+public class LoteServiceImpl implements LoteService {
+
+	static final String FALHA_INESPERADA = "Não foi possível gravar a operação.";
+	static final String LANCAMENTO_NAO_ENCONTRADO = "Lançamento não encontado na base de dados.";
+	static final String LANCAMENTO_DE_OUTRO_USUARIO = "Acesso negado aos lançamentos de outro usuário.";
+
+	private final LancamentoService lancamentoService;
+	private final UsuarioService usuarioService;
+	private final LoteProperties properties;
+	private final DataSource dataSource;
+	private final TransactionTemplate transacao;
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	public LoteServiceImpl(LancamentoService lancamentoService, UsuarioService usuarioService, LoteProperties properties,
+			DataSource dataSource, PlatformTransactionManager transactionManager) {
+		this.lancamentoService = lancamentoService;
+		this.usuarioService = usuarioService;
+		this.properties = properties;
+		this.dataSource = dataSource;
+		this.transacao = new TransactionTemplate(transactionManager);
+	}
+
+	@Override
+	public ResultadoLote executar(List<OperacaoLote> operacoes, ModoLote modo) {
+		return executar(operacoes, modo, null);
+	}
+
+	@Override
+	public ResultadoLote executar(List<OperacaoLote> operacoes, ModoLote modo, Long idAutenticado) {
+		if (operacoes == null || operacoes.isEmpty()) {
+			throw new RegraNegocioExcepction("Informe ao menos uma operação.");
+		}
+		if (operacoes.size() > properties.getMaximoOperacoes()) {
+			throw new RegraNegocioExcepction("O lote aceita no máximo " + properties.getMaximoOperacoes() + " operações.");
+		}
+
+		ModoLote modoEfetivo = modo != null ? modo : properties.getModo();
+		List<ResultadoOperacao> resultados = new ArrayList<>(operacoes.size());
+		boolean confirmar;
+		try {
+			confirmar = transacao.execute(status -> modoEfetivo == ModoLote.POR_OPERACAO
+					? executarPorOperacao(operacoes, idAutenticado, resultados, status)
+					: executarTudoOuNada(operacoes, idAutenticado, resultados, status));
+		} catch (RuntimeException e) {
+			log.warn("Falha ao confirmar lote de {} operações", operacoes.size(), e);
+			return ResultadoLote.desfeito(resultados);
+		}
+		return confirmar ? ResultadoLote.confirmado(resultados) : ResultadoLote.desfeito(resultados);
+	}
+
+	private boolean executarTudoOuNada(List<OperacaoLote> operacoes, Long idAutenticado,
+			List<ResultadoOperacao> resultados, TransactionStatus status) {
+		Map<Long, Usuario> usuarios = new HashMap<>();
+		for (int i = 0; i < operacoes.size(); i++) {
+			ResultadoOperacao resultado = executar(i, operacoes.get(i), idAutenticado, usuarios);
+			resultados.add(resultado);
+			if (!resultado.isConcluida()) {
+				status.setRollbackOnly();
+				naoExecutadas(operacoes, resultados, i + 1);
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private boolean executarPorOperacao(List<OperacaoLote> operacoes, Long idAutenticado,
+			List<ResultadoOperacao> resultados, TransactionStatus status) {
+		Connection conexao = DataSourceUtils.getConnection(dataSource);
+		try {
+			Map<Long, Usuario> usuarios = new HashMap<>();
+			for (int i = 0; i < operacoes.size(); i++) {
+				Savepoint savepoint = criarSavepoint(conexao);
+				ResultadoOperacao resultado = executar(i, operacoes.get(i), idAutenticado, usuarios);
+				resultados.add(resultado);
+				if (resultado.isConcluida()) {
+					liberarSavepoint(conexao, savepoint);
+				} else if (status.isRollbackOnly()) {
+					naoExecutadas(operacoes, resultados, i + 1);
+					return false;
+				} else {
+					voltarAoSavepoint(conexao, savepoint);
+					// descarta o que a operação desfeita deixou no contexto; as anteriores já foram gravadas
+					entityManager.clear();
+				}
+			}
+			return true;
+		} finally {
+			DataSourceUtils.releaseConnection(conexao, dataSource);
+		}
+	}
+
+	private ResultadoOperacao executar(int indice, OperacaoLote operacao, Long idAutenticado, Map<Long, Usuario> usuarios) {
+		try {
+			Lancamento lancamento = executar(operacao, idAutenticado, usuarios);
+			entityManager.flush();
+			return ResultadoOperacao.concluida(indice, lancamento);
+		} catch (RegraNegocioExcepction e) {
+			return ResultadoOperacao.falhou(indice, e.getMessage());
+		} catch (RuntimeException e) {
+			log.warn("Falha na operação {} do lote: {}", indice, operacao, e);
+			return ResultadoOperacao.falhou(indice, FALHA_INESPERADA);
+		}
+	}
+
+	private Lancamento executar(OperacaoLote operacao, Long idAutenticado, Map<Long, Usuario> usuarios) {
+		if (operacao.getOperacao() == null) {
+			throw new RegraNegocioExcepction("Informe a operação.");
+		}
+		if (idAutenticado != null && operacao.getIdUsuario() != null && !idAutenticado.equals(operacao.getIdUsuario())) {
+			throw new RegraNegocioExcepction(LANCAMENTO_DE_OUTRO_USUARIO);
+		}
+
+		switch (operacao.getOperacao()) {
+		case CRIAR: {
+			Lancamento lancamento = new Lancamento();
+			Long idUsuario = operacao.getIdUsuario() != null ? operacao.getIdUsuario() : idAutenticado;
+			preencher(lancamento, operacao, obterUsuario(idUsuario, usuarios));
+			lancamentoService.validar(lancamento);
+			return lancamentoService.salvar(lancamento);
+		}
+		case ATUALIZAR: {
+			Lancamento existente = obterLancamento(operacao.getId(), idAutenticado);
+			Lancamento lancamento = existente.copiar();
+			preencher(lancamento, operacao, operacao.getIdUsuario() == null
+					? existente.getUsuario() : obterUsuario(operacao.getIdUsuario(), usuarios));
+			if (operacao.getStatus() != null) {
+				lancamento.setStatus(operacao.getStatus());
+			}
+			lancamentoService.validar(lancamento);
+			return lancamentoService.atualizar(lancamento);
+		}
+		case ATUALIZAR_STATUS: {
+			if (operacao.getStatus() == null) {
+				throw new RegraNegocioExcepction("Informe o status.");
+			}
+			Lancamento lancamento = obterLancamento(operacao.getId(), idAutenticado).copiar();
+			lancamento.setStatus(operacao.getStatus());
+			lancamentoService.validar(lancamento);
+			return lancamentoService.atualizar(lancamento);
+		}
+		case EXCLUIR: {
+			Lancamento existente = obterLancamento(operacao.getId(), idAutenticado);
+			lancamentoService.deletar(existente);
+			return existente;
+		}
+		default:
+			throw new RegraNegocioExcepction("Operação não suportada: " + operacao.getOperacao());
+		}
+	}
+
+	private Usuario obterUsuario(Long idUsuario, Map<Long, Usuario> usuarios) {
+		if (idUsuario == null) {
+			throw new RegraNegocioExcepction("Usuário não encontardo para o Id informado.");
+		}
+		Usuario usuario = usuarios.get(idUsuario);
+		if (usuario == null) {
+			usuario = usuarioService.obterPorId(idUsuario)
+					.orElseThrow(() -> new RegraNegocioExcepction("Usuário não encontardo para o Id informado."));
+			usuarios.put(idUsuario, usuario);
+		}
+		return usuario;
+	}
+
+	private Lancamento obterLancamento(Long id, Long idAutenticado) {
+		if (id == null) {
+			throw new RegraNegocioExcepction(LANCAMENTO_NAO_ENCONTRADO);
+		}
+		Lancamento lancamento = lancamentoService.obterPorId(id)
+				.orElseThrow(() -> new RegraNegocioExcepction(LANCAMENTO_NAO_ENCONTRADO));
+		if (idAutenticado != null && !idAutenticado.equals(lancamento.getUsuario().getId())) {
+			throw new RegraNegocioExcepction(LANCAMENTO_DE_OUTRO_USUARIO);
+		}
+		return lancamento;
+	}
+
+	private static void preencher(Lancamento lancamento, OperacaoLote operacao, Usuario usuario) {
+		lancamento.setDescricao(operacao.getDescricao());
+		lancamento.setMes(operacao.getMes());
+		lancamento.setAno(operacao.getAno());
+		lancamento.setValor(operacao.getValor());
+		lancamento.setTipo(operacao.getTipo());
+		lancamento.setUsuario(usuario);
+	}
+
+	private static void naoExecutadas(List<OperacaoLote> operacoes, List<ResultadoOperacao> resultados, int inicio) {
+		for (int i = inicio; i < operacoes.size(); i++) {
+			resultados.add(ResultadoOperacao.naoExecutada(i));
+		}
+	}
+
+	private static Savepoint criarSavepoint(Connection conexao) {
+		try {
+			return conexao.setSavepoint();
+		} catch (SQLException e) {
+			throw new IllegalStateException("Não foi possível criar savepoint para a operação do lote.", e);
+		}
+	}
+
+	private static void liberarSavepoint(Connection conexao, Savepoint savepoint) {
+		try {
+			conexao.releaseSavepoint(savepoint);
+		} catch (SQLException e) {
+			log.debug("Savepoint não liberado; será descartado no fim da transação", e);
+		}
+	}
+
+	private static void voltarAoSavepoint(Connection conexao, Savepoint savepoint) {
+		try {
+			conexao.rollback(savepoint);
+		} catch (SQLException e) {
+			throw new IllegalStateException("Não foi possível desfazer a operação do lote.", e);
+		}
+	}
+
+}
@@ -0,0 +1,31 @@
+package com.njunior.minhasfinancas.service.impl;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "minhasfinancas.outbox")
+public class OutboxProperties {
+
+	/** Partições de usuários (por {@code id_usuario mod particoes}) despachadas em paralelo. */
+	private int particoes = 2;
+
+	/** Eventos bloqueados e entregues por transação dentro de uma partição. */
+	private int tamanhoLote = 500;
+
+	/** Por quanto tempo um lote lido fica reservado para a entrega; deve passar do tempo de entrega de um lote. */
+	private Duration reserva = Duration.ofMinutes(1);
+
+	/** Espera antes da primeira nova tentativa de um usuário cujo consumidor falhou; dobra a cada falha. */
+	private Duration esperaInicial = Duration.ofSeconds(1);
+
+	/** Limite da espera entre tentativas. */
+	private Duration esperaMaxima = Duration.ofMinutes(5);
+
+	/** Atraso do evento mais antigo a partir do qual cada ciclo registra um aviso. */
+	private Duration atrasoAviso = Duration.ofMinutes(1);
+
+}
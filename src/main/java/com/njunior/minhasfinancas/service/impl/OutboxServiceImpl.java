@@ -0,0 +1,285 @@
+package com.njunior.minhasfinancas.service.impl;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.njunior.minhasfinancas.model.entity.EventoOutbox;
+import com.njunior.minhasfinancas.model.entity.Lancamento;
+import com.njunior.minhasfinancas.model.enums.TipoAlteracaoLancamento;
+import com.njunior.minhasfinancas.model.repository.EventoOutboxRepository;
+import com.njunior.minhasfinancas.model.repository.ResumoOutbox;
+import com.njunior.minhasfinancas.service.OutboxService;
+import com.njunior.minhasfinancas.service.event.LancamentoAlteradoEvent;
+import com.njunior.minhasfinancas.service.event.LancamentosGeradosEvent;
+import com.njunior.minhasfinancas.service.outbox.ConsumidorOutbox;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Grava cada alteração de lançamento na tabela {@code evento_outbox} dentro da transação da
+ * escrita (um único insert) e a entrega depois, em segundo plano, aos {@link ConsumidorOutbox}.
+ *
+ * <p>O despacho divide os usuários em partições por {@code id_usuario mod particoes} e as
+ * processa em paralelo. Cada lote é lido em ordem de id com bloqueio e reservado por
+ * {@code reserva} numa transação curta, que é confirmada antes da entrega; enquanto a reserva
+ * vale, nenhuma instância lê outro evento do usuário, o que mantém a ordem por usuário. A
+ * entrega de cada usuário roda depois numa transação própria, não aninhada, que também apaga
+ * os eventos entregues: cada partição usa uma conexão por vez. Quando um consumidor falha, os
+ * eventos restantes do usuário ficam retidos com espera exponencial; os demais usuários seguem
+ * normalmente. Uma instância que cai com eventos reservados os deixa para a próxima leitura
+ * depois que a reserva expira.
+ *
+ * <p>Sem consumidores registrados nada é gravado. Hoje nenhum consumidor é registrado: o
+ * extrato precisa dos movimentos na mesma transação da escrita, e os snapshots de análise, o
+ * SSE de saldo e o barramento de invalidação vivem na memória de cada instância, enquanto o
+ * outbox entrega cada evento a uma instância só. Dados derivados compartilhados (índice de
+ * busca, notificações) entram implementando {@link ConsumidorOutbox}.
+ */
+@Slf4j
+@Service
+@Lazy(false)
+@EnableConfigurationProperties(OutboxProperties.class)
+public class OutboxServiceImpl implements OutboxService, DisposableBean {
+
+	static final String INSERT_EVENTO =
+			"insert into financas.evento_outbox (id_usuario, id_lancamento, tipo_alteracao, descricao, periodo, valor, "
+		  + "tipo, status, data_cadastro, data_hora, tentativas) values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)";
+
+	private final EventoOutboxRepository repository;
+	private final List<ConsumidorOutbox> consumidores;
+	private final JdbcTemplate jdbcTemplate;
+	private final OutboxProperties properties;
+	private final TransactionTemplate transacao;
+	private final ExecutorService executor;
+
+	private final AtomicLong pendentes = new AtomicLong();
+	private final AtomicLong atrasoMs = new AtomicLong();
+	private final Counter entregues;
+	private final Counter falhas;
+	private final Timer atrasoEntrega;
+
+	public OutboxServiceImpl(EventoOutboxRepository repository, List<ConsumidorOutbox> consumidores,
+			JdbcTemplate jdbcTemplate, OutboxProperties properties, PlatformTransactionManager transactionManager,
+			ObjectProvider<MeterRegistry> registros) {
+		this.repository = repository;
+		this.consumidores = consumidores;
+		this.jdbcTemplate = jdbcTemplate;
+		this.properties = properties;
+		this.transacao = new TransactionTemplate(transactionManager);
+		this.executor = Executors.newFixedThreadPool(properties.getParticoes(), r -> {
+			Thread thread = new Thread(r);
+			thread.setName("outbox-" + thread.getId());
+			thread.setDaemon(true);
+			return thread;
+		});
+
+		MeterRegistry registro = registros.getIfAvailable(SimpleMeterRegistry::new);
+		Gauge.builder("minhasfinancas.outbox.pendentes", pendentes, AtomicLong::get)
+				.description("Eventos aguardando entrega")
+				.register(registro);
+		Gauge.builder("minhasfinancas.outbox.atraso", atrasoMs, AtomicLong::get)
+				.description("Idade do evento pendente mais antigo")
+				.baseUnit("milliseconds")
+				.register(registro);
+		this.entregues = Counter.builder("minhasfinancas.outbox.entregues").register(registro);
+		this.falhas = Counter.builder("minhasfinancas.outbox.falhas").register(registro);
+		this.atrasoEntrega = Timer.builder("minhasfinancas.outbox.atraso.entrega")
+				.description("Tempo entre a gravação do evento e a entrega aos consumidores")
+				.register(registro);
+	}
+
+	@Override
+	@EventListener
+	@Transactional
+	public void registrar(LancamentoAlteradoEvent evento) {
+		if(consumidores.isEmpty()) {
+			return;
+		}
+
+		Lancamento lancamento = evento.getLancamento();
+		repository.save(EventoOutbox.builder()
+				.idUsuario(evento.getIdUsuario())
+				.idLancamento(lancamento.getId())
+				.tipoAlteracao(evento.getTipo())
+				.descricao(lancamento.getDescricao())
+				.periodo(lancamento.getPeriodo())
+				.valor(lancamento.getValor())
+				.tipo(lancamento.getTipo())
+				.status(lancamento.getStatus())
+				.dataCadastro(lancamento.getDataCadastro())
+				.dataHora(LocalDateTime.now())
+				.build());
+	}
+
+	@Override
+	@EventListener
+	@Transactional
+	public void registrarGerados(LancamentosGeradosEvent evento) {
+		List<Lancamento> lancamentos = evento.getLancamentos();
+		if(consumidores.isEmpty() || lancamentos.isEmpty()) {
+			return;
+		}
+
+		Timestamp agora = Timestamp.valueOf(LocalDateTime.now());
+		jdbcTemplate.batchUpdate(INSERT_EVENTO, lancamentos, lancamentos.size(), (ps, lancamento) -> {
+			ps.setLong(1, lancamento.getUsuario().getId());
+			ps.setLong(2, lancamento.getId());
+			ps.setString(3, TipoAlteracaoLancamento.CRIADO.name());
+			ps.setString(4, lancamento.getDescricao());
+			ps.setInt(5, lancamento.getPeriodo());
+			ps.setBigDecimal(6, lancamento.getValor());
+			ps.setString(7, lancamento.getTipo().name());
+			ps.setString(8, lancamento.getStatus().name());
+			ps.setDate(9, lancamento.getDataCadastro() == null ? null : Date.valueOf(lancamento.getDataCadastro()));
+			ps.setTimestamp(10, agora);
+		});
+	}
+
+	@Override
+	@Scheduled(initialDelayString = "${minhasfinancas.outbox.intervalo:PT1S}",
+			fixedDelayString = "${minhasfinancas.outbox.intervalo:PT1S}")
+	public long despachar() {
+		if(consumidores.isEmpty()) {
+			return 0;
+		}
+
+		int particoes = properties.getParticoes();
+		List<Future<Long>> despachos = new ArrayList<>(particoes);
+		for (int particao = 0; particao < particoes; particao++) {
+			int atual = particao;
+			despachos.add(executor.submit(() -> despacharParticao(particoes, atual)));
+		}
+
+		long concluidos = 0;
+		for (Future<Long> despacho : despachos) {
+			try {
+				concluidos += despacho.get();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException("Despacho do outbox interrompido.", e);
+			} catch (ExecutionException e) {
+				log.warn("Falha ao despachar uma partição do outbox", e.getCause());
+			}
+		}
+		atualizarAtraso();
+		return concluidos;
+	}
+
+	private long despacharParticao(int particoes, int particao) {
+		long concluidos = 0;
+		List<EventoOutbox> eventos;
+		do {
+			LocalDateTime agora = LocalDateTime.now();
+			eventos = transacao.execute(status -> reservar(particoes, particao, agora));
+			concluidos += entregar(eventos, agora);
+		} while (eventos.size() == properties.getTamanhoLote());
+		return concluidos;
+	}
+
+	/** Marca o lote como reservado; a alteração é confirmada junto com o fim da transação. */
+	private List<EventoOutbox> reservar(int particoes, int particao, LocalDateTime agora) {
+		List<EventoOutbox> eventos = repository.bloquearPendentes(particoes, particao, agora,
+				PageRequest.of(0, properties.getTamanhoLote()));
+		LocalDateTime reservadoAte = agora.plus(properties.getReserva());
+		eventos.forEach(evento -> evento.setProximaTentativa(reservadoAte));
+		return eventos;
+	}
+
+	/** Devolve quantos eventos foram entregues e apagados. */
+	private long entregar(List<EventoOutbox> eventos, LocalDateTime agora) {
+		Map<Long, List<EventoOutbox>> porUsuario = new LinkedHashMap<>();
+		for (EventoOutbox evento : eventos) {
+			porUsuario.computeIfAbsent(evento.getIdUsuario(), id -> new ArrayList<>()).add(evento);
+		}
+
+		long concluidos = 0;
+		for (Map.Entry<Long, List<EventoOutbox>> entrada : porUsuario.entrySet()) {
+			Long idUsuario = entrada.getKey();
+			List<EventoOutbox> doUsuario = entrada.getValue();
+			List<Long> ids = doUsuario.stream().map(EventoOutbox::getId).collect(Collectors.toList());
+			try {
+				// consumidor que participa da transação e falha desfaz também a exclusão dos eventos
+				transacao.executeWithoutResult(status -> {
+					for (ConsumidorOutbox consumidor : consumidores) {
+						consumidor.consumir(idUsuario, doUsuario);
+					}
+					repository.excluir(ids);
+				});
+			} catch (RuntimeException e) {
+				reter(doUsuario.get(0), ids, agora, e);
+				continue;
+			}
+			for (EventoOutbox evento : doUsuario) {
+				atrasoEntrega.record(Duration.between(evento.getDataHora(), LocalDateTime.now()));
+			}
+			entregues.increment(ids.size());
+			concluidos += ids.size();
+		}
+		return concluidos;
+	}
+
+	private void reter(EventoOutbox primeiro, List<Long> ids, LocalDateTime agora, RuntimeException causa) {
+		falhas.increment();
+		int tentativas = primeiro.getTentativas() + 1;
+		Duration espera = properties.getEsperaInicial().multipliedBy(1L << Math.min(tentativas - 1, 20));
+		if (espera.compareTo(properties.getEsperaMaxima()) > 0) {
+			espera = properties.getEsperaMaxima();
+		}
+		LocalDateTime proximaTentativa = agora.plus(espera);
+		transacao.executeWithoutResult(status -> {
+			repository.liberar(ids);
+			repository.reter(primeiro.getId(), tentativas, proximaTentativa);
+		});
+		log.warn("Falha ao entregar eventos do outbox do usuário {} (tentativa {}); nova tentativa em {}",
+				primeiro.getIdUsuario(), tentativas, espera, causa);
+	}
+
+	private void atualizarAtraso() {
+		ResumoOutbox resumo = repository.resumir();
+		pendentes.set(resumo.getPendentes());
+		long atraso = resumo.getMaisAntigo() == null ? 0
+				: Math.max(0, Duration.between(resumo.getMaisAntigo(), LocalDateTime.now()).toMillis());
+		atrasoMs.set(atraso);
+		if (atraso >= properties.getAtrasoAviso().toMillis()) {
+			log.warn("Outbox com {} eventos pendentes; o mais antigo está há {} s sem entrega.",
+					resumo.getPendentes(), TimeUnit.MILLISECONDS.toSeconds(atraso));
+		}
+	}
+
+	@Override
+	public void destroy() {
+		executor.shutdownNow();
+	}
+
+}
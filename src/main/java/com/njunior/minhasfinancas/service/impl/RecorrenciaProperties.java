@@ -0,0 +1,17 @@
+package com.njunior.minhasfinancas.service.impl;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "minhasfinancas.recorrencia")
+public class RecorrenciaProperties {
+
+	/** Partições de recorrências (por {@code id mod particoes}) geradas em paralelo. */
+	private int particoes = 4;
+
+	/** Recorrências bloqueadas e geradas por transação dentro de uma partição. */
+	private int tamanhoLote = 500;
+
+}
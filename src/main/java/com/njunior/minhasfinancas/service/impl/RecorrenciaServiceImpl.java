@@ -0,0 +1,303 @@
+package com.njunior.minhasfinancas.service.impl;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.njunior.minhasfinancas.model.entity.Lancamento;
+import com.njunior.minhasfinancas.model.entity.Recorrencia;
+import com.njunior.minhasfinancas.model.enums.StatusLancamento;
+import com.njunior.minhasfinancas.model.enums.TipoLacamento;
+import com.njunior.minhasfinancas.model.repository.LancamentoRepository;
+import com.njunior.minhasfinancas.model.repository.RecorrenciaRepository;
+import com.njunior.minhasfinancas.service.AnaliseService;
+import com.njunior.minhasfinancas.service.RecorrenciaService;
+import com.njunior.minhasfinancas.service.analise.ResumoMensal;
+import com.njunior.minhasfinancas.service.event.LancamentosGeradosEvent;
+import com.njunior.minhasfinancas.service.validacao.RegrasRecorrencia;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Gera as ocorrências vencidas das recorrências. As recorrências pendentes são divididas em
+ * partições por {@code id mod particoes}, processadas em paralelo e, dentro de cada partição,
+ * em lotes por id. Cada lote roda em uma transação que bloqueia as recorrências, insere os
+ * lançamentos em um único batch JDBC e avança a próxima ocorrência; como a condição de
+ * pendência é verificada de novo sob o bloqueio, execuções repetidas ou concorrentes não
+ * duplicam lançamentos (e a chave única de recorrência e parcela garante isso no banco).
+ */
+@Slf4j
+@Service
+@Lazy(false)
+@EnableConfigurationProperties(RecorrenciaProperties.class)
+public class RecorrenciaServiceImpl implements RecorrenciaService, DisposableBean {
+
+	static final String INSERT_LANCAMENTO =
+			"insert into financas.lancamento (descricao, periodo, id_usuario, valor, data_cadastro, tipo, status, "
+		  + "id_recorrencia, parcela) values (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+	private final RecorrenciaRepository repository;
+	private final LancamentoRepository lancamentoRepository;
+	private final AnaliseService analiseService;
+	private final JdbcTemplate jdbcTemplate;
+	private final ApplicationEventPublisher eventPublisher;
+	private final RecorrenciaProperties properties;
+	private final TransactionTemplate transacao;
+	private final ExecutorService executor;
+
+	public RecorrenciaServiceImpl(RecorrenciaRepository repository, LancamentoRepository lancamentoRepository,
+			AnaliseService analiseService, JdbcTemplate jdbcTemplate, ApplicationEventPublisher eventPublisher,
+			RecorrenciaProperties properties, PlatformTransactionManager transactionManager) {
+		this.repository = repository;
+		this.lancamentoRepository = lancamentoRepository;
+		this.analiseService = analiseService;
+		this.jdbcTemplate = jdbcTemplate;
+		this.eventPublisher = eventPublisher;
+		this.properties = properties;
+		this.transacao = new TransactionTemplate(transactionManager);
+		this.executor = Executors.newFixedThreadPool(properties.getParticoes(), r -> {
+			Thread thread = new Thread(r);
+			thread.setName("recorrencia-" + thread.getId());
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	@Override
+	@Transactional
+	public Recorrencia salvar(Recorrencia recorrencia) {
+		validar(recorrencia);
+		recorrencia.setProximaParcela(1);
+		recorrencia.setProximoPeriodo(recorrencia.getPeriodoInicial());
+		recorrencia.setAtiva(true);
+		recorrencia.setDataCadastro(LocalDate.now());
+		Recorrencia salva = repository.save(recorrencia);
+
+		gerar(Collections.singletonList(salva.getId()), periodo(YearMonth.now()));
+		return salva;
+	}
+
+	@Override
+	@Transactional
+	public void encerrar(Recorrencia recorrencia) {
+		recorrencia.setAtiva(false);
+		repository.save(recorrencia);
+	}
+
+	@Override
+	public Optional<Recorrencia> obterPorId(Long id) {
+		return repository.findById(id);
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public List<Recorrencia> buscarPorUsuario(Long idUsuario) {
+		return repository.findByIdUsuarioOrderById(idUsuario);
+	}
+
+	@Override
+	public void validar(Recorrencia recorrencia) {
+		RegrasRecorrencia.VALIDADOR.validarOuFalhar(recorrencia);
+	}
+
+	@Override
+	@Scheduled(initialDelayString = "${minhasfinancas.recorrencia.intervalo:PT1H}",
+			fixedDelayString = "${minhasfinancas.recorrencia.intervalo:PT1H}")
+	public long gerarPendentes() {
+		return gerarPendentes(YearMonth.now());
+	}
+
+	@Override
+	public long gerarPendentes(YearMonth ate) {
+		int periodo = periodo(ate);
+		int particoes = properties.getParticoes();
+
+		List<Future<Long>> geracoes = new ArrayList<>(particoes);
+		for (int particao = 0; particao < particoes; particao++) {
+			int atual = particao;
+			geracoes.add(executor.submit(() -> gerarParticao(periodo, particoes, atual)));
+		}
+
+		long gerados = 0;
+		for (Future<Long> geracao : geracoes) {
+			try {
+				gerados += geracao.get();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException("Geração de recorrências interrompida.", e);
+			} catch (ExecutionException e) {
+				log.warn("Falha ao gerar uma partição de recorrências", e.getCause());
+			}
+		}
+		return gerados;
+	}
+
+	private long gerarParticao(int periodo, int particoes, int particao) {
+		long gerados = 0;
+		long aposId = 0;
+		PageRequest pagina = PageRequest.of(0, properties.getTamanhoLote());
+		List<Long> ids;
+		do {
+			ids = repository.buscarPendentes(periodo, particoes, particao, aposId, pagina);
+			if (ids.isEmpty()) {
+				break;
+			}
+			aposId = ids.get(ids.size() - 1);
+
+			List<Long> lote = ids;
+			try {
+				gerados += transacao.execute(status -> gerar(lote, periodo));
+			} catch (RuntimeException e) {
+				log.warn("Falha ao gerar as recorrências {} a {}", lote.get(0), aposId, e);
+			}
+		} while (ids.size() == properties.getTamanhoLote());
+		return gerados;
+	}
+
+	/** Deve rodar dentro de uma transação. */
+	private long gerar(List<Long> ids, int periodo) {
+		List<Recorrencia> recorrencias = repository.bloquearPendentes(ids, periodo);
+		if (recorrencias.isEmpty()) {
+			return 0;
+		}
+
+		Date hoje = Date.valueOf(LocalDate.now());
+		List<Object[]> linhas = new ArrayList<>();
+		Set<String> geradas = new HashSet<>();
+		int menorParcela = Integer.MAX_VALUE;
+		for (Recorrencia recorrencia : recorrencias) {
+			menorParcela = Math.min(menorParcela, recorrencia.getProximaParcela());
+			while (recorrencia.isAtiva() && recorrencia.getProximoPeriodo() <= periodo) {
+				int parcela = recorrencia.getProximaParcela();
+				linhas.add(new Object[] { descricao(recorrencia, parcela), recorrencia.getProximoPeriodo(),
+						recorrencia.getIdUsuario(), recorrencia.getValor(), hoje, recorrencia.getTipo().getCodigo(),
+						StatusLancamento.PENDENTE.getCodigo(), recorrencia.getId(), parcela });
+				geradas.add(recorrencia.getId() + ":" + parcela);
+				recorrencia.avancar();
+			}
+		}
+		if (linhas.isEmpty()) {
+			return 0;
+		}
+
+		jdbcTemplate.batchUpdate(INSERT_LANCAMENTO, linhas, linhas.size(), (ps, linha) -> {
+			ps.setString(1, (String) linha[0]);
+			ps.setInt(2, (Integer) linha[1]);
+			ps.setLong(3, (Long) linha[2]);
+			ps.setBigDecimal(4, (BigDecimal) linha[3]);
+			ps.setDate(5, (Date) linha[4]);
+			ps.setByte(6, (Byte) linha[5]);
+			ps.setByte(7, (Byte) linha[6]);
+			ps.setLong(8, (Long) linha[7]);
+			ps.setInt(9, (Integer) linha[8]);
+		});
+		repository.saveAll(recorrencias);
+
+		List<Lancamento> lancamentos = lancamentoRepository
+				.buscarGerados(recorrencias.stream().map(Recorrencia::getId).collect(Collectors.toList()), menorParcela)
+				.stream()
+				.filter(l -> geradas.contains(l.getIdRecorrencia() + ":" + l.getParcela()))
+				.collect(Collectors.toList());
+		eventPublisher.publishEvent(new LancamentosGeradosEvent(lancamentos));
+		return linhas.size();
+	}
+
+	/**
+	 * Resumo mensal do mês atual até {@code ate}, somando ao que já está lançado as ocorrências
+	 * das recorrências ativas que ainda não foram geradas.
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public List<ResumoMensal> projetarSaldo(Long idUsuario, YearMonth ate) {
+		YearMonth de = YearMonth.now();
+		List<ResumoMensal> resumos = analiseService.obterResumoMensal(idUsuario, de, ate);
+
+		BigDecimal[] receitas = new BigDecimal[resumos.size()];
+		BigDecimal[] despesas = new BigDecimal[resumos.size()];
+		BigDecimal anteriores = BigDecimal.ZERO;
+		int periodoFinal = periodo(ate);
+		for (Recorrencia recorrencia : repository.findByIdUsuarioAndAtivaTrueOrderById(idUsuario)) {
+			for (int parcela = recorrencia.getProximaParcela(); recorrencia.incluiParcela(parcela); parcela++) {
+				int periodo = recorrencia.periodoDaParcela(parcela);
+				if (periodo > periodoFinal) {
+					break;
+				}
+
+				BigDecimal efeito = recorrencia.getTipo() == TipoLacamento.RECEITA
+						? recorrencia.getValor() : recorrencia.getValor().negate();
+				int indice = (int) de.until(YearMonth.of(periodo / 100, periodo % 100), ChronoUnit.MONTHS);
+				if (indice < 0) {
+					anteriores = anteriores.add(efeito);
+				} else if (efeito.signum() > 0) {
+					receitas[indice] = somar(receitas[indice], efeito);
+				} else {
+					despesas[indice] = somar(despesas[indice], efeito.negate());
+				}
+			}
+		}
+
+		List<ResumoMensal> projecao = new ArrayList<>(resumos.size());
+		BigDecimal acumulado = anteriores;
+		for (int i = 0; i < resumos.size(); i++) {
+			ResumoMensal resumo = resumos.get(i);
+			BigDecimal receita = somar(receitas[i], resumo.getReceitas());
+			BigDecimal despesa = somar(despesas[i], resumo.getDespesas());
+			BigDecimal saldo = receita.subtract(despesa);
+			acumulado = acumulado.add(saldo.subtract(resumo.getSaldo()));
+			projecao.add(ResumoMensal.builder()
+					.periodo(resumo.getPeriodo())
+					.receitas(receita)
+					.despesas(despesa)
+					.saldo(saldo)
+					.saldoAcumulado(resumo.getSaldoAcumulado().add(acumulado))
+					.build());
+		}
+		return projecao;
+	}
+
+	@Override
+	public void destroy() {
+		executor.shutdownNow();
+	}
+
+	private static String descricao(Recorrencia recorrencia, int parcela) {
+		if (recorrencia.getParcelas() == null) {
+			return recorrencia.getDescricao();
+		}
+		return recorrencia.getDescricao() + " (" + parcela + "/" + recorrencia.getParcelas() + ")";
+	}
+
+	private static int periodo(YearMonth mes) {
+		return Lancamento.periodo(mes.getYear(), mes.getMonthValue());
+	}
+
+	private static BigDecimal somar(BigDecimal total, BigDecimal valor) {
+		return total == null ? valor : total.add(valor);
+	}
+
+}
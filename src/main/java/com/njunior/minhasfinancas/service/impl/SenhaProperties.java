@@ -0,0 +1,25 @@
+package com.njunior.minhasfinancas.service.impl;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "minhasfinancas.senha")
+public class SenhaProperties {
+
+	/** Fator de custo do BCrypt (4 a 31); cada unidade dobra o tempo de cálculo. */
+	private int custo = 10;
+
+	/** Threads que calculam hashes; 0 usa o número de processadores. */
+	private int threads = 0;
+
+	/** Cálculos aguardando thread; com a fila cheia a autenticação é recusada. */
+	private int capacidadeFila = 64;
+
+	/** Tempo máximo que um cálculo espera na fila; depois disso é descartado e a autenticação recusada. */
+	private Duration esperaMaxima = Duration.ofSeconds(5);
+
+}
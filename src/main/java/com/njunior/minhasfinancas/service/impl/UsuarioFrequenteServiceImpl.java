@@ -0,0 +1,101 @@
+package com.njunior.minhasfinancas.service.impl;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.njunior.minhasfinancas.model.entity.UsuarioFrequente;
+import com.njunior.minhasfinancas.model.repository.UsuarioFrequenteRepository;
+import com.njunior.minhasfinancas.service.UsuarioFrequenteService;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Service
+public class UsuarioFrequenteServiceImpl implements UsuarioFrequenteService, DisposableBean {
+
+	/** Usuários distintos contados entre duas gravações; acima disso novos usuários são ignorados. */
+	static final int MAXIMO_CONTADOS = 10_000;
+
+	private final UsuarioFrequenteRepository repository;
+	private final TransactionTemplate transacao;
+	private final Map<Long, LongAdder> contagens = new ConcurrentHashMap<>();
+
+	public UsuarioFrequenteServiceImpl(UsuarioFrequenteRepository repository, PlatformTransactionManager transactionManager) {
+		this.repository = repository;
+		this.transacao = new TransactionTemplate(transactionManager);
+	}
+
+	@Override
+	public void registrarAcesso(Long idUsuario) {
+		LongAdder contagem = contagens.get(idUsuario);
+		if (contagem == null) {
+			if (contagens.size() >= MAXIMO_CONTADOS) {
+				return;
+			}
+			contagem = contagens.computeIfAbsent(idUsuario, id -> new LongAdder());
+		}
+		contagem.increment();
+	}
+
+	@Override
+	@Scheduled(initialDelayString = "${minhasfinancas.aquecimento.intervalo-registro:PT5M}",
+			fixedDelayString = "${minhasfinancas.aquecimento.intervalo-registro:PT5M}")
+	public void persistirAcessos() {
+		Map<Long, Long> periodo = new HashMap<>();
+		contagens.forEach((idUsuario, contagem) -> {
+			long acessos = contagem.sumThenReset();
+			if (acessos > 0) {
+				periodo.put(idUsuario, acessos);
+			}
+		});
+		contagens.keySet().removeIf(id -> !periodo.containsKey(id));
+
+		LocalDateTime agora = LocalDateTime.now();
+		transacao.executeWithoutResult(status -> {
+			repository.reduzirAcessos();
+			List<UsuarioFrequente> existentes = repository.findAllById(periodo.keySet());
+			for (UsuarioFrequente existente : existentes) {
+				existente.setAcessos(existente.getAcessos() + periodo.remove(existente.getIdUsuario()));
+				existente.setDataAtualizacao(agora);
+			}
+			periodo.forEach((idUsuario, acessos) -> repository.save(UsuarioFrequente.builder()
+					.idUsuario(idUsuario)
+					.acessos(acessos)
+					.dataAtualizacao(agora)
+					.build()));
+			repository.flush();
+			repository.excluirInativos();
+		});
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public List<Long> obterMaisAtivos(int quantidade) {
+		return repository.buscarMaisAtivos(PageRequest.of(0, quantidade));
+	}
+
+	@Override
+	public void destroy() {
+		if (contagens.isEmpty()) {
+			return;
+		}
+		try {
+			persistirAcessos();
+		} catch (RuntimeException e) {
+			log.warn("Não foi possível gravar os acessos por usuário no encerramento", e);
+		}
+	}
+
+}
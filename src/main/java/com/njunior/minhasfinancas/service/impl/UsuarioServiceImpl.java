@@ -1,47 +1,107 @@
 package com.njunior.minhasfinancas.service.impl;
 
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
+import com.njunior.minhasfinancas.config.ExecutorBanco;
 import com.njunior.minhasfinancas.exception.ErroAutenticacao;
 import com.njunior.minhasfinancas.exception.RegraNegocioExcepction;
 import com.njunior.minhasfinancas.model.entity.Usuario;
 import com.njunior.minhasfinancas.model.repository.UsuarioRepository;
 import com.njunior.minhasfinancas.service.UsuarioService;
+import com.njunior.minhasfinancas.service.validacao.RegrasUsuario;
+import com.njunior.minhasfinancas.service.validacao.ResultadoValidacao;
 
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
 @Service
 public class UsuarioServiceImpl implements UsuarioService {
 	
 	private UsuarioRepository repository;
+	private VerificadorSenhas verificadorSenhas;
+	private ExecutorBanco executorBanco;
 	
 	@Autowired
-	public UsuarioServiceImpl(UsuarioRepository repository) {
+	public UsuarioServiceImpl(UsuarioRepository repository, VerificadorSenhas verificadorSenhas, ExecutorBanco executorBanco) {
 		super();
 		this.repository = repository;
+		this.verificadorSenhas = verificadorSenhas;
+		this.executorBanco = executorBanco;
 	}
 
 	@Override
-	public Usuario autenticar(String email, String senha) {
+	public CompletableFuture<Usuario> autenticar(String email, String senha) {
 		Optional<Usuario> usuario = repository.findByEmail(email);
 		if(!usuario.isPresent()) {
 			throw new ErroAutenticacao("Usuario não encontrado para o email informado.");
 		}
 		
-		if(!usuario.get().getSenha().equals(senha)) {
-			throw new ErroAutenticacao("Senha Inválida.");
+		return verificadorSenhas.conferir(senha, usuario.get().getSenha()).thenApply(confere -> {
+			if(!confere) {
+				throw new ErroAutenticacao("Senha Inválida.");
+			}
+			atualizarSenha(usuario.get(), senha);
+			return usuario.get();
+		});
+	}
+	
+	/**
+	 * Regrava com o hash atual a senha que ainda está em texto puro ou com custo menor que
+	 * o configurado, sem atrasar a autenticação. Uma falha aqui não impede o login; a troca
+	 * fica para o próximo. A gravação roda no executor de banco, não no pool do BCrypt.
+	 */
+	private void atualizarSenha(Usuario usuario, String senha) {
+		if(!verificadorSenhas.precisaAtualizar(usuario.getSenha())) {
+			return;
 		}
-		return usuario.get();
+		verificadorSenhas.codificar(senha)
+			.thenAcceptAsync(hash -> repository.atualizarSenha(usuario.getId(), hash), executorBanco)
+			.exceptionally(e -> {
+				log.warn("Não foi possível atualizar o hash da senha do usuário {}", usuario.getId(), e);
+				return null;
+			});
 	}
 
+	/**
+	 * Sem transação própria e com o hash calculado antes de qualquer consulta: com o
+	 * EntityManager aberto na requisição, a conexão usada por {@code validarEmail} ficaria
+	 * presa enquanto espera o BCrypt.
+	 */
 	@Override
-	@Transactional
 	public Usuario salvarUsuario(Usuario usuario) {
+		String hash = aguardar(verificadorSenhas.codificar(usuario.getSenha()));
 		validarEmail(usuario.getEmail());
+		usuario.setSenha(hash);
 		return repository.save(usuario);
 	}
+	
+	private static <T> T aguardar(CompletableFuture<T> futuro) {
+		try {
+			return futuro.join();
+		} catch (CompletionException e) {
+			if(e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw e;
+		}
+	}
+
+	@Override
+	public void validar(Usuario usuario) {
+		RegrasUsuario.VALIDADOR.validarOuFalhar(usuario);
+	}
+
+	@Override
+	public Map<Integer, ResultadoValidacao> validarLote(List<Usuario> usuarios) {
+		return RegrasUsuario.VALIDADOR.validarLote(usuarios);
+	}
 
 	@Override
 	public void validarEmail(String email) {
@@ -0,0 +1,153 @@
+package com.njunior.minhasfinancas.service.impl;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import com.njunior.minhasfinancas.exception.ErroSobrecarga;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Calcula e confere hashes BCrypt de senhas num pool próprio, limitado ao número de
+ * processadores e com fila fixa, para que uma onda de logins não ocupe as threads que
+ * atendem as requisições. Os resultados são devolvidos como {@link CompletableFuture},
+ * sem bloquear quem chama. Com a fila cheia, ou se o cálculo esperar na fila mais que
+ * {@code esperaMaxima}, o futuro falha com {@link ErroSobrecarga}.
+ *
+ * <p>Senhas gravadas antes do hash, em texto puro, ainda são aceitas; quem chama deve
+ * regravá-las com {@link #codificar(String)} quando {@link #precisaAtualizar(String)}.
+ */
+@Component
+@EnableConfigurationProperties(SenhaProperties.class)
+public class VerificadorSenhas implements DisposableBean {
+
+	static final String SOBRECARGA = "Muitas autenticações em andamento. Tente novamente em instantes.";
+
+	private static final Pattern BCRYPT = Pattern.compile("^\\$2[aby]?\\$\\d\\d\\$[./0-9A-Za-z]{53}$");
+
+	private final BCryptPasswordEncoder encoder;
+	private final ThreadPoolExecutor executor;
+	private final long esperaMaxima;
+
+	private final Timer verificacoes;
+	private final Timer codificacoes;
+	private final Counter filaCheia;
+	private final Counter tempoEsgotado;
+	private final Counter senhasInvalidas;
+
+	public VerificadorSenhas(SenhaProperties properties, ObjectProvider<MeterRegistry> registros) {
+		this.encoder = new BCryptPasswordEncoder(properties.getCusto());
+		this.esperaMaxima = properties.getEsperaMaxima().toNanos();
+
+		int threads = properties.getThreads() > 0 ? properties.getThreads() : Runtime.getRuntime().availableProcessors();
+		AtomicInteger sequencia = new AtomicInteger();
+		this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(properties.getCapacidadeFila()), r -> {
+					Thread thread = new Thread(r);
+					thread.setName("verificador-senhas-" + sequencia.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				});
+
+		MeterRegistry registro = registros.getIfAvailable(SimpleMeterRegistry::new);
+		this.verificacoes = Timer.builder("minhasfinancas.senha.hash")
+				.description("Tempo de cálculo dos hashes de senha")
+				.tag("operacao", "verificar")
+				.register(registro);
+		this.codificacoes = Timer.builder("minhasfinancas.senha.hash")
+				.description("Tempo de cálculo dos hashes de senha")
+				.tag("operacao", "codificar")
+				.register(registro);
+		this.filaCheia = rejeicoes(registro, "fila-cheia");
+		this.tempoEsgotado = rejeicoes(registro, "tempo-esgotado");
+		this.senhasInvalidas = rejeicoes(registro, "senha-invalida");
+		Gauge.builder("minhasfinancas.senha.fila", executor, e -> e.getQueue().size())
+				.description("Cálculos de hash aguardando thread")
+				.register(registro);
+	}
+
+	private static Counter rejeicoes(MeterRegistry registro, String motivo) {
+		return Counter.builder("minhasfinancas.senha.rejeicoes")
+				.description("Autenticações recusadas")
+				.tag("motivo", motivo)
+				.register(registro);
+	}
+
+	public CompletableFuture<Boolean> conferir(String senha, String armazenada) {
+		if (senha == null || armazenada == null) {
+			senhasInvalidas.increment();
+			return CompletableFuture.completedFuture(false);
+		}
+		CompletableFuture<Boolean> confere = ehHash(armazenada)
+				? executar(verificacoes, () -> encoder.matches(senha, armazenada))
+				: CompletableFuture.completedFuture(MessageDigest.isEqual(
+						senha.getBytes(StandardCharsets.UTF_8), armazenada.getBytes(StandardCharsets.UTF_8)));
+		return confere.thenApply(resultado -> {
+			if (!resultado) {
+				senhasInvalidas.increment();
+			}
+			return resultado;
+		});
+	}
+
+	public CompletableFuture<String> codificar(String senha) {
+		return senha == null ? CompletableFuture.completedFuture(null) : executar(codificacoes, () -> encoder.encode(senha));
+	}
+
+	/** Senha em texto puro ou com custo menor que o configurado. */
+	public boolean precisaAtualizar(String armazenada) {
+		return armazenada != null && (!ehHash(armazenada) || encoder.upgradeEncoding(armazenada));
+	}
+
+	static boolean ehHash(String armazenada) {
+		return BCRYPT.matcher(armazenada).matches();
+	}
+
+	private <T> CompletableFuture<T> executar(Timer timer, Supplier<T> calculo) {
+		CompletableFuture<T> resultado = new CompletableFuture<>();
+		long enfileirado = System.nanoTime();
+		try {
+			executor.execute(() -> {
+				if (System.nanoTime() - enfileirado > esperaMaxima) {
+					// quem pediu provavelmente já desistiu; não vale gastar o hash
+					tempoEsgotado.increment();
+					resultado.completeExceptionally(new ErroSobrecarga(SOBRECARGA));
+					return;
+				}
+				try {
+					resultado.complete(timer.record(calculo));
+				} catch (RuntimeException e) {
+					resultado.completeExceptionally(e);
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			filaCheia.increment();
+			resultado.completeExceptionally(new ErroSobrecarga(SOBRECARGA));
+		}
+		return resultado;
+	}
+
+	@Override
+	public void destroy() {
+		executor.shutdownNow();
+	}
+
+}
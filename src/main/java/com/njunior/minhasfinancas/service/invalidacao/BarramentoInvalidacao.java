@@ -0,0 +1,12 @@
+package com.njunior.minhasfinancas.service.invalidacao;
+
+import java.util.Collection;
+
+/**
+ * Difunde para as demais instâncias os usuários cujos dados mudaram, depois do commit.
+ * Cada instância entrega o que recebe aos seus {@link OuvinteInvalidacao}.
+ */
+public interface BarramentoInvalidacao {
+
+	void publicar(Collection<Long> idsUsuarios);
+}
@@ -0,0 +1,73 @@
+package com.njunior.minhasfinancas.service.invalidacao;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Acompanha a sequência de mensagens de cada instância de origem. Uma sequência que chega
+ * fora de ordem abre uma lacuna; se as que faltam não chegarem dentro da tolerância, a
+ * lacuna é fechada e contada como perda, e quem chamou deve invalidar tudo.
+ *
+ * <p>Não é thread-safe: é usado apenas pela thread que lê o barramento.
+ */
+public class ControleSequencias {
+
+	private final long toleranciaNanos;
+	private final Map<String, Origem> origens = new HashMap<>();
+
+	public ControleSequencias(long toleranciaNanos) {
+		this.toleranciaNanos = toleranciaNanos;
+	}
+
+	/**
+	 * Devolve {@code false} para uma sequência já vista. A primeira sequência de uma origem
+	 * desconhecida é o ponto de partida dela.
+	 */
+	public boolean registrar(String origem, long sequencia, long agora) {
+		Origem estado = origens.computeIfAbsent(origem, o -> new Origem(sequencia - 1));
+		if (sequencia <= estado.contigua || !estado.adiantadas.add(sequencia)) {
+			return false;
+		}
+		while (!estado.adiantadas.isEmpty() && estado.adiantadas.first() == estado.contigua + 1) {
+			estado.contigua = estado.adiantadas.pollFirst();
+		}
+		if (estado.adiantadas.isEmpty()) {
+			estado.prazo = 0;
+		} else if (estado.prazo == 0) {
+			estado.prazo = agora + toleranciaNanos;
+		}
+		return true;
+	}
+
+	/** Fecha as lacunas vencidas e devolve quantas mensagens foram dadas como perdidas. */
+	public long expirarLacunas(long agora) {
+		long perdidas = 0;
+		for (Origem estado : origens.values()) {
+			if (estado.prazo != 0 && agora - estado.prazo >= 0) {
+				long ultima = estado.adiantadas.last();
+				perdidas += ultima - estado.contigua - estado.adiantadas.size();
+				estado.contigua = ultima;
+				estado.adiantadas.clear();
+				estado.prazo = 0;
+			}
+		}
+		return perdidas;
+	}
+
+	public boolean temLacunas() {
+		return origens.values().stream().anyMatch(estado -> estado.prazo != 0);
+	}
+
+	private static class Origem {
+
+		long contigua;
+		final TreeSet<Long> adiantadas = new TreeSet<>();
+		long prazo;
+
+		Origem(long contigua) {
+			this.contigua = contigua;
+		}
+	}
+
+}
@@ -0,0 +1,12 @@
+package com.njunior.minhasfinancas.service.invalidacao;
+
+/**
+ * Cache em memória que precisa descartar dados de um usuário alterados por outra instância.
+ */
+public interface OuvinteInvalidacao {
+
+	void invalidar(Long idUsuario);
+
+	/** Chamado quando mensagens se perderam e não se sabe quais usuários foram alterados. */
+	void invalidarTodos();
+}
@@ -0,0 +1,13 @@
+package com.njunior.minhasfinancas.service.lote;
+
+public enum ModoLote {
+
+	/** Uma transação para o lote inteiro; a primeira operação que falha desfaz todas. */
+	TUDO_OU_NADA,
+
+	/**
+	 * Cada operação roda sob um savepoint; a que falha é desfeita sozinha e as demais são
+	 * confirmadas. Uma falha do banco ao gravar ainda desfaz o lote, pois invalida a sessão JPA.
+	 */
+	POR_OPERACAO
+}
@@ -0,0 +1,33 @@
+package com.njunior.minhasfinancas.service.lote;
+
+import java.math.BigDecimal;
+
+import com.njunior.minhasfinancas.model.enums.StatusLancamento;
+import com.njunior.minhasfinancas.model.enums.TipoLacamento;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Uma operação sobre lançamentos dentro de um lote. Na atualização, o usuário omitido é
+ * mantido; na troca de status só o {@code status} é usado.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OperacaoLote {
+
+	private TipoOperacaoLote operacao;
+	private Long id;
+	private Long idUsuario;
+	private String descricao;
+	private Integer mes;
+	private Integer ano;
+	private BigDecimal valor;
+	private TipoLacamento tipo;
+	private StatusLancamento status;
+
+}
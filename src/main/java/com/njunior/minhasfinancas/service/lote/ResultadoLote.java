@@ -0,0 +1,26 @@
+package com.njunior.minhasfinancas.service.lote;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class ResultadoLote {
+
+	/** Se a transação do lote foi confirmada; falso quando nada foi gravado. */
+	private boolean confirmado;
+	private List<ResultadoOperacao> resultados;
+
+	public static ResultadoLote confirmado(List<ResultadoOperacao> resultados) {
+		return new ResultadoLote(true, resultados);
+	}
+
+	/** As operações concluídas passam a desfeitas. */
+	public static ResultadoLote desfeito(List<ResultadoOperacao> resultados) {
+		return new ResultadoLote(false, resultados.stream().map(ResultadoOperacao::desfeita).collect(Collectors.toList()));
+	}
+
+}
@@ -0,0 +1,45 @@
+package com.njunior.minhasfinancas.service.lote;
+
+import com.njunior.minhasfinancas.model.entity.Lancamento;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class ResultadoOperacao {
+
+	public enum Situacao {
+		CONCLUIDA,
+		FALHOU,
+		/** Executada, mas desfeita junto com o lote. */
+		DESFEITA,
+		NAO_EXECUTADA
+	}
+
+	private int indice;
+	private Situacao situacao;
+	private Lancamento lancamento;
+	private String erro;
+
+	public static ResultadoOperacao concluida(int indice, Lancamento lancamento) {
+		return new ResultadoOperacao(indice, Situacao.CONCLUIDA, lancamento, null);
+	}
+
+	public static ResultadoOperacao falhou(int indice, String erro) {
+		return new ResultadoOperacao(indice, Situacao.FALHOU, null, erro);
+	}
+
+	public static ResultadoOperacao naoExecutada(int indice) {
+		return new ResultadoOperacao(indice, Situacao.NAO_EXECUTADA, null, null);
+	}
+
+	public boolean isConcluida() {
+		return situacao == Situacao.CONCLUIDA;
+	}
+
+	ResultadoOperacao desfeita() {
+		return isConcluida() ? new ResultadoOperacao(indice, Situacao.DESFEITA, null, null) : this;
+	}
+
+}
@@ -0,0 +1,9 @@
+package com.njunior.minhasfinancas.service.lote;
+
+public enum TipoOperacaoLote {
+
+	CRIAR,
+	ATUALIZAR,
+	ATUALIZAR_STATUS,
+	EXCLUIR
+}
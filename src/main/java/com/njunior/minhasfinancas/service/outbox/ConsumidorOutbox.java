@@ -0,0 +1,22 @@
+package com.njunior.minhasfinancas.service.outbox;
+
+import java.util.List;
+
+import com.njunior.minhasfinancas.model.entity.EventoOutbox;
+
+/**
+ * Dado derivado mantido de forma assíncrona a partir das alterações de lançamentos. Cada
+ * chamada recebe eventos de um único usuário, na ordem em que foram gravados.
+ * 
+ * <p>A entrega é pelo menos uma vez: se algum consumidor falhar, todos os eventos da chamada
+ * são entregues de novo, inclusive aos consumidores que já os tinham processado. Por isso o
+ * processamento deve ser idempotente.
+ * 
+ * <p>A chamada roda na transação que apaga os eventos entregues; um consumidor transacional
+ * que participa dela e falha também desfaz a exclusão.
+ */
+public interface ConsumidorOutbox {
+
+	void consumir(Long idUsuario, List<EventoOutbox> eventos);
+
+}
@@ -0,0 +1,29 @@
+package com.njunior.minhasfinancas.service.validacao;
+
+import java.util.function.Predicate;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Condição que o alvo precisa atender e a mensagem usada quando não atende. A condição
+ * não deve alocar nem ter efeitos colaterais.
+ */
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public final class Regra<T> {
+
+	private final Predicate<? super T> condicao;
+	
+	@Getter
+	private final String mensagem;
+	
+	public static <T> Regra<T> de(String mensagem, Predicate<? super T> condicao) {
+		return new Regra<>(condicao, mensagem);
+	}
+	
+	public boolean atende(T alvo) {
+		return condicao.test(alvo);
+	}
+
+}
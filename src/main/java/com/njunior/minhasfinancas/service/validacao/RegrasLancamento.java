@@ -0,0 +1,26 @@
+package com.njunior.minhasfinancas.service.validacao;
+
+import java.math.BigDecimal;
+
+import com.njunior.minhasfinancas.model.entity.Lancamento;
+
+public final class RegrasLancamento {
+
+	public static final Validador<Lancamento> VALIDADOR = Validador.de(
+			Regra.de("Informe uma Descrição válida.", 
+					l -> !Textos.estaEmBranco(l.getDescricao())),
+			Regra.de("Informe um Mês válido.", 
+					l -> l.getMes() != null && l.getMes() >= 1 && l.getMes() <= 12),
+			Regra.de("Informe um Ano válido.", 
+					l -> l.getAno() != null && l.getAno() >= 1000 && l.getAno() <= 9999),
+			Regra.de("Informe um Usuário.", 
+					l -> l.getUsuario() != null && l.getUsuario().getId() != null),
+			Regra.de("Informe um Valor válido.", 
+					l -> l.getValor() != null && l.getValor().compareTo(BigDecimal.ZERO) > 0),
+			Regra.de("Informe um Tipo de Lançamento.", 
+					l -> l.getTipo() != null));
+
+	private RegrasLancamento() {
+	}
+
+}
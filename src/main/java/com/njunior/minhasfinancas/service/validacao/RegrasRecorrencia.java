@@ -0,0 +1,36 @@
+package com.njunior.minhasfinancas.service.validacao;
+
+import java.math.BigDecimal;
+
+import com.njunior.minhasfinancas.model.entity.Recorrencia;
+
+public final class RegrasRecorrencia {
+
+	public static final Validador<Recorrencia> VALIDADOR = Validador.de(
+			Regra.de("Informe uma Descrição válida.", 
+					r -> !Textos.estaEmBranco(r.getDescricao())),
+			Regra.de("Informe um Usuário.", 
+					r -> r.getIdUsuario() != null),
+			Regra.de("Informe um Valor válido.", 
+					r -> r.getValor() != null && r.getValor().compareTo(BigDecimal.ZERO) > 0),
+			Regra.de("Informe um Tipo de Lançamento.", 
+					r -> r.getTipo() != null),
+			Regra.de("Informe um Mês inicial válido.", 
+					r -> r.getPeriodoInicial() != null && periodoValido(r.getPeriodoInicial())),
+			Regra.de("Informe um número de Parcelas válido.", 
+					r -> r.getParcelas() == null || r.getParcelas() >= 1),
+			Regra.de("O mês final deve ser posterior ou igual ao inicial.", 
+					r -> r.getPeriodoFinal() == null 
+						|| (periodoValido(r.getPeriodoFinal()) && r.getPeriodoInicial() != null 
+							&& r.getPeriodoFinal() >= r.getPeriodoInicial())));
+
+	private RegrasRecorrencia() {
+	}
+	
+	private static boolean periodoValido(int periodo) {
+		int ano = periodo / 100;
+		int mes = periodo % 100;
+		return ano >= 1000 && ano <= 9999 && mes >= 1 && mes <= 12;
+	}
+
+}
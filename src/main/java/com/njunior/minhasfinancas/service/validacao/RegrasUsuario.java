@@ -0,0 +1,18 @@
+package com.njunior.minhasfinancas.service.validacao;
+
+import com.njunior.minhasfinancas.model.entity.Usuario;
+
+public final class RegrasUsuario {
+
+	public static final Validador<Usuario> VALIDADOR = Validador.de(
+			Regra.de("Informe um Nome válido.", 
+					u -> !Textos.estaEmBranco(u.getNome())),
+			Regra.de("Informe um Email válido.", 
+					u -> Textos.pareceEmail(u.getEmail())),
+			Regra.de("Informe uma Senha válida.", 
+					u -> !Textos.estaEmBranco(u.getSenha())));
+
+	private RegrasUsuario() {
+	}
+
+}
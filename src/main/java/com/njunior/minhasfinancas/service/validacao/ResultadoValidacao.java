@@ -0,0 +1,58 @@
+package com.njunior.minhasfinancas.service.validacao;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Violações encontradas em uma validação, na ordem das regras. A capacidade é o número de
+ * regras do validador, então o mesmo objeto pode ser reaproveitado sem crescer.
+ */
+public final class ResultadoValidacao {
+
+	private final String[] mensagens;
+	private int quantidade;
+
+	ResultadoValidacao(int capacidade) {
+		this.mensagens = new String[capacidade];
+	}
+
+	void limpar() {
+		quantidade = 0;
+	}
+
+	void adicionar(String mensagem) {
+		mensagens[quantidade++] = mensagem;
+	}
+
+	public boolean isValido() {
+		return quantidade == 0;
+	}
+
+	public int getQuantidade() {
+		return quantidade;
+	}
+
+	public String getMensagem(int indice) {
+		if (indice >= quantidade) {
+			throw new IndexOutOfBoundsException("Violação " + indice + " de " + quantidade);
+		}
+		return mensagens[indice];
+	}
+
+	public List<String> getMensagens() {
+		return Arrays.asList(Arrays.copyOf(mensagens, quantidade));
+	}
+
+	public ResultadoValidacao copia() {
+		ResultadoValidacao copia = new ResultadoValidacao(mensagens.length);
+		System.arraycopy(mensagens, 0, copia.mensagens, 0, quantidade);
+		copia.quantidade = quantidade;
+		return copia;
+	}
+
+	@Override
+	public String toString() {
+		return getMensagens().toString();
+	}
+
+}
@@ -0,0 +1,29 @@
+package com.njunior.minhasfinancas.service.validacao;
+
+/** Verificações de texto sem criar strings intermediárias (ao contrário de {@code trim()}). */
+final class Textos {
+
+	private Textos() {
+	}
+
+	static boolean estaEmBranco(String texto) {
+		if (texto == null) {
+			return true;
+		}
+		for (int i = 0; i < texto.length(); i++) {
+			if (texto.charAt(i) > ' ') {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	static boolean pareceEmail(String email) {
+		if (estaEmBranco(email)) {
+			return false;
+		}
+		int arroba = email.indexOf('@');
+		return arroba > 0 && arroba < email.length() - 1 && email.indexOf('@', arroba + 1) < 0;
+	}
+
+}
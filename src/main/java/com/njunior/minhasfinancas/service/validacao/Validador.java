@@ -0,0 +1,80 @@
+package com.njunior.minhasfinancas.service.validacao;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.IntStream;
+
+import com.njunior.minhasfinancas.exception.RegraNegocioExcepction;
+
+/**
+ * Conjunto imutável de regras montado uma única vez. Validar um alvo válido não aloca:
+ * as regras são percorridas em um array e as violações vão para um
+ * {@link ResultadoValidacao} reaproveitável.
+ */
+public final class Validador<T> {
+
+	/** Abaixo disso o custo de dividir o lote entre threads supera o da validação. */
+	static final int LIMIAR_PARALELO = 512;
+
+	private final Regra<T>[] regras;
+	private final ThreadLocal<ResultadoValidacao> resultadoDaThread;
+
+	private Validador(Regra<T>[] regras) {
+		this.regras = regras;
+		this.resultadoDaThread = ThreadLocal.withInitial(this::novoResultado);
+	}
+
+	@SafeVarargs
+	public static <T> Validador<T> de(Regra<T>... regras) {
+		return new Validador<>(regras.clone());
+	}
+
+	public ResultadoValidacao novoResultado() {
+		return new ResultadoValidacao(regras.length);
+	}
+
+	/** Aplica todas as regras, substituindo o conteúdo de {@code resultado}. */
+	public ResultadoValidacao validar(T alvo, ResultadoValidacao resultado) {
+		resultado.limpar();
+		for (int i = 0; i < regras.length; i++) {
+			if (!regras[i].atende(alvo)) {
+				resultado.adicionar(regras[i].getMensagem());
+			}
+		}
+		return resultado;
+	}
+
+	public ResultadoValidacao validar(T alvo) {
+		return validar(alvo, novoResultado());
+	}
+
+	/** Para na primeira regra violada, lançando sua mensagem. */
+	public void validarOuFalhar(T alvo) {
+		for (int i = 0; i < regras.length; i++) {
+			if (!regras[i].atende(alvo)) {
+				throw new RegraNegocioExcepction(regras[i].getMensagem());
+			}
+		}
+	}
+
+	/**
+	 * Valida um lote, em paralelo quando grande, e devolve apenas as entradas inválidas
+	 * indexadas pela posição no lote. Entradas válidas não geram alocação.
+	 */
+	public Map<Integer, ResultadoValidacao> validarLote(List<? extends T> alvos) {
+		Map<Integer, ResultadoValidacao> invalidos = new ConcurrentSkipListMap<>();
+		IntStream indices = IntStream.range(0, alvos.size());
+		if (alvos.size() >= LIMIAR_PARALELO) {
+			indices = indices.parallel();
+		}
+		indices.forEach(i -> {
+			ResultadoValidacao resultado = validar(alvos.get(i), resultadoDaThread.get());
+			if (!resultado.isValido()) {
+				invalidos.put(i, resultado.copia());
+			}
+		});
+		return invalidos;
+	}
+
+}
@@ -0,0 +1,56 @@
+package com.njunior.minhasfinancas;
+
+import java.util.concurrent.TimeUnit;
+
+import org.assertj.core.api.Assertions;
+import org.junit.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.web.client.DefaultResponseErrorHandler;
+import org.springframework.web.client.RestTemplate;
+
+import com.njunior.minhasfinancas.api.dto.UsuarioDTO;
+import com.njunior.minhasfinancas.config.MedidorInicializacao;
+
+/**
+ * Sobe a aplicação com o perfil de produção sobre o banco embarcado e registra o tempo
+ * até a primeira requisição atendida.
+ */
+public class InicializacaoBenchmarkTest {
+	
+	@Test
+	public void deveRegistrarOTempoAtePrimeiraRequisicao() {
+		long inicio = System.nanoTime();
+		
+		try (ConfigurableApplicationContext contexto = new SpringApplicationBuilder(MinhasFinancasApplication.class)
+				.profiles("embarcado", "producao")
+				.properties("server.port=0", "minhasfinancas.token.chaves.teste=MDEyMzQ1Njc4OWFiY2RlZjAxMjM0NTY3ODlhYmNkZWY=")
+				// em produção o esquema já existe; no banco embarcado é criado na subida
+				.run("--spring.jpa.hibernate.ddl-auto=create-drop")) {
+			long pronta = System.nanoTime();
+			
+			int porta = ((WebServerApplicationContext) contexto).getWebServer().getPort();
+			RestTemplate rest = new RestTemplate();
+			rest.setErrorHandler(new DefaultResponseErrorHandler() {
+				@Override
+				public boolean hasError(ClientHttpResponse response) {
+					return false;
+				}
+			});
+			UsuarioDTO usuario = UsuarioDTO.builder().nome("usuario").email("inicializacao@email.com").senha("senha").build();
+			ResponseEntity<String> resposta = rest.postForEntity("http://localhost:" + porta + "/api/usuarios", usuario, String.class);
+			long primeiraRequisicao = System.nanoTime();
+			
+			System.out.printf("Inicialização: pronta em %d ms, primeira requisição em %d ms%n",
+					TimeUnit.NANOSECONDS.toMillis(pronta - inicio),
+					TimeUnit.NANOSECONDS.toMillis(primeiraRequisicao - inicio));
+			
+			Assertions.assertThat(resposta.getStatusCode().is2xxSuccessful()).as(resposta.toString()).isTrue();
+			Assertions.assertThat(contexto.getBean(MedidorInicializacao.class).getTempoAtePrimeiraRequisicao()).isPositive();
+		}
+	}
+
+}
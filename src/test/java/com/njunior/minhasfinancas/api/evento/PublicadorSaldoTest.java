@@ -0,0 +1,140 @@
+package com.njunior.minhasfinancas.api.evento;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.assertj.core.api.Assertions;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.njunior.minhasfinancas.model.enums.TipoAlteracaoLancamento;
+import com.njunior.minhasfinancas.service.LancamentoService;
+import com.njunior.minhasfinancas.service.event.LancamentoAlteradoEvent;
+
+public class PublicadorSaldoTest {
+
+	LancamentoService lancamentoService = Mockito.mock(LancamentoService.class);
+	PublicadorSaldo publicador;
+
+	@Before
+	public void setUp() {
+		Mockito.when(lancamentoService.obterSaldoPorUsuario(1l)).thenReturn(BigDecimal.TEN);
+		SseProperties properties = new SseProperties();
+		properties.setThreads(1);
+		properties.setIntervaloHeartbeat(Duration.ofHours(1));
+		properties.setTempoMaximoEnvio(Duration.ofMillis(200));
+		publicador = new PublicadorSaldo(lancamentoService, properties);
+	}
+
+	@After
+	public void tearDown() {
+		publicador.destroy();
+	}
+
+	@Test
+	public void deveEnviarAsDemaisConexoesEEncerrarAQueFicouSemProgresso() throws Exception {
+		//cenario
+		EmitterTravado travado = new EmitterTravado();
+		EmitterRegistrador conexao = new EmitterRegistrador();
+		publicador.inscrever(1l, travado);
+		Assertions.assertThat(travado.enviando.await(5, TimeUnit.SECONDS)).isTrue();
+		Thread.sleep(300);
+
+		//execucao
+		publicador.inscrever(1l, conexao);
+		Object primeiro = conexao.recebidos.poll(5, TimeUnit.SECONDS);
+		publicador.aoAlterarLancamento(new LancamentoAlteradoEvent(TipoAlteracaoLancamento.ATUALIZADO, 1l, null));
+		Object segundo = conexao.recebidos.poll(5, TimeUnit.SECONDS);
+
+		//verificacao
+		Assertions.assertThat(primeiro).isNotNull();
+		Assertions.assertThat(segundo).isNotNull();
+		Assertions.assertThat(travado.envios).hasValue(1);
+		Assertions.assertThat(travado.encerrado.await(5, TimeUnit.SECONDS)).isTrue();
+		travado.liberar.countDown();
+	}
+
+	@Test
+	public void naoDeveEncerrarUmaConexaoLentaQueContinuaRecebendo() throws Exception {
+		//cenario
+		EmitterRegistrador conexao = new EmitterRegistrador(Duration.ofMillis(100));
+		publicador.inscrever(1l, conexao);
+		Assertions.assertThat(conexao.recebidos.poll(5, TimeUnit.SECONDS)).isNotNull();
+
+		//execucao
+		for (int i = 0; i < 3; i++) {
+			publicador.aoAlterarLancamento(new LancamentoAlteradoEvent(TipoAlteracaoLancamento.ATUALIZADO, 1l, null));
+			Thread.sleep(150);
+		}
+
+		//verificacao
+		for (int i = 0; i < 3; i++) {
+			Assertions.assertThat(conexao.recebidos.poll(5, TimeUnit.SECONDS)).isNotNull();
+		}
+		Assertions.assertThat(conexao.encerrado).isFalse();
+	}
+
+	/** Simula um cliente que parou de ler: o envio não retorna até ser liberado. */
+	static class EmitterTravado extends SseEmitter {
+
+		final CountDownLatch enviando = new CountDownLatch(1);
+		final CountDownLatch liberar = new CountDownLatch(1);
+		final CountDownLatch encerrado = new CountDownLatch(1);
+		final AtomicInteger envios = new AtomicInteger();
+
+		@Override
+		public void send(SseEventBuilder evento) {
+			envios.incrementAndGet();
+			enviando.countDown();
+			try {
+				liberar.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+
+		@Override
+		public void complete() {
+			encerrado.countDown();
+		}
+	}
+
+	static class EmitterRegistrador extends SseEmitter {
+
+		final BlockingQueue<SseEventBuilder> recebidos = new LinkedBlockingQueue<>();
+		final Duration demora;
+		volatile boolean encerrado;
+
+		EmitterRegistrador() {
+			this(Duration.ZERO);
+		}
+
+		EmitterRegistrador(Duration demora) {
+			this.demora = demora;
+		}
+
+		@Override
+		public void send(SseEventBuilder evento) {
+			try {
+				Thread.sleep(demora.toMillis());
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			recebidos.add(evento);
+		}
+
+		@Override
+		public void complete() {
+			encerrado = true;
+		}
+	}
+
+}
@@ -0,0 +1,75 @@
+package com.njunior.minhasfinancas.api.limite;
+
+import org.assertj.core.api.Assertions;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.njunior.minhasfinancas.api.limite.LimitesProperties.Limite;
+import com.njunior.minhasfinancas.api.token.TokenAutenticacaoFilter;
+
+public class LimitadorRequisicoesInterceptorTest {
+
+	static final String CLIENTE = "203.0.113.10";
+	static final String OUTRO_CLIENTE = "203.0.113.20";
+
+	LimitadorRequisicoesInterceptor interceptor;
+
+	@Before
+	public void setUp() {
+		LimitesProperties properties = new LimitesProperties();
+		properties.setPadrao(new Limite(1, 0.001, 4));
+		properties.setSemUsuario(new Limite(2, 0.001, 4));
+		interceptor = new LimitadorRequisicoesInterceptor(properties);
+	}
+
+	@Test
+	public void deveLimitarPeloUsuarioDoTokenMesmoComOMesmoEndereco() throws Exception {
+		//execucao e verificacao
+		Assertions.assertThat(executar(requisicao("DELETE", "/api/lancamentos/1", CLIENTE, 10L))).isEqualTo(HttpStatus.OK.value());
+		Assertions.assertThat(executar(requisicao("DELETE", "/api/lancamentos/2", CLIENTE, 20L))).isEqualTo(HttpStatus.OK.value());
+		Assertions.assertThat(executar(requisicao("PUT", "/api/lancamentos/3", CLIENTE, 10L))).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+	}
+
+	@Test
+	public void naoDeveUsarOParametroUsuarioComoChaveSemToken() throws Exception {
+		//execucao e verificacao
+		for (int i = 0; i < 2; i++) {
+			MockHttpServletRequest request = requisicao("GET", "/api/lancamentos", CLIENTE, null);
+			request.setParameter("usuario", String.valueOf(i));
+			Assertions.assertThat(executar(request)).isEqualTo(HttpStatus.OK.value());
+		}
+		MockHttpServletRequest outroValor = requisicao("GET", "/api/lancamentos", CLIENTE, null);
+		outroValor.setParameter("usuario", "99");
+		Assertions.assertThat(executar(outroValor)).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+	}
+
+	@Test
+	public void deveSepararOsClientesSemTokenPeloEndereco() throws Exception {
+		//execucao e verificacao
+		Assertions.assertThat(executar(requisicao("POST", "/api/usuarios/autenticar", CLIENTE, null))).isEqualTo(HttpStatus.OK.value());
+		Assertions.assertThat(executar(requisicao("POST", "/api/usuarios/autenticar", CLIENTE, null))).isEqualTo(HttpStatus.OK.value());
+		Assertions.assertThat(executar(requisicao("POST", "/api/usuarios/autenticar", CLIENTE, null))).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+		Assertions.assertThat(executar(requisicao("POST", "/api/usuarios/autenticar", OUTRO_CLIENTE, null))).isEqualTo(HttpStatus.OK.value());
+	}
+
+	private static MockHttpServletRequest requisicao(String metodo, String uri, String endereco, Long idAutenticado) {
+		MockHttpServletRequest request = new MockHttpServletRequest(metodo, uri);
+		request.setRemoteAddr(endereco);
+		if (idAutenticado != null) {
+			request.setAttribute(TokenAutenticacaoFilter.ATRIBUTO_USUARIO, idAutenticado);
+		}
+		return request;
+	}
+
+	private int executar(MockHttpServletRequest request) throws Exception {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		if (interceptor.preHandle(request, response, null)) {
+			interceptor.afterCompletion(request, response, null, null);
+		}
+		return response.getStatus();
+	}
+
+}
@@ -0,0 +1,36 @@
+package com.njunior.minhasfinancas.api.limite;
+
+import java.util.concurrent.TimeUnit;
+
+import org.assertj.core.api.Assertions;
+import org.junit.Test;
+
+public class TokenBucketTest {
+
+	static final long SEGUNDO = TimeUnit.SECONDS.toNanos(1);
+
+	@Test
+	public void devePermitirRajadaAteACapacidade() {
+		//cenario
+		TokenBucket bucket = new TokenBucket(3, 1, 0);
+		
+		//execucao e verificacao
+		Assertions.assertThat(bucket.consumir(0)).isZero();
+		Assertions.assertThat(bucket.consumir(0)).isZero();
+		Assertions.assertThat(bucket.consumir(0)).isZero();
+		Assertions.assertThat(bucket.consumir(0)).isEqualTo(SEGUNDO);
+	}
+	
+	@Test
+	public void deveReporTokensComOTempo() {
+		//cenario
+		TokenBucket bucket = new TokenBucket(1, 2, 0);
+		bucket.consumir(0);
+		
+		//execucao e verificacao
+		Assertions.assertThat(bucket.consumir(SEGUNDO / 4)).isEqualTo(SEGUNDO / 4);
+		Assertions.assertThat(bucket.consumir(SEGUNDO / 2)).isZero();
+		Assertions.assertThat(bucket.estaCheio(SEGUNDO)).isTrue();
+	}
+
+}
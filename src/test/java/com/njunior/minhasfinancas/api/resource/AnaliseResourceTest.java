@@ -0,0 +1,136 @@
+package com.njunior.minhasfinancas.api.resource;
+
+import java.math.BigDecimal;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.njunior.minhasfinancas.api.dto.LancamentoDTO;
+import com.njunior.minhasfinancas.model.entity.Usuario;
+import com.njunior.minhasfinancas.model.repository.UsuarioRepository;
+import com.njunior.minhasfinancas.model.repository.UsuarioRepositoryTest;
+
+/**
+ * O snapshot é carregado na primeira análise; as alterações seguintes feitas pela API
+ * devem aparecer sem recarga.
+ */
+@RunWith(SpringRunner.class)
+@ActiveProfiles("embarcado")
+@SpringBootTest
+@AutoConfigureMockMvc
+public class AnaliseResourceTest {
+	
+	static final MediaType JSON = MediaType.APPLICATION_JSON;
+	
+	@Autowired
+	MockMvc mvc;
+	
+	@Autowired
+	UsuarioRepository usuarioRepository;
+	
+	@Autowired
+	ObjectMapper objectMapper;
+	
+	Usuario usuario;
+	
+	@Before
+	public void setUp() {
+		usuario = UsuarioRepositoryTest.criarUsuario();
+		usuario.setEmail(System.nanoTime() + "@email.com");
+		usuario = usuarioRepository.save(usuario);
+	}
+	
+	@Test
+	public void deveResumirPorMesEAtualizarComNovosLancamentos() throws Exception {
+		//cenario
+		salvar(2020, 12, "100.00", "RECEITA");
+		salvar(2021, 1, "40.00", "DESPESA");
+		
+		//execucao e verificacao
+		executar(resumo("2021-01", "2021-02"))
+			.andExpect(MockMvcResultMatchers.status().isOk())
+			.andExpect(MockMvcResultMatchers.jsonPath("$.length()").value(2))
+			.andExpect(MockMvcResultMatchers.jsonPath("$[0].periodo").value("2021-01"))
+			.andExpect(MockMvcResultMatchers.jsonPath("$[0].despesas").value(40.0))
+			.andExpect(MockMvcResultMatchers.jsonPath("$[0].saldoAcumulado").value(60.0))
+			.andExpect(MockMvcResultMatchers.jsonPath("$[1].saldoAcumulado").value(60.0));
+		
+		Long id = salvar(2021, 2, "10.00", "RECEITA");
+		executar(resumo("2021-01", "2021-02"))
+			.andExpect(MockMvcResultMatchers.jsonPath("$[1].receitas").value(10.0))
+			.andExpect(MockMvcResultMatchers.jsonPath("$[1].saldoAcumulado").value(70.0));
+		
+		executar(MockMvcRequestBuilders.delete("/api/lancamentos/" + id));
+		executar(MockMvcRequestBuilders.get("/api/usuarios/" + usuario.getId() + "/analise/totais"))
+			.andExpect(MockMvcResultMatchers.status().isOk())
+			.andExpect(MockMvcResultMatchers.jsonPath("$.RECEITA.PENDENTE").value(100.0))
+			.andExpect(MockMvcResultMatchers.jsonPath("$.DESPESA.PENDENTE").value(40.0))
+			.andExpect(MockMvcResultMatchers.jsonPath("$.DESPESA.EFETIVADO").value(0));
+	}
+	
+	@Test
+	public void deveMontarASerieDiariaDeSaldo() throws Exception {
+		//cenario
+		salvar(2020, 12, "100.00", "RECEITA");
+		salvar(2021, 1, "40.00", "DESPESA");
+		
+		//execucao e verificacao
+		executar(MockMvcRequestBuilders.get("/api/usuarios/" + usuario.getId() + "/saldo/serie")
+				.param("de", "2020-12-31").param("ate", "2021-01-02").param("granularidade", "dia"))
+			.andExpect(MockMvcResultMatchers.status().isOk())
+			.andExpect(MockMvcResultMatchers.jsonPath("$.length()").value(3))
+			.andExpect(MockMvcResultMatchers.jsonPath("$[0].saldo").value(100.0))
+			.andExpect(MockMvcResultMatchers.jsonPath("$[1].data").value("2021-01-01"))
+			.andExpect(MockMvcResultMatchers.jsonPath("$[1].saldo").value(60.0))
+			.andExpect(MockMvcResultMatchers.jsonPath("$[2].saldo").value(60.0));
+		
+		executar(MockMvcRequestBuilders.get("/api/usuarios/" + usuario.getId() + "/saldo/serie")
+				.param("de", "2011-01-01").param("ate", "2021-01-31"))
+			.andExpect(MockMvcResultMatchers.jsonPath("$.length()").value(121))
+			.andExpect(MockMvcResultMatchers.jsonPath("$[119].saldo").value(100.0))
+			.andExpect(MockMvcResultMatchers.jsonPath("$[120].saldo").value(60.0));
+	}
+	
+	@Test
+	public void deveRecusarIntervaloInvertido() throws Exception {
+		executar(resumo("2021-03", "2021-01"))
+			.andExpect(MockMvcResultMatchers.status().isBadRequest());
+	}
+	
+	private MockHttpServletRequestBuilder resumo(String de, String ate) {
+		return MockMvcRequestBuilders.get("/api/usuarios/" + usuario.getId() + "/analise/mensal")
+				.param("de", de).param("ate", ate);
+	}
+	
+	private Long salvar(int ano, int mes, String valor, String tipo) throws Exception {
+		LancamentoDTO dto = LancamentoDTO.builder().descricao("Analise").ano(ano).mes(mes)
+				.valor(new BigDecimal(valor)).usuario(usuario.getId()).tipo(tipo).build();
+		String resposta = executar(MockMvcRequestBuilders.post("/api/lancamentos")
+				.contentType(JSON).content(objectMapper.writeValueAsString(dto)))
+				.andExpect(MockMvcResultMatchers.status().isCreated())
+				.andReturn().getResponse().getContentAsString();
+		return objectMapper.readTree(resposta).get("id").asLong();
+	}
+	
+	private ResultActions executar(MockHttpServletRequestBuilder requisicao) throws Exception {
+		MvcResult resultado = mvc.perform(requisicao)
+				.andExpect(MockMvcResultMatchers.request().asyncStarted())
+				.andReturn();
+		return mvc.perform(MockMvcRequestBuilders.asyncDispatch(resultado));
+	}
+
+}
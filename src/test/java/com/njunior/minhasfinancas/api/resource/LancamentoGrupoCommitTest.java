@@ -0,0 +1,95 @@
+package com.njunior.minhasfinancas.api.resource;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.njunior.minhasfinancas.api.dto.LancamentoDTO;
+import com.njunior.minhasfinancas.model.entity.Usuario;
+import com.njunior.minhasfinancas.model.repository.UsuarioRepository;
+import com.njunior.minhasfinancas.model.repository.UsuarioRepositoryTest;
+
+/**
+ * Com o executor do tamanho do pool de conexões e sem token, as criações que esperam o
+ * grupo-commit não podem segurar as conexões de que a gravadora precisa.
+ */
+@RunWith(SpringRunner.class)
+@ActiveProfiles("embarcado")
+@SpringBootTest(properties = {
+		"minhasfinancas.grupo-commit.habilitado=true",
+		"minhasfinancas.grupo-commit.espera=50ms",
+		"spring.datasource.hikari.maximum-pool-size=2",
+		"spring.datasource.hikari.connection-timeout=1000",
+		"minhasfinancas.async.threads=2",
+		"minhasfinancas.async.timeout=5s" })
+@AutoConfigureMockMvc
+public class LancamentoGrupoCommitTest {
+
+	static final MediaType JSON = MediaType.APPLICATION_JSON;
+
+	@Autowired
+	MockMvc mvc;
+
+	@Autowired
+	UsuarioRepository usuarioRepository;
+
+	@Autowired
+	ObjectMapper objectMapper;
+
+	@Test
+	public void deveGravarCriacoesConcorrentesSemTokenComOExecutorDoTamanhoDoPool() throws Exception {
+		//cenario
+		Usuario usuario = UsuarioRepositoryTest.criarUsuario();
+		usuario.setEmail(System.nanoTime() + "@email.com");
+		usuario = usuarioRepository.save(usuario);
+
+		//execucao
+		List<MvcResult> resultados = new ArrayList<>();
+		for (int i = 0; i < 6; i++) {
+			resultados.add(mvc.perform(criar(usuario.getId()))
+					.andExpect(MockMvcResultMatchers.request().asyncStarted())
+					.andReturn());
+		}
+
+		//verificacao
+		for (MvcResult resultado : resultados) {
+			mvc.perform(MockMvcRequestBuilders.asyncDispatch(resultado))
+				.andExpect(MockMvcResultMatchers.status().isCreated());
+		}
+	}
+
+	@Test
+	public void deveRecusarCriacaoParaUsuarioInexistente() throws Exception {
+		//execucao
+		MvcResult resultado = mvc.perform(criar(Long.MAX_VALUE))
+				.andExpect(MockMvcResultMatchers.request().asyncStarted())
+				.andReturn();
+
+		//verificacao
+		mvc.perform(MockMvcRequestBuilders.asyncDispatch(resultado))
+			.andExpect(MockMvcResultMatchers.status().isBadRequest())
+			.andExpect(MockMvcResultMatchers.content().string("Usuário não encontardo para o Id informado."));
+	}
+
+	private MockHttpServletRequestBuilder criar(Long idUsuario) throws Exception {
+		LancamentoDTO dto = LancamentoDTO.builder().descricao("Grupo").ano(2021).mes(1)
+				.valor(BigDecimal.TEN).usuario(idUsuario).tipo("RECEITA").build();
+		return MockMvcRequestBuilders.post("/api/lancamentos").contentType(JSON).content(objectMapper.writeValueAsString(dto));
+	}
+
+}
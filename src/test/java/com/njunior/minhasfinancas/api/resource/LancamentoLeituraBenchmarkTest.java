@@ -0,0 +1,141 @@
+package com.njunior.minhasfinancas.api.resource;
+
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.assertj.core.api.Assertions;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.http.HttpMethod;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.web.client.RestTemplate;
+
+import com.njunior.minhasfinancas.model.entity.Lancamento;
+import com.njunior.minhasfinancas.model.entity.Usuario;
+import com.njunior.minhasfinancas.model.enums.StatusLancamento;
+import com.njunior.minhasfinancas.model.enums.TipoLacamento;
+import com.njunior.minhasfinancas.model.repository.UsuarioRepository;
+import com.njunior.minhasfinancas.model.repository.UsuarioRepositoryTest;
+
+/**
+ * Compara, no mesmo banco embarcado, a listagem tradicional (lista inteira em memória)
+ * com a leitura em fluxo NDJSON. A quantidade pode ser ajustada com
+ * -Dbenchmark.lancamentos=N.
+ */
+@RunWith(SpringRunner.class)
+@ActiveProfiles("embarcado")
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT)
+public class LancamentoLeituraBenchmarkTest {
+	
+	static final int QUANTIDADE = Integer.getInteger("benchmark.lancamentos", 20_000);
+	static final int RODADAS = 3;
+	
+	@LocalServerPort
+	int porta;
+	
+	@Autowired
+	JdbcTemplate jdbcTemplate;
+	
+	@Autowired
+	UsuarioRepository usuarioRepository;
+	
+	RestTemplate rest = new RestTemplate();
+	
+	@Test
+	public void deveCompararListagemComLeituraEmFluxo() {
+		//cenario
+		Usuario usuario = usuarioRepository.save(UsuarioRepositoryTest.criarUsuario());
+		popular(usuario.getId());
+		
+		String lista = "http://localhost:" + porta + "/api/lancamentos?usuario=" + usuario.getId();
+		String fluxo = "http://localhost:" + porta + "/api/lancamentos/stream?usuario=" + usuario.getId();
+		
+		//execucao
+		medir(lista);
+		medir(fluxo);
+		Medicao medicaoLista = melhorDe(lista);
+		Medicao medicaoFluxo = melhorDe(fluxo);
+		
+		//verificacao
+		System.out.printf("Listagem: primeiro byte %d ms, total %d ms, %d bytes%n",
+				medicaoLista.primeiroByteMs(), medicaoLista.totalMs(), medicaoLista.bytes);
+		System.out.printf("Fluxo:    primeiro byte %d ms, total %d ms, %d bytes%n",
+				medicaoFluxo.primeiroByteMs(), medicaoFluxo.totalMs(), medicaoFluxo.bytes);
+		
+		Assertions.assertThat(medicaoFluxo.linhas).isEqualTo(QUANTIDADE);
+	}
+	
+	private Medicao melhorDe(String url) {
+		Medicao melhor = null;
+		for (int i = 0; i < RODADAS; i++) {
+			Medicao medicao = medir(url);
+			if (melhor == null || medicao.total < melhor.total) {
+				melhor = medicao;
+			}
+		}
+		return melhor;
+	}
+	
+	private Medicao medir(String url) {
+		long inicio = System.nanoTime();
+		return rest.execute(url, HttpMethod.GET, null, resposta -> {
+			Medicao medicao = new Medicao();
+			byte[] buffer = new byte[8192];
+			InputStream entrada = resposta.getBody();
+			int lidos;
+			while ((lidos = entrada.read(buffer)) > 0) {
+				if (medicao.primeiroByte == 0) {
+					medicao.primeiroByte = System.nanoTime() - inicio;
+				}
+				medicao.bytes += lidos;
+				for (int i = 0; i < lidos; i++) {
+					if (buffer[i] == '\n') {
+						medicao.linhas++;
+					}
+				}
+			}
+			medicao.total = System.nanoTime() - inicio;
+			return medicao;
+		});
+	}
+	
+	private void popular(Long idUsuario) {
+		List<Object[]> linhas = new ArrayList<>(QUANTIDADE);
+		for (int i = 0; i < QUANTIDADE; i++) {
+			TipoLacamento tipo = i % 3 == 0 ? TipoLacamento.RECEITA : TipoLacamento.DESPESA;
+			linhas.add(new Object[] { "Lancamento " + i, Lancamento.periodo(2015 + i % 10, i % 12 + 1), idUsuario,
+					BigDecimal.valueOf(i % 1000 + 1), Date.valueOf(LocalDate.now()),
+					tipo.getCodigo(), StatusLancamento.PENDENTE.getCodigo() });
+		}
+		jdbcTemplate.batchUpdate(
+				"insert into financas.lancamento (descricao, periodo, id_usuario, valor, data_cadastro, tipo, status) "
+			  + "values (?, ?, ?, ?, ?, ?, ?)", linhas);
+	}
+	
+	static class Medicao {
+		long primeiroByte;
+		long total;
+		long bytes;
+		long linhas;
+		
+		long primeiroByteMs() {
+			return TimeUnit.NANOSECONDS.toMillis(primeiroByte);
+		}
+		
+		long totalMs() {
+			return TimeUnit.NANOSECONDS.toMillis(total);
+		}
+	}
+
+}
@@ -0,0 +1,263 @@
+package com.njunior.minhasfinancas.api.resource;
+
+import java.util.List;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.assertj.core.api.Assertions;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.njunior.minhasfinancas.api.dto.LancamentoDTO;
+import com.njunior.minhasfinancas.api.dto.atualizaStatusDTO;
+import com.njunior.minhasfinancas.api.token.AssinadorTokens;
+import com.njunior.minhasfinancas.model.entity.AuditoriaLancamento;
+import com.njunior.minhasfinancas.model.entity.Lancamento;
+import com.njunior.minhasfinancas.model.entity.Usuario;
+import com.njunior.minhasfinancas.model.enums.StatusLancamento;
+import com.njunior.minhasfinancas.model.enums.TipoAlteracaoLancamento;
+import com.njunior.minhasfinancas.model.repository.LancamentoRepository;
+import com.njunior.minhasfinancas.model.repository.LancamentoRepositoryTest;
+import com.njunior.minhasfinancas.model.repository.UsuarioRepository;
+import com.njunior.minhasfinancas.model.repository.UsuarioRepositoryTest;
+import com.njunior.minhasfinancas.service.AuditoriaService;
+
+/**
+ * Garante que listar, atualizar e excluir lançamentos não carregam o {@link Usuario}
+ * associado: nenhum SELECT em usuario é emitido e nenhum proxy é inicializado na
+ * serialização da resposta.
+ */
+@RunWith(SpringRunner.class)
+@ActiveProfiles("embarcado")
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+public class LancamentoResourceTest {
+	
+	static final String API = "/api/lancamentos";
+	static final MediaType JSON = MediaType.APPLICATION_JSON;
+	
+	@Autowired
+	MockMvc mvc;
+	
+	@Autowired
+	UsuarioRepository usuarioRepository;
+	
+	@Autowired
+	LancamentoRepository lancamentoRepository;
+	
+	@Autowired
+	EntityManagerFactory entityManagerFactory;
+	
+	@Autowired
+	AssinadorTokens assinadorTokens;
+	
+	@Autowired
+	AuditoriaService auditoriaService;
+	
+	Statistics estatisticas;
+	Usuario usuario;
+	Lancamento lancamento;
+	
+	@Before
+	public void setUp() {
+		usuario = UsuarioRepositoryTest.criarUsuario();
+		usuario.setEmail(System.nanoTime() + "@email.com");
+		usuario = usuarioRepository.save(usuario);
+		
+		lancamento = LancamentoRepositoryTest.criarLancamento();
+		lancamento.setUsuario(usuario);
+		lancamento = lancamentoRepository.save(lancamento);
+		
+		estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		estatisticas.clear();
+	}
+	
+	@Test
+	public void deveListarSemCarregarOUsuario() throws Exception {
+		executar(MockMvcRequestBuilders.get(API).param("usuario", usuario.getId().toString()))
+		.andExpect(MockMvcResultMatchers.status().isOk())
+		.andExpect(MockMvcResultMatchers.jsonPath("[0].id").value(lancamento.getId()))
+		.andExpect(MockMvcResultMatchers.jsonPath("[0].usuario").value(usuario.getId()));
+		
+		verificarQueUsuarioNaoFoiCarregado();
+	}
+	
+	@Test
+	public void deveFiltrarInformandoApenasMesOuAno() throws Exception {
+		String idUsuario = usuario.getId().toString();
+		
+		executar(MockMvcRequestBuilders.get(API).param("usuario", idUsuario).param("ano", "2021"))
+		.andExpect(MockMvcResultMatchers.jsonPath("[0].id").value(lancamento.getId()));
+		
+		executar(MockMvcRequestBuilders.get(API).param("usuario", idUsuario).param("mes", "1"))
+		.andExpect(MockMvcResultMatchers.jsonPath("[0].id").value(lancamento.getId()));
+		
+		executar(MockMvcRequestBuilders.get(API).param("usuario", idUsuario).param("mes", "2"))
+		.andExpect(MockMvcResultMatchers.jsonPath("$").isEmpty());
+	}
+	
+	@Test
+	public void deveFiltrarPorIntervaloDeMesesEDataDeCadastro() throws Exception {
+		String idUsuario = usuario.getId().toString();
+		
+		executar(MockMvcRequestBuilders.get(API).param("usuario", idUsuario).param("de", "2020-11").param("ate", "2021-06"))
+		.andExpect(MockMvcResultMatchers.jsonPath("[0].id").value(lancamento.getId()));
+		
+		executar(MockMvcRequestBuilders.get(API).param("usuario", idUsuario).param("de", "2021-02"))
+		.andExpect(MockMvcResultMatchers.jsonPath("$").isEmpty());
+		
+		executar(MockMvcRequestBuilders.get(API).param("usuario", idUsuario)
+				.param("dataCadastroDe", lancamento.getDataCadastro().toString())
+				.param("dataCadastroAte", lancamento.getDataCadastro().toString()))
+		.andExpect(MockMvcResultMatchers.jsonPath("[0].id").value(lancamento.getId()));
+		
+		executar(MockMvcRequestBuilders.get(API).param("usuario", idUsuario).param("de", "2021-06").param("ate", "2021-01"))
+		.andExpect(MockMvcResultMatchers.status().isBadRequest());
+	}
+	
+	@Test
+	public void deveFiltrarPorVariosTiposEStatusComOrdenacao() throws Exception {
+		String idUsuario = usuario.getId().toString();
+		
+		executar(MockMvcRequestBuilders.get(API).param("usuario", idUsuario)
+				.param("tipo", "RECEITA", "DESPESA").param("status", "PENDENTE", "EFETIVADO")
+				.param("descricao", lancamento.getDescricao()).param("modoDescricao", "EXATA")
+				.param("ordenarPor", "VALOR").param("direcao", "DESC"))
+		.andExpect(MockMvcResultMatchers.jsonPath("[0].id").value(lancamento.getId()));
+		
+		executar(MockMvcRequestBuilders.get(API).param("usuario", idUsuario).param("status", "CANCELADO"))
+		.andExpect(MockMvcResultMatchers.jsonPath("$").isEmpty());
+		
+		executar(MockMvcRequestBuilders.get(API).param("usuario", idUsuario).param("valorMinimo", "100").param("valorMaximo", "1"))
+		.andExpect(MockMvcResultMatchers.status().isBadRequest());
+	}
+	
+	@Test
+	public void deveAtualizarSemCarregarOUsuario() throws Exception {
+		LancamentoDTO dto = LancamentoDTO.builder()
+				.descricao("Atualizado")
+				.mes(2)
+				.ano(2021)
+				.valor(lancamento.getValor())
+				.usuario(usuario.getId())
+				.tipo("DESPESA")
+				.build();
+		
+		executar(MockMvcRequestBuilders.put(API + "/" + lancamento.getId())
+				.contentType(JSON)
+				.content(new ObjectMapper().writeValueAsString(dto)))
+		.andExpect(MockMvcResultMatchers.status().isOk())
+		.andExpect(MockMvcResultMatchers.jsonPath("descricao").value("Atualizado"))
+		.andExpect(MockMvcResultMatchers.jsonPath("usuario").value(usuario.getId()));
+		
+		verificarQueUsuarioNaoFoiCarregado();
+	}
+	
+	@Test
+	public void deveAtualizarStatusSemCarregarOUsuario() throws Exception {
+		executar(MockMvcRequestBuilders.put(API + "/" + lancamento.getId() + "/atualiza-status")
+				.contentType(JSON)
+				.content(new ObjectMapper().writeValueAsString(new atualizaStatusDTO("EFETIVADO"))))
+		.andExpect(MockMvcResultMatchers.status().isOk())
+		.andExpect(MockMvcResultMatchers.jsonPath("status").value("EFETIVADO"));
+		
+		verificarQueUsuarioNaoFoiCarregado();
+	}
+	
+	@Test
+	public void deveExcluirSemCarregarOUsuario() throws Exception {
+		executar(MockMvcRequestBuilders.delete(API + "/" + lancamento.getId()))
+		.andExpect(MockMvcResultMatchers.status().isNoContent());
+		
+		Assertions.assertThat(lancamentoRepository.existsById(lancamento.getId())).isFalse();
+		verificarQueUsuarioNaoFoiCarregado();
+	}
+	
+	@Test
+	public void deveAuditarOStatusAnteriorAoAtualizarStatus() throws Exception {
+		executar(MockMvcRequestBuilders.put(API + "/" + lancamento.getId() + "/atualiza-status")
+				.contentType(JSON)
+				.content(new ObjectMapper().writeValueAsString(new atualizaStatusDTO("EFETIVADO"))))
+		.andExpect(MockMvcResultMatchers.status().isOk());
+		auditoriaService.descarregar();
+		
+		List<AuditoriaLancamento> historico = auditoriaService.obterHistorico(lancamento.getId());
+		Assertions.assertThat(historico).extracting(AuditoriaLancamento::getAcao).containsExactly(TipoAlteracaoLancamento.STATUS_ALTERADO);
+		Assertions.assertThat(historico.get(0).getStatusAnterior()).isEqualTo(StatusLancamento.PENDENTE);
+		Assertions.assertThat(historico.get(0).getStatus()).isEqualTo(StatusLancamento.EFETIVADO);
+	}
+	
+	@Test
+	public void deveCriarComOUsuarioDoTokenSemCarregarOUsuario() throws Exception {
+		LancamentoDTO dto = LancamentoDTO.builder()
+				.descricao("Pelo token")
+				.mes(3)
+				.ano(2021)
+				.valor(lancamento.getValor())
+				.tipo("RECEITA")
+				.build();
+		
+		executar(MockMvcRequestBuilders.post(API)
+				.header(HttpHeaders.AUTHORIZATION, "Bearer " + assinadorTokens.emitir(usuario.getId()))
+				.contentType(JSON)
+				.content(new ObjectMapper().writeValueAsString(dto)))
+		.andExpect(MockMvcResultMatchers.status().isCreated())
+		.andExpect(MockMvcResultMatchers.jsonPath("usuario").value(usuario.getId()));
+		
+		verificarQueUsuarioNaoFoiCarregado();
+	}
+	
+	@Test
+	public void deveRecusarLancamentosDeOutroUsuarioComToken() throws Exception {
+		String token = "Bearer " + assinadorTokens.emitir(usuario.getId() + 1);
+		
+		executar(MockMvcRequestBuilders.get(API).header(HttpHeaders.AUTHORIZATION, token).param("usuario", usuario.getId().toString()))
+		.andExpect(MockMvcResultMatchers.status().isForbidden());
+		
+		executar(MockMvcRequestBuilders.delete(API + "/" + lancamento.getId()).header(HttpHeaders.AUTHORIZATION, token))
+		.andExpect(MockMvcResultMatchers.status().isForbidden());
+		
+		Assertions.assertThat(lancamentoRepository.existsById(lancamento.getId())).isTrue();
+	}
+	
+	@Test
+	public void deveRecusarTokenAdulterado() throws Exception {
+		String token = assinadorTokens.emitir(usuario.getId());
+		
+		mvc.perform(MockMvcRequestBuilders.get(API).header(HttpHeaders.AUTHORIZATION, "Bearer " + token + "A"))
+		.andExpect(MockMvcResultMatchers.request().asyncNotStarted())
+		.andExpect(MockMvcResultMatchers.status().isUnauthorized());
+	}
+	
+	private ResultActions executar(MockHttpServletRequestBuilder request) throws Exception {
+		MvcResult resultado = mvc
+		.perform(request.accept(JSON))
+		.andExpect(MockMvcResultMatchers.request().asyncStarted())
+		.andReturn();
+		
+		return mvc.perform(MockMvcRequestBuilders.asyncDispatch(resultado));
+	}
+	
+	private void verificarQueUsuarioNaoFoiCarregado() {
+		Assertions.assertThat(estatisticas.getEntityStatistics(Usuario.class.getName()).getLoadCount()).isZero();
+		Assertions.assertThat(estatisticas.getEntityStatistics(Usuario.class.getName()).getFetchCount()).isZero();
+	}
+
+}
@@ -0,0 +1,231 @@
+package com.njunior.minhasfinancas.api.resource;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.assertj.core.api.Assertions;
+import org.assertj.core.api.SoftAssertions;
+import org.hibernate.SessionFactory;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.stat.Statistics;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.njunior.minhasfinancas.api.dto.LancamentoDTO;
+import com.njunior.minhasfinancas.api.dto.UsuarioDTO;
+import com.njunior.minhasfinancas.api.dto.atualizaStatusDTO;
+import com.njunior.minhasfinancas.dados.GeradorDados;
+
+/**
+ * Orçamento de consultas de cada operação dos recursos de lançamento e usuário sobre um
+ * banco embarcado com cerca de um milhão de lançamentos. Cada operação tem um limite de
+ * comandos SQL e de tempo, e todo comando emitido passa pelo EXPLAIN do H2: uma varredura
+ * completa de lancamento ou usuario reprova o build, assim como um N+1.
+ * 
+ * <p>Executado pelo failsafe ({@code mvn verify}). O volume pode ser ajustado com
+ * -Dorcamento.usuarios=N e -Dorcamento.media-lancamentos=N, e os limites de tempo
+ * multiplicados com -Dorcamento.fator-tempo=F em máquinas mais lentas.
+ */
+@RunWith(SpringRunner.class)
+@ActiveProfiles("embarcado")
+@SpringBootTest(properties = {
+		"spring.jpa.properties.hibernate.generate_statistics=true",
+		"spring.jpa.properties.hibernate.session_factory.statement_inspector="
+				+ "com.njunior.minhasfinancas.api.resource.OrcamentoConsultasIT$CapturaSql",
+		// o orçamento mede consultas; o custo do hash de senha é configurado à parte
+		"minhasfinancas.senha.custo=4" })
+@AutoConfigureMockMvc
+public class OrcamentoConsultasIT {
+	
+	static final int USUARIOS = Integer.getInteger("orcamento.usuarios", 2000);
+	static final int MEDIA_LANCAMENTOS = Integer.getInteger("orcamento.media-lancamentos", 500);
+	static final double FATOR_TEMPO = Double.parseDouble(System.getProperty("orcamento.fator-tempo", "1"));
+	static final MediaType JSON = MediaType.APPLICATION_JSON;
+	
+	static Long idUsuario;
+	static String emailUsuario;
+	
+	@Autowired
+	MockMvc mvc;
+	
+	@Autowired
+	JdbcTemplate jdbcTemplate;
+	
+	@Autowired
+	EntityManagerFactory entityManagerFactory;
+	
+	@Autowired
+	ObjectMapper objectMapper;
+	
+	Statistics estatisticas;
+	
+	@Before
+	public void setUp() {
+		estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		if (idUsuario != null) {
+			return;
+		}
+		
+		GeradorDados.builder().usuarios(USUARIOS).mediaLancamentos(MEDIA_LANCAMENTOS).build().carregar(jdbcTemplate);
+		jdbcTemplate.execute("analyze");
+		
+		Map<String, Object> tipico = jdbcTemplate.queryForMap(
+				"select id_usuario, count(*) from financas.lancamento group by id_usuario "
+			  + "order by abs(count(*) - ?), id_usuario limit 1", MEDIA_LANCAMENTOS);
+		idUsuario = ((Number) tipico.get("id_usuario")).longValue();
+		emailUsuario = jdbcTemplate.queryForObject("select email from financas.usuario where id = ?", String.class, idUsuario);
+	}
+	
+	@Test
+	public void deveBuscarLancamentosDentroDoOrcamento() throws Exception {
+		medir("buscar por usuário", 1, 500, () -> executar(MockMvcRequestBuilders.get("/api/lancamentos")
+				.param("usuario", idUsuario.toString())));
+		medir("buscar por ano", 1, 300, () -> executar(MockMvcRequestBuilders.get("/api/lancamentos")
+				.param("usuario", idUsuario.toString()).param("ano", "2021")));
+		medir("buscar por intervalo e descrição", 1, 200, () -> executar(MockMvcRequestBuilders.get("/api/lancamentos")
+				.param("usuario", idUsuario.toString()).param("de", "2020-01").param("ate", "2020-12")
+				.param("descricao", "Super").param("modoDescricao", "PREFIXO")));
+	}
+	
+	@Test
+	public void deveAlterarLancamentosDentroDoOrcamento() throws Exception {
+		LancamentoDTO dto = LancamentoDTO.builder().descricao("Orçamento").mes(6).ano(2021)
+				.valor(BigDecimal.TEN).usuario(idUsuario).tipo("DESPESA").build();
+		
+		for (boolean aquecimento : new boolean[] { true, false }) {
+			Long[] id = new Long[1];
+			medir("salvar", 4, 200, aquecimento, () -> id[0] = objectMapper.readTree(executar(MockMvcRequestBuilders
+					.post("/api/lancamentos").contentType(JSON).content(objectMapper.writeValueAsString(dto))))
+					.get("id").asLong());
+			
+			medir("atualizar", 4, 200, aquecimento, () -> executar(MockMvcRequestBuilders.put("/api/lancamentos/" + id[0])
+					.contentType(JSON).content(objectMapper.writeValueAsString(dto))));
+			
+			medir("atualizar status", 4, 200, aquecimento, () -> executar(MockMvcRequestBuilders
+					.put("/api/lancamentos/" + id[0] + "/atualiza-status")
+					.contentType(JSON).content(objectMapper.writeValueAsString(new atualizaStatusDTO("EFETIVADO")))));
+			
+			medir("deletar", 4, 200, aquecimento, () -> executar(MockMvcRequestBuilders.delete("/api/lancamentos/" + id[0])));
+		}
+	}
+	
+	@Test
+	public void deveConsultarSaldosDentroDoOrcamento() throws Exception {
+		medir("saldo", 2, 200, () -> executar(MockMvcRequestBuilders.get("/api/usuarios/" + idUsuario + "/saldo")));
+		
+		medir("série de saldo mensal em dez anos", 1, 100, () -> executar(MockMvcRequestBuilders
+				.get("/api/usuarios/" + idUsuario + "/saldo/serie").param("de", "2012-01-01").param("ate", "2021-12-31")));
+		medir("série de saldo diária em dez anos", 1, 200, () -> executar(MockMvcRequestBuilders
+				.get("/api/usuarios/" + idUsuario + "/saldo/serie").param("de", "2012-01-01").param("ate", "2021-12-31")
+				.param("granularidade", "dia")));
+		
+		List<Long> ids = new ArrayList<>();
+		for (long id = idUsuario; id < idUsuario + 50; id++) {
+			ids.add(id);
+		}
+		medir("saldos em lote", 1, 300, () -> executar(MockMvcRequestBuilders.post("/api/usuarios/saldos")
+				.contentType(JSON).content(objectMapper.writeValueAsString(ids))));
+	}
+	
+	@Test
+	public void deveAutenticarESalvarUsuarioDentroDoOrcamento() throws Exception {
+		medir("autenticar", 1, 100, () -> executar(MockMvcRequestBuilders.post("/api/usuarios/autenticar")
+				.contentType(JSON).content(objectMapper.writeValueAsString(
+						UsuarioDTO.builder().email(emailUsuario).senha("senha").build()))));
+		
+		medir("salvar usuário", 2, 100, () -> executar(MockMvcRequestBuilders.post("/api/usuarios")
+				.contentType(JSON).content(objectMapper.writeValueAsString(UsuarioDTO.builder()
+						.nome("Orçamento").email(System.nanoTime() + "@orcamento.com").senha("senha").build()))));
+	}
+	
+	interface Operacao {
+		void executar() throws Exception;
+	}
+	
+	/**
+	 * Executa a operação uma vez para aquecer e mede a segunda execução: número de comandos
+	 * preparados, tempo e plano de cada comando.
+	 */
+	private void medir(String nome, long comandosMaximos, long tempoMaximoMs, Operacao operacao) throws Exception {
+		medir(nome, comandosMaximos, tempoMaximoMs, true, operacao);
+		medir(nome, comandosMaximos, tempoMaximoMs, false, operacao);
+	}
+	
+	private void medir(String nome, long comandosMaximos, long tempoMaximoMs, boolean aquecimento, 
+			Operacao operacao) throws Exception {
+		if (aquecimento) {
+			operacao.executar();
+			return;
+		}
+		
+		estatisticas.clear();
+		CapturaSql.COMANDOS.clear();
+		long inicio = System.nanoTime();
+		operacao.executar();
+		long duracaoMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio);
+		long comandos = estatisticas.getPrepareStatementCount();
+		List<String> sqls = new ArrayList<>(CapturaSql.COMANDOS);
+		
+		System.out.printf("%-35s %d comandos, %d ms%n", nome, comandos, duracaoMs);
+		SoftAssertions verificacao = new SoftAssertions();
+		verificacao.assertThat(comandos).as("comandos em '%s': %s", nome, sqls).isLessThanOrEqualTo(comandosMaximos);
+		verificacao.assertThat(duracaoMs).as("tempo em '%s'", nome).isLessThanOrEqualTo((long) (tempoMaximoMs * FATOR_TEMPO));
+		for (String sql : sqls) {
+			verificacao.assertThat(plano(sql)).as("plano em '%s' de %s", nome, sql)
+				.doesNotContainIgnoringCase("LANCAMENTO.tableScan")
+				.doesNotContainIgnoringCase("USUARIO.tableScan");
+		}
+		verificacao.assertAll();
+	}
+	
+	/** Parâmetros nulos bastam: o H2 escolhe o índice pelas colunas comparadas, não pelos valores. */
+	private String plano(String sql) {
+		String comando = sql.trim().toLowerCase();
+		if (comando.startsWith("insert")) {
+			return "";
+		}
+		Object[] parametros = new Object[(int) sql.chars().filter(c -> c == '?').count()];
+		return jdbcTemplate.queryForList("explain " + sql, parametros).toString();
+	}
+	
+	private String executar(MockHttpServletRequestBuilder requisicao) throws Exception {
+		MvcResult resultado = mvc.perform(requisicao)
+				.andExpect(MockMvcResultMatchers.request().asyncStarted())
+				.andReturn();
+		return mvc.perform(MockMvcRequestBuilders.asyncDispatch(resultado))
+				.andExpect(MockMvcResultMatchers.status().is2xxSuccessful())
+				.andReturn().getResponse().getContentAsString();
+	}
+	
+	public static class CapturaSql implements StatementInspector {
+		
+		static final List<String> COMANDOS = new CopyOnWriteArrayList<>();
+		
+		@Override
+		public String inspect(String sql) {
+			COMANDOS.add(sql);
+			return sql;
+		}
+	}
+
+}
@@ -1,5 +1,15 @@
 package com.njunior.minhasfinancas.api.resource;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import org.assertj.core.api.Assertions;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mockito;
@@ -7,21 +17,32 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import org.springframework.web.context.request.async.AsyncRequestTimeoutException;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jayway.jsonpath.JsonPath;
 import com.njunior.minhasfinancas.api.dto.UsuarioDTO;
+import com.njunior.minhasfinancas.api.evento.PublicadorSaldo;
+import com.njunior.minhasfinancas.api.token.AssinadorTokens;
 import com.njunior.minhasfinancas.exception.ErroAutenticacao;
+import com.njunior.minhasfinancas.exception.ErroSobrecarga;
 import com.njunior.minhasfinancas.exception.RegraNegocioExcepction;
 import com.njunior.minhasfinancas.model.entity.Usuario;
+import com.njunior.minhasfinancas.service.AnaliseService;
+import com.njunior.minhasfinancas.service.ExtratoService;
 import com.njunior.minhasfinancas.service.LancamentoService;
 import com.njunior.minhasfinancas.service.UsuarioService;
+import com.njunior.minhasfinancas.service.analise.Granularidade;
+import com.njunior.minhasfinancas.service.analise.PontoSaldo;
 
 @RunWith(SpringRunner.class)
 @ActiveProfiles("test")
@@ -41,6 +62,40 @@ public class UsuarioResourceTest {
 	@MockBean
 	LancamentoService lancamentoService;
 	
+	@MockBean
+	ExtratoService extratoService;
+	
+	@MockBean
+	PublicadorSaldo publicadorSaldo;
+	
+	@MockBean
+	AnaliseService analiseService;
+	
+	@Autowired
+	AssinadorTokens assinadorTokens;
+	
+	@Test
+	public void deveEmitirTokenDoUsuarioAutenticado() throws Exception{
+		// cenario
+		Usuario usuario = Usuario.builder().id(1L).email("usuario@email.com").senha("123").build();
+		Mockito.when(service.autenticar("usuario@email.com", "123")).thenReturn(CompletableFuture.completedFuture(usuario));
+		String json = new ObjectMapper().writeValueAsString(UsuarioDTO.builder().email("usuario@email.com").senha("123").build());
+		
+		//execucao
+		MvcResult resultado = mvc
+		.perform(MockMvcRequestBuilders.post(API.concat("/autenticar")).accept(JSON).contentType(JSON).content(json))
+		.andReturn();
+		String corpo = mvc
+		.perform(MockMvcRequestBuilders.asyncDispatch(resultado))
+		.andExpect(MockMvcResultMatchers.status().isOk())
+		.andExpect(MockMvcResultMatchers.jsonPath("id").value(1))
+		.andReturn().getResponse().getContentAsString();
+		
+		//verificacao
+		String token = JsonPath.read(corpo, "$.token");
+		Assertions.assertThat(assinadorTokens.verificar(token)).contains(1L);
+	}
+	
 	@Test
 	public void deveAutenticarUmUsuario() throws Exception{
 		// cenario
@@ -50,7 +105,7 @@ public class UsuarioResourceTest {
 		
 		Usuario usuario = Usuario.builder().email(email).senha(senha).build();
 		
-		Mockito.when(service.autenticar(email, senha)).thenReturn(usuario);
+		Mockito.when(service.autenticar(email, senha)).thenReturn(CompletableFuture.completedFuture(usuario));
 		
 		String json = new ObjectMapper().writeValueAsString(dto);
 		
@@ -61,8 +116,13 @@ public class UsuarioResourceTest {
 										.contentType(JSON)
 										.content(json);
 		
-		mvc
+		MvcResult resultado = mvc
 		.perform(request)
+		.andExpect(MockMvcResultMatchers.request().asyncStarted())
+		.andReturn();
+		
+		mvc
+		.perform(MockMvcRequestBuilders.asyncDispatch(resultado))
 		.andExpect(MockMvcResultMatchers.status().isOk())
 		.andExpect(MockMvcResultMatchers.jsonPath("id").value(usuario.getId()))
 		.andExpect(MockMvcResultMatchers.jsonPath("nome").value(usuario.getNome()))
@@ -90,13 +150,76 @@ public class UsuarioResourceTest {
 										.contentType(JSON)
 										.content(json);
 		
-		mvc
+		MvcResult resultado = mvc
 		.perform(request)
+		.andExpect(MockMvcResultMatchers.request().asyncStarted())
+		.andReturn();
+		
+		mvc
+		.perform(MockMvcRequestBuilders.asyncDispatch(resultado))
 		.andExpect(MockMvcResultMatchers.status().isBadRequest())
 		
 		;
 	}
 	
+	@Test
+	public void deveResponderServicoIndisponivelQuandoOsHashesEstiveremSobrecarregados() throws Exception{
+		// cenario
+		CompletableFuture<Usuario> sobrecarga = new CompletableFuture<>();
+		sobrecarga.completeExceptionally(new ErroSobrecarga("Muitas autenticações em andamento."));
+		Mockito.when(service.autenticar("usuario@email.com", "123")).thenReturn(sobrecarga);
+		String json = new ObjectMapper().writeValueAsString(UsuarioDTO.builder().email("usuario@email.com").senha("123").build());
+		
+		//execucao e verificacao
+		MvcResult resultado = mvc
+		.perform(MockMvcRequestBuilders.post(API.concat("/autenticar")).accept(JSON).contentType(JSON).content(json))
+		.andExpect(MockMvcResultMatchers.request().asyncStarted())
+		.andReturn();
+		
+		mvc
+		.perform(MockMvcRequestBuilders.asyncDispatch(resultado))
+		.andExpect(MockMvcResultMatchers.status().isServiceUnavailable())
+		.andExpect(MockMvcResultMatchers.header().string(HttpHeaders.RETRY_AFTER, "1"));
+	}
+	
+	@Test
+	public void deveResponderServicoIndisponivelComRetryAfterQuandoOTempoDaRequisicaoEsgota() throws Exception{
+		// cenario
+		CompletableFuture<Usuario> esgotado = new CompletableFuture<>();
+		esgotado.completeExceptionally(new AsyncRequestTimeoutException());
+		Mockito.when(service.autenticar("usuario@email.com", "123")).thenReturn(esgotado);
+		String json = new ObjectMapper().writeValueAsString(UsuarioDTO.builder().email("usuario@email.com").senha("123").build());
+		
+		//execucao e verificacao
+		MvcResult resultado = mvc
+		.perform(MockMvcRequestBuilders.post(API.concat("/autenticar")).accept(JSON).contentType(JSON).content(json))
+		.andExpect(MockMvcResultMatchers.request().asyncStarted())
+		.andReturn();
+		
+		mvc
+		.perform(MockMvcRequestBuilders.asyncDispatch(resultado))
+		.andExpect(MockMvcResultMatchers.status().isServiceUnavailable())
+		.andExpect(MockMvcResultMatchers.header().string(HttpHeaders.RETRY_AFTER, "1"));
+	}
+	
+	@Test
+	public void deveResponderServicoIndisponivelAoCriarUsuarioComOsHashesSobrecarregados() throws Exception{
+		// cenario
+		Mockito.when(service.salvarUsuario(Mockito.any(Usuario.class))).thenThrow(new ErroSobrecarga("Muitas senhas sendo processadas."));
+		String json = new ObjectMapper().writeValueAsString(UsuarioDTO.builder().nome("usuario").email("usuario@email.com").senha("123").build());
+		
+		//execucao e verificacao
+		MvcResult resultado = mvc
+		.perform(MockMvcRequestBuilders.post(API).accept(JSON).contentType(JSON).content(json))
+		.andExpect(MockMvcResultMatchers.request().asyncStarted())
+		.andReturn();
+		
+		mvc
+		.perform(MockMvcRequestBuilders.asyncDispatch(resultado))
+		.andExpect(MockMvcResultMatchers.status().isServiceUnavailable())
+		.andExpect(MockMvcResultMatchers.header().string(HttpHeaders.RETRY_AFTER, "1"));
+	}
+	
 	@Test
 	public void deveCriarUmNovoUsuario() throws Exception{
 		// cenario
@@ -117,8 +240,13 @@ public class UsuarioResourceTest {
 										.contentType(JSON)
 										.content(json);
 		
-		mvc
+		MvcResult resultado = mvc
 		.perform(request)
+		.andExpect(MockMvcResultMatchers.request().asyncStarted())
+		.andReturn();
+		
+		mvc
+		.perform(MockMvcRequestBuilders.asyncDispatch(resultado))
 		.andExpect(MockMvcResultMatchers.status().isCreated())
 		.andExpect(MockMvcResultMatchers.jsonPath("id").value(usuario.getId()))
 		.andExpect(MockMvcResultMatchers.jsonPath("nome").value(usuario.getNome()))
@@ -145,11 +273,161 @@ public class UsuarioResourceTest {
 										.contentType(JSON)
 										.content(json);
 		
-		mvc
+		MvcResult resultado = mvc
 		.perform(request)
+		.andExpect(MockMvcResultMatchers.request().asyncStarted())
+		.andReturn();
+		
+		mvc
+		.perform(MockMvcRequestBuilders.asyncDispatch(resultado))
 		.andExpect(MockMvcResultMatchers.status().isBadRequest())
 		
 		;
 	}
 
+	@Test
+	public void deveRetornarOsSaldosDeVariosUsuarios() throws Exception{
+		// cenario
+		List<Long> ids = Arrays.asList(1l, 2l);
+		Map<Long, BigDecimal> saldos = new LinkedHashMap<>();
+		saldos.put(1l, BigDecimal.valueOf(70));
+		saldos.put(2l, BigDecimal.ZERO);
+		
+		Mockito.when(lancamentoService.obterSaldosPorUsuarios(ids)).thenReturn(saldos);
+		
+		//execucao e verificacao
+		MockHttpServletRequestBuilder request = MockMvcRequestBuilders
+										.post(API.concat("/saldos"))
+										.accept(JSON)
+										.contentType(JSON)
+										.content(new ObjectMapper().writeValueAsString(ids));
+		
+		MvcResult resultado = mvc
+		.perform(request)
+		.andExpect(MockMvcResultMatchers.request().asyncStarted())
+		.andReturn();
+		
+		mvc
+		.perform(MockMvcRequestBuilders.asyncDispatch(resultado))
+		.andExpect(MockMvcResultMatchers.status().isOk())
+		.andExpect(MockMvcResultMatchers.jsonPath("['1']").value(70))
+		.andExpect(MockMvcResultMatchers.jsonPath("['2']").value(0));
+	}
+	
+	@Test
+	public void deveRetornarASerieDeSaldoDiaria() throws Exception{
+		// cenario
+		LocalDate de = LocalDate.of(2021, 1, 1);
+		LocalDate ate = LocalDate.of(2021, 1, 2);
+		Mockito.when(service.obterPorId(1l)).thenReturn(Optional.of(Usuario.builder().id(1l).build()));
+		Mockito.when(analiseService.obterSerieSaldo(1l, de, ate, Granularidade.DIA)).thenReturn(Arrays.asList(
+				new PontoSaldo(de, BigDecimal.TEN), new PontoSaldo(ate, BigDecimal.ONE)));
+		
+		//execucao e verificacao
+		MockHttpServletRequestBuilder request = MockMvcRequestBuilders
+										.get(API.concat("/1/saldo/serie"))
+										.param("de", "2021-01-01")
+										.param("ate", "2021-01-02")
+										.param("granularidade", "dia")
+										.accept(JSON);
+		
+		MvcResult resultado = mvc
+		.perform(request)
+		.andExpect(MockMvcResultMatchers.request().asyncStarted())
+		.andReturn();
+		
+		mvc
+		.perform(MockMvcRequestBuilders.asyncDispatch(resultado))
+		.andExpect(MockMvcResultMatchers.status().isOk())
+		.andExpect(MockMvcResultMatchers.jsonPath("[0].data").value("2021-01-01"))
+		.andExpect(MockMvcResultMatchers.jsonPath("[0].saldo").value(10))
+		.andExpect(MockMvcResultMatchers.jsonPath("[1].saldo").value(1));
+	}
+	
+	@Test
+	public void deveRecusarGranularidadeInvalidaNaSerieDeSaldo() throws Exception{
+		// cenario
+		Mockito.when(service.obterPorId(1l)).thenReturn(Optional.of(Usuario.builder().id(1l).build()));
+		
+		//execucao e verificacao
+		MockHttpServletRequestBuilder request = MockMvcRequestBuilders
+										.get(API.concat("/1/saldo/serie"))
+										.param("de", "2021-01-01")
+										.param("ate", "2021-01-02")
+										.param("granularidade", "semana");
+		
+		MvcResult resultado = mvc
+		.perform(request)
+		.andExpect(MockMvcResultMatchers.request().asyncStarted())
+		.andReturn();
+		
+		mvc
+		.perform(MockMvcRequestBuilders.asyncDispatch(resultado))
+		.andExpect(MockMvcResultMatchers.status().isBadRequest());
+	}
+
+	@Test
+	public void naoDeveConfundirErroDoServicoComGranularidadeInvalida() throws Exception{
+		// cenario
+		Mockito.when(service.obterPorId(1l)).thenReturn(Optional.of(Usuario.builder().id(1l).build()));
+		Mockito.when(analiseService.obterSerieSaldo(Mockito.eq(1l), Mockito.any(), Mockito.any(), Mockito.eq(Granularidade.MES)))
+			.thenThrow(new IllegalArgumentException("falha interna"));
+		
+		//execucao
+		MvcResult resultado = mvc
+		.perform(MockMvcRequestBuilders.get(API.concat("/1/saldo/serie")).param("de", "2021-01-01").param("ate", "2021-01-02"))
+		.andExpect(MockMvcResultMatchers.request().asyncStarted())
+		.andReturn();
+		Throwable erro = Assertions.catchThrowable(() -> mvc.perform(MockMvcRequestBuilders.asyncDispatch(resultado)));
+		
+		//verificacao
+		Assertions.assertThat(erro).hasRootCauseInstanceOf(IllegalArgumentException.class).hasStackTraceContaining("falha interna");
+	}
+
+	@Test
+	public void deveRecusarSaldoDeOutroUsuarioComToken() throws Exception{
+		// cenario
+		String token = "Bearer " + assinadorTokens.emitir(2l);
+		
+		//execucao e verificacao
+		MvcResult resultado = mvc
+		.perform(MockMvcRequestBuilders.get(API.concat("/1/saldo")).header(HttpHeaders.AUTHORIZATION, token))
+		.andExpect(MockMvcResultMatchers.request().asyncStarted())
+		.andReturn();
+		
+		mvc
+		.perform(MockMvcRequestBuilders.asyncDispatch(resultado))
+		.andExpect(MockMvcResultMatchers.status().isForbidden());
+		
+		Mockito.verifyNoInteractions(lancamentoService);
+	}
+	
+	@Test
+	public void deveRecusarTokenAdulteradoNoSaldo() throws Exception{
+		String token = assinadorTokens.emitir(1l);
+		
+		mvc.perform(MockMvcRequestBuilders.get(API.concat("/1/saldo")).header(HttpHeaders.AUTHORIZATION, "Bearer " + token + "A"))
+		.andExpect(MockMvcResultMatchers.request().asyncNotStarted())
+		.andExpect(MockMvcResultMatchers.status().isUnauthorized());
+	}
+	
+	@Test
+	public void deveAutenticarSemConferirTokenAnterior() throws Exception{
+		// cenario
+		Usuario usuario = Usuario.builder().id(1L).email("usuario@email.com").senha("123").build();
+		Mockito.when(service.autenticar("usuario@email.com", "123")).thenReturn(CompletableFuture.completedFuture(usuario));
+		String json = new ObjectMapper().writeValueAsString(UsuarioDTO.builder().email("usuario@email.com").senha("123").build());
+		
+		//execucao e verificacao
+		MvcResult resultado = mvc
+		.perform(MockMvcRequestBuilders.post(API.concat("/autenticar")).header(HttpHeaders.AUTHORIZATION, "Bearer expirado")
+				.accept(JSON).contentType(JSON).content(json))
+		.andExpect(MockMvcResultMatchers.request().asyncStarted())
+		.andReturn();
+		
+		mvc
+		.perform(MockMvcRequestBuilders.asyncDispatch(resultado))
+		.andExpect(MockMvcResultMatchers.status().isOk());
+	}
+
 }
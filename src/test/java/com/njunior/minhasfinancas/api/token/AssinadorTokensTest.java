@@ -0,0 +1,133 @@
+package com.njunior.minhasfinancas.api.token;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Base64;
+
+import org.assertj.core.api.Assertions;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class AssinadorTokensTest {
+
+	static final Instant AGORA = Instant.parse("2021-01-01T10:00:00Z");
+	static final byte[] SEGREDO_1 = segredo(1);
+	static final byte[] SEGREDO_2 = segredo(2);
+
+	@Rule
+	public TemporaryFolder pasta = new TemporaryFolder();
+
+	@Test
+	public void deveConferirOTokenEmitidoAteExpirar() {
+		//cenario
+		AssinadorTokens assinador = criar(AGORA);
+		String token = assinador.emitir(42L, AGORA.plusSeconds(60));
+
+		//execucao e verificacao
+		Assertions.assertThat(assinador.verificar(token)).contains(42L);
+		Assertions.assertThat(criar(AGORA.plusSeconds(59)).verificar(token)).contains(42L);
+		Assertions.assertThat(criar(AGORA.plusSeconds(60)).verificar(token)).isEmpty();
+	}
+
+	@Test
+	public void deveRecusarTokenAdulteradoOuMalFormado() {
+		//cenario
+		AssinadorTokens assinador = criar(AGORA);
+		String token = assinador.emitir(42L);
+		String outroUsuario = assinador.emitir(43L);
+		String[] partes = token.split("\\.");
+
+		//execucao e verificacao
+		Assertions.assertThat(assinador.verificar(partes[0] + "." + outroUsuario.split("\\.")[1] + "." + partes[2])).isEmpty();
+		Assertions.assertThat(assinador.verificar("outra." + partes[1] + "." + partes[2])).isEmpty();
+		Assertions.assertThat(assinador.verificar(token.substring(0, token.length() - 2))).isEmpty();
+		Assertions.assertThat(assinador.verificar("k1..")).isEmpty();
+		Assertions.assertThat(assinador.verificar("k1.%%.%%")).isEmpty();
+		Assertions.assertThat(assinador.verificar("")).isEmpty();
+	}
+
+	@Test
+	public void deveRotacionarPeloArquivoCompartilhadoSemInvalidarTokensAntigos() throws IOException {
+		//cenario
+		File arquivo = pasta.newFile("chaves.properties");
+		escrever(arquivo, "chaves.k1=" + base64(SEGREDO_1), "chave-atual=k1");
+		TokenProperties properties = new TokenProperties();
+		properties.setArquivo(arquivo.getPath());
+		AssinadorTokens assinador = new AssinadorTokens(properties, Clock.fixed(AGORA, ZoneOffset.UTC));
+		AssinadorTokens outraInstancia = new AssinadorTokens(properties, Clock.fixed(AGORA, ZoneOffset.UTC));
+		String antigo = assinador.emitir(42L);
+
+		//execucao
+		Assertions.assertThat(assinador.recarregar()).isFalse();
+		escrever(arquivo, "chaves.k1=" + base64(SEGREDO_1), "chaves.k2=" + base64(SEGREDO_2), "chave-atual=k2");
+		Assertions.assertThat(assinador.recarregar()).isTrue();
+		outraInstancia.recarregar();
+		String novo = assinador.emitir(42L);
+
+		//verificacao
+		Assertions.assertThat(novo).startsWith("k2.");
+		Assertions.assertThat(outraInstancia.verificar(novo)).contains(42L);
+		Assertions.assertThat(outraInstancia.verificar(antigo)).contains(42L);
+		escrever(arquivo, "chaves.k2=" + base64(SEGREDO_2), "chave-atual=k2");
+		outraInstancia.recarregar();
+		Assertions.assertThat(outraInstancia.verificar(antigo)).isEmpty();
+		Assertions.assertThat(outraInstancia.verificar(novo)).contains(42L);
+	}
+
+	@Test
+	public void deveManterAsChavesQuandoOArquivoFicaInvalido() throws IOException {
+		//cenario
+		File arquivo = pasta.newFile("chaves.properties");
+		escrever(arquivo, "chaves.k1=" + base64(SEGREDO_1));
+		TokenProperties properties = new TokenProperties();
+		properties.setArquivo(arquivo.getPath());
+		AssinadorTokens assinador = new AssinadorTokens(properties, Clock.fixed(AGORA, ZoneOffset.UTC));
+		String token = assinador.emitir(42L);
+
+		//execucao
+		escrever(arquivo, "chaves.k1=" + base64(SEGREDO_1), "chave-atual=k9");
+
+		//verificacao
+		Assertions.assertThat(assinador.recarregar()).isFalse();
+		Assertions.assertThat(assinador.getChaveAtual()).isEqualTo("k1");
+		Assertions.assertThat(assinador.verificar(token)).contains(42L);
+	}
+
+	@Test
+	public void naoDeveSubirSemChaveQuandoAChaveEExigida() {
+		TokenProperties properties = new TokenProperties();
+		properties.setExigirChave(true);
+
+		Assertions.assertThatThrownBy(() -> new AssinadorTokens(properties)).isInstanceOf(IllegalStateException.class);
+	}
+
+	private static AssinadorTokens criar(Instant agora) {
+		TokenProperties properties = new TokenProperties();
+		properties.getChaves().put("k1", base64(SEGREDO_1));
+		properties.setChaveAtual("k1");
+		return new AssinadorTokens(properties, Clock.fixed(agora, ZoneOffset.UTC));
+	}
+
+	private static void escrever(File arquivo, String... linhas) throws IOException {
+		Files.write(arquivo.toPath(), String.join("\n", linhas).getBytes(StandardCharsets.ISO_8859_1));
+	}
+
+	private static String base64(byte[] segredo) {
+		return Base64.getEncoder().encodeToString(segredo);
+	}
+
+	private static byte[] segredo(int semente) {
+		byte[] segredo = new byte[AssinadorTokens.TAMANHO_MINIMO_CHAVE];
+		for (int i = 0; i < segredo.length; i++) {
+			segredo[i] = (byte) (semente * 31 + i);
+		}
+		return segredo;
+	}
+
+}
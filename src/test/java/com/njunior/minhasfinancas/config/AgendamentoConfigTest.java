@@ -0,0 +1,62 @@
+package com.njunior.minhasfinancas.config;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.assertj.core.api.Assertions;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.scheduling.config.ScheduledTask;
+import org.springframework.scheduling.config.ScheduledTaskHolder;
+import org.springframework.scheduling.support.ScheduledMethodRunnable;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+
+/**
+ * Com a inicialização preguiçosa do perfil de produção, um {@code @Scheduled} só é agendado
+ * se o bean for criado na subida; nenhuma tarefa periódica pode depender de uma requisição.
+ * O barramento de invalidação, que sobe a própria thread de leitura, também.
+ */
+@RunWith(SpringRunner.class)
+@ActiveProfiles({ "embarcado", "producao" })
+@SpringBootTest(properties = { "spring.jpa.hibernate.ddl-auto=create-drop",
+		"minhasfinancas.token.chaves.teste=MDEyMzQ1Njc4OWFiY2RlZjAxMjM0NTY3ODlhYmNkZWY=",
+		"minhasfinancas.invalidacao.habilitado=true" })
+public class AgendamentoConfigTest {
+
+	@Autowired
+	List<ScheduledTaskHolder> agendadores;
+
+	@Autowired
+	ConfigurableListableBeanFactory beanFactory;
+
+	@Test
+	public void deveAgendarAsTarefasPeriodicasNaSubidaEmProducao() {
+		//execucao
+		List<String> tarefas = agendadores.stream()
+				.flatMap(agendador -> agendador.getScheduledTasks().stream())
+				.map(ScheduledTask::getTask)
+				.map(tarefa -> tarefa.getRunnable())
+				.filter(ScheduledMethodRunnable.class::isInstance)
+				.map(ScheduledMethodRunnable.class::cast)
+				.map(metodo -> metodo.getMethod().getDeclaringClass().getSimpleName() + "." + metodo.getMethod().getName())
+				.collect(Collectors.toList());
+
+		//verificacao
+		Assertions.assertThat(tarefas).contains(
+				"ExtratoServiceImpl.consolidarPendentes",
+				"RecorrenciaServiceImpl.gerarPendentes",
+				"OutboxServiceImpl.despachar",
+				"AssinadorTokens.recarregar");
+	}
+
+	@Test
+	public void deveIniciarOBarramentoDeInvalidacaoNaSubidaEmProducao() {
+		//verificacao
+		Assertions.assertThat(beanFactory.containsSingleton("barramentoInvalidacaoBanco")).isTrue();
+	}
+
+}
@@ -0,0 +1,109 @@
+package com.njunior.minhasfinancas.config;
+
+import java.time.YearMonth;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.assertj.core.api.Assertions;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import com.njunior.minhasfinancas.model.entity.Lancamento;
+import com.njunior.minhasfinancas.model.entity.Usuario;
+import com.njunior.minhasfinancas.model.repository.LancamentoRepository;
+import com.njunior.minhasfinancas.model.repository.LancamentoRepositoryTest;
+import com.njunior.minhasfinancas.model.repository.UsuarioRepository;
+import com.njunior.minhasfinancas.model.repository.UsuarioRepositoryTest;
+import com.njunior.minhasfinancas.service.AnaliseService;
+import com.njunior.minhasfinancas.service.UsuarioFrequenteService;
+
+@RunWith(SpringRunner.class)
+@ActiveProfiles("embarcado")
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+public class AquecimentoInicializacaoTest {
+
+	@Autowired
+	MockMvc mvc;
+
+	@Autowired
+	AquecimentoInicializacao aquecimento;
+
+	@Autowired
+	UsuarioFrequenteService usuarioFrequenteService;
+
+	@Autowired
+	AnaliseService analiseService;
+
+	@Autowired
+	UsuarioRepository usuarioRepository;
+
+	@Autowired
+	LancamentoRepository lancamentoRepository;
+
+	@Autowired
+	EntityManagerFactory entityManagerFactory;
+
+	@Test
+	public void deveOrdenarOsUsuariosPelaQuantidadeDeAcessos() throws Exception {
+		//cenario
+		Usuario poucoAtivo = criarUsuario("aquecimento.pouco@email.com");
+		Usuario muitoAtivo = criarUsuario("aquecimento.muito@email.com");
+		acessar(poucoAtivo, 1);
+		acessar(muitoAtivo, 3);
+
+		//execucao
+		usuarioFrequenteService.persistirAcessos();
+
+		//verificacao
+		Assertions.assertThat(usuarioFrequenteService.obterMaisAtivos(10))
+			.containsSubsequence(muitoAtivo.getId(), poucoAtivo.getId());
+	}
+
+	@Test
+	public void deveCarregarOsCachesDosUsuariosMaisAtivos() throws Exception {
+		//cenario
+		Usuario usuario = criarUsuario("aquecimento.cache@email.com");
+		Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+		lancamento.setUsuario(usuario);
+		lancamentoRepository.save(lancamento);
+		acessar(usuario, 50);
+		usuarioFrequenteService.persistirAcessos();
+		analiseService.descartar(usuario.getId());
+
+		//execucao
+		aquecimento.aquecer();
+
+		//verificacao
+		Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		estatisticas.clear();
+		YearMonth mesAtual = YearMonth.now();
+		analiseService.obterResumoMensal(usuario.getId(), mesAtual.minusMonths(11), mesAtual);
+		Assertions.assertThat(estatisticas.getPrepareStatementCount()).isZero();
+	}
+
+	private Usuario criarUsuario(String email) {
+		Usuario usuario = UsuarioRepositoryTest.criarUsuario();
+		usuario.setEmail(email);
+		return usuarioRepository.save(usuario);
+	}
+
+	private void acessar(Usuario usuario, int vezes) throws Exception {
+		for (int i = 0; i < vezes; i++) {
+			MvcResult resultado = mvc.perform(MockMvcRequestBuilders.get("/api/lancamentos").param("usuario", usuario.getId().toString()))
+				.andReturn();
+			mvc.perform(MockMvcRequestBuilders.asyncDispatch(resultado));
+		}
+	}
+
+}
@@ -0,0 +1,65 @@
+package com.njunior.minhasfinancas.config;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.assertj.core.api.Assertions;
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.core.task.TaskRejectedException;
+
+public class ExecutorBancoTest {
+
+	// uma thread por tarefa, como o executor de virtual threads
+	ExecutorService threadPorTarefa = Executors.newCachedThreadPool();
+
+	@After
+	public void tearDown() {
+		threadPorTarefa.shutdownNow();
+	}
+
+	@Test
+	public void deveLimitarAsTarefasSimultaneasAoNumeroDeThreadsComThreadPorTarefa() throws Exception {
+		//cenario
+		AsyncProperties properties = new AsyncProperties();
+		properties.setThreads(2);
+		properties.setFila(3);
+		ExecutorBanco executor = new ExecutorBanco(properties, threadPorTarefa);
+		CountDownLatch liberar = new CountDownLatch(1);
+		AtomicInteger rodando = new AtomicInteger();
+		AtomicInteger maximo = new AtomicInteger();
+
+		//execucao
+		List<Future<?>> tarefas = new ArrayList<>();
+		for (int i = 0; i < 5; i++) {
+			tarefas.add(executor.submit(() -> {
+				maximo.accumulateAndGet(rodando.incrementAndGet(), Math::max);
+				try {
+					liberar.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				rodando.decrementAndGet();
+			}));
+		}
+		Throwable excedente = Assertions.catchThrowable(() -> executor.submit(() -> { }));
+		TimeUnit.MILLISECONDS.sleep(200);
+		int rodandoAntesDeLiberar = rodando.get();
+		liberar.countDown();
+		for (Future<?> tarefa : tarefas) {
+			tarefa.get(5, TimeUnit.SECONDS);
+		}
+
+		//verificacao
+		Assertions.assertThat(excedente).isInstanceOf(TaskRejectedException.class);
+		Assertions.assertThat(rodandoAntesDeLiberar).isEqualTo(2);
+		Assertions.assertThat(maximo.get()).isEqualTo(2);
+	}
+
+}
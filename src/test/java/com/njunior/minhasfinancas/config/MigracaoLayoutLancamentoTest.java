@@ -0,0 +1,116 @@
+package com.njunior.minhasfinancas.config;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import org.assertj.core.api.Assertions;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.njunior.minhasfinancas.model.enums.StatusLancamento;
+import com.njunior.minhasfinancas.model.enums.TipoLacamento;
+
+@RunWith(SpringRunner.class)
+@JdbcTest(properties = "spring.datasource.url=jdbc:h2:mem:migracao;MODE=MySQL;DB_CLOSE_DELAY=-1;INIT=CREATE SCHEMA IF NOT EXISTS financas")
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+@ActiveProfiles("embarcado")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class MigracaoLayoutLancamentoTest {
+	
+	@Autowired
+	JdbcTemplate jdbcTemplate;
+	
+	MigracaoLayoutLancamento migracao;
+	
+	@Before
+	public void setUp() {
+		jdbcTemplate.execute("create table financas.lancamento (id bigint auto_increment primary key, "
+				+ " descricao varchar(100), mes int, ano int, id_usuario bigint, valor decimal(16,2), "
+				+ " data_cadastro date, tipo varchar(20), status varchar(20))");
+		
+		MigracaoProperties properties = new MigracaoProperties();
+		properties.setTamanhoLote(3);
+		properties.setPausaEntreLotes(Duration.ZERO);
+		migracao = new MigracaoLayoutLancamento(jdbcTemplate, properties);
+	}
+	
+	@After
+	public void tearDown() {
+		jdbcTemplate.execute("drop table financas.lancamento");
+	}
+	
+	@Test
+	public void deveConverterParaOLayoutCompactoEmLotes() {
+		//cenario
+		for (int i = 1; i <= 10; i++) {
+			inserir(i, 2020, i % 2 == 0 ? "RECEITA" : "DESPESA", i % 3 == 0 ? "EFETIVADO" : null);
+		}
+		
+		//execucao
+		migracao.executar();
+		
+		//verificacao
+		Assertions.assertThat(colunas()).contains("PERIODO", "TIPO", "STATUS").doesNotContain("MES", "ANO", "TIPO_CODIGO", "STATUS_CODIGO");
+		
+		Map<String, Object> linha = jdbcTemplate.queryForMap("select periodo, tipo, status from financas.lancamento where descricao = 'Lancamento 6'");
+		Assertions.assertThat(((Number) linha.get("periodo")).intValue()).isEqualTo(202006);
+		Assertions.assertThat(((Number) linha.get("tipo")).byteValue()).isEqualTo(TipoLacamento.RECEITA.getCodigo());
+		Assertions.assertThat(((Number) linha.get("status")).byteValue()).isEqualTo(StatusLancamento.EFETIVADO.getCodigo());
+		
+		Assertions.assertThat(jdbcTemplate.queryForObject("select count(*) from financas.lancamento where status = ?", 
+				Long.class, StatusLancamento.PENDENTE.getCodigo())).isEqualTo(7);
+		Assertions.assertThat(jdbcTemplate.queryForList("select lower(index_name) from information_schema.indexes "
+				+ " where lower(table_name) = 'lancamento'", String.class))
+		.contains("idx_lancamento_usuario_periodo", "idx_lancamento_usuario_cadastro", "idx_lancamento_usuario_descricao");
+	}
+	
+	@Test
+	public void devePoderSerExecutadaNovamente() {
+		//cenario
+		inserir(5, 2021, "DESPESA", "PENDENTE");
+		migracao.executar();
+		
+		//execucao
+		migracao.executar();
+		
+		//verificacao
+		Assertions.assertThat(jdbcTemplate.queryForObject("select periodo from financas.lancamento", Integer.class)).isEqualTo(202105);
+	}
+	
+	@Test
+	public void naoDeveContrairComLancamentosInvalidos() {
+		//cenario
+		inserir(5, 2021, "DESPESA", "PENDENTE");
+		jdbcTemplate.update("insert into financas.lancamento (descricao, ano, tipo) values ('Sem mes', 2021, 'RECEITA')");
+		
+		//execucao
+		Throwable erro = Assertions.catchThrowable(migracao::executar);
+		
+		//verificacao
+		Assertions.assertThat(erro).isInstanceOf(IllegalStateException.class).hasMessageContaining("1 lançamentos");
+		Assertions.assertThat(colunas()).contains("MES", "ANO", "PERIODO", "TIPO_CODIGO");
+	}
+	
+	private void inserir(int mes, int ano, String tipo, String status) {
+		jdbcTemplate.update("insert into financas.lancamento (descricao, mes, ano, id_usuario, valor, tipo, status) "
+				+ " values (?, ?, ?, 1, 10, ?, ?)", "Lancamento " + mes, mes, ano, tipo, status);
+	}
+	
+	private List<String> colunas() {
+		return jdbcTemplate.queryForList("select upper(column_name) from information_schema.columns "
+				+ " where lower(table_schema) = 'financas' and lower(table_name) = 'lancamento'", String.class);
+	}
+
+}
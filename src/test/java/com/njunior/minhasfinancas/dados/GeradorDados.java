@@ -0,0 +1,253 @@
+package com.njunior.minhasfinancas.dados;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import com.njunior.minhasfinancas.model.entity.Lancamento;
+import com.njunior.minhasfinancas.model.enums.StatusLancamento;
+import com.njunior.minhasfinancas.model.enums.TipoLacamento;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+/**
+ * Gera usuários e lançamentos sintéticos com volume e distribuição próximos aos de
+ * produção e os carrega em lotes via JDBC. A mesma semente sempre produz as mesmas linhas.
+ * 
+ * <p>A quantidade de lançamentos por usuário segue uma log-normal (poucos usuários com
+ * muitos lançamentos), as descrições vêm de um vocabulário com frequências decrescentes e
+ * os períodos se espalham pelos {@code anos} anteriores a {@code anoFinal}.
+ * 
+ * <p>No MySQL use {@code rewriteBatchedStatements=true} na URL para que os lotes virem
+ * inserts de múltiplas linhas.
+ * 
+ * <p>Também pode ser executado diretamente contra um banco:
+ * <pre>
+ * java -Dgerador.url=jdbc:mysql://localhost:3306/financas?rewriteBatchedStatements=true \
+ *      -Dgerador.usuarios=1000 -Dgerador.media-lancamentos=500 ... GeradorDados
+ * </pre>
+ */
+@Builder
+public final class GeradorDados {
+	
+	static final String[] RECEITAS = { "Salário", "Freelance", "Rendimento poupança", "Reembolso", 
+			"Venda", "Aluguel recebido", "Dividendos", "Décimo terceiro" };
+	
+	static final String[] DESPESAS = { "Supermercado", "Restaurante", "Combustível", "Aluguel", 
+			"Energia elétrica", "Internet", "Farmácia", "Água", "Transporte", "Streaming", 
+			"Academia", "Plano de saúde", "Escola", "Presentes", "Viagem", "Manutenção do carro" };
+	
+	static final String INSERT_USUARIO = 
+			"insert into financas.usuario (id, nome, email, senha, data_cadastro) values (?, ?, ?, ?, ?)";
+	
+	static final String INSERT_LANCAMENTO = 
+			"insert into financas.lancamento (descricao, periodo, id_usuario, valor, data_cadastro, tipo, status) "
+		  + "values (?, ?, ?, ?, ?, ?, ?)";
+	
+	@Builder.Default
+	private final long semente = 42;
+	
+	@Builder.Default
+	private final int usuarios = 100;
+	
+	@Builder.Default
+	private final int mediaLancamentos = 200;
+	
+	@Builder.Default
+	private final int anos = 5;
+	
+	@Builder.Default
+	private final int anoFinal = 2021;
+	
+	@Builder.Default
+	private final double proporcaoReceitas = 0.25;
+	
+	@Builder.Default
+	private final int tamanhoLote = 5000;
+	
+	public interface Destino {
+		
+		void usuario(long id, String nome, String email, String senha, LocalDate dataCadastro);
+		
+		void lancamento(long idUsuario, String descricao, int periodo, BigDecimal valor, 
+				LocalDate dataCadastro, TipoLacamento tipo, StatusLancamento status);
+	}
+	
+	@Getter
+	@ToString
+	@RequiredArgsConstructor
+	public static class ResumoCarga {
+		private final int usuarios;
+		private final long lancamentos;
+		private final long duracaoMs;
+		
+		public long getLinhasPorSegundo() {
+			return duracaoMs == 0 ? lancamentos : lancamentos * 1000 / duracaoMs;
+		}
+	}
+	
+	/** Gera todas as linhas em ordem determinística. Ids de usuário começam após {@code ultimoIdUsuario}. */
+	public void gerar(long ultimoIdUsuario, Destino destino) {
+		SplittableRandom aleatorio = new SplittableRandom(semente);
+		double desvio = 1.0;
+		double media = Math.log(mediaLancamentos) - desvio * desvio / 2;
+		int totalMeses = anos * 12;
+		int indiceFinal = anoFinal * 12 + 11;
+		
+		for (int u = 0; u < usuarios; u++) {
+			long idUsuario = ultimoIdUsuario + u + 1;
+			int mesesAtivo = 1 + aleatorio.nextInt(totalMeses);
+			LocalDate inicio = data(indiceFinal - mesesAtivo + 1, aleatorio);
+			destino.usuario(idUsuario, "Usuário " + idUsuario, "usuario" + idUsuario + "@gerado.com", "senha", inicio);
+			
+			long quantidade = Math.min((long) Math.ceil(Math.exp(media + desvio * gaussiana(aleatorio))), 
+					mediaLancamentos * 50L);
+			for (long l = 0; l < quantidade; l++) {
+				int indice = indiceFinal - aleatorio.nextInt(mesesAtivo);
+				boolean receita = aleatorio.nextDouble() < proporcaoReceitas;
+				TipoLacamento tipo = receita ? TipoLacamento.RECEITA : TipoLacamento.DESPESA;
+				String descricao = receita ? escolher(RECEITAS, aleatorio) : escolher(DESPESAS, aleatorio);
+				double valor = Math.exp((receita ? 7.5 : 4.5) + 0.8 * gaussiana(aleatorio));
+				
+				destino.lancamento(idUsuario, descricao, Lancamento.periodo(indice / 12, indice % 12 + 1), 
+						BigDecimal.valueOf(Math.round(valor * 100), 2), data(indice, aleatorio), tipo, 
+						status(indiceFinal - indice, aleatorio));
+			}
+		}
+	}
+	
+	/** Insere as linhas geradas no banco do {@code jdbcTemplate}, em lotes de {@code tamanhoLote}. */
+	public ResumoCarga carregar(JdbcTemplate jdbcTemplate) {
+		long inicio = System.nanoTime();
+		Long ultimoId = jdbcTemplate.queryForObject("select coalesce(max(id), 0) from financas.usuario", Long.class);
+		
+		List<Object[]> linhasUsuario = new ArrayList<>(tamanhoLote);
+		List<Object[]> linhasLancamento = new ArrayList<>(tamanhoLote);
+		long[] lancamentos = new long[1];
+		
+		gerar(ultimoId, new Destino() {
+			@Override
+			public void usuario(long id, String nome, String email, String senha, LocalDate dataCadastro) {
+				linhasUsuario.add(new Object[] { id, nome, email, senha, Date.valueOf(dataCadastro) });
+				if (linhasUsuario.size() == tamanhoLote) {
+					descarregarUsuarios(jdbcTemplate, linhasUsuario);
+				}
+			}
+			
+			@Override
+			public void lancamento(long idUsuario, String descricao, int periodo, BigDecimal valor,
+					LocalDate dataCadastro, TipoLacamento tipo, StatusLancamento status) {
+				linhasLancamento.add(new Object[] { descricao, periodo, idUsuario, valor, Date.valueOf(dataCadastro), 
+						tipo.getCodigo(), status.getCodigo() });
+				lancamentos[0]++;
+				if (linhasLancamento.size() == tamanhoLote) {
+					descarregarUsuarios(jdbcTemplate, linhasUsuario);
+					descarregarLancamentos(jdbcTemplate, linhasLancamento);
+				}
+			}
+		});
+		descarregarUsuarios(jdbcTemplate, linhasUsuario);
+		descarregarLancamentos(jdbcTemplate, linhasLancamento);
+		
+		return new ResumoCarga(usuarios, lancamentos[0], TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio));
+	}
+	
+	/** Setters tipados evitam a descoberta de tipo por parâmetro feita pelo {@code batchUpdate(sql, List)}. */
+	private static void descarregarUsuarios(JdbcTemplate jdbcTemplate, List<Object[]> linhas) {
+		if (!linhas.isEmpty()) {
+			jdbcTemplate.batchUpdate(INSERT_USUARIO, linhas, linhas.size(), (ps, linha) -> {
+				ps.setLong(1, (Long) linha[0]);
+				ps.setString(2, (String) linha[1]);
+				ps.setString(3, (String) linha[2]);
+				ps.setString(4, (String) linha[3]);
+				ps.setDate(5, (Date) linha[4]);
+			});
+			linhas.clear();
+		}
+	}
+	
+	private static void descarregarLancamentos(JdbcTemplate jdbcTemplate, List<Object[]> linhas) {
+		if (!linhas.isEmpty()) {
+			jdbcTemplate.batchUpdate(INSERT_LANCAMENTO, linhas, linhas.size(), (ps, linha) -> {
+				ps.setString(1, (String) linha[0]);
+				ps.setInt(2, (Integer) linha[1]);
+				ps.setLong(3, (Long) linha[2]);
+				ps.setBigDecimal(4, (BigDecimal) linha[3]);
+				ps.setDate(5, (Date) linha[4]);
+				ps.setByte(6, (Byte) linha[5]);
+				ps.setByte(7, (Byte) linha[6]);
+			});
+			linhas.clear();
+		}
+	}
+	
+	/** Lançamentos antigos quase sempre já foram efetivados; os recentes tendem a estar pendentes. */
+	private static StatusLancamento status(int mesesAtras, SplittableRandom aleatorio) {
+		double sorteio = aleatorio.nextDouble();
+		if (sorteio < 0.05) {
+			return StatusLancamento.CANCELADO;
+		}
+		double pendentes = mesesAtras == 0 ? 0.6 : mesesAtras == 1 ? 0.25 : 0.03;
+		return sorteio < 0.05 + pendentes ? StatusLancamento.PENDENTE : StatusLancamento.EFETIVADO;
+	}
+	
+	/** Escolhe com peso 1/(i+1): os primeiros termos do vocabulário aparecem muito mais. */
+	private static String escolher(String[] vocabulario, SplittableRandom aleatorio) {
+		double alvo = aleatorio.nextDouble() * harmonico(vocabulario.length);
+		for (int i = 0; i < vocabulario.length; i++) {
+			alvo -= 1.0 / (i + 1);
+			if (alvo < 0) {
+				return vocabulario[i];
+			}
+		}
+		return vocabulario[vocabulario.length - 1];
+	}
+	
+	private static double harmonico(int n) {
+		double total = 0;
+		for (int i = 1; i <= n; i++) {
+			total += 1.0 / i;
+		}
+		return total;
+	}
+	
+	private static LocalDate data(int indiceMes, SplittableRandom aleatorio) {
+		return LocalDate.of(indiceMes / 12, indiceMes % 12 + 1, 1 + aleatorio.nextInt(28));
+	}
+	
+	/** Box-Muller; {@link SplittableRandom} não oferece {@code nextGaussian}. */
+	private static double gaussiana(SplittableRandom aleatorio) {
+		double u = 1.0 - aleatorio.nextDouble();
+		return Math.sqrt(-2 * Math.log(u)) * Math.cos(2 * Math.PI * aleatorio.nextDouble());
+	}
+	
+	public static void main(String[] args) {
+		DriverManagerDataSource dataSource = new DriverManagerDataSource(
+				System.getProperty("gerador.url", "jdbc:mysql://localhost:3306/financas?rewriteBatchedStatements=true"),
+				System.getProperty("gerador.usuario", "root"),
+				System.getProperty("gerador.senha", "root"));
+		
+		ResumoCarga resumo = GeradorDados.builder()
+				.semente(Long.getLong("gerador.semente", 42))
+				.usuarios(Integer.getInteger("gerador.usuarios", 1000))
+				.mediaLancamentos(Integer.getInteger("gerador.media-lancamentos", 200))
+				.anos(Integer.getInteger("gerador.anos", 5))
+				.anoFinal(Integer.getInteger("gerador.ano-final", 2021))
+				.build()
+				.carregar(new JdbcTemplate(dataSource));
+		
+		System.out.printf("%d usuários e %d lançamentos em %d ms (%d linhas/s)%n", resumo.getUsuarios(), 
+				resumo.getLancamentos(), resumo.getDuracaoMs(), resumo.getLinhasPorSegundo());
+	}
+
+}
@@ -0,0 +1,114 @@
+package com.njunior.minhasfinancas.dados;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.assertj.core.api.Assertions;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import com.njunior.minhasfinancas.model.enums.StatusLancamento;
+import com.njunior.minhasfinancas.model.enums.TipoLacamento;
+import com.njunior.minhasfinancas.dados.GeradorDados.ResumoCarga;
+
+/**
+ * A quantidade pode ser ajustada com -Dgerador.usuarios=N e -Dgerador.media-lancamentos=N.
+ */
+@RunWith(SpringRunner.class)
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+@ActiveProfiles("embarcado")
+public class GeradorDadosTest {
+	
+	@Autowired
+	JdbcTemplate jdbcTemplate;
+	
+	@Test
+	public void deveGerarAsMesmasLinhasParaAMesmaSemente() {
+		//cenario
+		GeradorDados gerador = GeradorDados.builder().semente(7).usuarios(50).build();
+		
+		//execucao
+		List<Object[]> primeira = linhas(gerador);
+		List<Object[]> segunda = linhas(gerador);
+		List<Object[]> outraSemente = linhas(GeradorDados.builder().semente(8).usuarios(50).build());
+		
+		//verificacao
+		Assertions.assertThat(Arrays.deepEquals(primeira.toArray(), segunda.toArray())).isTrue();
+		Assertions.assertThat(Arrays.deepEquals(primeira.toArray(), outraSemente.toArray())).isFalse();
+	}
+	
+	@Test
+	public void deveDistribuirOsLancamentosDeFormaRealista() {
+		//cenario
+		GeradorDados gerador = GeradorDados.builder().usuarios(500).mediaLancamentos(100).anos(3).anoFinal(2021).build();
+		Map<Long, Integer> porUsuario = new HashMap<>();
+		Map<Object, Integer> contagem = new HashMap<>();
+		
+		//execucao
+		for (Object[] linha : linhas(gerador)) {
+			porUsuario.merge((Long) linha[0], 1, Integer::sum);
+			contagem.merge(linha[5], 1, Integer::sum);
+			contagem.merge(linha[6], 1, Integer::sum);
+			Assertions.assertThat((Integer) linha[2]).isBetween(201901, 202112);
+		}
+		
+		//verificacao
+		int total = porUsuario.values().stream().mapToInt(Integer::intValue).sum();
+		int[] ordenado = porUsuario.values().stream().mapToInt(Integer::intValue).sorted().toArray();
+		Assertions.assertThat(porUsuario).hasSize(500);
+		Assertions.assertThat(ordenado[ordenado.length - 1]).isGreaterThan(ordenado[ordenado.length / 2] * 4);
+		Assertions.assertThat(contagem.get(TipoLacamento.RECEITA) / (double) total).isBetween(0.2, 0.3);
+		Assertions.assertThat(contagem.get(StatusLancamento.EFETIVADO)).isGreaterThan(total / 2);
+		Assertions.assertThat(contagem).containsKeys(StatusLancamento.PENDENTE, StatusLancamento.CANCELADO);
+	}
+	
+	@Test
+	public void deveCarregarOsDadosEmLotes() {
+		//cenario
+		GeradorDados gerador = GeradorDados.builder()
+				.usuarios(Integer.getInteger("gerador.usuarios", 200))
+				.mediaLancamentos(Integer.getInteger("gerador.media-lancamentos", 500))
+				.build();
+		
+		//execucao
+		ResumoCarga resumo = gerador.carregar(jdbcTemplate);
+		
+		//verificacao
+		System.out.printf("Carga: %d usuários, %d lançamentos em %d ms (%d linhas/s)%n", resumo.getUsuarios(), 
+				resumo.getLancamentos(), resumo.getDuracaoMs(), resumo.getLinhasPorSegundo());
+		Assertions.assertThat(jdbcTemplate.queryForObject("select count(*) from financas.usuario", Long.class))
+			.isEqualTo(resumo.getUsuarios());
+		Assertions.assertThat(jdbcTemplate.queryForObject("select count(*) from financas.lancamento", Long.class))
+			.isEqualTo(resumo.getLancamentos());
+	}
+	
+	private static List<Object[]> linhas(GeradorDados gerador) {
+		List<Object[]> linhas = new ArrayList<>();
+		gerador.gerar(0, new GeradorDados.Destino() {
+			@Override
+			public void usuario(long id, String nome, String email, String senha, LocalDate dataCadastro) {
+			}
+			
+			@Override
+			public void lancamento(long idUsuario, String descricao, int periodo, BigDecimal valor,
+					LocalDate dataCadastro, TipoLacamento tipo, StatusLancamento status) {
+				linhas.add(new Object[] { idUsuario, descricao, periodo, valor, dataCadastro, tipo, status });
+			}
+		});
+		return linhas;
+	}
+
+}
@@ -0,0 +1,198 @@
+package com.njunior.minhasfinancas.model.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import javax.sql.DataSource;
+
+import org.assertj.core.api.Assertions;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import com.njunior.minhasfinancas.model.entity.Lancamento;
+import com.njunior.minhasfinancas.model.entity.Usuario;
+import com.njunior.minhasfinancas.model.enums.StatusLancamento;
+import com.njunior.minhasfinancas.model.enums.TipoLacamento;
+import com.njunior.minhasfinancas.model.repository.FiltroLancamento.CampoOrdenacao;
+import com.njunior.minhasfinancas.model.repository.FiltroLancamento.ModoDescricao;
+
+/**
+ * Executa as buscas por {@link FiltroLancamento} e passa o SQL gerado pelo Hibernate ao
+ * EXPLAIN do banco embarcado, verificando que o plano usa os índices compostos do lançamento.
+ */
+@RunWith(SpringRunner.class)
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+		+ "com.njunior.minhasfinancas.model.repository.LancamentoRepositoryPeriodoTest$CapturaSql")
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+@ActiveProfiles("embarcado")
+public class LancamentoRepositoryPeriodoTest {
+	
+	@Autowired
+	LancamentoRepository repository;
+	
+	@Autowired
+	TestEntityManager entityManager;
+	
+	@Autowired
+	DataSource dataSource;
+	
+	Usuario usuario;
+	
+	@Before
+	public void setUp() {
+		usuario = entityManager.persist(UsuarioRepositoryTest.criarUsuario());
+		Usuario outro = UsuarioRepositoryTest.criarUsuario();
+		outro.setEmail("outro@email.com");
+		outro = entityManager.persist(outro);
+		
+		for (int i = 0; i < 24; i++) {
+			persistir(usuario, 2024 + i / 12, i % 12 + 1, LocalDate.of(2024, 1, 1).plusDays(i * 15));
+			persistir(outro, 2024 + i / 12, i % 12 + 1, LocalDate.of(2024, 1, 1).plusDays(i * 15));
+		}
+		entityManager.flush();
+		entityManager.clear();
+		CapturaSql.CONSULTAS.clear();
+	}
+	
+	@Test
+	public void deveBuscarPorPeriodoUsandoOIndiceDeUsuarioEPeriodo() {
+		//cenario
+		FiltroLancamento filtro = FiltroLancamento.builder()
+				.idUsuario(usuario.getId()).de(YearMonth.of(2025, 1)).ate(YearMonth.of(2025, 6))
+				.ordenarPor(CampoOrdenacao.PERIODO).build();
+		
+		//execucao
+		List<Lancamento> resultado = buscar(filtro);
+		
+		//verificacao
+		Assertions.assertThat(resultado).hasSize(6)
+		.extracting(Lancamento::getPeriodo).containsExactly(202501, 202502, 202503, 202504, 202505, 202506);
+		
+		Assertions.assertThat(explicar(202501, 202506, usuario.getId()))
+		.containsIgnoringCase("idx_lancamento_usuario_periodo");
+	}
+	
+	@Test
+	public void deveBuscarPorDataDeCadastroUsandoOIndiceDeUsuarioEData() {
+		//cenario
+		LocalDate inicio = LocalDate.of(2024, 3, 1);
+		LocalDate fim = LocalDate.of(2024, 3, 31);
+		FiltroLancamento filtro = FiltroLancamento.builder()
+				.idUsuario(usuario.getId()).dataCadastroDe(inicio).dataCadastroAte(fim).build();
+		
+		//execucao
+		List<Lancamento> resultado = buscar(filtro);
+		
+		//verificacao
+		Assertions.assertThat(resultado).isNotEmpty()
+		.allMatch(l -> !l.getDataCadastro().isBefore(inicio) && !l.getDataCadastro().isAfter(fim));
+		
+		Assertions.assertThat(explicar(inicio, fim, usuario.getId()))
+		.containsIgnoringCase("idx_lancamento_usuario_cadastro");
+	}
+	
+	@Test
+	public void deveCombinarPeriodoEDataDeCadastroUsandoUmIndiceComposto() {
+		//cenario
+		FiltroLancamento filtro = FiltroLancamento.builder()
+				.idUsuario(usuario.getId()).de(YearMonth.of(2024, 1)).ate(YearMonth.of(2024, 12))
+				.dataCadastroDe(LocalDate.of(2024, 6, 1)).dataCadastroAte(LocalDate.of(2024, 12, 31)).build();
+		
+		//execucao
+		List<Lancamento> resultado = buscar(filtro);
+		
+		//verificacao
+		Assertions.assertThat(resultado).isNotEmpty()
+		.allMatch(l -> l.getPeriodo() / 100 == 2024 && l.getDataCadastro().getMonthValue() >= 6);
+		
+		Assertions.assertThat(explicar(LocalDate.of(2024, 6, 1), LocalDate.of(2024, 12, 31), 202401, 202412, usuario.getId()))
+		.containsIgnoringCase("idx_lancamento_usuario_");
+	}
+	
+	@Test
+	public void deveBuscarDescricaoExataOuPorPrefixoUsandoOIndiceDeDescricao() {
+		//cenario
+		FiltroLancamento exata = FiltroLancamento.builder()
+				.idUsuario(usuario.getId()).descricao("Lancamento qualquer").modoDescricao(ModoDescricao.EXATA).build();
+		FiltroLancamento prefixo = FiltroLancamento.builder()
+				.idUsuario(usuario.getId()).descricao("Lanc").modoDescricao(ModoDescricao.PREFIXO).build();
+		
+		//execucao e verificacao
+		Assertions.assertThat(buscar(exata)).hasSize(24);
+		Assertions.assertThat(explicar("Lancamento qualquer", usuario.getId()))
+		.containsIgnoringCase("idx_lancamento_usuario_descricao");
+		
+		Assertions.assertThat(buscar(prefixo)).hasSize(24);
+		Assertions.assertThat(explicar("Lanc%", "\\", usuario.getId()))
+		.containsIgnoringCase("idx_lancamento_usuario_descricao");
+	}
+	
+	@Test
+	public void deveFiltrarPorVariosTiposEStatusOrdenandoPorValor() {
+		//cenario
+		FiltroLancamento filtro = FiltroLancamento.builder()
+				.idUsuario(usuario.getId())
+				.tipos(EnumSet.of(TipoLacamento.RECEITA, TipoLacamento.DESPESA))
+				.status(EnumSet.of(StatusLancamento.PENDENTE))
+				.valorMinimo(BigDecimal.valueOf(5)).valorMaximo(BigDecimal.valueOf(10))
+				.ordenarPor(CampoOrdenacao.VALOR).direcao(Sort.Direction.DESC)
+				.build();
+		
+		//execucao
+		List<Lancamento> resultado = buscar(filtro);
+		
+		//verificacao
+		Assertions.assertThat(resultado).hasSize(24).isSortedAccordingTo(
+				Comparator.comparing(Lancamento::getValor).reversed().thenComparing(Lancamento::getId, Comparator.reverseOrder()));
+	}
+	
+	private List<Lancamento> buscar(FiltroLancamento filtro) {
+		return repository.findAll(LancamentoSpecifications.de(filtro), filtro.getOrdenacao());
+	}
+	
+	/** Explica a última consulta capturada; os parâmetros seguem a ordem em que aparecem no SQL. */
+	private String explicar(Object... parametros) {
+		String sql = CapturaSql.CONSULTAS.stream()
+				.filter(consulta -> consulta.contains("financas.lancamento"))
+				.reduce((primeira, segunda) -> segunda)
+				.orElseThrow(IllegalStateException::new);
+		return new JdbcTemplate(dataSource).queryForList("explain " + sql, String.class, parametros).toString();
+	}
+	
+	private void persistir(Usuario dono, int ano, int mes, LocalDate dataCadastro) {
+		Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+		lancamento.setUsuario(dono);
+		lancamento.setAno(ano);
+		lancamento.setMes(mes);
+		lancamento.setDataCadastro(dataCadastro);
+		entityManager.persist(lancamento);
+	}
+	
+	public static class CapturaSql implements StatementInspector {
+		
+		static final List<String> CONSULTAS = new CopyOnWriteArrayList<>();
+		
+		@Override
+		public String inspect(String sql) {
+			CONSULTAS.add(sql);
+			return sql;
+		}
+	}
+
+}
@@ -0,0 +1,87 @@
+package com.njunior.minhasfinancas.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+
+import org.assertj.core.api.Assertions;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.njunior.minhasfinancas.model.entity.Lancamento;
+import com.njunior.minhasfinancas.model.entity.Usuario;
+import com.njunior.minhasfinancas.model.enums.StatusLancamento;
+import com.njunior.minhasfinancas.model.enums.TipoAlteracaoLancamento;
+import com.njunior.minhasfinancas.model.enums.TipoLacamento;
+import com.njunior.minhasfinancas.model.repository.LancamentoRepository;
+import com.njunior.minhasfinancas.model.repository.LancamentoRepositoryCustom.ConsumidorColunas;
+import com.njunior.minhasfinancas.service.event.LancamentoAlteradoEvent;
+import com.njunior.minhasfinancas.service.impl.AnaliseProperties;
+import com.njunior.minhasfinancas.service.impl.AnaliseServiceImpl;
+
+public class AnaliseServiceTest {
+
+	static final LocalDate DATA = LocalDate.of(2021, 1, 10);
+
+	LancamentoRepository repository = Mockito.mock(LancamentoRepository.class);
+	AnaliseServiceImpl service;
+
+	@Before
+	public void setUp() {
+		service = new AnaliseServiceImpl(repository, new AnaliseProperties(), Mockito.mock(PlatformTransactionManager.class));
+		Mockito.doAnswer(invocacao -> {
+			ConsumidorColunas consumidor = invocacao.getArgument(1);
+			if (invocacao.<Long>getArgument(0) == 1l) {
+				consumidor.aceitar(10, 202101, DATA, TipoLacamento.RECEITA, StatusLancamento.EFETIVADO, BigDecimal.valueOf(100));
+				consumidor.aceitar(11, 202101, DATA, TipoLacamento.RECEITA, StatusLancamento.EFETIVADO, BigDecimal.valueOf(5));
+			}
+			return null;
+		}).when(repository).percorrerColunas(Mockito.anyLong(), Mockito.any());
+	}
+
+	@Test
+	public void deveTirarOLancamentoDoDonoAnteriorQuandoEleMudaDeUsuario() {
+		//cenario
+		service.obterTotaisPorTipoEStatus(1l);
+		service.obterTotaisPorTipoEStatus(2l);
+		Lancamento lancamento = Lancamento.builder().id(10l).mes(1).ano(2021).dataCadastro(DATA)
+				.usuario(Usuario.builder().id(2l).build()).valor(BigDecimal.valueOf(100))
+				.tipo(TipoLacamento.RECEITA).status(StatusLancamento.EFETIVADO).build();
+
+		//execucao
+		service.aoAlterarLancamento(new LancamentoAlteradoEvent(TipoAlteracaoLancamento.ATUALIZADO, 2l, lancamento));
+
+		//verificacao
+		Assertions.assertThat(receitasEfetivadas(1l)).isEqualByComparingTo("5");
+		Assertions.assertThat(receitasEfetivadas(2l)).isEqualByComparingTo("100");
+	}
+
+	@Test
+	public void naoDeveTirarDeUmSnapshotRecarregadoOQueOAnteriorDescartadoTinha() {
+		//cenario
+		service.obterTotaisPorTipoEStatus(1l);
+		service.descartar(1l);
+		service.obterTotaisPorTipoEStatus(1l);
+		service.descartar(1l);
+		service.obterTotaisPorTipoEStatus(1l);
+		service.obterTotaisPorTipoEStatus(2l);
+		Lancamento lancamento = Lancamento.builder().id(11l).mes(1).ano(2021).dataCadastro(DATA)
+				.usuario(Usuario.builder().id(2l).build()).valor(BigDecimal.valueOf(5))
+				.tipo(TipoLacamento.RECEITA).status(StatusLancamento.EFETIVADO).build();
+
+		//execucao
+		service.aoAlterarLancamento(new LancamentoAlteradoEvent(TipoAlteracaoLancamento.ATUALIZADO, 2l, lancamento));
+
+		//verificacao
+		Assertions.assertThat(receitasEfetivadas(1l)).isEqualByComparingTo("100");
+		Assertions.assertThat(receitasEfetivadas(2l)).isEqualByComparingTo("5");
+	}
+
+	private BigDecimal receitasEfetivadas(Long idUsuario) {
+		Map<StatusLancamento, BigDecimal> receitas = service.obterTotaisPorTipoEStatus(idUsuario).get(TipoLacamento.RECEITA);
+		return receitas.get(StatusLancamento.EFETIVADO);
+	}
+
+}
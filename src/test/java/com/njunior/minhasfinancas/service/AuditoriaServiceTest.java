@@ -0,0 +1,85 @@
+package com.njunior.minhasfinancas.service;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.assertj.core.api.Assertions;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.njunior.minhasfinancas.model.entity.AuditoriaLancamento;
+import com.njunior.minhasfinancas.model.entity.Lancamento;
+import com.njunior.minhasfinancas.model.entity.Usuario;
+import com.njunior.minhasfinancas.model.enums.StatusLancamento;
+import com.njunior.minhasfinancas.model.enums.TipoAlteracaoLancamento;
+import com.njunior.minhasfinancas.model.repository.LancamentoRepositoryTest;
+import com.njunior.minhasfinancas.model.repository.UsuarioRepository;
+import com.njunior.minhasfinancas.model.repository.UsuarioRepositoryTest;
+import com.njunior.minhasfinancas.service.impl.AuditoriaServiceImpl;
+import com.njunior.minhasfinancas.service.impl.ExtratoServiceImpl;
+import com.njunior.minhasfinancas.service.impl.LancamentoServiceImpl;
+
+/**
+ * A auditoria só registra após o commit, por isso cada chamada ao serviço roda na sua
+ * própria transação em vez de na transação do teste.
+ */
+@RunWith(SpringRunner.class)
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+@ActiveProfiles("embarcado")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ LancamentoServiceImpl.class, ExtratoServiceImpl.class, AuditoriaServiceImpl.class })
+public class AuditoriaServiceTest {
+
+	@Autowired
+	AuditoriaService auditoriaService;
+
+	@Autowired
+	LancamentoService lancamentoService;
+
+	@Autowired
+	UsuarioRepository usuarioRepository;
+
+	@Test
+	public void deveRegistrarValoresAnterioresENovosDeCadaAlteracao() {
+		//cenario
+		Usuario usuario = UsuarioRepositoryTest.criarUsuario();
+		usuario.setEmail("auditoria@email.com");
+		usuario = usuarioRepository.save(usuario);
+		Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+		lancamento.setUsuario(usuario);
+		lancamento.setValor(BigDecimal.valueOf(10));
+		lancamento = lancamentoService.salvar(lancamento);
+
+		//execucao
+		lancamento.setValor(BigDecimal.valueOf(20));
+		lancamentoService.atualizar(lancamento);
+		lancamento.setStatus(StatusLancamento.EFETIVADO);
+		lancamentoService.atualizar(lancamento);
+		lancamentoService.deletar(lancamento);
+		auditoriaService.descarregar();
+
+		//verificacao
+		List<AuditoriaLancamento> historico = auditoriaService.obterHistorico(lancamento.getId());
+		Assertions.assertThat(historico).extracting(AuditoriaLancamento::getAcao).containsExactly(
+				TipoAlteracaoLancamento.ATUALIZADO, TipoAlteracaoLancamento.STATUS_ALTERADO, TipoAlteracaoLancamento.EXCLUIDO);
+		Assertions.assertThat(historico).extracting(AuditoriaLancamento::getIdUsuario).containsOnly(usuario.getId());
+
+		Assertions.assertThat(historico.get(0).getValorAnterior()).isEqualByComparingTo("10");
+		Assertions.assertThat(historico.get(0).getValor()).isEqualByComparingTo("20");
+		Assertions.assertThat(historico.get(1).getStatusAnterior()).isEqualTo(StatusLancamento.PENDENTE);
+		Assertions.assertThat(historico.get(1).getStatus()).isEqualTo(StatusLancamento.EFETIVADO);
+		Assertions.assertThat(historico.get(2).getStatusAnterior()).isEqualTo(StatusLancamento.EFETIVADO);
+		Assertions.assertThat(historico.get(2).getValor()).isNull();
+	}
+
+}
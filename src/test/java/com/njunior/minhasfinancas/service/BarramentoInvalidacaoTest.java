@@ -0,0 +1,179 @@
+package com.njunior.minhasfinancas.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.assertj.core.api.Assertions;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.njunior.minhasfinancas.model.entity.Invalidacao;
+import com.njunior.minhasfinancas.model.repository.InvalidacaoRepository;
+import com.njunior.minhasfinancas.service.impl.BarramentoInvalidacaoBanco;
+import com.njunior.minhasfinancas.service.impl.InvalidacaoProperties;
+import com.njunior.minhasfinancas.service.invalidacao.OuvinteInvalidacao;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Cada {@link BarramentoInvalidacaoBanco} criado aqui faz o papel de uma instância da
+ * aplicação, todas sobre o mesmo banco. A sincronização é chamada explicitamente.
+ */
+@RunWith(SpringRunner.class)
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+@ActiveProfiles("embarcado")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class BarramentoInvalidacaoTest {
+
+	@Autowired
+	InvalidacaoRepository repository;
+
+	@Autowired
+	JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	PlatformTransactionManager transactionManager;
+
+	@Autowired
+	ObjectProvider<MeterRegistry> registros;
+
+	List<BarramentoInvalidacaoBanco> instancias = new ArrayList<>();
+
+	@After
+	public void tearDown() throws Exception {
+		for (BarramentoInvalidacaoBanco instancia : instancias) {
+			instancia.destroy();
+		}
+	}
+
+	@Test
+	public void deveEntregarAsInvalidacoesApenasAsOutrasInstancias() {
+		//cenario
+		Ouvinte ouvinteA = new Ouvinte();
+		Ouvinte ouvinteB = new Ouvinte();
+		Ouvinte ouvinteC = new Ouvinte();
+		BarramentoInvalidacaoBanco a = instancia(ouvinteA, Duration.ofMinutes(1));
+		BarramentoInvalidacaoBanco b = instancia(ouvinteB, Duration.ofMinutes(1));
+		BarramentoInvalidacaoBanco c = instancia(ouvinteC, Duration.ofMinutes(1));
+
+		//execucao
+		a.publicar(Arrays.asList(1L, 2L));
+		b.publicar(Collections.singleton(3L));
+		a.sincronizar();
+		b.sincronizar();
+		c.sincronizar();
+		a.sincronizar();
+		c.sincronizar();
+
+		//verificacao
+		Assertions.assertThat(ouvinteA.invalidados).containsExactly(3L);
+		Assertions.assertThat(ouvinteB.invalidados).containsExactlyInAnyOrder(1L, 2L);
+		Assertions.assertThat(ouvinteC.invalidados).containsExactlyInAnyOrder(1L, 2L, 3L);
+		Assertions.assertThat(ouvinteC.recebimentos).hasValue(3);
+		Assertions.assertThat(ouvinteA.todos.get() + ouvinteB.todos.get() + ouvinteC.todos.get()).isZero();
+	}
+
+	@Test
+	public void deveAceitarMensagemAtrasadaDentroDaTolerancia() {
+		//cenario
+		Ouvinte ouvinte = new Ouvinte();
+		BarramentoInvalidacaoBanco instancia = instancia(ouvinte, Duration.ofMinutes(1));
+		String origem = UUID.randomUUID().toString();
+		gravar(origem, 1, 10L);
+		gravar(origem, 3, 30L);
+		instancia.sincronizar();
+
+		//execucao
+		gravar(origem, 2, 20L);
+		instancia.sincronizar();
+
+		//verificacao
+		Assertions.assertThat(ouvinte.invalidados).containsExactlyInAnyOrder(10L, 20L, 30L);
+		Assertions.assertThat(ouvinte.todos).hasValue(0);
+	}
+
+	@Test
+	public void deveInvalidarTudoQuandoUmaMensagemSePerde() {
+		//cenario
+		Ouvinte ouvinte = new Ouvinte();
+		BarramentoInvalidacaoBanco instancia = instancia(ouvinte, Duration.ZERO);
+		String origem = UUID.randomUUID().toString();
+		gravar(origem, 1, 10L);
+		gravar(origem, 3, 30L);
+
+		//execucao
+		instancia.sincronizar();
+
+		//verificacao
+		Assertions.assertThat(ouvinte.invalidados).containsExactlyInAnyOrder(10L, 30L);
+		Assertions.assertThat(ouvinte.todos).hasValue(1);
+	}
+
+	/** Sincroniza uma vez para ignorar mensagens de testes anteriores. */
+	private BarramentoInvalidacaoBanco instancia(Ouvinte ouvinte, Duration toleranciaLacuna) {
+		InvalidacaoProperties properties = new InvalidacaoProperties();
+		properties.setIntervalo(Duration.ofHours(1));
+		properties.setToleranciaLacuna(toleranciaLacuna);
+		BarramentoInvalidacaoBanco instancia = new BarramentoInvalidacaoBanco(repository, jdbcTemplate, properties,
+				transactionManager, Collections.singletonList(ouvinte), registros);
+		instancias.add(instancia);
+		instancia.sincronizar();
+		ouvinte.limpar();
+		return instancia;
+	}
+
+	private void gravar(String origem, long sequencia, Long idUsuario) {
+		repository.save(Invalidacao.builder()
+				.origem(origem)
+				.sequencia(sequencia)
+				.idUsuario(idUsuario)
+				.dataHora(LocalDateTime.now())
+				.build());
+	}
+
+	static class Ouvinte implements OuvinteInvalidacao {
+
+		final Set<Long> invalidados = ConcurrentHashMap.newKeySet();
+		final AtomicInteger recebimentos = new AtomicInteger();
+		final AtomicInteger todos = new AtomicInteger();
+
+		@Override
+		public void invalidar(Long idUsuario) {
+			invalidados.add(idUsuario);
+			recebimentos.incrementAndGet();
+		}
+
+		@Override
+		public void invalidarTodos() {
+			todos.incrementAndGet();
+		}
+
+		void limpar() {
+			invalidados.clear();
+			recebimentos.set(0);
+			todos.set(0);
+		}
+	}
+
+}
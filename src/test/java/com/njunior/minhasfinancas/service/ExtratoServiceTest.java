@@ -0,0 +1,125 @@
+package com.njunior.minhasfinancas.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.assertj.core.api.Assertions;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import com.njunior.minhasfinancas.model.entity.Lancamento;
+import com.njunior.minhasfinancas.model.entity.MovimentoExtrato;
+import com.njunior.minhasfinancas.model.entity.Usuario;
+import com.njunior.minhasfinancas.model.enums.StatusLancamento;
+import com.njunior.minhasfinancas.model.enums.TipoAlteracaoLancamento;
+import com.njunior.minhasfinancas.model.enums.TipoLacamento;
+import com.njunior.minhasfinancas.model.repository.LancamentoRepositoryTest;
+import com.njunior.minhasfinancas.model.repository.UsuarioRepositoryTest;
+import com.njunior.minhasfinancas.service.impl.ExtratoServiceImpl;
+import com.njunior.minhasfinancas.service.impl.LancamentoServiceImpl;
+
+@RunWith(SpringRunner.class)
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+@ActiveProfiles("embarcado")
+@Import({ LancamentoServiceImpl.class, ExtratoServiceImpl.class })
+public class ExtratoServiceTest {
+	
+	@Autowired
+	LancamentoService lancamentoService;
+	
+	@Autowired
+	ExtratoService extratoService;
+	
+	@Autowired
+	TestEntityManager entityManager;
+	
+	@Autowired
+	JdbcTemplate jdbcTemplate;
+	
+	@Test
+	public void deveRegistrarMovimentosECalcularSaldoEmQualquerInstante() throws Exception {
+		//cenario
+		Usuario usuario = entityManager.persist(UsuarioRepositoryTest.criarUsuario());
+		LocalDateTime inicio = LocalDateTime.now();
+		
+		//execucao
+		Lancamento receita = lancamentoService.salvar(lancamento(usuario, TipoLacamento.RECEITA, 100));
+		lancamentoService.salvar(lancamento(usuario, TipoLacamento.DESPESA, 30));
+		LocalDateTime aposCriacao = instanteSeguinte();
+		
+		extratoService.consolidar(usuario.getId());
+		
+		receita.setValor(BigDecimal.valueOf(150));
+		lancamentoService.atualizar(receita);
+		lancamentoService.atualizarStatus(receita, StatusLancamento.EFETIVADO);
+		LocalDateTime aposAtualizacao = instanteSeguinte();
+		
+		lancamentoService.deletar(receita);
+		
+		//verificacao
+		Assertions.assertThat(extratoService.obterSaldoEm(usuario.getId(), inicio)).isEqualByComparingTo("0");
+		Assertions.assertThat(extratoService.obterSaldoEm(usuario.getId(), aposCriacao)).isEqualByComparingTo("70");
+		Assertions.assertThat(extratoService.obterSaldoEm(usuario.getId(), aposAtualizacao)).isEqualByComparingTo("120");
+		Assertions.assertThat(extratoService.obterSaldoEm(usuario.getId(), LocalDateTime.now())).isEqualByComparingTo("-30");
+		
+		List<MovimentoExtrato> historico = extratoService.obterHistorico(receita.getId());
+		Assertions.assertThat(historico)
+			.extracting(MovimentoExtrato::getTipoAlteracao)
+			.containsExactly(TipoAlteracaoLancamento.CRIADO, TipoAlteracaoLancamento.ATUALIZADO, 
+					TipoAlteracaoLancamento.STATUS_ALTERADO, TipoAlteracaoLancamento.EXCLUIDO);
+	}
+	
+	@Test
+	public void deveConsolidarMovimentoConfirmadoDepoisDeUmIdMaiorJaConsolidado() {
+		//cenario
+		Usuario usuario = entityManager.persist(UsuarioRepositoryTest.criarUsuario());
+		inserirMovimento(usuario, 1_000_001L, 100);
+		inserirMovimento(usuario, 1_000_002L, -30);
+		extratoService.consolidar(usuario.getId());
+		
+		//execucao: id gerado antes dos consolidados, mas confirmado só agora
+		inserirMovimento(usuario, 1_000_000L, 5);
+		Assertions.assertThat(extratoService.obterSaldoEm(usuario.getId(), LocalDateTime.now())).isEqualByComparingTo("75");
+		extratoService.consolidar(usuario.getId());
+		
+		//verificacao
+		Assertions.assertThat(extratoService.obterSaldoEm(usuario.getId(), LocalDateTime.now())).isEqualByComparingTo("75");
+		Assertions.assertThat(jdbcTemplate.queryForObject(
+				"select saldo from financas.saldo_consolidado where id_usuario = ? order by id desc limit 1",
+				BigDecimal.class, usuario.getId())).isEqualByComparingTo("75");
+	}
+	
+	private void inserirMovimento(Usuario usuario, long id, long efeito) {
+		jdbcTemplate.update("insert into financas.movimento_extrato (id, id_lancamento, id_usuario, tipo_alteracao, "
+				+ "efeito_saldo, data_hora) values (?, ?, ?, ?, ?, ?)", 
+				id, id, usuario.getId(), TipoAlteracaoLancamento.CRIADO.name(), BigDecimal.valueOf(efeito), 
+				LocalDateTime.now().minusMinutes(1));
+	}
+	
+	private Lancamento lancamento(Usuario usuario, TipoLacamento tipo, long valor) {
+		Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+		lancamento.setUsuario(usuario);
+		lancamento.setTipo(tipo);
+		lancamento.setValor(BigDecimal.valueOf(valor));
+		return lancamento;
+	}
+	
+	private LocalDateTime instanteSeguinte() throws InterruptedException {
+		Thread.sleep(5);
+		LocalDateTime instante = LocalDateTime.now();
+		Thread.sleep(5);
+		return instante;
+	}
+
+}
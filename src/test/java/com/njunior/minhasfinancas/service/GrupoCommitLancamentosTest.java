@@ -0,0 +1,234 @@
+package com.njunior.minhasfinancas.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Optional;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.assertj.core.api.Assertions;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.njunior.minhasfinancas.config.AsyncProperties;
+import com.njunior.minhasfinancas.exception.ErroSobrecarga;
+import com.njunior.minhasfinancas.exception.RegraNegocioExcepction;
+import com.njunior.minhasfinancas.model.entity.Lancamento;
+import com.njunior.minhasfinancas.model.entity.Usuario;
+import com.njunior.minhasfinancas.model.repository.LancamentoRepository;
+import com.njunior.minhasfinancas.model.repository.LancamentoRepositoryTest;
+import com.njunior.minhasfinancas.model.repository.UsuarioRepository;
+import com.njunior.minhasfinancas.model.repository.UsuarioRepositoryTest;
+import com.njunior.minhasfinancas.service.impl.ExtratoServiceImpl;
+import com.njunior.minhasfinancas.service.impl.GrupoCommitLancamentos;
+import com.njunior.minhasfinancas.service.impl.GrupoCommitProperties;
+import com.njunior.minhasfinancas.service.impl.LancamentoServiceImpl;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * A gravação roda na thread do grupo-commit, por isso os dados do cenário são confirmados
+ * no banco em vez de ficarem na transação do teste.
+ */
+@RunWith(SpringRunner.class)
+@DataJpaTest(properties = {
+		"minhasfinancas.grupo-commit.habilitado=true",
+		"minhasfinancas.grupo-commit.espera=200ms",
+		"minhasfinancas.grupo-commit.tamanho-maximo=8" })
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+@ActiveProfiles("embarcado")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ LancamentoServiceImpl.class, ExtratoServiceImpl.class, GrupoCommitLancamentos.class, SimpleMeterRegistry.class })
+public class GrupoCommitLancamentosTest {
+
+	static final AtomicInteger USUARIOS = new AtomicInteger();
+
+	@Autowired
+	GrupoCommitLancamentos grupoCommit;
+
+	@Autowired
+	LancamentoRepository lancamentoRepository;
+
+	@Autowired
+	UsuarioRepository usuarioRepository;
+
+	@Autowired
+	MeterRegistry registro;
+
+	ExecutorService chamadores;
+
+	@Before
+	public void setUp() {
+		chamadores = Executors.newFixedThreadPool(20);
+	}
+
+	@After
+	public void tearDown() {
+		chamadores.shutdownNow();
+	}
+
+	@Test
+	public void deveGravarCriacoesConcorrentesEmGruposDevolvendoOIdDeCadaChamador() throws Exception {
+		//cenario
+		Usuario usuario = criarUsuario();
+		List<Callable<Lancamento>> criacoes = new ArrayList<>();
+		for (int i = 0; i < 20; i++) {
+			criacoes.add(() -> grupoCommit.salvar(lancamento(usuario)));
+		}
+		DistributionSummary grupos = registro.get("minhasfinancas.grupo-commit.tamanho").summary();
+		long gruposAntes = grupos.count();
+		double gravadosAntes = grupos.totalAmount();
+
+		//execucao
+		List<Lancamento> salvos = executarJuntos(criacoes).stream().map(this::resultado).collect(Collectors.toList());
+
+		//verificacao
+		Assertions.assertThat(salvos).extracting(Lancamento::getId).doesNotContainNull().doesNotHaveDuplicates();
+		Assertions.assertThat(lancamentoRepository.findAllById(
+				salvos.stream().map(Lancamento::getId).collect(Collectors.toList()))).hasSize(20);
+		Assertions.assertThat(grupos.totalAmount() - gravadosAntes).isEqualTo(20);
+		Assertions.assertThat(grupos.count() - gruposAntes).isBetween(3L, 10L);
+		Assertions.assertThat(grupos.max()).isLessThanOrEqualTo(8);
+	}
+
+	@Test
+	public void deveDevolverOErroSomenteAoChamadorDoLancamentoQueFalhou() throws Exception {
+		//cenario
+		Usuario usuario = criarUsuario();
+		Usuario inexistente = Usuario.builder().id(Long.MAX_VALUE).build();
+		List<Callable<Lancamento>> criacoes = new ArrayList<>();
+		for (int i = 0; i < 4; i++) {
+			criacoes.add(() -> grupoCommit.salvar(lancamento(usuario)));
+		}
+		criacoes.add(() -> grupoCommit.salvar(lancamento(inexistente)));
+
+		//execucao
+		List<Future<Lancamento>> resultados = executarJuntos(criacoes);
+
+		//verificacao
+		for (Future<Lancamento> resultado : resultados.subList(0, 4)) {
+			Assertions.assertThat(resultado.get().getId()).isNotNull();
+		}
+		Assertions.assertThatThrownBy(() -> resultados.get(4).get())
+			.hasCauseInstanceOf(RegraNegocioExcepction.class)
+			.hasMessageContaining("Usuário não encontardo");
+	}
+
+	@Test
+	public void deveRejeitarLancamentoInvalidoSemEntrarNaFila() {
+		//cenario
+		Lancamento lancamento = lancamento(criarUsuario());
+		lancamento.setDescricao("");
+
+		//execucao e verificacao
+		Assertions.assertThatThrownBy(() -> grupoCommit.salvar(lancamento))
+			.isInstanceOf(RegraNegocioExcepction.class);
+		Assertions.assertThat(lancamento.getId()).isNull();
+	}
+
+	@Test
+	public void deveDescartarACriacaoCujoChamadorDesistiuPorTempo() throws Exception {
+		//cenario
+		LancamentoService service = Mockito.mock(LancamentoService.class);
+		UsuarioRepository usuarios = Mockito.mock(UsuarioRepository.class);
+		Usuario usuario = Usuario.builder().id(1l).build();
+		Mockito.when(usuarios.findById(1l)).thenReturn(Optional.of(usuario));
+		CountDownLatch liberar = new CountDownLatch(1);
+		Lancamento lento = Lancamento.builder().descricao("lento").usuario(usuario).build();
+		Lancamento atrasado = Lancamento.builder().descricao("atrasado").usuario(usuario).build();
+		Lancamento seguinte = Lancamento.builder().descricao("seguinte").usuario(usuario).build();
+		Mockito.when(service.salvar(Mockito.any(Lancamento.class))).thenAnswer(invocacao -> {
+			Lancamento lancamento = invocacao.getArgument(0);
+			if (lancamento == lento) {
+				liberar.await();
+			}
+			return lancamento;
+		});
+		GrupoCommitProperties properties = new GrupoCommitProperties();
+		properties.setHabilitado(true);
+		properties.setTamanhoMaximo(1);
+		AsyncProperties asyncProperties = new AsyncProperties();
+		asyncProperties.setTimeout(Duration.ofMillis(200));
+		GrupoCommitLancamentos grupo = new GrupoCommitLancamentos(service, usuarios, properties, asyncProperties,
+				Mockito.mock(PlatformTransactionManager.class), new StaticListableBeanFactory().getBeanProvider(MeterRegistry.class));
+
+		try {
+			//execucao
+			chamadores.submit(() -> grupo.salvar(lento));
+			Mockito.verify(service, Mockito.timeout(5000)).salvar(lento);
+			Throwable erro = Assertions.catchThrowable(() -> grupo.salvar(atrasado));
+			liberar.countDown();
+
+			//verificacao
+			Assertions.assertThat(erro).isInstanceOf(ErroSobrecarga.class);
+			Assertions.assertThat(grupo.salvar(seguinte)).isSameAs(seguinte);
+			Mockito.verify(service, Mockito.never()).salvar(atrasado);
+		} finally {
+			grupo.destroy();
+		}
+	}
+
+	private List<Future<Lancamento>> executarJuntos(List<Callable<Lancamento>> criacoes) throws InterruptedException {
+		CountDownLatch largada = new CountDownLatch(1);
+		List<Future<Lancamento>> resultados = new ArrayList<>();
+		for (Callable<Lancamento> criacao : criacoes) {
+			resultados.add(chamadores.submit(() -> {
+				largada.await();
+				return criacao.call();
+			}));
+		}
+		largada.countDown();
+		for (Future<Lancamento> resultado : resultados) {
+			try {
+				resultado.get();
+			} catch (ExecutionException e) {
+				// verificado por quem chamou
+			}
+		}
+		return resultados;
+	}
+
+	private Lancamento resultado(Future<Lancamento> futuro) {
+		try {
+			return futuro.get();
+		} catch (InterruptedException | ExecutionException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private Usuario criarUsuario() {
+		Usuario usuario = UsuarioRepositoryTest.criarUsuario();
+		usuario.setEmail("grupo" + USUARIOS.incrementAndGet() + "@email.com");
+		return usuarioRepository.save(usuario);
+	}
+
+	private static Lancamento lancamento(Usuario usuario) {
+		Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+		lancamento.setUsuario(usuario);
+		return lancamento;
+	}
+
+}
@@ -2,8 +2,12 @@ package com.njunior.minhasfinancas.service;
 
 import java.math.BigDecimal;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 
 import org.assertj.core.api.Assertions;
 import org.hamcrest.core.IsInstanceOf;
@@ -21,8 +25,10 @@ import com.njunior.minhasfinancas.exception.RegraNegocioExcepction;
 import com.njunior.minhasfinancas.model.entity.Lancamento;
 import com.njunior.minhasfinancas.model.entity.Usuario;
 import com.njunior.minhasfinancas.model.enums.StatusLancamento;
+import com.njunior.minhasfinancas.model.enums.TipoLacamento;
 import com.njunior.minhasfinancas.model.repository.LancamentoRepository;
 import com.njunior.minhasfinancas.model.repository.LancamentoRepositoryTest;
+import com.njunior.minhasfinancas.model.repository.TotalPorUsuarioETipo;
 import com.njunior.minhasfinancas.service.impl.LancamentoServiceImpl;
 
 @RunWith(SpringRunner.class)
@@ -131,7 +137,7 @@ public class LancamentoServiceTest {
 		lancamento.setId(1l);
 		
 		List<Lancamento> lista = Arrays.asList(lancamento);
-		Mockito.when(repository.findAll(Mockito.any(Example.class))).thenReturn(lista);
+		Mockito.when(repository.findAll(Mockito.<Example<Lancamento>>any())).thenReturn(lista);
 		
 		//exucucao
 		List<Lancamento> resultado = service.buscar(lancamento);
@@ -255,4 +261,32 @@ public class LancamentoServiceTest {
 		erro = Assertions.catchThrowable(() -> service.validar(lancamento));
 		Assertions.assertThat(erro).isInstanceOf(RegraNegocioExcepction.class).hasMessage("Informe um Tipo de Lançamento.");
 	}
+	
+	@Test
+	public void deveCalcularSaldosDeVariosUsuariosConsultandoEmLotes() {
+		//cenario
+		List<Long> ids = LongStream.rangeClosed(1, 2500).boxed().collect(Collectors.toList());
+		Mockito.when(repository.obterTotaisPorUsuarioETipo(Mockito.anyCollection())).thenReturn(Collections.emptyList());
+		List<TotalPorUsuarioETipo> totais = Arrays.asList(
+				total(1l, TipoLacamento.RECEITA, 100), total(1l, TipoLacamento.DESPESA, 30), total(2l, TipoLacamento.DESPESA, 5));
+		Mockito.when(repository.obterTotaisPorUsuarioETipo(ids.subList(0, 1000))).thenReturn(totais);
+		
+		//execucao
+		Map<Long, BigDecimal> saldos = service.obterSaldosPorUsuarios(ids);
+		
+		//verificacao
+		Mockito.verify(repository, Mockito.times(3)).obterTotaisPorUsuarioETipo(Mockito.anyCollection());
+		Assertions.assertThat(saldos).hasSize(2500);
+		Assertions.assertThat(saldos.get(1l)).isEqualByComparingTo("70");
+		Assertions.assertThat(saldos.get(2l)).isEqualByComparingTo("-5");
+		Assertions.assertThat(saldos.get(2500l)).isEqualByComparingTo("0");
+	}
+	
+	private static TotalPorUsuarioETipo total(Long idUsuario, TipoLacamento tipo, long valor) {
+		TotalPorUsuarioETipo total = Mockito.mock(TotalPorUsuarioETipo.class);
+		Mockito.when(total.getIdUsuario()).thenReturn(idUsuario);
+		Mockito.when(total.getTipo()).thenReturn(tipo);
+		Mockito.when(total.getTotal()).thenReturn(BigDecimal.valueOf(valor));
+		return total;
+	}
 }
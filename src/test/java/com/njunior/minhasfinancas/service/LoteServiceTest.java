@@ -0,0 +1,190 @@
+package com.njunior.minhasfinancas.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.assertj.core.api.Assertions;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.njunior.minhasfinancas.config.ExecutorBanco;
+import com.njunior.minhasfinancas.model.entity.Lancamento;
+import com.njunior.minhasfinancas.model.entity.Usuario;
+import com.njunior.minhasfinancas.model.enums.StatusLancamento;
+import com.njunior.minhasfinancas.model.enums.TipoLacamento;
+import com.njunior.minhasfinancas.model.repository.LancamentoRepository;
+import com.njunior.minhasfinancas.model.repository.LancamentoRepositoryTest;
+import com.njunior.minhasfinancas.model.repository.UsuarioRepository;
+import com.njunior.minhasfinancas.model.repository.UsuarioRepositoryTest;
+import com.njunior.minhasfinancas.service.impl.ExtratoServiceImpl;
+import com.njunior.minhasfinancas.service.impl.LancamentoServiceImpl;
+import com.njunior.minhasfinancas.service.impl.LoteServiceImpl;
+import com.njunior.minhasfinancas.service.impl.UsuarioServiceImpl;
+import com.njunior.minhasfinancas.service.impl.VerificadorSenhas;
+import com.njunior.minhasfinancas.service.lote.ModoLote;
+import com.njunior.minhasfinancas.service.lote.OperacaoLote;
+import com.njunior.minhasfinancas.service.lote.ResultadoLote;
+import com.njunior.minhasfinancas.service.lote.ResultadoOperacao;
+import com.njunior.minhasfinancas.service.lote.ResultadoOperacao.Situacao;
+import com.njunior.minhasfinancas.service.lote.TipoOperacaoLote;
+
+/**
+ * O lote abre a própria transação, por isso os dados do cenário são confirmados no banco em
+ * vez de ficarem na transação do teste.
+ */
+@RunWith(SpringRunner.class)
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+@ActiveProfiles("embarcado")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ LoteServiceImpl.class, LancamentoServiceImpl.class, UsuarioServiceImpl.class, VerificadorSenhas.class,
+		ExtratoServiceImpl.class })
+public class LoteServiceTest {
+
+	static final AtomicInteger USUARIOS = new AtomicInteger();
+
+	@Autowired
+	LoteService service;
+
+	@MockBean
+	ExecutorBanco executorBanco;
+
+	@Autowired
+	ExtratoService extratoService;
+
+	@Autowired
+	LancamentoRepository lancamentoRepository;
+
+	@Autowired
+	UsuarioRepository usuarioRepository;
+
+	@Test
+	public void deveExecutarAsOperacoesEmOrdemNumaUnicaTransacao() {
+		//cenario
+		Usuario usuario = criarUsuario();
+		Lancamento aluguel = criarLancamento(usuario);
+		Lancamento mercado = criarLancamento(usuario);
+
+		//execucao
+		ResultadoLote resultado = service.executar(Arrays.asList(
+				criar(usuario, "Salário", 5000),
+				criar(usuario, "Bônus", 700),
+				OperacaoLote.builder().operacao(TipoOperacaoLote.ATUALIZAR_STATUS).id(aluguel.getId())
+					.status(StatusLancamento.EFETIVADO).build(),
+				OperacaoLote.builder().operacao(TipoOperacaoLote.EXCLUIR).id(mercado.getId()).build()),
+				ModoLote.TUDO_OU_NADA);
+
+		//verificacao
+		Assertions.assertThat(resultado.isConfirmado()).isTrue();
+		Assertions.assertThat(resultado.getResultados()).extracting(ResultadoOperacao::getSituacao).containsOnly(Situacao.CONCLUIDA);
+		Long idSalario = resultado.getResultados().get(0).getLancamento().getId();
+		Assertions.assertThat(lancamentoRepository.findById(idSalario)).isPresent();
+		Assertions.assertThat(lancamentoRepository.findById(aluguel.getId()).get().getStatus()).isEqualTo(StatusLancamento.EFETIVADO);
+		Assertions.assertThat(lancamentoRepository.findById(mercado.getId())).isNotPresent();
+	}
+
+	@Test
+	public void deveDesfazerOLoteInteiroQuandoUmaOperacaoFalha() {
+		//cenario
+		Usuario usuario = criarUsuario();
+		Lancamento aluguel = criarLancamento(usuario);
+
+		//execucao
+		ResultadoLote resultado = service.executar(Arrays.asList(
+				criar(usuario, "Salário", 5000),
+				OperacaoLote.builder().operacao(TipoOperacaoLote.EXCLUIR).id(aluguel.getId()).build(),
+				criar(usuario, "", 10),
+				criar(usuario, "Bônus", 700)),
+				ModoLote.TUDO_OU_NADA);
+
+		//verificacao
+		Assertions.assertThat(resultado.isConfirmado()).isFalse();
+		Assertions.assertThat(resultado.getResultados()).extracting(ResultadoOperacao::getSituacao)
+			.containsExactly(Situacao.DESFEITA, Situacao.DESFEITA, Situacao.FALHOU, Situacao.NAO_EXECUTADA);
+		Assertions.assertThat(resultado.getResultados().get(2).getErro()).isEqualTo("Informe uma Descrição válida.");
+		Assertions.assertThat(lancamentoRepository.findById(aluguel.getId())).isPresent();
+		Assertions.assertThat(lancamentoRepository.findAll())
+			.filteredOn(l -> l.getUsuario().getId().equals(usuario.getId())).hasSize(1);
+	}
+
+	@Test
+	public void deveDesfazerSomenteAOperacaoQueFalhouNoModoPorOperacao() {
+		//cenario
+		Usuario usuario = criarUsuario();
+
+		//execucao
+		ResultadoLote resultado = service.executar(Arrays.asList(
+				criar(usuario, "Salário", 5000),
+				OperacaoLote.builder().operacao(TipoOperacaoLote.EXCLUIR).id(Long.MAX_VALUE).build(),
+				criar(usuario, "Bônus", 700)),
+				ModoLote.POR_OPERACAO);
+
+		//verificacao
+		Assertions.assertThat(resultado.isConfirmado()).isTrue();
+		Assertions.assertThat(resultado.getResultados()).extracting(ResultadoOperacao::getSituacao)
+			.containsExactly(Situacao.CONCLUIDA, Situacao.FALHOU, Situacao.CONCLUIDA);
+		Assertions.assertThat(resultado.getResultados().get(1).getErro()).isEqualTo("Lançamento não encontado na base de dados.");
+		Assertions.assertThat(extratoService.obterSaldoEm(usuario.getId(), LocalDateTime.now()))
+			.isEqualByComparingTo("5700");
+	}
+
+	@Test
+	public void naoDeveAlterarLancamentosDeOutroUsuarioComUsuarioAutenticado() {
+		//cenario
+		Usuario usuario = criarUsuario();
+		Usuario outro = criarUsuario();
+		Lancamento doOutro = criarLancamento(outro);
+		OperacaoLote semUsuario = criar(usuario, "Salário", 5000);
+		semUsuario.setIdUsuario(null);
+
+		//execucao
+		ResultadoLote resultado = service.executar(Arrays.asList(
+				semUsuario,
+				OperacaoLote.builder().operacao(TipoOperacaoLote.EXCLUIR).id(doOutro.getId()).build()),
+				ModoLote.POR_OPERACAO, usuario.getId());
+
+		//verificacao
+		Assertions.assertThat(resultado.getResultados()).extracting(ResultadoOperacao::getSituacao)
+			.containsExactly(Situacao.CONCLUIDA, Situacao.FALHOU);
+		Assertions.assertThat(resultado.getResultados().get(0).getLancamento().getUsuario().getId()).isEqualTo(usuario.getId());
+		Assertions.assertThat(resultado.getResultados().get(1).getErro()).isEqualTo("Acesso negado aos lançamentos de outro usuário.");
+		Assertions.assertThat(lancamentoRepository.findById(doOutro.getId())).isPresent();
+	}
+
+	private Usuario criarUsuario() {
+		Usuario usuario = UsuarioRepositoryTest.criarUsuario();
+		usuario.setEmail("lote" + USUARIOS.incrementAndGet() + "@email.com");
+		return usuarioRepository.save(usuario);
+	}
+
+	private Lancamento criarLancamento(Usuario usuario) {
+		Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+		lancamento.setUsuario(usuario);
+		return lancamentoRepository.save(lancamento);
+	}
+
+	private static OperacaoLote criar(Usuario usuario, String descricao, long valor) {
+		return OperacaoLote.builder()
+				.operacao(TipoOperacaoLote.CRIAR)
+				.idUsuario(usuario.getId())
+				.descricao(descricao)
+				.mes(1)
+				.ano(2021)
+				.valor(BigDecimal.valueOf(valor))
+				.tipo(TipoLacamento.RECEITA)
+				.build();
+	}
+
+}
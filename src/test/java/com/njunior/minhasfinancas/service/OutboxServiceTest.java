@@ -0,0 +1,248 @@
+package com.njunior.minhasfinancas.service;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.assertj.core.api.Assertions;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.njunior.minhasfinancas.model.entity.EventoOutbox;
+import com.njunior.minhasfinancas.model.entity.Lancamento;
+import com.njunior.minhasfinancas.model.entity.Usuario;
+import com.njunior.minhasfinancas.model.enums.StatusLancamento;
+import com.njunior.minhasfinancas.model.enums.TipoAlteracaoLancamento;
+import com.njunior.minhasfinancas.model.repository.EventoOutboxRepository;
+import com.njunior.minhasfinancas.model.repository.LancamentoRepositoryTest;
+import com.njunior.minhasfinancas.model.repository.UsuarioRepository;
+import com.njunior.minhasfinancas.model.repository.UsuarioRepositoryTest;
+import com.njunior.minhasfinancas.service.impl.ExtratoServiceImpl;
+import com.njunior.minhasfinancas.service.impl.LancamentoServiceImpl;
+import com.njunior.minhasfinancas.service.impl.OutboxServiceImpl;
+import com.njunior.minhasfinancas.service.outbox.ConsumidorOutbox;
+
+/**
+ * O despacho roda em threads próprias por partição, por isso os dados do cenário são
+ * confirmados no banco em vez de ficarem na transação do teste.
+ */
+@RunWith(SpringRunner.class)
+@DataJpaTest(properties = "minhasfinancas.outbox.espera-inicial=0s")
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+@ActiveProfiles("embarcado")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ LancamentoServiceImpl.class, ExtratoServiceImpl.class, OutboxServiceImpl.class, OutboxServiceTest.Consumidor.class,
+		OutboxServiceTest.ConsumidorTransacional.class })
+public class OutboxServiceTest {
+
+	static final AtomicInteger USUARIOS = new AtomicInteger();
+
+	@Autowired
+	OutboxService outboxService;
+
+	@Autowired
+	LancamentoService lancamentoService;
+
+	@Autowired
+	EventoOutboxRepository repository;
+
+	@Autowired
+	UsuarioRepository usuarioRepository;
+
+	@Autowired
+	PlatformTransactionManager transactionManager;
+
+	@Autowired
+	Consumidor consumidor;
+
+	@Autowired
+	ConsumidorTransacional consumidorTransacional;
+
+	@Before
+	public void setUp() {
+		consumidor.falharPara = null;
+		consumidorTransacional.falharPara(null);
+		outboxService.despachar();
+		consumidor.recebidos.clear();
+		consumidor.reservasVisiveis.clear();
+	}
+
+	@Test
+	public void deveConfirmarAReservaAntesDeEntregarNumaTransacaoPropria() {
+		//cenario
+		Usuario usuario = criarUsuario();
+		lancamentoService.salvar(lancamento(usuario));
+		lancamentoService.salvar(lancamento(usuario));
+
+		//execucao
+		long entregues = outboxService.despachar();
+
+		//verificacao
+		Assertions.assertThat(entregues).isEqualTo(2);
+		Assertions.assertThat(consumidor.reservasVisiveis).containsExactly(2);
+		Assertions.assertThat(repository.count()).isZero();
+	}
+
+	@Test
+	public void deveEntregarEventosEmOrdemPorUsuarioEApagarOsEntregues() {
+		//cenario
+		Usuario usuario = criarUsuario();
+		Usuario outro = criarUsuario();
+		Lancamento lancamento = lancamentoService.salvar(lancamento(usuario));
+		lancamentoService.salvar(lancamento(outro));
+		lancamento.setValor(BigDecimal.valueOf(20));
+		lancamentoService.atualizar(lancamento);
+		lancamentoService.deletar(lancamento);
+
+		//execucao
+		long entregues = outboxService.despachar();
+
+		//verificacao
+		Assertions.assertThat(entregues).isEqualTo(4);
+		Assertions.assertThat(consumidor.doUsuario(usuario))
+			.extracting(EventoOutbox::getTipoAlteracao)
+			.containsExactly(TipoAlteracaoLancamento.CRIADO, TipoAlteracaoLancamento.ATUALIZADO, TipoAlteracaoLancamento.EXCLUIDO);
+		Assertions.assertThat(consumidor.doUsuario(usuario).get(1).getValor()).isEqualByComparingTo("20");
+		Assertions.assertThat(consumidor.doUsuario(outro)).hasSize(1);
+		Assertions.assertThat(repository.count()).isZero();
+	}
+
+	@Test
+	public void deveReterOsEventosDoUsuarioQueFalhouSemAtrasarOsDemais() {
+		//cenario
+		Usuario usuario = criarUsuario();
+		Usuario outro = criarUsuario();
+		Lancamento lancamento = lancamentoService.salvar(lancamento(usuario));
+		lancamentoService.salvar(lancamento(outro));
+		consumidor.falharPara = usuario.getId();
+
+		//execucao
+		outboxService.despachar();
+		lancamentoService.atualizarStatus(lancamento, StatusLancamento.EFETIVADO);
+		outboxService.despachar();
+		consumidor.falharPara = null;
+		outboxService.despachar();
+
+		//verificacao
+		Assertions.assertThat(consumidor.doUsuario(outro)).hasSize(1);
+		Assertions.assertThat(consumidor.doUsuario(usuario))
+			.extracting(EventoOutbox::getStatus)
+			.containsExactly(StatusLancamento.PENDENTE, StatusLancamento.EFETIVADO);
+		Assertions.assertThat(repository.count()).isZero();
+	}
+
+	@Test
+	public void deveEntregarOsDemaisUsuariosQuandoUmConsumidorTransacionalFalha() {
+		//cenario
+		Usuario usuario = criarUsuario();
+		Usuario outro = criarUsuario();
+		lancamentoService.salvar(lancamento(usuario));
+		lancamentoService.salvar(lancamento(outro));
+		consumidorTransacional.falharPara(usuario.getId());
+
+		//execucao
+		outboxService.despachar();
+
+		//verificacao
+		Assertions.assertThat(consumidor.doUsuario(outro)).hasSize(1);
+		List<EventoOutbox> retidos = repository.findAll();
+		Assertions.assertThat(retidos).extracting(EventoOutbox::getIdUsuario).containsOnly(usuario.getId());
+		Assertions.assertThat(retidos).extracting(EventoOutbox::getTentativas).containsOnly(1);
+	}
+
+	@Test
+	public void naoDeveGravarEventoQuandoATransacaoDaEscritaEDesfeita() {
+		//cenario
+		Usuario usuario = criarUsuario();
+		TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+
+		//execucao
+		transacao.executeWithoutResult(status -> {
+			lancamentoService.salvar(lancamento(usuario));
+			status.setRollbackOnly();
+		});
+
+		//verificacao
+		Assertions.assertThat(repository.count()).isZero();
+		Assertions.assertThat(outboxService.despachar()).isZero();
+	}
+
+	private Usuario criarUsuario() {
+		Usuario usuario = UsuarioRepositoryTest.criarUsuario();
+		usuario.setEmail("outbox" + USUARIOS.incrementAndGet() + "@email.com");
+		return usuarioRepository.save(usuario);
+	}
+
+	private static Lancamento lancamento(Usuario usuario) {
+		Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+		lancamento.setUsuario(usuario);
+		return lancamento;
+	}
+
+	/**
+	 * Anota, lendo por outra conexão, quantos eventos do usuário já aparecem reservados: a
+	 * reserva só é visível se a transação que leu o lote já foi confirmada.
+	 */
+	static class Consumidor implements ConsumidorOutbox {
+
+		final List<EventoOutbox> recebidos = new CopyOnWriteArrayList<>();
+		final List<Integer> reservasVisiveis = new CopyOnWriteArrayList<>();
+		volatile Long falharPara;
+
+		@Autowired
+		JdbcTemplate jdbcTemplate;
+
+		@Override
+		public void consumir(Long idUsuario, List<EventoOutbox> eventos) {
+			Assertions.assertThat(TransactionSynchronizationManager.isActualTransactionActive()).isTrue();
+			if (idUsuario.equals(falharPara)) {
+				throw new IllegalStateException("Falha simulada");
+			}
+			reservasVisiveis.add(CompletableFuture.supplyAsync(() -> jdbcTemplate.queryForObject(
+					"select count(*) from financas.evento_outbox where id_usuario = ? and proxima_tentativa is not null",
+					Integer.class, idUsuario)).join());
+			recebidos.addAll(eventos);
+		}
+
+		List<EventoOutbox> doUsuario(Usuario usuario) {
+			return recebidos.stream().filter(e -> e.getIdUsuario().equals(usuario.getId())).collect(Collectors.toList());
+		}
+	}
+
+	/** Participa da transação do despacho; ao falhar, marca a transação para rollback. */
+	static class ConsumidorTransacional implements ConsumidorOutbox {
+
+		private volatile Long falharPara;
+
+		/** O bean é um proxy, então o alvo só é alcançado por método. */
+		public void falharPara(Long idUsuario) {
+			this.falharPara = idUsuario;
+		}
+
+		@Override
+		@Transactional
+		public void consumir(Long idUsuario, List<EventoOutbox> eventos) {
+			if (idUsuario.equals(falharPara)) {
+				throw new IllegalStateException("Falha simulada na transação");
+			}
+		}
+	}
+
+}
@@ -0,0 +1,179 @@
+package com.njunior.minhasfinancas.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.assertj.core.api.Assertions;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.njunior.minhasfinancas.exception.RegraNegocioExcepction;
+import com.njunior.minhasfinancas.model.entity.Lancamento;
+import com.njunior.minhasfinancas.model.entity.Recorrencia;
+import com.njunior.minhasfinancas.model.entity.Usuario;
+import com.njunior.minhasfinancas.model.enums.TipoLacamento;
+import com.njunior.minhasfinancas.model.repository.LancamentoRepository;
+import com.njunior.minhasfinancas.model.repository.RecorrenciaRepository;
+import com.njunior.minhasfinancas.model.repository.UsuarioRepository;
+import com.njunior.minhasfinancas.model.repository.UsuarioRepositoryTest;
+import com.njunior.minhasfinancas.service.analise.ResumoMensal;
+import com.njunior.minhasfinancas.service.impl.AnaliseServiceImpl;
+import com.njunior.minhasfinancas.service.impl.ExtratoServiceImpl;
+import com.njunior.minhasfinancas.service.impl.RecorrenciaServiceImpl;
+
+/**
+ * A geração roda em threads próprias por partição, por isso os dados do cenário são
+ * confirmados no banco em vez de ficarem na transação do teste.
+ */
+@RunWith(SpringRunner.class)
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+@ActiveProfiles("embarcado")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ RecorrenciaServiceImpl.class, AnaliseServiceImpl.class, ExtratoServiceImpl.class })
+public class RecorrenciaServiceTest {
+
+	static final AtomicInteger USUARIOS = new AtomicInteger();
+
+	@Autowired
+	RecorrenciaService service;
+
+	@Autowired
+	ExtratoService extratoService;
+
+	@Autowired
+	RecorrenciaRepository repository;
+
+	@Autowired
+	LancamentoRepository lancamentoRepository;
+
+	@Autowired
+	UsuarioRepository usuarioRepository;
+
+	@Test
+	public void deveGerarOcorrenciasVencidasUmaUnicaVez() {
+		//cenario
+		Usuario usuario = criarUsuario();
+		YearMonth atual = YearMonth.now();
+
+		//execucao
+		Recorrencia aluguel = service.salvar(recorrencia(usuario, "Aluguel", TipoLacamento.DESPESA, 1000, atual.minusMonths(3)));
+		List<Lancamento> aoSalvar = gerados(aluguel);
+
+		service.gerarPendentes(atual.plusMonths(2));
+		service.gerarPendentes(atual.plusMonths(2));
+
+		//verificacao
+		Assertions.assertThat(aoSalvar).hasSize(4);
+		Assertions.assertThat(gerados(aluguel))
+			.extracting(Lancamento::getParcela).containsExactlyInAnyOrder(1, 2, 3, 4, 5, 6);
+		Assertions.assertThat(gerados(aluguel))
+			.extracting(Lancamento::getDescricao).containsOnly("Aluguel");
+		Assertions.assertThat(gerados(aluguel))
+			.extracting(Lancamento::getPeriodo).doesNotHaveDuplicates().contains(periodo(atual.plusMonths(2)));
+
+		Recorrencia atualizada = repository.findById(aluguel.getId()).get();
+		Assertions.assertThat(atualizada.getProximaParcela()).isEqualTo(7);
+		Assertions.assertThat(atualizada.getProximoPeriodo()).isEqualTo(periodo(atual.plusMonths(3)));
+
+		Assertions.assertThat(extratoService.obterSaldoEm(usuario.getId(), LocalDateTime.now()))
+			.isEqualByComparingTo("-6000");
+	}
+
+	@Test
+	public void deveEncerrarAoCompletarAsParcelasOuPassarDoMesFinal() {
+		//cenario
+		Usuario usuario = criarUsuario();
+		YearMonth atual = YearMonth.now();
+		Recorrencia celular = recorrencia(usuario, "Celular", TipoLacamento.DESPESA, 300, atual);
+		celular.setParcelas(3);
+		Recorrencia bolsa = recorrencia(usuario, "Bolsa", TipoLacamento.RECEITA, 800, atual);
+		bolsa.setPeriodoFinal(periodo(atual.plusMonths(1)));
+
+		//execucao
+		celular = service.salvar(celular);
+		bolsa = service.salvar(bolsa);
+		service.gerarPendentes(atual.plusMonths(6));
+
+		//verificacao
+		Assertions.assertThat(gerados(celular))
+			.extracting(Lancamento::getDescricao)
+			.containsExactlyInAnyOrder("Celular (1/3)", "Celular (2/3)", "Celular (3/3)");
+		Assertions.assertThat(gerados(bolsa)).hasSize(2);
+		Assertions.assertThat(repository.findById(celular.getId()).get().isAtiva()).isFalse();
+		Assertions.assertThat(repository.findById(bolsa.getId()).get().isAtiva()).isFalse();
+	}
+
+	@Test
+	public void deveProjetarSaldoComOcorrenciasAindaNaoGeradas() {
+		//cenario
+		Usuario usuario = criarUsuario();
+		YearMonth atual = YearMonth.now();
+		service.salvar(recorrencia(usuario, "Salário", TipoLacamento.RECEITA, 5000, atual));
+		Recorrencia curso = recorrencia(usuario, "Curso", TipoLacamento.DESPESA, 1200, atual.plusMonths(1));
+		curso.setParcelas(2);
+		service.salvar(curso);
+
+		//execucao
+		List<ResumoMensal> projecao = service.projetarSaldo(usuario.getId(), atual.plusMonths(3));
+
+		//verificacao
+		Assertions.assertThat(projecao).extracting(ResumoMensal::getPeriodo)
+			.containsExactly(atual, atual.plusMonths(1), atual.plusMonths(2), atual.plusMonths(3));
+		Assertions.assertThat(projecao).extracting(r -> r.getSaldo().intValue())
+			.containsExactly(5000, 3800, 3800, 5000);
+		Assertions.assertThat(projecao).extracting(r -> r.getSaldoAcumulado().intValue())
+			.containsExactly(5000, 8800, 12600, 17600);
+	}
+
+	@Test
+	public void deveRejeitarRecorrenciaComMesFinalAnteriorAoInicial() {
+		//cenario
+		Usuario usuario = criarUsuario();
+		Recorrencia recorrencia = recorrencia(usuario, "Aluguel", TipoLacamento.DESPESA, 1000, YearMonth.of(2030, 5));
+		recorrencia.setPeriodoFinal(202904);
+
+		//execucao e verificacao
+		Assertions.assertThatThrownBy(() -> service.salvar(recorrencia))
+			.isInstanceOf(RegraNegocioExcepction.class)
+			.hasMessage("O mês final deve ser posterior ou igual ao inicial.");
+	}
+
+	private List<Lancamento> gerados(Recorrencia recorrencia) {
+		return lancamentoRepository.buscarGerados(Collections.singletonList(recorrencia.getId()), 1);
+	}
+
+	private Usuario criarUsuario() {
+		Usuario usuario = UsuarioRepositoryTest.criarUsuario();
+		usuario.setEmail("recorrencia" + USUARIOS.incrementAndGet() + "@email.com");
+		return usuarioRepository.save(usuario);
+	}
+
+	private static Recorrencia recorrencia(Usuario usuario, String descricao, TipoLacamento tipo, long valor, YearMonth inicio) {
+		return Recorrencia.builder()
+				.idUsuario(usuario.getId())
+				.descricao(descricao)
+				.tipo(tipo)
+				.valor(BigDecimal.valueOf(valor))
+				.periodoInicial(periodo(inicio))
+				.build();
+	}
+
+	private static int periodo(YearMonth mes) {
+		return Lancamento.periodo(mes.getYear(), mes.getMonthValue());
+	}
+
+}
@@ -1,33 +1,53 @@
 package com.njunior.minhasfinancas.service;
 
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.assertj.core.api.Assertions;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.InOrder;
 import org.mockito.Mockito;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit4.SpringRunner;
 
+import com.njunior.minhasfinancas.config.AsyncProperties;
+import com.njunior.minhasfinancas.config.ExecutorBanco;
 import com.njunior.minhasfinancas.exception.ErroAutenticacao;
 import com.njunior.minhasfinancas.exception.RegraNegocioExcepction;
 import com.njunior.minhasfinancas.model.entity.Usuario;
 import com.njunior.minhasfinancas.model.repository.UsuarioRepository;
 import com.njunior.minhasfinancas.service.impl.UsuarioServiceImpl;
+import com.njunior.minhasfinancas.service.impl.VerificadorSenhas;
 
 @RunWith(SpringRunner.class)
 @ActiveProfiles("test")
+@Import({ VerificadorSenhas.class, UsuarioServiceTest.Executor.class })
 public class UsuarioServiceTest {
 	
+	static class Executor {
+		
+		@Bean
+		ExecutorBanco executorBanco() {
+			return new ExecutorBanco(new AsyncProperties());
+		}
+		
+	}
+	
 	@SpyBean
 	UsuarioServiceImpl service;
 	
 	@MockBean
 	UsuarioRepository repository;
 	
+	@SpyBean
+	VerificadorSenhas verificadorSenhas;
+	
 	
 	@Test(expected = Test.None.class)
 	public void deveSalvarUmUsuario() {
@@ -77,7 +97,7 @@ public class UsuarioServiceTest {
 		Mockito.when(repository.findByEmail(email)).thenReturn(Optional.of(usuario));
 		
 		//Acao
-		Usuario result = service.autenticar(email, senha);
+		Usuario result = service.autenticar(email, senha).join();
 		
 		//verificacao
 		Assertions.assertThat(result).isNotNull();
@@ -105,10 +125,51 @@ public class UsuarioServiceTest {
 		Mockito.when(repository.findByEmail(Mockito.anyString())).thenReturn(Optional.of(usuario));
 		
 		//Acao
-		Throwable exception = Assertions.catchThrowable( () -> service.autenticar("email@email.com", "123"));
+		Throwable exception = Assertions.catchThrowable( () -> service.autenticar("email@email.com", "123").join());
+		
+		//verificacao
+		Assertions.assertThat(exception).hasCauseInstanceOf(ErroAutenticacao.class);
+		Assertions.assertThat(exception.getCause()).hasMessage("Senha Inválida.");
+	}
+	
+	@Test
+	public void deveGravarOHashDaSenhaAoSalvarUmUsuario() {
+		//cenário
+		Mockito.doNothing().when(service).validarEmail(Mockito.anyString());
+		Usuario usuario = Usuario.builder().email("email@email.com").senha("senha").build();
+		Mockito.when(repository.save(Mockito.any(Usuario.class))).thenAnswer(invocacao -> invocacao.getArgument(0));
+		
+		//acao
+		Usuario usuarioSalvo = service.salvarUsuario(usuario);
+		
+		//verificacao
+		InOrder ordem = Mockito.inOrder(verificadorSenhas, service);
+		ordem.verify(verificadorSenhas).codificar("senha");
+		ordem.verify(service).validarEmail("email@email.com");
+		Assertions.assertThat(usuarioSalvo.getSenha()).startsWith("$2a$").isNotEqualTo("senha");
+		Mockito.when(repository.findByEmail("email@email.com")).thenReturn(Optional.of(usuarioSalvo));
+		Assertions.assertThat(service.autenticar("email@email.com", "senha").join()).isSameAs(usuarioSalvo);
+		Mockito.verify(repository, Mockito.never()).atualizarSenha(Mockito.any(), Mockito.any());
+	}
+	
+	@Test
+	public void deveTrocarASenhaEmTextoPuroPeloHashAoAutenticar() {
+		//cenário
+		Usuario usuario = Usuario.builder().id(1L).email("email@email.com").senha("senha").build();
+		Mockito.when(repository.findByEmail("email@email.com")).thenReturn(Optional.of(usuario));
+		AtomicReference<String> threadGravacao = new AtomicReference<>();
+		Mockito.when(repository.atualizarSenha(Mockito.eq(1L), Mockito.anyString())).thenAnswer(invocacao -> {
+			threadGravacao.set(Thread.currentThread().getName());
+			return 1;
+		});
+		
+		//acao
+		Usuario autenticado = service.autenticar("email@email.com", "senha").join();
 		
 		//verificacao
-		Assertions.assertThat(exception).isInstanceOf(ErroAutenticacao.class).hasMessage("Senha Inválida.");
+		Assertions.assertThat(autenticado).isSameAs(usuario);
+		Mockito.verify(repository, Mockito.timeout(5000)).atualizarSenha(Mockito.eq(1L), Mockito.startsWith("$2a$"));
+		Assertions.assertThat(threadGravacao.get()).startsWith("banco-");
 	}
 	
 	@Test(expected = Test.None.class)
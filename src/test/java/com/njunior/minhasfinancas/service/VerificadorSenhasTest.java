@@ -0,0 +1,121 @@
+package com.njunior.minhasfinancas.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import org.assertj.core.api.Assertions;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import com.njunior.minhasfinancas.exception.ErroSobrecarga;
+import com.njunior.minhasfinancas.service.impl.SenhaProperties;
+import com.njunior.minhasfinancas.service.impl.VerificadorSenhas;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@RunWith(SpringRunner.class)
+@ActiveProfiles("test")
+@Import(SimpleMeterRegistry.class)
+public class VerificadorSenhasTest {
+
+	@Autowired
+	MeterRegistry registro;
+
+	@Autowired
+	ObjectProvider<MeterRegistry> registros;
+
+	List<VerificadorSenhas> instancias = new ArrayList<>();
+
+	@After
+	public void encerrar() {
+		instancias.forEach(VerificadorSenhas::destroy);
+	}
+
+	@Test
+	public void deveRecusarQuandoAFilaEstiverCheia() {
+		//cenario
+		SenhaProperties properties = new SenhaProperties();
+		properties.setCusto(14);
+		properties.setThreads(1);
+		properties.setCapacidadeFila(1);
+		properties.setEsperaMaxima(Duration.ofMinutes(1));
+		VerificadorSenhas verificador = criar(properties);
+
+		//execucao
+		List<CompletableFuture<String>> hashes = new ArrayList<>();
+		for (int i = 0; i < 3; i++) {
+			hashes.add(verificador.codificar("senha"));
+		}
+		long recusadas = hashes.stream().filter(hash -> {
+			try {
+				hash.join();
+				return false;
+			} catch (CompletionException e) {
+				return e.getCause() instanceof ErroSobrecarga;
+			}
+		}).count();
+
+		//verificacao
+		Assertions.assertThat(recusadas).isEqualTo(1);
+		Assertions.assertThat(rejeicoes("fila-cheia")).isEqualTo(1);
+	}
+
+	@Test
+	public void deveDescartarOHashQueEsperouDemaisNaFila() {
+		//cenario
+		SenhaProperties properties = new SenhaProperties();
+		properties.setCusto(12);
+		properties.setThreads(1);
+		properties.setEsperaMaxima(Duration.ofMillis(50));
+		VerificadorSenhas verificador = criar(properties);
+
+		//execucao
+		CompletableFuture<String> primeiro = verificador.codificar("senha");
+		CompletableFuture<String> atrasado = verificador.codificar("senha");
+
+		//verificacao
+		Assertions.assertThat(primeiro.join()).startsWith("$2a$12$");
+		Throwable erro = Assertions.catchThrowable(atrasado::join);
+		Assertions.assertThat(erro).isInstanceOf(CompletionException.class).hasCauseInstanceOf(ErroSobrecarga.class);
+		Assertions.assertThat(rejeicoes("tempo-esgotado")).isEqualTo(1);
+	}
+
+	@Test
+	public void deveAtualizarSenhasEmTextoPuroOuComCustoMenor() {
+		//cenario
+		SenhaProperties barato = new SenhaProperties();
+		barato.setCusto(4);
+		String hashBarato = criar(barato).codificar("senha").join();
+		SenhaProperties padrao = new SenhaProperties();
+		padrao.setCusto(5);
+		VerificadorSenhas verificador = criar(padrao);
+
+		//execucao e verificacao
+		Assertions.assertThat(verificador.conferir("senha", hashBarato).join()).isTrue();
+		Assertions.assertThat(verificador.conferir("outra", hashBarato).join()).isFalse();
+		Assertions.assertThat(verificador.precisaAtualizar(hashBarato)).isTrue();
+		Assertions.assertThat(verificador.precisaAtualizar("senha")).isTrue();
+		Assertions.assertThat(verificador.precisaAtualizar(verificador.codificar("senha").join())).isFalse();
+	}
+
+	private VerificadorSenhas criar(SenhaProperties properties) {
+		VerificadorSenhas verificador = new VerificadorSenhas(properties, registros);
+		instancias.add(verificador);
+		return verificador;
+	}
+
+	private double rejeicoes(String motivo) {
+		return registro.get("minhasfinancas.senha.rejeicoes").tag("motivo", motivo).counter().count();
+	}
+
+}
@@ -0,0 +1,121 @@
+package com.njunior.minhasfinancas.service.analise;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.assertj.core.api.Assertions;
+import org.junit.Test;
+
+import com.njunior.minhasfinancas.model.enums.StatusLancamento;
+import com.njunior.minhasfinancas.model.enums.TipoLacamento;
+
+public class SnapshotLancamentosTest {
+	
+	static final byte RECEITA = TipoLacamento.RECEITA.getCodigo();
+	static final byte DESPESA = TipoLacamento.DESPESA.getCodigo();
+	static final byte PENDENTE = StatusLancamento.PENDENTE.getCodigo();
+	static final byte EFETIVADO = StatusLancamento.EFETIVADO.getCodigo();
+
+	@Test
+	public void deveSomarPorMesEDevolverOSaldoAnterior() {
+		//cenario
+		SnapshotLancamentos snapshot = new SnapshotLancamentos(1);
+		snapshot.adicionar(1, 202012, dia(202012), RECEITA, EFETIVADO, 100_00);
+		snapshot.adicionar(2, 202101, dia(202101), RECEITA, EFETIVADO, 50_00);
+		snapshot.adicionar(3, 202101, dia(202101), DESPESA, PENDENTE, 20_00);
+		snapshot.adicionar(4, 202103, dia(202103), DESPESA, EFETIVADO, 5_00);
+		snapshot.adicionar(5, 202104, dia(202104), DESPESA, EFETIVADO, 1_00);
+		long[] receitas = new long[3];
+		long[] despesas = new long[3];
+		
+		//execucao
+		long anterior = snapshot.somarPorMes(202101, receitas, despesas);
+		
+		//verificacao
+		Assertions.assertThat(anterior).isEqualTo(100_00);
+		Assertions.assertThat(receitas).containsExactly(50_00, 0, 0);
+		Assertions.assertThat(despesas).containsExactly(20_00, 0, 5_00);
+	}
+	
+	@Test
+	public void deveSomarPorDiaEDevolverOSaldoAnterior() {
+		//cenario
+		SnapshotLancamentos snapshot = new SnapshotLancamentos(4);
+		int inicio = (int) LocalDate.of(2021, 1, 10).toEpochDay();
+		snapshot.adicionar(1, 202101, inicio - 1, RECEITA, EFETIVADO, 30_00);
+		snapshot.adicionar(2, 202101, inicio, DESPESA, EFETIVADO, 10_00);
+		snapshot.adicionar(3, 202101, inicio + 2, RECEITA, PENDENTE, 5_00);
+		snapshot.adicionar(4, 202101, inicio + 2, DESPESA, PENDENTE, 1_00);
+		snapshot.adicionar(5, 202101, inicio + 3, RECEITA, PENDENTE, 99_00);
+		long[] efeitos = new long[3];
+		
+		//execucao
+		long anterior = snapshot.somarPorDia(inicio, efeitos);
+		
+		//verificacao
+		Assertions.assertThat(anterior).isEqualTo(30_00);
+		Assertions.assertThat(efeitos).containsExactly(-10_00, 0, 4_00);
+	}
+	
+	@Test
+	public void deveAtualizarERemoverPorId() {
+		//cenario
+		SnapshotLancamentos snapshot = new SnapshotLancamentos(16);
+		for (int id = 1; id <= 100; id++) {
+			snapshot.adicionar(id, 202101, dia(202101), DESPESA, PENDENTE, 1_00);
+		}
+		
+		//execucao
+		boolean novo = snapshot.registrar(10, 202101, dia(202101), DESPESA, EFETIVADO, 3_00);
+		boolean inserido = snapshot.registrar(101, 202101, dia(202101), RECEITA, EFETIVADO, 7_00);
+		boolean removido = snapshot.remover(1);
+		boolean inexistente = snapshot.remover(1);
+		
+		//verificacao
+		Assertions.assertThat(novo).isFalse();
+		Assertions.assertThat(inserido).isTrue();
+		Assertions.assertThat(removido).isTrue();
+		Assertions.assertThat(inexistente).isFalse();
+		Assertions.assertThat(snapshot.getTamanho()).isEqualTo(100);
+		
+		long[][] totais = new long[SnapshotLancamentos.CODIGOS][SnapshotLancamentos.CODIGOS];
+		snapshot.somarPorTipoEStatus(totais);
+		Assertions.assertThat(totais[DESPESA][PENDENTE]).isEqualTo(98 * 1_00);
+		Assertions.assertThat(totais[DESPESA][EFETIVADO]).isEqualTo(3_00);
+		Assertions.assertThat(totais[RECEITA][EFETIVADO]).isEqualTo(7_00);
+	}
+	
+	@Test
+	public void deveManterOIndiceDeIdsAoRegistrarERemoverEmQualquerOrdem() {
+		//cenario
+		SnapshotLancamentos snapshot = new SnapshotLancamentos(1);
+		Map<Long, Long> esperado = new HashMap<>();
+		Random aleatorio = new Random(42);
+		
+		//execucao
+		for (int i = 0; i < 20_000; i++) {
+			long id = aleatorio.nextInt(500) * 1024L;
+			if (aleatorio.nextInt(3) == 0) {
+				Assertions.assertThat(snapshot.remover(id)).isEqualTo(esperado.remove(id) != null);
+			} else {
+				long valor = aleatorio.nextInt(100);
+				Assertions.assertThat(snapshot.registrar(id, 202101, dia(202101), RECEITA, EFETIVADO, valor))
+						.isEqualTo(esperado.put(id, valor) == null);
+			}
+		}
+		
+		//verificacao
+		Assertions.assertThat(snapshot.getTamanho()).isEqualTo(esperado.size());
+		long[][] totais = new long[SnapshotLancamentos.CODIGOS][SnapshotLancamentos.CODIGOS];
+		snapshot.somarPorTipoEStatus(totais);
+		Assertions.assertThat(totais[RECEITA][EFETIVADO])
+				.isEqualTo(esperado.values().stream().mapToLong(Long::longValue).sum());
+	}
+	
+	private static int dia(int periodo) {
+		return (int) LocalDate.of(periodo / 100, periodo % 100, 1).toEpochDay();
+	}
+
+}
@@ -0,0 +1,105 @@
+package com.njunior.minhasfinancas.service.auditoria;
+
+import java.util.BitSet;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.assertj.core.api.Assertions;
+import org.junit.Test;
+
+import com.njunior.minhasfinancas.model.entity.Lancamento;
+import com.njunior.minhasfinancas.model.enums.TipoAlteracaoLancamento;
+
+public class BufferAuditoriaTest {
+
+	@Test
+	public void deveEntregarCadaRegistroUmaVezComVariosProdutores() throws Exception {
+		//cenario
+		int produtores = 4;
+		int porProdutor = 50_000;
+		BufferAuditoria buffer = new BufferAuditoria(1024, BufferAuditoria.Politica.AGUARDAR, 10, TimeUnit.SECONDS);
+		CountDownLatch largada = new CountDownLatch(1);
+		Thread[] threads = new Thread[produtores];
+		for (int p = 0; p < produtores; p++) {
+			int base = p * porProdutor;
+			threads[p] = new Thread(() -> {
+				Lancamento lancamento = new Lancamento();
+				try {
+					largada.await();
+				} catch (InterruptedException e) {
+					return;
+				}
+				for (int i = 0; i < porProdutor; i++) {
+					lancamento.setId((long) base + i);
+					long sequencia = buffer.reservar();
+					buffer.obter(sequencia).preencher(1L, TipoAlteracaoLancamento.ATUALIZADO, 0, null, lancamento);
+					buffer.publicar(sequencia);
+				}
+			});
+			threads[p].start();
+		}
+		
+		//execucao
+		largada.countDown();
+		BitSet recebidos = new BitSet(produtores * porProdutor);
+		int total = 0;
+		while (total < produtores * porProdutor) {
+			int quantidade = buffer.disponiveis(256);
+			for (int i = 0; i < quantidade; i++) {
+				recebidos.set((int) buffer.obter(buffer.getConsumidos() + i).getIdLancamento());
+			}
+			buffer.liberar(quantidade);
+			total += quantidade;
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		
+		//verificacao
+		Assertions.assertThat(recebidos.cardinality()).isEqualTo(produtores * porProdutor);
+		Assertions.assertThat(buffer.getDescartados()).isZero();
+		Assertions.assertThat(buffer.getOcupacao()).isZero();
+	}
+	
+	@Test
+	public void deveDescartarQuandoCheio() {
+		//cenario
+		BufferAuditoria buffer = new BufferAuditoria(8, BufferAuditoria.Politica.DESCARTAR, 0, TimeUnit.MILLISECONDS);
+		
+		//execucao
+		int aceitos = 0;
+		for (int i = 0; i < 10; i++) {
+			long sequencia = buffer.reservar();
+			if (sequencia >= 0) {
+				buffer.publicar(sequencia);
+				aceitos++;
+			}
+		}
+		buffer.liberar(buffer.disponiveis(3));
+		
+		//verificacao
+		Assertions.assertThat(aceitos).isEqualTo(8);
+		Assertions.assertThat(buffer.getDescartados()).isEqualTo(2);
+		Assertions.assertThat(buffer.reservar()).isEqualTo(8);
+		Assertions.assertThat(buffer.getOcupacao()).isEqualTo(6);
+	}
+	
+	@Test
+	public void deveAguardarEspacoAteAEsperaMaxima() {
+		//cenario
+		BufferAuditoria buffer = new BufferAuditoria(2, BufferAuditoria.Politica.AGUARDAR, 20, TimeUnit.MILLISECONDS);
+		buffer.publicar(buffer.reservar());
+		buffer.publicar(buffer.reservar());
+		
+		//execucao
+		long inicio = System.nanoTime();
+		long sequencia = buffer.reservar();
+		long esperaMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio);
+		
+		//verificacao
+		Assertions.assertThat(sequencia).isNegative();
+		Assertions.assertThat(esperaMs).isGreaterThanOrEqualTo(20);
+		Assertions.assertThat(buffer.getDescartados()).isEqualTo(1);
+	}
+
+}
@@ -0,0 +1,46 @@
+package com.njunior.minhasfinancas.service.invalidacao;
+
+import org.assertj.core.api.Assertions;
+import org.junit.Test;
+
+public class ControleSequenciasTest {
+
+	@Test
+	public void deveIgnorarSequenciasRepetidasEPreencherLacunasDentroDaTolerancia() {
+		//cenario
+		ControleSequencias controle = new ControleSequencias(100);
+
+		//execucao e verificacao
+		Assertions.assertThat(controle.registrar("a", 10, 0)).isTrue();
+		Assertions.assertThat(controle.registrar("a", 12, 0)).isTrue();
+		Assertions.assertThat(controle.registrar("a", 12, 10)).isFalse();
+		Assertions.assertThat(controle.temLacunas()).isTrue();
+		Assertions.assertThat(controle.registrar("a", 11, 50)).isTrue();
+		Assertions.assertThat(controle.registrar("a", 10, 50)).isFalse();
+		Assertions.assertThat(controle.temLacunas()).isFalse();
+		Assertions.assertThat(controle.expirarLacunas(1_000)).isZero();
+	}
+
+	@Test
+	public void deveContarComoPerdidasAsSequenciasQueNaoChegaramNaTolerancia() {
+		//cenario
+		ControleSequencias controle = new ControleSequencias(100);
+		controle.registrar("a", 1, 0);
+		controle.registrar("a", 4, 0);
+		controle.registrar("a", 6, 20);
+		controle.registrar("b", 1, 0);
+		controle.registrar("b", 2, 0);
+
+		//execucao
+		long antesDoPrazo = controle.expirarLacunas(99);
+		long noPrazo = controle.expirarLacunas(100);
+
+		//verificacao
+		Assertions.assertThat(antesDoPrazo).isZero();
+		Assertions.assertThat(noPrazo).isEqualTo(3);
+		Assertions.assertThat(controle.temLacunas()).isFalse();
+		Assertions.assertThat(controle.registrar("a", 5, 200)).isFalse();
+		Assertions.assertThat(controle.registrar("a", 7, 200)).isTrue();
+	}
+
+}
@@ -0,0 +1,132 @@
+package com.njunior.minhasfinancas.service.validacao;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.assertj.core.api.Assertions;
+import org.junit.Assume;
+import org.junit.Test;
+
+import com.njunior.minhasfinancas.exception.RegraNegocioExcepction;
+import com.njunior.minhasfinancas.model.entity.Lancamento;
+import com.njunior.minhasfinancas.model.entity.Usuario;
+import com.njunior.minhasfinancas.model.enums.TipoLacamento;
+
+public class ValidadorTest {
+
+	@Test
+	public void deveReportarTodasAsViolacoesNaOrdemDasRegras() {
+		//cenario
+		Lancamento lancamento = new Lancamento();
+		lancamento.setDescricao("   ");
+		lancamento.setMes(13);
+		lancamento.setAno(2021);
+		lancamento.setValor(BigDecimal.ZERO);
+		
+		//execucao
+		ResultadoValidacao resultado = RegrasLancamento.VALIDADOR.validar(lancamento);
+		
+		//verificacao
+		Assertions.assertThat(resultado.isValido()).isFalse();
+		Assertions.assertThat(resultado.getMensagens()).containsExactly(
+				"Informe uma Descrição válida.",
+				"Informe um Mês válido.",
+				"Informe um Usuário.",
+				"Informe um Valor válido.",
+				"Informe um Tipo de Lançamento.");
+	}
+	
+	@Test
+	public void deveReaproveitarOResultadoEntreValidacoes() {
+		//cenario
+		ResultadoValidacao resultado = RegrasUsuario.VALIDADOR.novoResultado();
+		RegrasUsuario.VALIDADOR.validar(new Usuario(), resultado);
+		Assertions.assertThat(resultado.getQuantidade()).isEqualTo(3);
+		
+		//execucao
+		RegrasUsuario.VALIDADOR.validar(Usuario.builder().nome("nome").email("email").senha("senha").build(), resultado);
+		
+		//verificacao
+		Assertions.assertThat(resultado.getMensagens()).containsExactly("Informe um Email válido.");
+	}
+	
+	@Test
+	public void deveLancarApenasAPrimeiraViolacaoNaValidacaoIndividual() {
+		//cenario
+		Lancamento lancamento = lancamentoValido();
+		lancamento.setAno(202);
+		lancamento.setTipo(null);
+		
+		//execucao e verificacao
+		Assertions.assertThatThrownBy(() -> RegrasLancamento.VALIDADOR.validarOuFalhar(lancamento))
+			.isInstanceOf(RegraNegocioExcepction.class)
+			.hasMessage("Informe um Ano válido.");
+	}
+	
+	@Test
+	public void deveValidarLoteEmParaleloRetornandoApenasOsInvalidos() {
+		//cenario
+		List<Lancamento> lote = new ArrayList<>();
+		for(int i = 0; i < Validador.LIMIAR_PARALELO * 8; i++) {
+			Lancamento lancamento = lancamentoValido();
+			if(i % 7 == 0) {
+				lancamento.setMes(0);
+				lancamento.setValor(null);
+			}
+			lote.add(lancamento);
+		}
+		
+		//execucao
+		Map<Integer, ResultadoValidacao> invalidos = RegrasLancamento.VALIDADOR.validarLote(lote);
+		
+		//verificacao
+		Assertions.assertThat(invalidos).hasSize((lote.size() + 6) / 7);
+		invalidos.forEach((indice, resultado) -> {
+			Assertions.assertThat(indice % 7).isZero();
+			Assertions.assertThat(resultado.getMensagens())
+				.containsExactly("Informe um Mês válido.", "Informe um Valor válido.");
+		});
+	}
+	
+	@Test
+	public void naoDeveAlocarAoValidarEntradaValida() {
+		java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		Assume.assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+		com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+		Assume.assumeTrue(threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled());
+		
+		//cenario
+		Lancamento lancamento = lancamentoValido();
+		ResultadoValidacao resultado = RegrasLancamento.VALIDADOR.novoResultado();
+		for(int i = 0; i < 20_000; i++) {
+			RegrasLancamento.VALIDADOR.validar(lancamento, resultado);
+		}
+		long idThread = Thread.currentThread().getId();
+		
+		//execucao
+		long antes = threads.getThreadAllocatedBytes(idThread);
+		for(int i = 0; i < 100_000; i++) {
+			RegrasLancamento.VALIDADOR.validar(lancamento, resultado);
+		}
+		long alocado = threads.getThreadAllocatedBytes(idThread) - antes;
+		
+		//verificacao
+		Assertions.assertThat(resultado.isValido()).isTrue();
+		Assertions.assertThat(alocado).isLessThan(4096);
+	}
+	
+	private static Lancamento lancamentoValido() {
+		return Lancamento.builder()
+				.descricao("salario")
+				.mes(1)
+				.ano(2021)
+				.valor(BigDecimal.TEN)
+				.tipo(TipoLacamento.RECEITA)
+				.usuario(Usuario.builder().id(1L).build())
+				.build();
+	}
+
+}